@@ -60,11 +60,13 @@ import javax.microedition.khronos.egl.EGLDisplay;
 import javax.microedition.khronos.egl.EGLSurface;
 import javax.microedition.khronos.opengles.GL10;
 
+import br.com.carlosrafaelgn.navinha.BuildConfig;
+import br.com.carlosrafaelgn.navinha.jogo.cenarios.CenarioEstresse;
 import br.com.carlosrafaelgn.navinha.jogo.cenarios.CenarioInicial;
+import br.com.carlosrafaelgn.navinha.modelo.jogo.Cenario;
 import br.com.carlosrafaelgn.navinha.modelo.jogo.Jogo;
-import br.com.carlosrafaelgn.navinha.modelo.interacao.Ponteiro;
-import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.Vetor;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.ReservatorioDeElementos;
 import br.com.carlosrafaelgn.navinha.modelo.sincronizacao.MutexSimples;
 
 public class MainActivity extends Activity implements Jogo.Agendador, Jogo.Observador {
@@ -564,7 +566,7 @@ public class MainActivity extends Activity implements Jogo.Agendador, Jogo.Obser
 			try {
 				getControleDoJogo().entre1();
 
-				jogo.processeEDesenheUmQuadro();
+				jogo.desenheUmQuadro();
 
 			} finally {
 				getControleDoJogo().saia1();
@@ -578,39 +580,40 @@ public class MainActivity extends Activity implements Jogo.Agendador, Jogo.Obser
 			float fatorX = tela.getFatorTelaVistaX();
 			float fatorY = tela.getFatorTelaVistaY();
 
-			Vetor<Ponteiro> ponteiros = Jogo.getJogo().getPonteirosThreadPrincipal();
+			Jogo jogo = Jogo.getJogo();
 
-			int indice, id;
+			int indice;
 
 			switch (event.getActionMasked()) {
 			case MotionEvent.ACTION_DOWN:
 			case MotionEvent.ACTION_POINTER_DOWN:
 				indice = event.getActionIndex();
-				id = event.getPointerId(indice);
-				if (id < ponteiros.comprimento()) {
-					ponteiros.item(id).atualize(fatorX * event.getX(indice), fatorY * event.getY(indice), true);
-				}
+				jogo.toqueRecebido(event.getPointerId(indice), fatorX * event.getX(indice), fatorY * event.getY(indice), true, event.getEventTime());
 				break;
 			case MotionEvent.ACTION_UP:
 			case MotionEvent.ACTION_POINTER_UP:
 				indice = event.getActionIndex();
-				id = event.getPointerId(indice);
-				if (id < ponteiros.comprimento()) {
-					ponteiros.item(id).atualize(fatorX * event.getX(indice), fatorY * event.getY(indice), false);
-				}
+				jogo.toqueRecebido(event.getPointerId(indice), fatorX * event.getX(indice), fatorY * event.getY(indice), false, event.getEventTime());
 				break;
 			case MotionEvent.ACTION_MOVE:
-				for (int i = event.getPointerCount() - 1; i >= 0; i--) {
-					id = event.getPointerId(i);
-					if (id < ponteiros.comprimento()) {
-						ponteiros.item(id).atualize(fatorX * event.getX(i), fatorY * event.getY(i), true);
+				// O Android agrupa várias amostras de movimento em um único evento, e as amostras
+				// intermediárias (as históricas) vêm antes da amostra atual
+				int contagemDePonteiros = event.getPointerCount();
+				int contagemDeAmostrasHistoricas = event.getHistorySize();
+				for (int amostra = 0; amostra < contagemDeAmostrasHistoricas; amostra++) {
+					long hora = event.getHistoricalEventTime(amostra);
+					for (int i = 0; i < contagemDePonteiros; i++) {
+						jogo.toqueRecebido(event.getPointerId(i), fatorX * event.getHistoricalX(i, amostra), fatorY * event.getHistoricalY(i, amostra), true, hora);
 					}
 				}
+				for (int i = 0; i < contagemDePonteiros; i++) {
+					jogo.toqueRecebido(event.getPointerId(i), fatorX * event.getX(i), fatorY * event.getY(i), true, event.getEventTime());
+				}
 				break;
 			case MotionEvent.ACTION_CANCEL:
 				// Define todos os ponteiros como não pressionados, e em uma posição fora da vista
-				for (id = ponteiros.comprimento() - 1; id >= 0; id--) {
-					ponteiros.item(id).atualize(-1.0f, -1.0f, false);
+				for (int id = jogo.getPonteirosThreadPrincipal().comprimento() - 1; id >= 0; id--) {
+					jogo.toqueRecebido(id, -1.0f, -1.0f, false, event.getEventTime());
 				}
 				break;
 			}
@@ -619,6 +622,21 @@ public class MainActivity extends Activity implements Jogo.Agendador, Jogo.Obser
 		}
 	}
 
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// Extras que permitem iniciar o cenário de estresse no lugar do cenário inicial, por exemplo:
+	// adb shell am start -n br.com.carlosrafaelgn.navinha/.jogo.android.MainActivity --ez estresse true --ei estresse_passos 20
+	private static final String EXTRA_ESTRESSE = "estresse";
+	private static final String EXTRA_ESTRESSE_PASSOS = "estresse_passos";
+	private static final String EXTRA_ESTRESSE_SEGUNDOS_POR_PASSO = "estresse_segundos_por_passo";
+	private static final String EXTRA_ESTRESSE_INIMIGOS_POR_PASSO = "estresse_inimigos_por_passo";
+	private static final String EXTRA_ESTRESSE_TIROS_POR_SEGUNDO_POR_PASSO = "estresse_tiros_por_segundo_por_passo";
+	private static final String EXTRA_ESTRESSE_EXPLOSOES_POR_SEGUNDO_POR_PASSO = "estresse_explosoes_por_segundo_por_passo";
+	private static final String EXTRA_ESTRESSE_TEXTOS_POR_PASSO = "estresse_textos_por_passo";
+	private static final String EXTRA_ESTRESSE_SEMENTE = "estresse_semente";
+
 	//----------------------------------------------------------------------------------------------
 	// Campos privados
 	//----------------------------------------------------------------------------------------------
@@ -659,6 +677,26 @@ public class MainActivity extends Activity implements Jogo.Agendador, Jogo.Obser
 	// Métodos privados e protegidos
 	//----------------------------------------------------------------------------------------------
 
+	private Cenario crieCenarioInicial() {
+		Intent intent = getIntent();
+
+		if (intent == null || !intent.getBooleanExtra(EXTRA_ESTRESSE, false)) {
+			return new CenarioInicial();
+		}
+
+		// Os valores que não forem informados continuam com o padrão da configuração
+		CenarioEstresse.Configuracao configuracao = new CenarioEstresse.Configuracao();
+		configuracao.setPassos(intent.getIntExtra(EXTRA_ESTRESSE_PASSOS, configuracao.getPassos()));
+		configuracao.setSegundosPorPasso(intent.getFloatExtra(EXTRA_ESTRESSE_SEGUNDOS_POR_PASSO, configuracao.getSegundosPorPasso()));
+		configuracao.setInimigosPorPasso(intent.getIntExtra(EXTRA_ESTRESSE_INIMIGOS_POR_PASSO, configuracao.getInimigosPorPasso()));
+		configuracao.setTirosPorSegundoPorPasso(intent.getIntExtra(EXTRA_ESTRESSE_TIROS_POR_SEGUNDO_POR_PASSO, configuracao.getTirosPorSegundoPorPasso()));
+		configuracao.setExplosoesPorSegundoPorPasso(intent.getIntExtra(EXTRA_ESTRESSE_EXPLOSOES_POR_SEGUNDO_POR_PASSO, configuracao.getExplosoesPorSegundoPorPasso()));
+		configuracao.setTextosPorPasso(intent.getIntExtra(EXTRA_ESTRESSE_TEXTOS_POR_PASSO, configuracao.getTextosPorPasso()));
+		configuracao.setSemente(intent.getLongExtra(EXTRA_ESTRESSE_SEMENTE, configuracao.getSemente()));
+
+		return new CenarioEstresse(configuracao);
+	}
+
 	@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
 	private void prepareObservadorDaInterfaceDoSistema() {
 		ObservadorDaInterfaceDeSistema observadorDaInterfaceDeSistema = getObservadorDaInterfaceDeSistema();
@@ -692,8 +730,13 @@ public class MainActivity extends Activity implements Jogo.Agendador, Jogo.Obser
 
 		setControleDoJogo(new MutexSimples());
 
-		// Configura o objeto do jogo indicando qual será o cenário inicial
-		Jogo.getJogo().prepare(getApplication(), this, this, new CenarioInicial());
+		// O uso de elementos que já foram devolvidos aos seus reservatórios só é verificado durante
+		// o desenvolvimento
+		ReservatorioDeElementos.setVerificacoesAtivas(BuildConfig.DEBUG);
+
+		// Configura o objeto do jogo indicando qual será o cenário inicial (normalmente o
+		// CenarioInicial, a não ser que o cenário de estresse tenha sido pedido)
+		Jogo.getJogo().prepare(getApplication(), this, this, crieCenarioInicial());
 
 		// Configura o controle que controlará o Play Games
 		ControleDoPlayGames.getControleDoPlayGames().prepare(this, viewGroup);
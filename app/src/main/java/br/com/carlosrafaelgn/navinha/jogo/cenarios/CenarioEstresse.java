@@ -0,0 +1,838 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.jogo.cenarios;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+import br.com.carlosrafaelgn.navinha.R;
+import br.com.carlosrafaelgn.navinha.jogo.desenho.FolhaDeSprites;
+import br.com.carlosrafaelgn.navinha.jogo.desenho.Vista;
+import br.com.carlosrafaelgn.navinha.jogo.elementos.CampoEstelar;
+import br.com.carlosrafaelgn.navinha.jogo.elementos.ElementoDeTelaComPausa;
+import br.com.carlosrafaelgn.navinha.jogo.elementos.HordaDeInimigos;
+import br.com.carlosrafaelgn.navinha.jogo.elementos.Inimigo;
+import br.com.carlosrafaelgn.navinha.jogo.elementos.Nave;
+import br.com.carlosrafaelgn.navinha.jogo.elementos.SistemaDeParticulas;
+import br.com.carlosrafaelgn.navinha.jogo.elementos.SistemaDeTiros;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.AlinhamentoDoPivo;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.ArmazenamentoDeElementos;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.ListaDeElementosDeTela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.ReservatorioDeElementos;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.SistemaDeColisoes;
+import br.com.carlosrafaelgn.navinha.modelo.jogo.Cenario;
+import br.com.carlosrafaelgn.navinha.modelo.jogo.Jogo;
+import br.com.carlosrafaelgn.navinha.modelo.recurso.ArmazenamentoDeRecursos;
+import br.com.carlosrafaelgn.navinha.modelo.texto.Alfabeto;
+import br.com.carlosrafaelgn.navinha.modelo.texto.TextoEstatico;
+
+// Cenário utilizado apenas para medir o desempenho do jogo: a cada passo, a quantidade de inimigos,
+// tiros, explosões e textos aumenta, e, ao final de cada passo, as estatísticas dos tempos dos
+// quadros são enviadas para o log (com a tag TAG_DO_LOG) e exibidas na tela
+// Como a semente dos números aleatórios é fixa, e nada do que é sorteado depende do tempo real ou da
+// velocidade do aparelho, todas as execuções com a mesma configuração produzem a mesma sequência
+// de acontecimentos
+public class CenarioEstresse extends Cenario implements Nave.Observador, Inimigo.Observador {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	public static final String TAG_DO_LOG = "NavinhaEstresse";
+
+	private static final int COR_DOS_TEXTOS = 0xff4499ff;
+
+	// Os primeiros quadros de cada passo são descartados, pois é neles que os novos elementos são
+	// criados
+	private static final float SEGUNDOS_DE_AQUECIMENTO_POR_PASSO = 1.0f;
+
+	// Quantidade de quadros reservada para as estatísticas de cada passo (o vetor cresce, caso
+	// seja necessário)
+	private static final int QUADROS_PREPARADOS_POR_SEGUNDO = 120;
+
+	// Capacidade inicial de cada sistema de tiros
+	private static final int TIROS_PREPARADOS = 512;
+
+	// Quantidade de inimigos criados, por quadro, preparando uma nova horda de inimigos
+	private static final int INIMIGOS_POR_QUADRO_PARA_PREPARAR_A_HORDA = 2;
+
+	//----------------------------------------------------------------------------------------------
+	// Interfaces e classes internas
+	//----------------------------------------------------------------------------------------------
+
+	public static final class Configuracao {
+		//------------------------------------------------------------------------------------------
+		// Campos privados
+		//------------------------------------------------------------------------------------------
+
+		// Cada quantidade abaixo é multiplicada pelo número do passo atual (1, 2, 3...)
+		private int passos, inimigosPorPasso, tirosPorSegundoPorPasso, explosoesPorSegundoPorPasso, textosPorPasso;
+		private float segundosPorPasso;
+		private long semente;
+
+		//------------------------------------------------------------------------------------------
+		// Construtores
+		//------------------------------------------------------------------------------------------
+
+		public Configuracao() {
+			setPassos(10);
+			setSegundosPorPasso(5.0f);
+			setInimigosPorPasso(200);
+			setTirosPorSegundoPorPasso(60);
+			setExplosoesPorSegundoPorPasso(4);
+			setTextosPorPasso(40);
+			setSemente(0x4e6176696e6861L);
+		}
+
+		//------------------------------------------------------------------------------------------
+		// Métodos acessores e modificadores
+		//------------------------------------------------------------------------------------------
+
+		public int getPassos() {
+			return passos;
+		}
+
+		public void setPassos(int passos) {
+			if (passos < 1) {
+				throw new IllegalArgumentException("passos deve ser >= 1");
+			}
+			this.passos = passos;
+		}
+
+		public float getSegundosPorPasso() {
+			return segundosPorPasso;
+		}
+
+		public void setSegundosPorPasso(float segundosPorPasso) {
+			if (segundosPorPasso <= SEGUNDOS_DE_AQUECIMENTO_POR_PASSO) {
+				throw new IllegalArgumentException("segundosPorPasso deve ser maior que o aquecimento");
+			}
+			this.segundosPorPasso = segundosPorPasso;
+		}
+
+		public int getInimigosPorPasso() {
+			return inimigosPorPasso;
+		}
+
+		public void setInimigosPorPasso(int inimigosPorPasso) {
+			if (inimigosPorPasso < 0) {
+				throw new IllegalArgumentException("inimigosPorPasso deve ser >= 0");
+			}
+			this.inimigosPorPasso = inimigosPorPasso;
+		}
+
+		public int getTirosPorSegundoPorPasso() {
+			return tirosPorSegundoPorPasso;
+		}
+
+		public void setTirosPorSegundoPorPasso(int tirosPorSegundoPorPasso) {
+			if (tirosPorSegundoPorPasso < 0) {
+				throw new IllegalArgumentException("tirosPorSegundoPorPasso deve ser >= 0");
+			}
+			this.tirosPorSegundoPorPasso = tirosPorSegundoPorPasso;
+		}
+
+		public int getExplosoesPorSegundoPorPasso() {
+			return explosoesPorSegundoPorPasso;
+		}
+
+		public void setExplosoesPorSegundoPorPasso(int explosoesPorSegundoPorPasso) {
+			if (explosoesPorSegundoPorPasso < 0) {
+				throw new IllegalArgumentException("explosoesPorSegundoPorPasso deve ser >= 0");
+			}
+			this.explosoesPorSegundoPorPasso = explosoesPorSegundoPorPasso;
+		}
+
+		public int getTextosPorPasso() {
+			return textosPorPasso;
+		}
+
+		public void setTextosPorPasso(int textosPorPasso) {
+			if (textosPorPasso < 0) {
+				throw new IllegalArgumentException("textosPorPasso deve ser >= 0");
+			}
+			this.textosPorPasso = textosPorPasso;
+		}
+
+		public long getSemente() {
+			return semente;
+		}
+
+		public void setSemente(long semente) {
+			this.semente = semente;
+		}
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private final Configuracao configuracao;
+	private FolhaDeSprites folhaDeSprites;
+	private Nave nave;
+	private SistemaDeParticulas sistemaDeParticulas;
+	private SistemaDeTiros sistemaDeTirosDaNave, sistemaDeTirosDosInimigos;
+	private ArrayList<HordaDeInimigos> hordasDeInimigos;
+	private HordaDeInimigos proximaHordaDeInimigos;
+	private Alfabeto alfabeto;
+	private String textoDosElementos;
+	private TextoEstatico textoResumo;
+	private int passo, contagemDeTextos, contagemDeQuadros;
+	private float segundosNoPasso, tirosPendentes, explosoesPendentes;
+	// Indica quem dará o próximo tiro (como, na maioria dos passos, no máximo um tiro é dado, a
+	// alternância precisa continuar de um passo para o outro)
+	private boolean proximoTiroDaNave;
+	private float[] intervalosDosQuadros, temposDeProcessamento;
+	private long inicioDoQuadroAnterior, inicioDoQuadroAtual;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public CenarioEstresse(Configuracao configuracao) {
+		// Mesmas escolhas do CenarioJogo, para que as medidas representem o jogo de verdade
+		super(SistemaDeColisoes.crieGrade(ListaDeElementosDeTela.TAMANHO_PADRAO_DA_CELULA_DE_COLISAO),
+			ArmazenamentoDeElementos.crieVetorDenso());
+
+		if (configuracao == null) {
+			throw new IllegalArgumentException("configuracao não pode ser null");
+		}
+
+		this.configuracao = configuracao;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private Configuracao getConfiguracao() {
+		return configuracao;
+	}
+
+	private FolhaDeSprites getFolhaDeSprites() {
+		return folhaDeSprites;
+	}
+
+	private void setFolhaDeSprites(FolhaDeSprites folhaDeSprites) {
+		this.folhaDeSprites = folhaDeSprites;
+	}
+
+	private Nave getNave() {
+		return nave;
+	}
+
+	private void setNave(Nave nave) {
+		this.nave = nave;
+	}
+
+	private SistemaDeParticulas getSistemaDeParticulas() {
+		return sistemaDeParticulas;
+	}
+
+	private void setSistemaDeParticulas(SistemaDeParticulas sistemaDeParticulas) {
+		this.sistemaDeParticulas = sistemaDeParticulas;
+	}
+
+	private SistemaDeTiros getSistemaDeTirosDaNave() {
+		return sistemaDeTirosDaNave;
+	}
+
+	private void setSistemaDeTirosDaNave(SistemaDeTiros sistemaDeTirosDaNave) {
+		this.sistemaDeTirosDaNave = sistemaDeTirosDaNave;
+	}
+
+	private SistemaDeTiros getSistemaDeTirosDosInimigos() {
+		return sistemaDeTirosDosInimigos;
+	}
+
+	private void setSistemaDeTirosDosInimigos(SistemaDeTiros sistemaDeTirosDosInimigos) {
+		this.sistemaDeTirosDosInimigos = sistemaDeTirosDosInimigos;
+	}
+
+	private ArrayList<HordaDeInimigos> getHordasDeInimigos() {
+		return hordasDeInimigos;
+	}
+
+	private void setHordasDeInimigos(ArrayList<HordaDeInimigos> hordasDeInimigos) {
+		this.hordasDeInimigos = hordasDeInimigos;
+	}
+
+	private HordaDeInimigos getProximaHordaDeInimigos() {
+		return proximaHordaDeInimigos;
+	}
+
+	private void setProximaHordaDeInimigos(HordaDeInimigos proximaHordaDeInimigos) {
+		this.proximaHordaDeInimigos = proximaHordaDeInimigos;
+	}
+
+	private Alfabeto getAlfabeto() {
+		return alfabeto;
+	}
+
+	private void setAlfabeto(Alfabeto alfabeto) {
+		this.alfabeto = alfabeto;
+	}
+
+	private String getTextoDosElementos() {
+		return textoDosElementos;
+	}
+
+	private void setTextoDosElementos(String textoDosElementos) {
+		this.textoDosElementos = textoDosElementos;
+	}
+
+	private TextoEstatico getTextoResumo() {
+		return textoResumo;
+	}
+
+	private void setTextoResumo(TextoEstatico textoResumo) {
+		this.textoResumo = textoResumo;
+	}
+
+	private int getPasso() {
+		return passo;
+	}
+
+	private void setPasso(int passo) {
+		this.passo = passo;
+	}
+
+	private int getContagemDeTextos() {
+		return contagemDeTextos;
+	}
+
+	private void setContagemDeTextos(int contagemDeTextos) {
+		this.contagemDeTextos = contagemDeTextos;
+	}
+
+	private int getContagemDeQuadros() {
+		return contagemDeQuadros;
+	}
+
+	private void setContagemDeQuadros(int contagemDeQuadros) {
+		this.contagemDeQuadros = contagemDeQuadros;
+	}
+
+	private float getSegundosNoPasso() {
+		return segundosNoPasso;
+	}
+
+	private void setSegundosNoPasso(float segundosNoPasso) {
+		this.segundosNoPasso = segundosNoPasso;
+	}
+
+	private float getTirosPendentes() {
+		return tirosPendentes;
+	}
+
+	private void setTirosPendentes(float tirosPendentes) {
+		this.tirosPendentes = tirosPendentes;
+	}
+
+	private boolean isProximoTiroDaNave() {
+		return proximoTiroDaNave;
+	}
+
+	private void setProximoTiroDaNave(boolean proximoTiroDaNave) {
+		this.proximoTiroDaNave = proximoTiroDaNave;
+	}
+
+	private float getExplosoesPendentes() {
+		return explosoesPendentes;
+	}
+
+	private void setExplosoesPendentes(float explosoesPendentes) {
+		this.explosoesPendentes = explosoesPendentes;
+	}
+
+	private float[] getIntervalosDosQuadros() {
+		return intervalosDosQuadros;
+	}
+
+	private void setIntervalosDosQuadros(float[] intervalosDosQuadros) {
+		this.intervalosDosQuadros = intervalosDosQuadros;
+	}
+
+	private float[] getTemposDeProcessamento() {
+		return temposDeProcessamento;
+	}
+
+	private void setTemposDeProcessamento(float[] temposDeProcessamento) {
+		this.temposDeProcessamento = temposDeProcessamento;
+	}
+
+	private long getInicioDoQuadroAnterior() {
+		return inicioDoQuadroAnterior;
+	}
+
+	private void setInicioDoQuadroAnterior(long inicioDoQuadroAnterior) {
+		this.inicioDoQuadroAnterior = inicioDoQuadroAnterior;
+	}
+
+	private long getInicioDoQuadroAtual() {
+		return inicioDoQuadroAtual;
+	}
+
+	private void setInicioDoQuadroAtual(long inicioDoQuadroAtual) {
+		this.inicioDoQuadroAtual = inicioDoQuadroAtual;
+	}
+
+	private int getContagemDeInimigos() {
+		ArrayList<HordaDeInimigos> hordasDeInimigos = getHordasDeInimigos();
+		int contagemDeInimigos = 0;
+		for (int i = hordasDeInimigos.size() - 1; i >= 0; i--) {
+			contagemDeInimigos += hordasDeInimigos.get(i).getInimigosRestantes();
+		}
+		return contagemDeInimigos;
+	}
+
+	private int getContagemDeTiros() {
+		return getSistemaDeTirosDaNave().getContagemDeTiros() + getSistemaDeTirosDosInimigos().getContagemDeTiros();
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private static float percentil(float[] valoresOrdenados, int contagem, float percentil) {
+		int indice = (int)(percentil * (float)(contagem - 1) + 0.5f);
+		return valoresOrdenados[(indice >= contagem) ? (contagem - 1) : indice];
+	}
+
+	private static float media(float[] valores, int contagem) {
+		float soma = 0.0f;
+		for (int i = contagem - 1; i >= 0; i--) {
+			soma += valores[i];
+		}
+		return soma / (float)contagem;
+	}
+
+	private void inicieOPasso(int passo) {
+		setPasso(passo);
+		setSegundosNoPasso(0.0f);
+		setContagemDeQuadros(0);
+
+		// As estatísticas do reservatório são reiniciadas a cada passo, então os inimigos criados
+		// que aparecem no resumo são apenas os que precisaram ser alocados durante o passo
+		// (idealmente 0, depois que o reservatório atingiu o tamanho necessário)
+		Inimigo.getReservatorioDeInimigos().reinicieEstatisticas();
+
+		// Cada passo acrescenta mais alguns textos estáticos, espalhados pela tela (os textos dos
+		// passos anteriores continuam lá)
+		Jogo jogo = Jogo.getJogo();
+		Tela tela = Tela.getTela();
+		float larguraDaVista = tela.getLarguraDaVista();
+		float alturaDaVista = tela.getAlturaDaVista();
+		ListaDeElementosDeTela listaDeElementosDeTela = getListaDeElementosDeTela();
+		Alfabeto alfabeto = getAlfabeto();
+		String textoDosElementos = getTextoDosElementos();
+
+		int textosPorPasso = getConfiguracao().getTextosPorPasso();
+		for (int i = 0; i < textosPorPasso; i++) {
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DA_INTERFACE, new TextoEstatico(alfabeto,
+				textoDosElementos,
+				0.0f,
+				AlinhamentoDoPivo.HORIZONTAL_CENTRO | AlinhamentoDoPivo.VERTICAL_CENTRO,
+				jogo.numeroAleatorio(larguraDaVista),
+				jogo.numeroAleatorio(alturaDaVista)));
+		}
+		setContagemDeTextos(getContagemDeTextos() + textosPorPasso);
+	}
+
+	private void registreQuadro(float intervaloDoQuadro, float tempoDeProcessamento) {
+		float[] intervalosDosQuadros = getIntervalosDosQuadros();
+		int contagemDeQuadros = getContagemDeQuadros();
+
+		if (contagemDeQuadros == intervalosDosQuadros.length) {
+			intervalosDosQuadros = Arrays.copyOf(intervalosDosQuadros, contagemDeQuadros << 1);
+			setIntervalosDosQuadros(intervalosDosQuadros);
+			setTemposDeProcessamento(Arrays.copyOf(getTemposDeProcessamento(), contagemDeQuadros << 1));
+		}
+
+		intervalosDosQuadros[contagemDeQuadros] = intervaloDoQuadro;
+		getTemposDeProcessamento()[contagemDeQuadros] = tempoDeProcessamento;
+		setContagemDeQuadros(contagemDeQuadros + 1);
+	}
+
+	private void concluaOPasso() {
+		int contagemDeQuadros = getContagemDeQuadros();
+		if (contagemDeQuadros == 0) {
+			return;
+		}
+
+		// Os vetores podem ser ordenados aqui mesmo, pois serão sobrescritos no próximo passo
+		float[] intervalosDosQuadros = getIntervalosDosQuadros();
+		float[] temposDeProcessamento = getTemposDeProcessamento();
+
+		float mediaDosIntervalos = media(intervalosDosQuadros, contagemDeQuadros);
+		float mediaDosTemposDeProcessamento = media(temposDeProcessamento, contagemDeQuadros);
+
+		Arrays.sort(intervalosDosQuadros, 0, contagemDeQuadros);
+		Arrays.sort(temposDeProcessamento, 0, contagemDeQuadros);
+
+		float p50 = percentil(intervalosDosQuadros, contagemDeQuadros, 0.5f);
+		float p95 = percentil(intervalosDosQuadros, contagemDeQuadros, 0.95f);
+		float p99 = percentil(intervalosDosQuadros, contagemDeQuadros, 0.99f);
+
+		// Um engasgo é um quadro que demorou mais que o dobro da mediana (normalmente causado pelo
+		// garbage collector, ou por um pico de processamento)
+		int engasgos = 0;
+		for (int i = contagemDeQuadros - 1; i >= 0 && intervalosDosQuadros[i] > (2.0f * p50); i--) {
+			engasgos++;
+		}
+
+		Runtime runtime = Runtime.getRuntime();
+		long heapEmKB = (runtime.totalMemory() - runtime.freeMemory()) >> 10;
+
+		int passo = getPasso();
+		int passos = getConfiguracao().getPassos();
+		int contagemDeInimigos = getContagemDeInimigos();
+		int contagemDeTiros = getContagemDeTiros();
+
+		ReservatorioDeElementos<Inimigo> reservatorioDeInimigos = Inimigo.getReservatorioDeInimigos();
+		int maximoDeInimigosEmUso = reservatorioDeInimigos.getMaximoDeElementosEmUso();
+		int inimigosCriados = reservatorioDeInimigos.getContagemDeElementosCriados();
+
+		Log.i(TAG_DO_LOG, String.format(Locale.US,
+			"passo %d/%d inimigos=%d tiros=%d particulas=%d textos=%d quadros=%d | intervalo (ms) media=%.2f p50=%.2f p95=%.2f p99=%.2f max=%.2f engasgos=%d | processamento (ms) media=%.2f p99=%.2f max=%.2f | reservatorio de inimigos maximo em uso=%d criados=%d | heap=%dKB",
+			passo, passos,
+			contagemDeInimigos, contagemDeTiros, getSistemaDeParticulas().getContagemDeParticulas(), getContagemDeTextos(),
+			contagemDeQuadros,
+			mediaDosIntervalos, p50, p95, p99, intervalosDosQuadros[contagemDeQuadros - 1], engasgos,
+			mediaDosTemposDeProcessamento, percentil(temposDeProcessamento, contagemDeQuadros, 0.99f), temposDeProcessamento[contagemDeQuadros - 1],
+			maximoDeInimigosEmUso, inimigosCriados,
+			heapEmKB));
+
+		getTextoResumo().setTexto(String.format(Locale.US, Jogo.getJogo().texto(R.string.estresse_resumo),
+			passo, passos, contagemDeInimigos, contagemDeTiros, getContagemDeTextos(), mediaDosIntervalos, p99));
+	}
+
+	private void processeAsHordas(float deltaSegundos) {
+		ArrayList<HordaDeInimigos> hordasDeInimigos = getHordasDeInimigos();
+
+		// As hordas sem inimigos são descartadas, e as demais são processadas normalmente
+		for (int i = hordasDeInimigos.size() - 1; i >= 0; i--) {
+			HordaDeInimigos hordaDeInimigos = hordasDeInimigos.get(i);
+			if (hordaDeInimigos.getInimigosRestantes() == 0) {
+				hordaDeInimigos.destrua();
+				hordasDeInimigos.remove(i);
+			} else {
+				hordaDeInimigos.processeUmQuadro(deltaSegundos);
+			}
+		}
+
+		// Enquanto houver menos inimigos do que o passo pede, novas hordas são preparadas (aos
+		// poucos, exatamente como no jogo) e colocadas na tela
+		HordaDeInimigos proximaHordaDeInimigos = getProximaHordaDeInimigos();
+		if (proximaHordaDeInimigos == null) {
+			if (getContagemDeInimigos() >= getPasso() * getConfiguracao().getInimigosPorPasso()) {
+				return;
+			}
+			proximaHordaDeInimigos = new HordaDeInimigos(getNave(), this, (hordasDeInimigos.size() & 1) != 0);
+			setProximaHordaDeInimigos(proximaHordaDeInimigos);
+		}
+
+		if (proximaHordaDeInimigos.prepare(INIMIGOS_POR_QUADRO_PARA_PREPARAR_A_HORDA)) {
+			proximaHordaDeInimigos.ative();
+			hordasDeInimigos.add(proximaHordaDeInimigos);
+			setProximaHordaDeInimigos(null);
+		}
+	}
+
+	private void crieTirosEExplosoes(float deltaSegundos) {
+		Jogo jogo = Jogo.getJogo();
+		Tela tela = Tela.getTela();
+		float larguraDaVista = tela.getLarguraDaVista();
+		float alturaDaVista = tela.getAlturaDaVista();
+		Configuracao configuracao = getConfiguracao();
+		int passo = getPasso();
+
+		// Metade dos tiros sai da parte inferior da tela, como se fossem da nave, e a outra metade
+		// sai da parte superior, como se fossem dos inimigos
+		float tirosPendentes = getTirosPendentes() + (deltaSegundos * (float)(passo * configuracao.getTirosPorSegundoPorPasso()));
+		float yDaNave = getNave().getY();
+		SistemaDeTiros sistemaDeTirosDaNave = getSistemaDeTirosDaNave();
+		SistemaDeTiros sistemaDeTirosDosInimigos = getSistemaDeTirosDosInimigos();
+		boolean tiroDaNave = isProximoTiroDaNave();
+		while (tirosPendentes >= 1.0f) {
+			if (tiroDaNave) {
+				sistemaDeTirosDaNave.adicioneTiro(jogo.numeroAleatorio(larguraDaVista), yDaNave);
+			} else {
+				sistemaDeTirosDosInimigos.adicioneTiro(jogo.numeroAleatorio(larguraDaVista), 0.0f);
+			}
+			tiroDaNave = !tiroDaNave;
+			tirosPendentes -= 1.0f;
+		}
+		setTirosPendentes(tirosPendentes);
+		setProximoTiroDaNave(tiroDaNave);
+
+		float explosoesPendentes = getExplosoesPendentes() + (deltaSegundos * (float)(passo * configuracao.getExplosoesPorSegundoPorPasso()));
+		SistemaDeParticulas sistemaDeParticulas = getSistemaDeParticulas();
+		while (explosoesPendentes >= 1.0f) {
+			sistemaDeParticulas.crieExplosao(jogo.sorteie(500), jogo.numeroAleatorio(larguraDaVista), jogo.numeroAleatorio(alturaDaVista));
+			explosoesPendentes -= 1.0f;
+		}
+		setExplosoesPendentes(explosoesPendentes);
+	}
+
+	private void descarteProximaHordaDeInimigos() {
+		HordaDeInimigos proximaHordaDeInimigos = getProximaHordaDeInimigos();
+		if (proximaHordaDeInimigos != null) {
+			proximaHordaDeInimigos.destrua();
+			setProximaHordaDeInimigos(null);
+		}
+	}
+
+	@Override
+	public void inicieInternamente(ArmazenamentoDeRecursos armazenamentoDeRecursos) {
+		Configuracao configuracao = getConfiguracao();
+
+		ElementoDeTelaComPausa.setPausado(false);
+
+		// Todas as execuções com a mesma configuração devem sortear os mesmos números
+		Jogo jogo = Jogo.getJogo();
+		jogo.reinicieNumerosAleatorios(configuracao.getSemente());
+
+		// A quantidade de fragmentos de cada explosão depende do nível de qualidade, que, por sua
+		// vez, depende da velocidade do aparelho: para que a carga medida seja a mesma em qualquer
+		// aparelho, durante o cenário, a qualidade fica sempre no nível máximo
+		jogo.getGovernadorDeQualidade().fixeNivel(0);
+
+		Tela tela = Tela.getTela();
+
+		FolhaDeSprites folhaDeSprites = new FolhaDeSprites();
+		setFolhaDeSprites(folhaDeSprites);
+
+		Vista.ajusteTela(folhaDeSprites);
+
+		CampoEstelar campoEstelar = new CampoEstelar(folhaDeSprites);
+
+		SistemaDeParticulas sistemaDeParticulas = new SistemaDeParticulas(folhaDeSprites);
+		setSistemaDeParticulas(sistemaDeParticulas);
+
+		SistemaDeTiros sistemaDeTirosDaNave = new SistemaDeTiros(folhaDeSprites, true, TIROS_PREPARADOS);
+		setSistemaDeTirosDaNave(sistemaDeTirosDaNave);
+		SistemaDeTiros sistemaDeTirosDosInimigos = new SistemaDeTiros(folhaDeSprites, false, TIROS_PREPARADOS);
+		setSistemaDeTirosDosInimigos(sistemaDeTirosDosInimigos);
+
+		// A nave não é controlada por ninguém, e nunca morre, para que o cenário não acabe antes
+		// da hora (ela existe porque os inimigos e as hordas dependem dela)
+		Nave nave = new Nave(folhaDeSprites, sistemaDeParticulas, sistemaDeTirosDaNave, sistemaDeTirosDosInimigos, false, this);
+		nave.setHabilitada(false);
+		nave.setInvencivel(true);
+		setNave(nave);
+
+		setHordasDeInimigos(new ArrayList<HordaDeInimigos>());
+
+		// Os tiros se alternam entre a nave e os inimigos, começando pela nave
+		setProximoTiroDaNave(true);
+
+		float tamanhoDoTexto = folhaDeSprites.pixels(0.5f);
+		String resumo = jogo.texto(R.string.estresse_resumo);
+		String textoDosElementos = jogo.texto(R.string.app_name);
+		setTextoDosElementos(textoDosElementos);
+
+		Alfabeto alfabeto = new Alfabeto(tela.getFonte8Bit(),
+			tamanhoDoTexto,
+			COR_DOS_TEXTOS,
+			true,
+			resumo, textoDosElementos, jogo.texto(R.string.numeros_e_simbolos), ".");
+		setAlfabeto(alfabeto);
+
+		TextoEstatico textoResumo = new TextoEstatico(alfabeto,
+			textoDosElementos,
+			0.0f,
+			AlinhamentoDoPivo.HORIZONTAL_ESQUERDO | AlinhamentoDoPivo.VERTICAL_CIMA,
+			tamanhoDoTexto,
+			tamanhoDoTexto);
+		setTextoResumo(textoResumo);
+
+		int quadrosPreparados = (int)(configuracao.getSegundosPorPasso() * (float)QUADROS_PREPARADOS_POR_SEGUNDO);
+		setIntervalosDosQuadros(new float[quadrosPreparados]);
+		setTemposDeProcessamento(new float[quadrosPreparados]);
+
+		ListaDeElementosDeTela listaDeElementosDeTela = getListaDeElementosDeTela();
+
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_FUNDO, campoEstelar);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DO_MUNDO, nave);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DOS_EFEITOS, sistemaDeTirosDaNave);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DOS_EFEITOS, sistemaDeTirosDosInimigos);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DOS_EFEITOS, sistemaDeParticulas);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, textoResumo);
+
+		inicieOPasso(1);
+	}
+
+	@Override
+	protected void carregueInternamente() {
+		FolhaDeSprites folhaDeSprites = getFolhaDeSprites();
+		folhaDeSprites.carregue();
+
+		Vista.ajusteTela(folhaDeSprites);
+
+		getAlfabeto().carregue();
+
+		Tela.getTela().corDoPreenchimento(0.0f, 0.0f, 0.0f);
+
+		// O tempo em que o jogo ficou sem desenhar não deve contar como o intervalo de um quadro
+		setInicioDoQuadroAnterior(0);
+		setInicioDoQuadroAtual(0);
+
+		super.carregueInternamente();
+	}
+
+	@Override
+	protected void libereInternamente() {
+		libereComSeguranca(getFolhaDeSprites());
+		libereComSeguranca(getAlfabeto());
+
+		// Assim como no CenarioJogo, a horda que ainda estava sendo preparada é descartada
+		descarteProximaHordaDeInimigos();
+
+		super.libereInternamente();
+	}
+
+	@Override
+	protected void destruaInternamente() {
+		destruaComSeguranca(getFolhaDeSprites());
+		setFolhaDeSprites(null);
+		destruaComSeguranca(getAlfabeto());
+		setAlfabeto(null);
+
+		// Os inimigos das hordas ativas estão na lista de elementos, e são destruídos junto com ela
+		ArrayList<HordaDeInimigos> hordasDeInimigos = getHordasDeInimigos();
+		if (hordasDeInimigos != null) {
+			for (int i = hordasDeInimigos.size() - 1; i >= 0; i--) {
+				hordasDeInimigos.get(i).destrua();
+			}
+			hordasDeInimigos.clear();
+			setHordasDeInimigos(null);
+		}
+		descarteProximaHordaDeInimigos();
+
+		setNave(null);
+		setSistemaDeParticulas(null);
+		setSistemaDeTirosDaNave(null);
+		setSistemaDeTirosDosInimigos(null);
+		setTextoResumo(null);
+		setIntervalosDosQuadros(null);
+		setTemposDeProcessamento(null);
+
+		Jogo.getJogo().getGovernadorDeQualidade().libereNivel();
+
+		super.destruaInternamente();
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	@Override
+	public void vidaDaNaveAlterada(Nave nave) {
+		// A nave é invencível nesse cenário
+	}
+
+	@Override
+	public void inimigoExplodiu(Inimigo inimigo) {
+		// As hordas vazias são descartadas em processeAsHordas()
+	}
+
+	@Override
+	public void processeUmQuadro(float deltaSegundos) {
+		Configuracao configuracao = getConfiguracao();
+		int passo = getPasso();
+
+		if (passo > configuracao.getPassos()) {
+			// O teste já acabou, e estamos apenas esperando o jogo ser encerrado
+			super.processeUmQuadro(deltaSegundos);
+			return;
+		}
+
+		// Um mesmo desenho pode ser precedido por vários quadros processados, então, do ponto de
+		// vista da tela, o quadro começa no primeiro deles
+		if (getInicioDoQuadroAtual() == 0) {
+			setInicioDoQuadroAtual(System.nanoTime());
+		}
+
+		ElementoDeTelaComPausa.avanceRelogioDeAnimacao(deltaSegundos);
+
+		super.processeUmQuadro(deltaSegundos);
+
+		processeAsHordas(deltaSegundos);
+		crieTirosEExplosoes(deltaSegundos);
+
+		float segundosNoPasso = getSegundosNoPasso() + deltaSegundos;
+		setSegundosNoPasso(segundosNoPasso);
+
+		if (segundosNoPasso >= configuracao.getSegundosPorPasso()) {
+			concluaOPasso();
+
+			if (passo < configuracao.getPassos()) {
+				inicieOPasso(passo + 1);
+			} else {
+				setPasso(passo + 1);
+				Log.i(TAG_DO_LOG, "fim");
+				Jogo.getJogo().encerre();
+			}
+		}
+	}
+
+	@Override
+	public void desenheUmQuadro(float fatorDeInterpolacao) {
+		// Se nenhum quadro foi processado antes desse desenho, o quadro começa aqui mesmo
+		long inicioDoQuadro = getInicioDoQuadroAtual();
+		if (inicioDoQuadro == 0) {
+			inicioDoQuadro = System.nanoTime();
+		}
+		setInicioDoQuadroAtual(0);
+
+		super.desenheUmQuadro(fatorDeInterpolacao);
+
+		if (getPasso() > getConfiguracao().getPassos()) {
+			// O teste já acabou
+			return;
+		}
+
+		// O intervalo entre o início de dois quadros consecutivos inclui a espera pela tela e o
+		// trabalho da GPU, enquanto o tempo de processamento mede apenas o nosso trabalho
+		// (processamento e desenho)
+		long inicioDoQuadroAnterior = getInicioDoQuadroAnterior();
+		setInicioDoQuadroAnterior(inicioDoQuadro);
+		if (inicioDoQuadroAnterior != 0 && getSegundosNoPasso() >= SEGUNDOS_DE_AQUECIMENTO_POR_PASSO) {
+			registreQuadro((float)(inicioDoQuadro - inicioDoQuadroAnterior) / 1000000.0f, (float)(System.nanoTime() - inicioDoQuadro) / 1000000.0f);
+		}
+	}
+}
@@ -50,6 +50,7 @@ import br.com.carlosrafaelgn.navinha.modelo.animacao.interpoladores.Interpolador
 import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.VetorFloat;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
 import br.com.carlosrafaelgn.navinha.modelo.elemento.ListaDeElementosDeTela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.SistemaDeColisoes;
 import br.com.carlosrafaelgn.navinha.modelo.recurso.ArmazenamentoDeRecursos;
 import br.com.carlosrafaelgn.navinha.modelo.texto.Alfabeto;
 import br.com.carlosrafaelgn.navinha.modelo.texto.TextoAnimado;
@@ -86,6 +87,16 @@ public class CenarioInicial extends Cenario implements ControleDoPlayGames.Obser
 	private BotaoVirtual botaoPlayGames, botaoConquistas, botaoPlacar, botaoSair;
 	private Fade fade;
 
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public CenarioInicial() {
+		// A tela inicial tem pouquíssimos elementos, e nenhum deles se move muito, o que torna a
+		// varredura e poda a opção mais barata
+		super(SistemaDeColisoes.crieVarreduraEPoda());
+	}
+
 	//----------------------------------------------------------------------------------------------
 	// Métodos acessores e modificadores
 	//----------------------------------------------------------------------------------------------
@@ -545,9 +556,9 @@ public class CenarioInicial extends Cenario implements ControleDoPlayGames.Obser
 	//----------------------------------------------------------------------------------------------
 
 	@Override
-	public void processeEDesenheUmQuadro(float deltaSegundos) {
-		// Deixa a classe Cenario fazer o desenho básico da tela
-		super.processeEDesenheUmQuadro(deltaSegundos);
+	public void processeUmQuadro(float deltaSegundos) {
+		// Deixa a classe Cenario fazer o processamento básico dos elementos
+		super.processeUmQuadro(deltaSegundos);
 
 		// Agora vamos fazer o pós-processamento do cenário inicial, que utiliza uma máquina de
 		// estados simples, controlada pela animações dos elementos e pelos cliques/toques na tela
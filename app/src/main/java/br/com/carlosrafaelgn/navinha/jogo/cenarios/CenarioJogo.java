@@ -43,6 +43,8 @@ import br.com.carlosrafaelgn.navinha.jogo.elementos.FadeEstatico;
 import br.com.carlosrafaelgn.navinha.jogo.elementos.HordaDeInimigos;
 import br.com.carlosrafaelgn.navinha.jogo.elementos.Inimigo;
 import br.com.carlosrafaelgn.navinha.jogo.elementos.Nave;
+import br.com.carlosrafaelgn.navinha.jogo.elementos.SistemaDeParticulas;
+import br.com.carlosrafaelgn.navinha.jogo.elementos.SistemaDeTiros;
 import br.com.carlosrafaelgn.navinha.jogo.persistencia.Persistencia;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.AlinhamentoDoPivo;
 import br.com.carlosrafaelgn.navinha.modelo.interacao.BotaoVirtual;
@@ -53,7 +55,9 @@ import br.com.carlosrafaelgn.navinha.modelo.animacao.interpoladores.Interpolador
 import br.com.carlosrafaelgn.navinha.modelo.animacao.interpoladores.InterpoladorDePontos;
 import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.VetorFloat;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.ArmazenamentoDeElementos;
 import br.com.carlosrafaelgn.navinha.modelo.elemento.ListaDeElementosDeTela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.SistemaDeColisoes;
 import br.com.carlosrafaelgn.navinha.modelo.recurso.ArmazenamentoDeRecursos;
 import br.com.carlosrafaelgn.navinha.modelo.texto.Alfabeto;
 import br.com.carlosrafaelgn.navinha.modelo.texto.TextoAnimado;
@@ -72,6 +76,17 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 
 	private static final float OPACIDADE_DO_FUNDO = 0.70f;
 
+	// Capacidade inicial de cada sistema de tiros, suficiente para que os vetores dos tiros não
+	// precisem crescer durante o jogo
+	private static final int TIROS_PREPARADOS = 48;
+
+	// Quantidade de inimigos criados durante o carregamento do cenário: a horda atual e a próxima,
+	// que é preparada enquanto a atual ainda está na tela
+	private static final int INIMIGOS_PREPARADOS = 2 * HordaDeInimigos.CONTAGEM_DE_INIMIGOS;
+
+	// Quantidade de inimigos criados, por quadro, preparando a próxima horda de inimigos
+	private static final int INIMIGOS_POR_QUADRO_PARA_PREPARAR_A_HORDA = 2;
+
 	//----------------------------------------------------------------------------------------------
 	// Interfaces e classes internas
 	//----------------------------------------------------------------------------------------------
@@ -127,13 +142,13 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 				textoExplicacao.setAlinhamentoHorizontalDasLinhas(AlinhamentoDoPivo.HORIZONTAL_CENTRO);
 				setTextoExplicacao(textoExplicacao);
 
-				listaDeElementosDeTela.adicioneAoInicio(textoExplicacao);
+				listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DA_INTERFACE, textoExplicacao);
 			}
 
 			// Cria o fade de entrada
 			Fade fade = new Fade(getFolhaDeSprites(), DURACAO_DO_FADE, true);
 			fade.setObservador(this);
-			listaDeElementosDeTela.adicioneAoInicio(fade);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, fade);
 		}
 
 		//------------------------------------------------------------------------------------------
@@ -177,7 +192,8 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 
 		@Override
 		public void posProcessamentoDoQuadro(float deltaSegundos) {
-			// Nada o que processar durante a entrada
+			// Durante a entrada, vamos aproveitar para preparar a primeira horda de inimigos
+			prepareProximaHordaDeInimigos();
 		}
 
 		@Override
@@ -240,6 +256,9 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 
 		@Override
 		public void posProcessamentoDoQuadro(float deltaSegundos) {
+			// Enquanto o jogador lê a explicação, a primeira horda continua sendo preparada
+			prepareProximaHordaDeInimigos();
+
 			// Espera o jogador clicar/tocar na tela para continuar
 
 			if (Jogo.getJogo().getPonteiroPrincipal().isToqueRecemTerminado()) {
@@ -278,7 +297,7 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 			}
 
 			// Mostra o botão de pausa
-			getListaDeElementosDeTela().adicioneAoInicio(getTextoPausar());
+			getListaDeElementosDeTela().adicioneAoInicio(ListaDeElementosDeTela.PLANO_DA_INTERFACE, getTextoPausar());
 		}
 
 		//------------------------------------------------------------------------------------------
@@ -303,6 +322,9 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 			// Move a horda de inimigos pela tela
 			getHordaDeInimigos().processeUmQuadro(deltaSegundos);
 
+			// Enquanto a horda atual é destruída, a próxima vai sendo preparada
+			prepareProximaHordaDeInimigos();
+
 			// Verifica as duas conquistas associadas ao tempo
 			if (!isConquistaPacifistaLiberada()) {
 				float tempoTotalConquistaPacifista = getTempoTotalConquistaPacifista() + deltaSegundos;
@@ -413,10 +435,10 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 				textoControle.getLargura(),
 				textoControle.getAltura()));
 
-			listaDeElementosDeTela.adicioneAoInicio(fundo);
-			listaDeElementosDeTela.adicioneAoInicio(textoPausado);
-			listaDeElementosDeTela.adicioneAoInicio(textoSair);
-			listaDeElementosDeTela.adicioneAoInicio(textoControle);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, fundo);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, textoPausado);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, textoSair);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, textoControle);
 
 			// Não é possível mais pausar, pois o jogo não está mais valendo
 			getTextoPausar().remova();
@@ -618,10 +640,10 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 				textoNao.getLargura(),
 				textoNao.getAltura()));
 
-			listaDeElementosDeTela.adicioneAoInicio(fundo);
-			listaDeElementosDeTela.adicioneAoInicio(textoConfirmacao);
-			listaDeElementosDeTela.adicioneAoInicio(textoSim);
-			listaDeElementosDeTela.adicioneAoInicio(textoNao);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, fundo);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, textoConfirmacao);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, textoSim);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, textoNao);
 
 			// Não é possível mais pausar, pois o jogo não está mais valendo
 			getTextoPausar().remova();
@@ -836,10 +858,10 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 			Fade fade = new Fade(getFolhaDeSprites(), DURACAO_DO_GAME_OVER, false);
 			fade.setOpacidadeMaxima(OPACIDADE_DO_FUNDO);
 
-			listaDeElementosDeTela.adicioneAoInicio(fade);
-			listaDeElementosDeTela.adicioneAoInicio(textoGameOver);
-			listaDeElementosDeTela.adicioneAoInicio(textoTentarDeNovo);
-			listaDeElementosDeTela.adicioneAoInicio(textoSair);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, fade);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, textoGameOver);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, textoTentarDeNovo);
+			listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, textoSair);
 
 			// Não é possível mais pausar, pois o jogo não está mais valendo
 			getTextoPausar().remova();
@@ -999,7 +1021,7 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 
 			Fade fade = new Fade(getFolhaDeSprites(), DURACAO_DO_FADE, false);
 			fade.setObservador(this);
-			getListaDeElementosDeTela().adicioneAoInicio(fade);
+			getListaDeElementosDeTela().adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_SOBREPOSICAO, fade);
 		}
 
 		//------------------------------------------------------------------------------------------
@@ -1066,7 +1088,7 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 	private FolhaDeSprites folhaDeSprites;
 	private CampoEstelar campoEstelar;
 	private Nave nave;
-	private HordaDeInimigos hordaDeInimigos;
+	private HordaDeInimigos hordaDeInimigos, proximaHordaDeInimigos;
 	private Alfabeto alfabeto;
 	private String stringPontos, stringVidas;
 	private TextoEstatico textoPontuacao, textoVidas, textoPausar;
@@ -1083,6 +1105,12 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 	//----------------------------------------------------------------------------------------------
 
 	public CenarioJogo(boolean ignorandoExplicacao) {
+		// As hordas trazem dezenas de inimigos (e tiros) de tamanhos parecidos, espalhados pela
+		// tela, que é justamente o caso em que a grade se sai melhor (e todos esses elementos são
+		// percorridos várias vezes por quadro, por isso ficam em um vetor denso)
+		super(SistemaDeColisoes.crieGrade(ListaDeElementosDeTela.TAMANHO_PADRAO_DA_CELULA_DE_COLISAO),
+			ArmazenamentoDeElementos.crieVetorDenso());
+
 		this.ignorandoExplicacao = ignorandoExplicacao;
 	}
 
@@ -1128,6 +1156,14 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 		this.hordaDeInimigos = hordaDeInimigos;
 	}
 
+	private HordaDeInimigos getProximaHordaDeInimigos() {
+		return proximaHordaDeInimigos;
+	}
+
+	private void setProximaHordaDeInimigos(HordaDeInimigos proximaHordaDeInimigos) {
+		this.proximaHordaDeInimigos = proximaHordaDeInimigos;
+	}
+
 	private Alfabeto getAlfabeto() {
 		return alfabeto;
 	}
@@ -1284,10 +1320,45 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 		// Quando uma horda de inimigos acaba, outra aparece logo em seguida, variando o estilo:
 		// normal, aleatória, normal, aleatória, normal...
 
+		// Normalmente, a próxima horda já foi preparada (ou pelo menos parte dela) durante os
+		// quadros anteriores, e resta apenas ativá-la
+		HordaDeInimigos proximaHordaDeInimigos = getProximaHordaDeInimigos();
+		if (proximaHordaDeInimigos == null) {
+			proximaHordaDeInimigos = crieProximaHordaDeInimigos();
+		} else {
+			setProximaHordaDeInimigos(null);
+		}
+
+		proximaHordaDeInimigos.ative();
+
+		setHordaDeInimigos(proximaHordaDeInimigos);
+	}
+
+	private HordaDeInimigos crieProximaHordaDeInimigos() {
 		HordaDeInimigos hordaDeInimigos = getHordaDeInimigos();
 		boolean entradaAleatoria = (hordaDeInimigos != null && !hordaDeInimigos.isEntradaAleatoria());
 
-		setHordaDeInimigos(new HordaDeInimigos(getNave(), this, entradaAleatoria));
+		return new HordaDeInimigos(getNave(), this, entradaAleatoria);
+	}
+
+	private void prepareProximaHordaDeInimigos() {
+		// Os inimigos da próxima horda são criados aos poucos, um pedaço a cada quadro, para que a
+		// criação de todos eles não aconteça de uma vez só, no quadro em que a horda é ativada
+		HordaDeInimigos proximaHordaDeInimigos = getProximaHordaDeInimigos();
+		if (proximaHordaDeInimigos == null) {
+			proximaHordaDeInimigos = crieProximaHordaDeInimigos();
+			setProximaHordaDeInimigos(proximaHordaDeInimigos);
+		}
+
+		proximaHordaDeInimigos.prepare(INIMIGOS_POR_QUADRO_PARA_PREPARAR_A_HORDA);
+	}
+
+	private void descarteProximaHordaDeInimigos() {
+		HordaDeInimigos proximaHordaDeInimigos = getProximaHordaDeInimigos();
+		if (proximaHordaDeInimigos != null) {
+			proximaHordaDeInimigos.destrua();
+			setProximaHordaDeInimigos(null);
+		}
 	}
 
 	private String gereTextoControle() {
@@ -1334,8 +1405,15 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 		}
 		setCampoEstelar(campoEstelar);
 
+		// Todas as explosões do cenário acontecem em um único sistema de partículas
+		SistemaDeParticulas sistemaDeParticulas = new SistemaDeParticulas(folhaDeSprites);
+
+		// Todos os tiros da nave ficam em um sistema de tiros, e todos os tiros dos inimigos em outro
+		SistemaDeTiros sistemaDeTirosDaNave = new SistemaDeTiros(folhaDeSprites, true, TIROS_PREPARADOS);
+		SistemaDeTiros sistemaDeTirosDosInimigos = new SistemaDeTiros(folhaDeSprites, false, TIROS_PREPARADOS);
+
 		// Vamos criar nossa nave!!!
-		Nave nave = new Nave(folhaDeSprites, persistencia.isNaveControladaPorMovimento(), this);
+		Nave nave = new Nave(folhaDeSprites, sistemaDeParticulas, sistemaDeTirosDaNave, sistemaDeTirosDosInimigos, persistencia.isNaveControladaPorMovimento(), this);
 		setNave(nave);
 
 		float larguraDaVista = tela.getLarguraDaVista();
@@ -1412,15 +1490,27 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 			textoPausar.getLargura(),
 			textoPausar.getAltura()));
 
-		// Por fim, vamos adicionar os elementos à lista de elementos desse cenário, na ordem em que
-		// desejamos que eles sejam desenhados (quem estiver no início será desenhado mais à frente)
+		// Por fim, vamos adicionar os elementos à lista de elementos desse cenário, cada um em seu
+		// plano (o campo estelar no fundo, a nave e os inimigos no mundo, os tiros e as explosões nos efeitos,
+		// os textos na interface, e as telas de pausa, confirmação e fim de jogo, bem como os fades,
+		// na sobreposição), de modo que ninguém precisa de um elemento de referência para ficar na
+		// profundidade certa
 
 		ListaDeElementosDeTela listaDeElementosDeTela = getListaDeElementosDeTela();
 
-		listaDeElementosDeTela.adicioneAoInicio(campoEstelar);
-		listaDeElementosDeTela.adicioneAoInicio(nave);
-		listaDeElementosDeTela.adicioneAoInicio(textoPontuacao);
-		listaDeElementosDeTela.adicioneAoInicio(textoVidas);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DE_FUNDO, campoEstelar);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DO_MUNDO, nave);
+		// Os sistemas de tiros ficam nos efeitos, e acabam sendo desenhados sobre a nave e os
+		// inimigos, mas sob as explosões (suas colisões são testadas na fase de colisões da lista,
+		// depois que todos os planos foram processados)
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DOS_EFEITOS, sistemaDeTirosDaNave);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DOS_EFEITOS, sistemaDeTirosDosInimigos);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DOS_EFEITOS, sistemaDeParticulas);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DA_INTERFACE, textoPontuacao);
+		listaDeElementosDeTela.adicioneAoInicio(ListaDeElementosDeTela.PLANO_DA_INTERFACE, textoVidas);
+
+		// Prepara o reservatório dos inimigos, que são criados e destruídos durante o jogo
+		Inimigo.getReservatorioDeInimigos().preencha(INIMIGOS_PREPARADOS);
 
 		// Configura o processador inicial do cenário
 		setProcessadorDeEstados(new ProcessadorDeEntrada());
@@ -1462,6 +1552,11 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 		// deve ser liberado manualmente
 		libereComSeguranca(getTextoPausar());
 
+		// Os inimigos da próxima horda ainda não estão na lista de elementos de tela, e dependem da
+		// folha de sprites e do tamanho da vista, então é mais simples descartá-los e prepará-los
+		// novamente depois
+		descarteProximaHordaDeInimigos();
+
 		// Ao final, precisamos chamar o método libereInternamente() da classe Cenário, para
 		// permitir que ela libere seus recursos (os elementos de tela)
 		super.libereInternamente();
@@ -1492,6 +1587,7 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 		setCampoEstelar(null);
 		setNave(null);
 		setHordaDeInimigos(null);
+		descarteProximaHordaDeInimigos();
 		setTextoPontuacao(null);
 		setTextoVidas(null);
 		setBotaoPausar(null);
@@ -1562,9 +1658,13 @@ public class CenarioJogo extends Cenario implements Nave.Observador, Inimigo.Obs
 	}
 
 	@Override
-	public void processeEDesenheUmQuadro(float deltaSegundos) {
-		// Deixa a classe Cenario fazer o desenho básico da tela
-		super.processeEDesenheUmQuadro(deltaSegundos);
+	public void processeUmQuadro(float deltaSegundos) {
+		// O relógio compartilhado pelas animações avança uma única vez por quadro, antes de os
+		// elementos serem processados
+		ElementoDeTelaComPausa.avanceRelogioDeAnimacao(deltaSegundos);
+
+		// Deixa a classe Cenario fazer o processamento básico dos elementos
+		super.processeUmQuadro(deltaSegundos);
 
 		// Agora vamos fazer o pós-processamento do cenário
 		getProcessadorDeEstados().posProcessamentoDoQuadro(deltaSegundos);
@@ -35,11 +35,13 @@ package br.com.carlosrafaelgn.navinha.jogo.desenho;
 import java.util.Arrays;
 
 import br.com.carlosrafaelgn.navinha.R;
+import br.com.carlosrafaelgn.navinha.modelo.animacao.ClipeDeQuadros;
 import br.com.carlosrafaelgn.navinha.modelo.jogo.Jogo;
 import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.Vetor;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeModelo;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeTextura;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Imagem;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.MascaraDePixels;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Ponto;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
 import br.com.carlosrafaelgn.navinha.modelo.recurso.Recurso;
@@ -87,6 +89,11 @@ public final class FolhaDeSprites extends Recurso {
 
 	private static final float TEXTURA_CAMPO_ESTELAR_ESCURO_CIMA = 42.0f;
 
+	private static final float QUADROS_POR_SEGUNDO_DO_INIMIGO = 6.0f;
+
+	// Pixels com alpha abaixo desse valor não fazem parte das máscaras de colisão
+	private static final int LIMIAR_DO_ALPHA_DAS_MASCARAS = 128;
+
 	//----------------------------------------------------------------------------------------------
 	// Campos privados
 	//----------------------------------------------------------------------------------------------
@@ -109,13 +116,18 @@ public final class FolhaDeSprites extends Recurso {
 	private CoordenadasDeModelo coordenadasDeModeloDoFragmentoDaExplosao;
 
 	private CoordenadasDeTextura[] coordenadasDeTexturaDaNavePorTipoDeMovimento;
-	private Vetor<CoordenadasDeTextura>[] coordenadasDeTexturaDoInimigoPorVida;
+	private ClipeDeQuadros[] clipesDoInimigoPorVida;
 	private CoordenadasDeTextura coordenadasDeTexturaDoTiroDaNave;
 	private CoordenadasDeTextura coordenadasDeTexturaDoTiroDoInimigo;
 	private CoordenadasDeTextura coordenadasDeTexturaDoFragmentoDaExplosaoDaNave;
 	private CoordenadasDeTextura coordenadasDeTexturaDoFragmentoDaExplosaoDoInimigo;
 	private CoordenadasDeTextura coordenadasDeTexturaDoFade;
 
+	private MascaraDePixels[] mascarasDePixelsDaNavePorTipoDeMovimento;
+	private Vetor<MascaraDePixels>[] mascarasDePixelsDoInimigoPorVida;
+	private MascaraDePixels mascaraDePixelsDoTiroDaNave;
+	private MascaraDePixels mascaraDePixelsDoTiroDoInimigo;
+
 	//----------------------------------------------------------------------------------------------
 	// Construtores
 	//----------------------------------------------------------------------------------------------
@@ -296,16 +308,17 @@ public final class FolhaDeSprites extends Recurso {
 		return coordenadasDeTexturaDaNavePorTipoDeMovimento[tipoDeMovimento];
 	}
 
-	private Vetor<CoordenadasDeTextura>[] getCoordenadasDeTexturaDoInimigoPorVida() {
-		return coordenadasDeTexturaDoInimigoPorVida;
+	private ClipeDeQuadros[] getClipesDoInimigoPorVida() {
+		return clipesDoInimigoPorVida;
 	}
 
-	private void setCoordenadasDeTexturaDoInimigoPorVida(Vetor<CoordenadasDeTextura>[] coordenadasDeTexturaDoInimigoPorVida) {
-		this.coordenadasDeTexturaDoInimigoPorVida = coordenadasDeTexturaDoInimigoPorVida;
+	private void setClipesDoInimigoPorVida(ClipeDeQuadros[] clipesDoInimigoPorVida) {
+		this.clipesDoInimigoPorVida = clipesDoInimigoPorVida;
 	}
 
-	public Vetor<CoordenadasDeTextura> getCoordenadasDeTexturaDoInimigoPorVida(int vidas) {
-		return coordenadasDeTexturaDoInimigoPorVida[vidas - 1];
+	public ClipeDeQuadros getClipeDoInimigoPorVida(int vidas) {
+		// Os clipes são compartilhados por todos os inimigos com a mesma quantidade de vidas
+		return clipesDoInimigoPorVida[vidas - 1];
 	}
 
 	public CoordenadasDeTextura getCoordenadasDeTexturaDoTiroDaNave() {
@@ -348,6 +361,47 @@ public final class FolhaDeSprites extends Recurso {
 		this.coordenadasDeTexturaDoFade = coordenadasDeTexturaDoFade;
 	}
 
+	private MascaraDePixels[] getMascarasDePixelsDaNavePorTipoDeMovimento() {
+		return mascarasDePixelsDaNavePorTipoDeMovimento;
+	}
+
+	private void setMascarasDePixelsDaNavePorTipoDeMovimento(MascaraDePixels[] mascarasDePixelsDaNavePorTipoDeMovimento) {
+		this.mascarasDePixelsDaNavePorTipoDeMovimento = mascarasDePixelsDaNavePorTipoDeMovimento;
+	}
+
+	public MascaraDePixels getMascaraDePixelsDaNavePorTipoDeMovimento(int tipoDeMovimento) {
+		return mascarasDePixelsDaNavePorTipoDeMovimento[tipoDeMovimento];
+	}
+
+	private Vetor<MascaraDePixels>[] getMascarasDePixelsDoInimigoPorVida() {
+		return mascarasDePixelsDoInimigoPorVida;
+	}
+
+	private void setMascarasDePixelsDoInimigoPorVida(Vetor<MascaraDePixels>[] mascarasDePixelsDoInimigoPorVida) {
+		this.mascarasDePixelsDoInimigoPorVida = mascarasDePixelsDoInimigoPorVida;
+	}
+
+	public Vetor<MascaraDePixels> getMascarasDePixelsDoInimigoPorVida(int vidas) {
+		// Cada máscara corresponde ao quadro de mesmo índice em getClipeDoInimigoPorVida()
+		return mascarasDePixelsDoInimigoPorVida[vidas - 1];
+	}
+
+	public MascaraDePixels getMascaraDePixelsDoTiroDaNave() {
+		return mascaraDePixelsDoTiroDaNave;
+	}
+
+	private void setMascaraDePixelsDoTiroDaNave(MascaraDePixels mascaraDePixelsDoTiroDaNave) {
+		this.mascaraDePixelsDoTiroDaNave = mascaraDePixelsDoTiroDaNave;
+	}
+
+	public MascaraDePixels getMascaraDePixelsDoTiroDoInimigo() {
+		return mascaraDePixelsDoTiroDoInimigo;
+	}
+
+	private void setMascaraDePixelsDoTiroDoInimigo(MascaraDePixels mascaraDePixelsDoTiroDoInimigo) {
+		this.mascaraDePixelsDoTiroDoInimigo = mascaraDePixelsDoTiroDoInimigo;
+	}
+
 	@Override
 	public boolean isCarregado() {
 		// Nossa forma de detectar se o recurso foi carregado ou não (cada recurso faz isso de
@@ -368,10 +422,67 @@ public final class FolhaDeSprites extends Recurso {
 		return new CoordenadasDeTextura(imagem.getLargura(), imagem.getAltura(), esquerda, cima, esquerda + tamanho, cima + tamanho);
 	}
 
+	private MascaraDePixels crieMascaraDePixels(int[] pixels, int larguraDaImagem, float esquerda, float cima, float largura, float altura) {
+		// Assim como as coordenadas de modelo, as máscaras possuem o pivô no centro, e cada pixel
+		// da textura equivale a um pixel da tela
+		return new MascaraDePixels(pixels, larguraDaImagem, (int)esquerda, (int)cima, (int)largura, (int)altura, 0.5f * (float)((int)largura), 0.5f * (float)((int)altura), LIMIAR_DO_ALPHA_DAS_MASCARAS);
+	}
+
+	private MascaraDePixels crieMascaraDePixelsBase(int[] pixels, int larguraDaImagem, int indiceX, int indiceY) {
+		float densidade = Tela.getTela().getDensidade();
+		float esquerda = (TEXTURA_TAMANHO_BASE + ESPACAMENTO) * densidade * (float)indiceX;
+		float cima = (TEXTURA_TAMANHO_BASE + ESPACAMENTO) * densidade * (float)indiceY;
+		float tamanho = TEXTURA_TAMANHO_BASE * densidade;
+		return crieMascaraDePixels(pixels, larguraDaImagem, esquerda, cima, tamanho, tamanho);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void crieMascarasDePixels(int[] pixels, int larguraDaImagem) {
+		// As máscaras são geradas a partir do canal alpha dos mesmos retângulos utilizados pelas
+		// coordenadas de textura, e, por isso, precisam ser mantidas em sincronia com elas
+		float densidade = Tela.getTela().getDensidade();
+
+		setMascarasDePixelsDaNavePorTipoDeMovimento(new MascaraDePixels[]{
+			crieMascaraDePixelsBase(pixels, larguraDaImagem, 0, 0), // Parado
+			crieMascaraDePixelsBase(pixels, larguraDaImagem, 1, 0), // Indo para a esquerda
+			crieMascaraDePixelsBase(pixels, larguraDaImagem, 2, 0)  // Indo para a direita
+		});
+
+		// Vermelho, amarelo e verde
+		Vetor<MascaraDePixels>[] mascarasDePixelsDoInimigoPorVida = new Vetor[3];
+		for (int i = 0; i < mascarasDePixelsDoInimigoPorVida.length; i++) {
+			MascaraDePixels[] quadros = new MascaraDePixels[6];
+			for (int j = 0; j < quadros.length; j++) {
+				quadros[j] = crieMascaraDePixelsBase(pixels, larguraDaImagem, 3 + j, i);
+			}
+			mascarasDePixelsDoInimigoPorVida[i] = new Vetor<>(quadros);
+		}
+		setMascarasDePixelsDoInimigoPorVida(mascarasDePixelsDoInimigoPorVida);
+
+		setMascaraDePixelsDoTiroDaNave(crieMascaraDePixels(pixels, larguraDaImagem,
+			TEXTURA_ESQUERDA_TIRO_NAVE * densidade,
+			TEXTURA_CIMA_TIRO_NAVE * densidade,
+			TEXTURA_LARGURA_TIRO_NAVE * densidade,
+			TEXTURA_ALTURA_TIRO_NAVE * densidade));
+
+		setMascaraDePixelsDoTiroDoInimigo(crieMascaraDePixels(pixels, larguraDaImagem,
+			TEXTURA_ESQUERDA_TIRO_INIMIGO * densidade,
+			TEXTURA_CIMA_TIRO_INIMIGO * densidade,
+			TEXTURA_LARGURA_TIRO_INIMIGO * densidade,
+			TEXTURA_ALTURA_TIRO_INIMIGO * densidade));
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	protected void carregueInternamente() {
-		Imagem imagem = new Imagem(R.drawable.sprites);
+		// Aproveita o carregamento da imagem para gerar as máscaras de colisão, enquanto os pixels
+		// ainda estão disponíveis na memória
+		Imagem imagem = new Imagem(R.drawable.sprites, new Imagem.ObservadorDePixels() {
+			@Override
+			public void pixelsCarregados(Imagem imagem, int[] pixels, int largura, int altura) {
+				crieMascarasDePixels(pixels, largura);
+			}
+		});
 		setImagem(imagem);
 
 		float densidade = Tela.getTela().getDensidade();
@@ -444,34 +555,34 @@ public final class FolhaDeSprites extends Recurso {
 			largura,
 			altura
 		));
-		setCoordenadasDeTexturaDoInimigoPorVida(new Vetor[]{
+		setClipesDoInimigoPorVida(new ClipeDeQuadros[]{
 			// Vermelho
-			new Vetor<>(
+			new ClipeDeQuadros(new Vetor<>(
 				crieCoordenadasDeTexturaBase(3, 0),
 				crieCoordenadasDeTexturaBase(4, 0),
 				crieCoordenadasDeTexturaBase(5, 0),
 				crieCoordenadasDeTexturaBase(6, 0),
 				crieCoordenadasDeTexturaBase(7, 0),
 				crieCoordenadasDeTexturaBase(8, 0)
-			),
+			), QUADROS_POR_SEGUNDO_DO_INIMIGO),
 			// Amarelo
-			new Vetor<>(
+			new ClipeDeQuadros(new Vetor<>(
 				crieCoordenadasDeTexturaBase(3, 1),
 				crieCoordenadasDeTexturaBase(4, 1),
 				crieCoordenadasDeTexturaBase(5, 1),
 				crieCoordenadasDeTexturaBase(6, 1),
 				crieCoordenadasDeTexturaBase(7, 1),
 				crieCoordenadasDeTexturaBase(8, 1)
-			),
+			), QUADROS_POR_SEGUNDO_DO_INIMIGO),
 			// Verde
-			new Vetor<>(
+			new ClipeDeQuadros(new Vetor<>(
 				crieCoordenadasDeTexturaBase(3, 2),
 				crieCoordenadasDeTexturaBase(4, 2),
 				crieCoordenadasDeTexturaBase(5, 2),
 				crieCoordenadasDeTexturaBase(6, 2),
 				crieCoordenadasDeTexturaBase(7, 2),
 				crieCoordenadasDeTexturaBase(8, 2)
-			)
+			), QUADROS_POR_SEGUNDO_DO_INIMIGO)
 		});
 
 		// Tiro da nave
@@ -600,10 +711,10 @@ public final class FolhaDeSprites extends Recurso {
 			setCoordenadasDeTexturaDaNavePorTipoDeMovimento(null);
 		}
 
-		Vetor<CoordenadasDeTextura>[] coordenadasDeTexturaDoInimigoPorVida = getCoordenadasDeTexturaDoInimigoPorVida();
-		if (coordenadasDeTexturaDoInimigoPorVida != null) {
-			Arrays.fill(coordenadasDeTexturaDoInimigoPorVida, null);
-			setCoordenadasDeTexturaDoInimigoPorVida(null);
+		ClipeDeQuadros[] clipesDoInimigoPorVida = getClipesDoInimigoPorVida();
+		if (clipesDoInimigoPorVida != null) {
+			Arrays.fill(clipesDoInimigoPorVida, null);
+			setClipesDoInimigoPorVida(null);
 		}
 
 		setCoordenadasDeTexturaDoTiroDaNave(null);
@@ -611,6 +722,21 @@ public final class FolhaDeSprites extends Recurso {
 		setCoordenadasDeTexturaDoFragmentoDaExplosaoDaNave(null);
 		setCoordenadasDeTexturaDoFragmentoDaExplosaoDoInimigo(null);
 		setCoordenadasDeTexturaDoFade(null);
+
+		MascaraDePixels[] mascarasDePixelsDaNavePorTipoDeMovimento = getMascarasDePixelsDaNavePorTipoDeMovimento();
+		if (mascarasDePixelsDaNavePorTipoDeMovimento != null) {
+			Arrays.fill(mascarasDePixelsDaNavePorTipoDeMovimento, null);
+			setMascarasDePixelsDaNavePorTipoDeMovimento(null);
+		}
+
+		Vetor<MascaraDePixels>[] mascarasDePixelsDoInimigoPorVida = getMascarasDePixelsDoInimigoPorVida();
+		if (mascarasDePixelsDoInimigoPorVida != null) {
+			Arrays.fill(mascarasDePixelsDoInimigoPorVida, null);
+			setMascarasDePixelsDoInimigoPorVida(null);
+		}
+
+		setMascaraDePixelsDoTiroDaNave(null);
+		setMascaraDePixelsDoTiroDoInimigo(null);
 	}
 
 	@Override
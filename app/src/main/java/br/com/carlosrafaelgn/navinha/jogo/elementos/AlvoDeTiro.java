@@ -37,5 +37,6 @@ public abstract class AlvoDeTiro extends ElementoDeTelaComPausa {
 	// Métodos públicos
 	//----------------------------------------------------------------------------------------------
 
-	public abstract void acertadoPorUmTiro(Tiro tiro);
+	// (xDoTiro, yDoTiro) é a posição do tiro no momento em que ele acertou o alvo
+	public abstract void acertadoPorUmTiro(float xDoTiro, float yDoTiro);
 }
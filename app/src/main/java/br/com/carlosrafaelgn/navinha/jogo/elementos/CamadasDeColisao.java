@@ -0,0 +1,56 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.jogo.elementos;
+
+import br.com.carlosrafaelgn.navinha.modelo.elemento.ElementoDeTela;
+
+public final class CamadasDeColisao {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// O bit 0 fica reservado para ElementoDeTela.CAMADA_DE_COLISAO_PADRAO
+	// Todos os elementos das camadas NAVE e INIMIGO devem ser subclasses de AlvoDeTiro, pois é
+	// isso que os tiros esperam encontrar quando colidem com algo
+	public static final int NAVE = ElementoDeTela.CAMADA_DE_COLISAO_PADRAO << 1;
+	public static final int INIMIGO = ElementoDeTela.CAMADA_DE_COLISAO_PADRAO << 2;
+	public static final int TIRO_DA_NAVE = ElementoDeTela.CAMADA_DE_COLISAO_PADRAO << 3;
+	public static final int TIRO_DO_INIMIGO = ElementoDeTela.CAMADA_DE_COLISAO_PADRAO << 4;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	private CamadasDeColisao() {
+	}
+}
@@ -35,9 +35,12 @@ package br.com.carlosrafaelgn.navinha.jogo.elementos;
 import br.com.carlosrafaelgn.navinha.jogo.desenho.FolhaDeSprites;
 import br.com.carlosrafaelgn.navinha.modelo.jogo.Jogo;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Imagem;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.LoteDeRetangulosAnimados;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Ponto;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
 
+// As estrelas são enviadas ao OpenGL uma única vez, em um lote de retângulos animados, e é o
+// shader quem as move e as faz voltar ao topo da tela: a cada quadro, apenas o tempo é atualizado
 public final class CampoEstelar extends ElementoDeTelaComPausa {
 	//----------------------------------------------------------------------------------------------
 	// Constantes
@@ -45,6 +48,7 @@ public final class CampoEstelar extends ElementoDeTelaComPausa {
 
 	public static final int CONTAGEM_DE_ESTRELAS = 400;
 
+	// VELOCIDADE_RAPIDA deve ser um múltiplo de VELOCIDADE_LENTA (veja processeUmQuadroSemPausa())
 	private static final float VELOCIDADE_LENTA = 10.0f;
 	private static final float VELOCIDADE_RAPIDA = 30.0f;
 
@@ -53,8 +57,8 @@ public final class CampoEstelar extends ElementoDeTelaComPausa {
 	//----------------------------------------------------------------------------------------------
 
 	private FolhaDeSprites folhaDeSprites;
-	private float tamanho, larguraNaImagem, alturaNaImagem;
-	private float[] esquerda, cima, esquerdaImagem, cimaImagem;
+	private LoteDeRetangulosAnimados loteDeEstrelas;
+	private float tamanho, alturaDoLaco, tempoAnterior, tempo, periodo;
 
 	//----------------------------------------------------------------------------------------------
 	// Construtores
@@ -78,67 +82,59 @@ public final class CampoEstelar extends ElementoDeTelaComPausa {
 		this.folhaDeSprites = folhaDeSprites;
 	}
 
-	private float getTamanho() {
-		return tamanho;
-	}
-
-	private void setTamanho(float tamanho) {
-		this.tamanho = tamanho;
-	}
-
-	private float getLarguraNaImagem() {
-		return larguraNaImagem;
+	private LoteDeRetangulosAnimados getLoteDeEstrelas() {
+		return loteDeEstrelas;
 	}
 
-	private void setLarguraNaImagem(float larguraNaImagem) {
-		this.larguraNaImagem = larguraNaImagem;
+	private void setLoteDeEstrelas(LoteDeRetangulosAnimados loteDeEstrelas) {
+		this.loteDeEstrelas = loteDeEstrelas;
 	}
 
-	private float getAlturaNaImagem() {
-		return alturaNaImagem;
+	private float getTamanho() {
+		return tamanho;
 	}
 
-	private void setAlturaNaImagem(float alturaNaImagem) {
-		this.alturaNaImagem = alturaNaImagem;
+	private void setTamanho(float tamanho) {
+		this.tamanho = tamanho;
 	}
 
-	private float[] getEsquerda() {
-		return esquerda;
+	private float getAlturaDoLaco() {
+		return alturaDoLaco;
 	}
 
-	private void setEsquerda(float[] esquerda) {
-		this.esquerda = esquerda;
+	private void setAlturaDoLaco(float alturaDoLaco) {
+		this.alturaDoLaco = alturaDoLaco;
 	}
 
-	private float[] getCima() {
-		return cima;
+	private float getTempoAnterior() {
+		return tempoAnterior;
 	}
 
-	private void setCima(float[] cima) {
-		this.cima = cima;
+	private void setTempoAnterior(float tempoAnterior) {
+		this.tempoAnterior = tempoAnterior;
 	}
 
-	private float[] getEsquerdaImagem() {
-		return esquerdaImagem;
+	private float getTempo() {
+		return tempo;
 	}
 
-	private void setEsquerdaImagem(float[] esquerdaImagem) {
-		this.esquerdaImagem = esquerdaImagem;
+	private void setTempo(float tempo) {
+		this.tempo = tempo;
 	}
 
-	private float[] getCimaImagem() {
-		return cimaImagem;
+	private float getPeriodo() {
+		return periodo;
 	}
 
-	private void setCimaImagem(float[] cimaImagem) {
-		this.cimaImagem = cimaImagem;
+	private void setPeriodo(float periodo) {
+		this.periodo = periodo;
 	}
 
 	@Override
 	public boolean isCarregado() {
 		// Nossa forma de detectar se o recurso foi carregado ou não (cada recurso faz isso de
 		// jeitos diferentes)
-		return (getEsquerda() != null);
+		return (getLoteDeEstrelas() != null);
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -152,14 +148,11 @@ public final class CampoEstelar extends ElementoDeTelaComPausa {
 
 		// Cria a quantidade de estrelas pedidas, distribuídas uniformemente ao longo da tela
 
-		float[] x = new float[CONTAGEM_DE_ESTRELAS];
-		float[] y = new float[CONTAGEM_DE_ESTRELAS];
-		float[] imagemX = new float[CONTAGEM_DE_ESTRELAS];
-		float[] imagemY = new float[CONTAGEM_DE_ESTRELAS];
+		LoteDeRetangulosAnimados loteDeEstrelas = new LoteDeRetangulosAnimados(CONTAGEM_DE_ESTRELAS);
 
 		FolhaDeSprites folhaDeSprites = getFolhaDeSprites();
 		Imagem imagem = folhaDeSprites.getImagem();
-		int i, metade = CONTAGEM_DE_ESTRELAS / 2;
+		int i;
 		Ponto ponto = new Ponto();
 
 		// Define o tamanho de cada estrela como um valor inteiro, de pelo menos 1 pixel
@@ -171,41 +164,57 @@ public final class CampoEstelar extends ElementoDeTelaComPausa {
 
 		float larguraDaVista = tela.getLarguraDaVista();
 		float alturaDaVista = tela.getAlturaDaVista();
-
-		// A metade das estrelas que ficará ao fundo será mais escura
-		for (i = CONTAGEM_DE_ESTRELAS - 1; i >= metade; i--) {
-			x[i] = jogo.numeroAleatorio(larguraDaVista);
-			y[i] = jogo.numeroAleatorio(alturaDaVista);
-			folhaDeSprites.escolhaUmPontoNaTexturaDoCampoEstelar(ponto, tamanho, false);
-			imagemX[i] = ponto.getX();
-			imagemY[i] = ponto.getY();
+		float larguraNaImagem = 1.0f / imagem.getLargura();
+		float alturaNaImagem = 1.0f / imagem.getAltura();
+		float velocidadeLenta = VELOCIDADE_LENTA * tamanho;
+		float velocidadeRapida = VELOCIDADE_RAPIDA * tamanho;
+
+		// A metade das estrelas que ficará ao fundo será mais escura, e mais lenta, e a outra
+		// metade, que ficará à frente, será mais clara, e mais rápida
+		// As duas metades são intercaladas no lote, para que, quando o governador de qualidade
+		// pedir menos estrelas, e apenas o início do lote for desenhado, as duas continuem
+		// aparecendo na mesma proporção
+		for (i = CONTAGEM_DE_ESTRELAS - 1; i >= 0; i--) {
+			boolean rapida = ((i & 1) == 0);
+			folhaDeSprites.escolhaUmPontoNaTexturaDoCampoEstelar(ponto, tamanho, rapida);
+			loteDeEstrelas.altereRetangulo(i,
+				jogo.numeroAleatorio(larguraDaVista),
+				jogo.numeroAleatorio(alturaDaVista),
+				0.0f,
+				0.0f,
+				tamanho,
+				tamanho,
+				0.0f,
+				rapida ? velocidadeRapida : velocidadeLenta,
+				0.0f,
+				ponto.getX(),
+				ponto.getY(),
+				ponto.getX() + larguraNaImagem,
+				ponto.getY() + alturaNaImagem);
 		}
 
-		// A outra metade, que ficará à frente, será mais clara
-		for ( ; i >= 0; i--) {
-			x[i] = jogo.numeroAleatorio(larguraDaVista);
-			y[i] = jogo.numeroAleatorio(alturaDaVista);
-			folhaDeSprites.escolhaUmPontoNaTexturaDoCampoEstelar(ponto, tamanho, true);
-			imagemX[i] = ponto.getX();
-			imagemY[i] = ponto.getY();
-		}
+		loteDeEstrelas.carregue();
+
+		// Ao chegar na parte de baixo da tela, a estrela volta para o topo, logo acima da tela
+		float alturaDoLaco = alturaDaVista + tamanho;
+		setAlturaDoLaco(alturaDoLaco);
 
-		setLarguraNaImagem(1.0f / imagem.getLargura());
-		setAlturaNaImagem(1.0f / imagem.getAltura());
-		setEsquerda(x);
-		setCima(y);
-		setEsquerdaImagem(imagemX);
-		setCimaImagem(imagemY);
+		// Após um período, as estrelas lentas terão dado exatamente uma volta, e as rápidas, um
+		// número inteiro de voltas, de modo que o tempo pode voltar a 0 sem que as estrelas
+		// saltem (isso evita a perda de precisão que o tempo teria se crescesse indefinidamente)
+		setPeriodo(alturaDoLaco / (VELOCIDADE_LENTA * tamanho));
+		setTempoAnterior(0.0f);
+		setTempo(0.0f);
+
+		setLoteDeEstrelas(loteDeEstrelas);
 	}
 
 	@Override
 	protected void libereInternamente() {
 		// Vamos liberar toda a memória que não será mais utilizada
 
-		setEsquerda(null);
-		setCima(null);
-		setEsquerdaImagem(null);
-		setCimaImagem(null);
+		getLoteDeEstrelas().destrua();
+		setLoteDeEstrelas(null);
 	}
 
 	@Override
@@ -221,37 +230,17 @@ public final class CampoEstelar extends ElementoDeTelaComPausa {
 
 	@Override
 	protected void processeUmQuadroSemPausa(float deltaSegundos) {
-		float alturaDaVista = Tela.getTela().getAlturaDaVista();
-
-		float tamanho = getTamanho();
-		float velocidade;
-		float[] y = getCima();
-
-		int i, metade = CONTAGEM_DE_ESTRELAS / 2;
-
-		// Uma metade, que ficará ao fundo, será mais lenta
-		velocidade = VELOCIDADE_LENTA * tamanho;
-		for (i = CONTAGEM_DE_ESTRELAS - 1; i >= metade; i--) {
-			// Ao chegar na parte de baixo da tela, a estrela volta para o topo
-			float novoY = y[i] + (velocidade * deltaSegundos);
-			if (novoY >= alturaDaVista) {
-				y[i] = -tamanho;
-			} else {
-				y[i] = novoY;
-			}
+		// O movimento das estrelas é todo calculado pelo shader, a partir do tempo (o tempo do
+		// início do quadro é guardado para o desenho)
+		setTempoAnterior(getTempo());
+		float tempo = getTempo() + deltaSegundos;
+		float periodo = getPeriodo();
+
+		while (tempo >= periodo) {
+			tempo -= periodo;
 		}
 
-		// A outra metade, que ficará à frente, será mais rápida
-		velocidade = VELOCIDADE_RAPIDA * tamanho;
-		for ( ; i >= 0; i--) {
-			// Ao chegar na parte de baixo da tela, a estrela volta para o topo
-			float novoY = y[i] + (velocidade * deltaSegundos);
-			if (novoY >= alturaDaVista) {
-				y[i] = -tamanho;
-			} else {
-				y[i] = novoY;
-			}
-		}
+		setTempo(tempo);
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -260,27 +249,29 @@ public final class CampoEstelar extends ElementoDeTelaComPausa {
 
 	@Override
 	public void desenheUmQuadro() {
-		Tela tela = Tela.getTela();
-		Imagem imagem = getFolhaDeSprites().getImagem();
-		float tamanho = getTamanho();
-		float larguraNaImagem = getLarguraNaImagem();
-		float alturaNaImagem = getAlturaNaImagem();
-		float[] esquerda = getEsquerda();
-		float[] cima = getCima();
-		float[] esquerdaImagem = getEsquerdaImagem();
-		float[] cimaImagem = getCimaImagem();
-
-		for (int i = CONTAGEM_DE_ESTRELAS - 1; i >= 0; i--) {
-			tela.desenhe(imagem,
-				esquerda[i],
-				cima[i],
-				esquerda[i] + tamanho,
-				cima[i] + tamanho,
-				1.0f,
-				esquerdaImagem[i],
-				cimaImagem[i],
-				esquerdaImagem[i] + larguraNaImagem,
-				cimaImagem[i] + alturaNaImagem);
+		// Se o tempo deu a volta durante o último quadro, ele é interpolado como se não tivesse
+		// dado, e volta para dentro do período depois
+		float periodo = getPeriodo();
+		float tempoAnterior = getTempoAnterior();
+		float tempo = getTempo();
+		if (tempo < tempoAnterior) {
+			tempo += periodo;
 		}
+		tempo = interpoleSemPausa(tempoAnterior, tempo);
+		if (tempo >= periodo) {
+			tempo -= periodo;
+		}
+
+		// Todas as estrelas são desenhadas por uma única chamada ao OpenGL (o governador de
+		// qualidade é consultado a cada quadro, já que o campo estelar existe durante o jogo todo,
+		// e consultá-lo custa praticamente nada)
+		Tela.getTela().desenhe(getFolhaDeSprites().getImagem(),
+			getLoteDeEstrelas(),
+			0,
+			Jogo.getJogo().getGovernadorDeQualidade().orcamento(CONTAGEM_DE_ESTRELAS),
+			tempo,
+			0.0f,
+			-getTamanho(),
+			getAlturaDoLaco());
 	}
 }
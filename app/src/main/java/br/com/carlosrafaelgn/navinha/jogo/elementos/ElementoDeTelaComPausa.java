@@ -35,6 +35,15 @@ package br.com.carlosrafaelgn.navinha.jogo.elementos;
 import br.com.carlosrafaelgn.navinha.modelo.elemento.ElementoDeTela;
 
 public abstract class ElementoDeTelaComPausa extends ElementoDeTela {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// O relógio de animação volta a 0 depois desse tempo, para não perder precisão com o float
+	// (como o período é um número inteiro de segundos, clipes com uma quantidade inteira de quadros
+	// por segundo não percebem a volta)
+	private static final float PERIODO_DO_RELOGIO_DE_ANIMACAO = 3600.0f;
+
 	//----------------------------------------------------------------------------------------------
 	// Campos privados
 	//----------------------------------------------------------------------------------------------
@@ -42,6 +51,10 @@ public abstract class ElementoDeTelaComPausa extends ElementoDeTela {
 	// O estado pausado vale para todos os elementos
 	private static boolean pausado;
 
+	// Assim como o relógio de animação, que é compartilhado por todos os elementos que precisam
+	// escolher um quadro de um ClipeDeQuadros (cada um somando a ele sua própria fase)
+	private static float segundosDeAnimacao;
+
 	//----------------------------------------------------------------------------------------------
 	// Métodos acessores e modificadores
 	//----------------------------------------------------------------------------------------------
@@ -54,16 +67,49 @@ public abstract class ElementoDeTelaComPausa extends ElementoDeTela {
 		ElementoDeTelaComPausa.pausado = pausado;
 	}
 
+	public static float getSegundosDeAnimacao() {
+		return segundosDeAnimacao;
+	}
+
+	private static void setSegundosDeAnimacao(float segundosDeAnimacao) {
+		ElementoDeTelaComPausa.segundosDeAnimacao = segundosDeAnimacao;
+	}
+
 	//----------------------------------------------------------------------------------------------
 	// Métodos privados e protegidos
 	//----------------------------------------------------------------------------------------------
 
 	protected abstract void processeUmQuadroSemPausa(float deltaSegundos);
 
+	protected void colidiuComSemPausa(ElementoDeTela elementoDeTela) {
+	}
+
+	protected void objetoColidiuComSemPausa(int objeto, ElementoDeTela elementoDeTela) {
+	}
+
+	protected static float interpoleSemPausa(float anterior, float atual) {
+		// Enquanto o jogo está pausado, o valor anterior fica parado no último quadro processado,
+		// e interpolar os dois faria o elemento oscilar de um desenho para o outro
+		return (isPausado() ? atual : interpole(anterior, atual));
+	}
+
 	//----------------------------------------------------------------------------------------------
 	// Métodos públicos
 	//----------------------------------------------------------------------------------------------
 
+	public static void avanceRelogioDeAnimacao(float deltaSegundos) {
+		// Deve ser chamado uma única vez por quadro, antes do processamento dos elementos
+		if (isPausado()) {
+			return;
+		}
+
+		float segundosDeAnimacao = getSegundosDeAnimacao() + deltaSegundos;
+		if (segundosDeAnimacao >= PERIODO_DO_RELOGIO_DE_ANIMACAO) {
+			segundosDeAnimacao -= PERIODO_DO_RELOGIO_DE_ANIMACAO;
+		}
+		setSegundosDeAnimacao(segundosDeAnimacao);
+	}
+
 	@Override
 	public final void processeUmQuadro(float deltaSegundos) {
 		if (isPausado()) {
@@ -72,4 +118,22 @@ public abstract class ElementoDeTelaComPausa extends ElementoDeTela {
 
 		processeUmQuadroSemPausa(deltaSegundos);
 	}
+
+	@Override
+	public final void colidiuCom(ElementoDeTela elementoDeTela) {
+		if (isPausado()) {
+			return;
+		}
+
+		colidiuComSemPausa(elementoDeTela);
+	}
+
+	@Override
+	public final void objetoColidiuCom(int objeto, ElementoDeTela elementoDeTela) {
+		if (isPausado()) {
+			return;
+		}
+
+		objetoColidiuComSemPausa(objeto, elementoDeTela);
+	}
 }
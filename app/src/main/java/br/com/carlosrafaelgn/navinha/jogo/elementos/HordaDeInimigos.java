@@ -38,9 +38,10 @@ import br.com.carlosrafaelgn.navinha.modelo.jogo.Jogo;
 import br.com.carlosrafaelgn.navinha.modelo.animacao.contadores.Contador;
 import br.com.carlosrafaelgn.navinha.modelo.animacao.interpoladores.InterpoladorDePontos;
 import br.com.carlosrafaelgn.navinha.modelo.animacao.interpoladores.InterpoladorDePontosComContador;
-import br.com.carlosrafaelgn.navinha.modelo.dados.ListaEmbaralhavel;
+import br.com.carlosrafaelgn.navinha.modelo.dados.SacolaIndexada;
 import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.VetorFloat;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.GrupoDeColisoes;
 import br.com.carlosrafaelgn.navinha.modelo.elemento.ListaDeElementosDeTela;
 
 public final class HordaDeInimigos implements Inimigo.Observador {
@@ -65,26 +66,44 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 
 	private static final int LINHAS_DE_INIMIGOS = 4;
 	private static final int INIMIGOS_POR_LINHA = 10;
+	public static final int CONTAGEM_DE_INIMIGOS = LINHAS_DE_INIMIGOS * INIMIGOS_POR_LINHA;
 
 	//----------------------------------------------------------------------------------------------
 	// Campos privados
 	//----------------------------------------------------------------------------------------------
 
 	private Inimigo.Observador observador;
-	private ListaEmbaralhavel<Inimigo> inimigos;
+	private Nave nave;
+	private SacolaIndexada<Inimigo> inimigos;
+	private GrupoDeColisoes grupoDeColisoes;
 	private InterpoladorDePontosComContador interpoladorDePontos;
-	private int indiceDoProximoATentarAtirar;
-	private float intervaloDosTiros;
+	private int indiceDoProximoATentarAtirar, contagemDeInimigosPreparados;
+	private float espacamento, intervaloDosTiros;
+	private InterpoladorDePontos splineDeEntradaPelaEsquerda, splineDeEntradaPelaDireita;
 	private boolean intervaloDoVoo2Processado, intervaloDoVoo1Processado, intervaloDos75Processado, intervaloDos50Processado, intervaloDos25Processado;
 	private final boolean entradaAleatoria;
+	private boolean ativa;
+
+	// As splines da entrada normal dependem apenas das dimensões da vista e do espaçamento, então
+	// são resolvidas uma única vez e compartilhadas por todos os inimigos de todas as hordas, até
+	// que as dimensões mudem (cada inimigo guarda apenas sua defasagem, em seu próprio contador)
+	private static InterpoladorDePontos splineDeEntradaPelaEsquerdaCompartilhada, splineDeEntradaPelaDireitaCompartilhada;
+	private static float larguraDasSplinesCompartilhadas, alturaDasSplinesCompartilhadas, espacamentoDasSplinesCompartilhadas;
 
 	//----------------------------------------------------------------------------------------------
 	// Construtores
 	//----------------------------------------------------------------------------------------------
 
+	// Os inimigos não são criados aqui, e sim aos poucos, por prepare(), e só passam a fazer parte
+	// do jogo quando a horda é ativada, por ative() (assim, a horda seguinte pode ser preparada ao
+	// longo de vários quadros, enquanto a horda atual ainda está sendo destruída)
 	public HordaDeInimigos(Nave nave, Inimigo.Observador observador, boolean entradaAleatoria) {
 		setObservador(observador);
-		setInimigos(new ListaEmbaralhavel<Inimigo>(LINHAS_DE_INIMIGOS * INIMIGOS_POR_LINHA));
+		setNave(nave);
+		setInimigos(new SacolaIndexada<Inimigo>(CONTAGEM_DE_INIMIGOS, Jogo.getJogo()));
+		// Todos os inimigos da horda são agrupados, para que um tiro que passe longe da horda seja
+		// descartado com um único teste de colisão
+		setGrupoDeColisoes(new GrupoDeColisoes());
 
 		this.entradaAleatoria = entradaAleatoria;
 
@@ -95,6 +114,7 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 
 		// Calcula o espacamento entre os inimigos
 		float espacamento = folhaDeSprites.pixels(1.5f);
+		setEspacamento(espacamento);
 
 		// Esse interpolador de pontos será responsável por mover a horda de inimigos inteira, em um
 		// movimento repetitivo (o ponto do interpolador indica a posição central da horda)
@@ -110,7 +130,15 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 			0.0f,
 			INCREMENTO_POR_SEGUNDO_DO_MOVIMENTO));
 
-		crieOsInimigos(nave, espacamento);
+		if (!entradaAleatoria) {
+			// Com a entrada normal os inimigos surgem de dois pontos na parte superior, em fila,
+			// vão até outro ponto na parte oposta, e terminam na posição de descanso (os pontos são
+			// os mesmos para todos os inimigos)
+			prepareSplinesDeEntradaCompartilhadas(tela.getLarguraDaVista(), tela.getAlturaDaVista(), espacamento);
+
+			setSplineDeEntradaPelaEsquerda(splineDeEntradaPelaEsquerdaCompartilhada);
+			setSplineDeEntradaPelaDireita(splineDeEntradaPelaDireitaCompartilhada);
+		}
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -125,14 +153,30 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 		this.observador = observador;
 	}
 
-	private ListaEmbaralhavel<Inimigo> getInimigos() {
+	private Nave getNave() {
+		return nave;
+	}
+
+	private void setNave(Nave nave) {
+		this.nave = nave;
+	}
+
+	private SacolaIndexada<Inimigo> getInimigos() {
 		return inimigos;
 	}
 
-	private void setInimigos(ListaEmbaralhavel<Inimigo> inimigos) {
+	private void setInimigos(SacolaIndexada<Inimigo> inimigos) {
 		this.inimigos = inimigos;
 	}
 
+	public GrupoDeColisoes getGrupoDeColisoes() {
+		return grupoDeColisoes;
+	}
+
+	private void setGrupoDeColisoes(GrupoDeColisoes grupoDeColisoes) {
+		this.grupoDeColisoes = grupoDeColisoes;
+	}
+
 	private InterpoladorDePontosComContador getInterpoladorDePontos() {
 		return interpoladorDePontos;
 	}
@@ -142,7 +186,7 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 	}
 
 	public int getInimigosRestantes() {
-		return getInimigos().size();
+		return getInimigos().getTamanho();
 	}
 
 	private int getIndiceDoProximoATentarAtirar() {
@@ -153,6 +197,38 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 		this.indiceDoProximoATentarAtirar = indiceDoProximoATentarAtirar;
 	}
 
+	private int getContagemDeInimigosPreparados() {
+		return contagemDeInimigosPreparados;
+	}
+
+	private void setContagemDeInimigosPreparados(int contagemDeInimigosPreparados) {
+		this.contagemDeInimigosPreparados = contagemDeInimigosPreparados;
+	}
+
+	private float getEspacamento() {
+		return espacamento;
+	}
+
+	private void setEspacamento(float espacamento) {
+		this.espacamento = espacamento;
+	}
+
+	private InterpoladorDePontos getSplineDeEntradaPelaEsquerda() {
+		return splineDeEntradaPelaEsquerda;
+	}
+
+	private void setSplineDeEntradaPelaEsquerda(InterpoladorDePontos splineDeEntradaPelaEsquerda) {
+		this.splineDeEntradaPelaEsquerda = splineDeEntradaPelaEsquerda;
+	}
+
+	private InterpoladorDePontos getSplineDeEntradaPelaDireita() {
+		return splineDeEntradaPelaDireita;
+	}
+
+	private void setSplineDeEntradaPelaDireita(InterpoladorDePontos splineDeEntradaPelaDireita) {
+		this.splineDeEntradaPelaDireita = splineDeEntradaPelaDireita;
+	}
+
 	private float getIntervaloDosTiros() {
 		return intervaloDosTiros;
 	}
@@ -205,6 +281,18 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 		return entradaAleatoria;
 	}
 
+	public boolean isPreparada() {
+		return (getContagemDeInimigosPreparados() == CONTAGEM_DE_INIMIGOS);
+	}
+
+	public boolean isAtiva() {
+		return ativa;
+	}
+
+	private void setAtiva(boolean ativa) {
+		this.ativa = ativa;
+	}
+
 	public float getX() {
 		return getInterpoladorDePontos().getUltimoPontoInterpolado().getX();
 	}
@@ -217,160 +305,123 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 	// Métodos privados e protegidos
 	//----------------------------------------------------------------------------------------------
 
-	private void crieOsInimigos(Nave nave, float espacamento) {
+	private static void prepareSplinesDeEntradaCompartilhadas(float larguraDaVista, float alturaDaVista, float espacamento) {
+		// Os pontos de controle são calculados a partir desses três valores, por isso eles são
+		// suficientes para saber se as splines já resolvidas ainda podem ser utilizadas
+		if (splineDeEntradaPelaEsquerdaCompartilhada != null &&
+			larguraDasSplinesCompartilhadas == larguraDaVista &&
+			alturaDasSplinesCompartilhadas == alturaDaVista &&
+			espacamentoDasSplinesCompartilhadas == espacamento) {
+			return;
+		}
+
+		VetorFloat vetorY = new VetorFloat(alturaDaVista - (3.0f * espacamento), 0.5f * alturaDaVista, espacamento, 3.0f * espacamento);
+
+		splineDeEntradaPelaEsquerdaCompartilhada = InterpoladorDePontos.crieSpline(
+			new VetorFloat(larguraDaVista + espacamento, 0.5f * larguraDaVista, (0.5f * larguraDaVista) - espacamento, (0.5f * larguraDaVista) - (3.0f * espacamento)),
+			vetorY
+		);
+		splineDeEntradaPelaDireitaCompartilhada = InterpoladorDePontos.crieSpline(
+			new VetorFloat(-espacamento                , 0.5f * larguraDaVista, (0.5f * larguraDaVista) + espacamento, (0.5f * larguraDaVista) + (3.0f * espacamento)),
+			vetorY
+		);
+
+		larguraDasSplinesCompartilhadas = larguraDaVista;
+		alturaDasSplinesCompartilhadas = alturaDaVista;
+		espacamentoDasSplinesCompartilhadas = espacamento;
+	}
+
+	private Inimigo crieOInimigo(int indice) {
+		// Os inimigos são criados linha por linha, e o índice é suficiente para saber a posição de
+		// descanso, a vida e o caminho de entrada de cada um deles
 		Jogo jogo = Jogo.getJogo();
-		Tela tela = Tela.getTela();
+		Nave nave = getNave();
 		FolhaDeSprites folhaDeSprites = nave.getFolhaDeSprites();
-		ListaDeElementosDeTela listaDeElementosDeTela = nave.getLista();
-		ListaEmbaralhavel<Inimigo> inimigos = getInimigos();
+		float espacamento = getEspacamento();
 
-		float larguraDaVista = tela.getLarguraDaVista();
-		float alturaDaVista = tela.getAlturaDaVista();
+		int linha = indice / INIMIGOS_POR_LINHA;
+		int coluna = indice % INIMIGOS_POR_LINHA;
 
-		// Posição vertical da primeira linha de inimigos, relativa ao centro da horda
-		float y = -espacamento;
+		// Os inimigos mais atrás terão menos vida, enquanto que os da frente terão mais
+		int vidas = ((linha == 0) ? 1 : linha);
+
+		// Posição vertical da linha do inimigo, relativa ao centro da horda
+		float y = (float)(linha - 1) * espacamento;
 
 		if (isEntradaAleatoria()) {
 			// Com a entrada aleatória os inimigos surgem de algum ponto da parte superior da tela,
 			// vão até outro ponto na parte inferior, terminando na posição de descanso
 
-			for (int linha = 0; linha < LINHAS_DE_INIMIGOS; linha++) {
-				// Posição horizontal do primeiro inimigo a linha, relativa ao centro da horda
-				float x = (float)(-INIMIGOS_POR_LINHA / 2) * espacamento;
-
-				for (int i = 0; i < INIMIGOS_POR_LINHA; i++) {
-					InterpoladorDePontosComContador interpoladorDePontos = new InterpoladorDePontosComContador(InterpoladorDePontos.crieAceleradoDesacelerado(
-							new VetorFloat(jogo.numeroAleatorio(larguraDaVista), jogo.numeroAleatorio(larguraDaVista), getX() + x),
-							new VetorFloat(-espacamento                        , alturaDaVista + espacamento         , getY() + y)
-						),
-						Contador.UMA_VEZ,
-						0.0f,
-						jogo.numeroAleatorio(Inimigo.VELOCIDADE_MINIMA, Inimigo.VELOCIDADE_MAXIMA));
-
-					// Os inimigos mais atrás terão menos vida, enquanto que os da frente terão mais
-					Inimigo inimigo = new Inimigo(folhaDeSprites, nave, this, interpoladorDePontos, linha == 0 ? 1 : linha, x, y);
-
-					// Armazena o inimigo recém-criado para posteriormente controlarmos a quantidade
-					// de inimigos na tela
-					inimigos.add(inimigo);
-
-					// Todos os inimigos devem aparecer acima da nave, mas abaixo dos demais
-					// elementos de tela
-					listaDeElementosDeTela.adicioneAcima(inimigo, nave);
-
-					// Avança para o próximo inimigo
-					x += espacamento;
-
-					// Deixa um pequeno vão entre as duas metades
-					if (i == (INIMIGOS_POR_LINHA / 2) - 1) {
-						x += espacamento;
-					}
-				}
+			Tela tela = Tela.getTela();
+			float larguraDaVista = tela.getLarguraDaVista();
 
-				// Avança para a próxima linha
-				y += espacamento;
+			// Posição horizontal do inimigo, relativa ao centro da horda (deixando um pequeno vão
+			// entre as duas metades da linha)
+			float x = (float)(coluna - (INIMIGOS_POR_LINHA / 2)) * espacamento;
+			if (coluna >= (INIMIGOS_POR_LINHA / 2)) {
+				x += espacamento;
 			}
-		} else {
-			// Com a entrada normal os inimigos surgem de dois pontos na parte superior, em fila,
-			// vão até outro ponto na parte oposta, e terminam na posição de descanso
-
-			VetorFloat vetorXEsquerda = new VetorFloat(larguraDaVista + espacamento        , 0.5f * larguraDaVista, (0.5f * larguraDaVista) - espacamento, (0.5f * larguraDaVista) - (3.0f * espacamento));
-			VetorFloat vetorXDireita  = new VetorFloat(-espacamento                        , 0.5f * larguraDaVista, (0.5f * larguraDaVista) + espacamento, (0.5f * larguraDaVista) + (3.0f * espacamento));
-			VetorFloat vetorY         = new VetorFloat(alturaDaVista - (3.0f * espacamento), 0.5f * alturaDaVista , espacamento                          , 3.0f * espacamento);
-
-			float defasagem = 0.0f;
-
-			for (int linha = 0; linha < LINHAS_DE_INIMIGOS; linha++) {
-				// Posição horizontal do primeiro inimigo a linha, relativa ao centro da horda
-				float xEsquerda = (float)(-INIMIGOS_POR_LINHA / 2) * espacamento;
-
-				// Posição horizontal do último inimigo da linha, relativa ao centro da horda (o
-				// pequeno vão que é deixado entre os inimigos é garantido aqui, ao utilizar
-				// (INIMIGOS_POR_LINHA / 2) em vez de (INIMIGOS_POR_LINHA / 2) - 1)
-				float xDireita = (float)(INIMIGOS_POR_LINHA / 2) * espacamento;
-
-				for (int i = 0; i < (INIMIGOS_POR_LINHA / 2); i++) {
-					//
-					// Inimigo que vai para a esquerda
-					//
-					InterpoladorDePontosComContador interpoladorDePontos = new InterpoladorDePontosComContador(InterpoladorDePontos.crieSpline(
-							vetorXEsquerda,
-							vetorY
-						),
-						Contador.UMA_VEZ,
-						defasagem,
-						Inimigo.VELOCIDADE_MAXIMA);
-
-					// Os inimigos mais atrás terão menos vida, enquanto que os da frente terão mais
-					Inimigo inimigo = new Inimigo(folhaDeSprites, nave, this, interpoladorDePontos, linha == 0 ? 1 : linha, xEsquerda, y);
-
-					// Armazena o inimigo recém-criado para posteriormente controlarmos a quantidade
-					// de inimigos na tela
-					inimigos.add(inimigo);
-
-					// Todos os inimigos devem aparecer acima da nave, mas abaixo dos demais
-					// elementos de tela
-					listaDeElementosDeTela.adicioneAcima(inimigo, nave);
-
-					// A defasagem controla o tempo que cada inimigo fica acima da parte superior da
-					// tela, antes de entrar na área de jogo
-					defasagem += DEFASAGEM_NA_FILA;
-
-					//
-					// Inimigo que vai para a direita (ver comentários acima)
-					//
-					interpoladorDePontos = new InterpoladorDePontosComContador(InterpoladorDePontos.crieSpline(
-							vetorXDireita,
-							vetorY
-						),
-						Contador.UMA_VEZ,
-						defasagem,
-						Inimigo.VELOCIDADE_MAXIMA);
-					inimigo = new Inimigo(folhaDeSprites, nave, this, interpoladorDePontos, linha == 0 ? 1 : linha, xDireita, y);
-					inimigos.add(inimigo);
-					listaDeElementosDeTela.adicioneAcima(inimigo, nave);
-					defasagem += DEFASAGEM_NA_FILA;
-
-					// Avança para o próximo inimigo
-					xEsquerda += espacamento;
-					xDireita -= espacamento;
-				}
 
-				// Avança para a próxima linha
-				y += espacamento;
-			}
+			InterpoladorDePontosComContador interpoladorDePontos = new InterpoladorDePontosComContador(InterpoladorDePontos.crieAceleradoDesacelerado(
+					new VetorFloat(jogo.numeroAleatorio(larguraDaVista), jogo.numeroAleatorio(larguraDaVista), getX() + x),
+					new VetorFloat(-espacamento                        , tela.getAlturaDaVista() + espacamento, getY() + y)
+				),
+				Contador.UMA_VEZ,
+				0.0f,
+				jogo.numeroAleatorio(Inimigo.VELOCIDADE_MINIMA, Inimigo.VELOCIDADE_MAXIMA));
+
+			return Inimigo.obtenha(folhaDeSprites, nave, this, interpoladorDePontos, vidas, x, y);
 		}
 
-		// Embaralha os inimigos (para fazer com que a ordem dos tiros seja sempre uma surpresa)
-		inimigos.embaralhe();
+		// Com a entrada normal, os inimigos de cada linha são criados em pares, um que vai para a
+		// esquerda, começando pela ponta esquerda da linha, e outro que vai para a direita,
+		// começando pela ponta direita da linha (o pequeno vão que é deixado entre os inimigos é
+		// garantido por utilizar (INIMIGOS_POR_LINHA / 2) para os dois lados)
+		int par = coluna >> 1;
+		boolean paraAEsquerda = ((coluna & 1) == 0);
+		float x = (paraAEsquerda ?
+			((float)(par - (INIMIGOS_POR_LINHA / 2)) * espacamento) :
+			((float)((INIMIGOS_POR_LINHA / 2) - par) * espacamento));
+
+		// A defasagem controla o tempo que cada inimigo fica acima da parte superior da tela, antes
+		// de entrar na área de jogo, formando a fila (a spline em si é compartilhada, e o ponto que
+		// ela devolve é copiado pelo inimigo assim que interpolado, então o compartilhamento não
+		// causa problemas)
+		InterpoladorDePontosComContador interpoladorDePontos = new InterpoladorDePontosComContador(
+			paraAEsquerda ? getSplineDeEntradaPelaEsquerda() : getSplineDeEntradaPelaDireita(),
+			Contador.UMA_VEZ,
+			(float)indice * DEFASAGEM_NA_FILA,
+			Inimigo.VELOCIDADE_MAXIMA);
+
+		return Inimigo.obtenha(folhaDeSprites, nave, this, interpoladorDePontos, vidas, x, y);
 	}
 
 	private void atire() {
-		ListaEmbaralhavel<Inimigo> inimigos = getInimigos();
+		SacolaIndexada<Inimigo> inimigos = getInimigos();
 		int indiceDoProximoATentarAtirar = getIndiceDoProximoATentarAtirar();
 
-		if (indiceDoProximoATentarAtirar >= inimigos.size()) {
+		if (indiceDoProximoATentarAtirar >= inimigos.getTamanho()) {
 			// Se já passamos por todos os inimigos, hora de embaralhar a lista novamente
 			indiceDoProximoATentarAtirar = 0;
 			inimigos.embaralhe();
 		}
 
-		inimigos.get(indiceDoProximoATentarAtirar).atire();
+		inimigos.item(indiceDoProximoATentarAtirar).atire();
 
 		setIndiceDoProximoATentarAtirar(indiceDoProximoATentarAtirar + 1);
 	}
 
 	private void voe() {
-		ListaEmbaralhavel<Inimigo> inimigos = getInimigos();
+		SacolaIndexada<Inimigo> inimigos = getInimigos();
 		int indiceDoProximoATentarAtirar = getIndiceDoProximoATentarAtirar();
 
-		if (indiceDoProximoATentarAtirar >= inimigos.size()) {
+		if (indiceDoProximoATentarAtirar >= inimigos.getTamanho()) {
 			// Se já passamos por todos os inimigos, hora de embaralhar a lista novamente
 			indiceDoProximoATentarAtirar = 0;
 			inimigos.embaralhe();
 		}
 
-		inimigos.get(indiceDoProximoATentarAtirar).voeAteANave();
+		inimigos.item(indiceDoProximoATentarAtirar).voeAteANave();
 
 		// Diferente do método atire(), aqui não vamos incrementar o índice, para garantir que esse
 		// mesmo inimigo acabe atirando depois :)
@@ -380,14 +431,71 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 	// Métodos públicos
 	//----------------------------------------------------------------------------------------------
 
+	// Cria até inimigosDisponiveis inimigos (mas pelo menos um, para garantir algum progresso), e
+	// retorna true quando todos os inimigos já tiverem sido criados
+	// A quantidade criada por chamada é fixa, e não depende do tempo, porque os inimigos com
+	// entrada aleatória sorteiam números: assim, a mesma semente sempre produz a mesma sequência,
+	// independentemente da velocidade do aparelho
+	public boolean prepare(int inimigosDisponiveis) {
+		int contagemDeInimigosPreparados = getContagemDeInimigosPreparados();
+		if (contagemDeInimigosPreparados == CONTAGEM_DE_INIMIGOS) {
+			return true;
+		}
+
+		SacolaIndexada<Inimigo> inimigos = getInimigos();
+		int contagemFinal = contagemDeInimigosPreparados + ((inimigosDisponiveis < 1) ? 1 : inimigosDisponiveis);
+		if (contagemFinal > CONTAGEM_DE_INIMIGOS) {
+			contagemFinal = CONTAGEM_DE_INIMIGOS;
+		}
+
+		do {
+			// Armazena o inimigo recém-criado para posteriormente controlarmos a quantidade de
+			// inimigos na tela
+			inimigos.adicione(crieOInimigo(contagemDeInimigosPreparados));
+			contagemDeInimigosPreparados++;
+		} while (contagemDeInimigosPreparados < contagemFinal);
+
+		setContagemDeInimigosPreparados(contagemDeInimigosPreparados);
+
+		if (contagemDeInimigosPreparados < CONTAGEM_DE_INIMIGOS) {
+			return false;
+		}
+
+		// Embaralha os inimigos (para fazer com que a ordem dos tiros seja sempre uma surpresa)
+		inimigos.embaralhe();
+
+		return true;
+	}
+
+	// Coloca os inimigos no jogo (os inimigos que ainda não tiverem sido preparados são criados
+	// aqui mesmo, de uma só vez)
+	public void ative() {
+		if (isAtiva()) {
+			return;
+		}
+
+		prepare(CONTAGEM_DE_INIMIGOS);
+
+		Nave nave = getNave();
+		ListaDeElementosDeTela listaDeElementosDeTela = nave.getLista();
+		SacolaIndexada<Inimigo> inimigos = getInimigos();
+
+		// Todos os inimigos devem aparecer acima da nave, mas abaixo dos demais elementos de tela
+		for (int i = 0; i < inimigos.getTamanho(); i++) {
+			listaDeElementosDeTela.adicioneAcima(inimigos.item(i), nave);
+		}
+
+		setAtiva(true);
+	}
+
 	public void processeUmQuadro(float deltaSegundos) {
 		// Move o centro da horda inteira
 		getInterpoladorDePontos().interpoleDelta(deltaSegundos);
 
 		// Avisa todos os inimigos sobre a mudança de posição da horda
-		ListaEmbaralhavel<Inimigo> inimigos = getInimigos();
-		for (int i = inimigos.size() - 1; i >= 0; i--) {
-			inimigos.get(i).posicaoDaHordaMudou();
+		SacolaIndexada<Inimigo> inimigos = getInimigos();
+		for (int i = inimigos.getTamanho() - 1; i >= 0; i--) {
+			inimigos.item(i).posicaoDaHordaMudou();
 		}
 
 		// Hora de tentar voar e atirar
@@ -461,7 +569,7 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 	public void inimigoExplodiu(Inimigo inimigo) {
 		// Remove esse inimigo do nosso conjunto e avisa o observador sobre a explosão que acabou de
 		// ocorrer
-		getInimigos().remove(inimigo);
+		getInimigos().remova(inimigo);
 
 		Inimigo.Observador observador = getObservador();
 		if (observador != null) {
@@ -472,13 +580,24 @@ public final class HordaDeInimigos implements Inimigo.Observador {
 	public void destrua() {
 		// Vamos invalidar o objeto e liberar toda a memória que não será mais utilizada
 
-		ListaEmbaralhavel<Inimigo> inimigos = getInimigos();
+		SacolaIndexada<Inimigo> inimigos = getInimigos();
 		if (inimigos != null) {
-			inimigos.clear();
+			// Os inimigos de uma horda que nunca foi ativada não estão em lista alguma, por isso
+			// eles precisam ser devolvidos ao reservatório aqui
+			if (!isAtiva()) {
+				for (int i = inimigos.getTamanho() - 1; i >= 0; i--) {
+					inimigos.item(i).removaEDestrua();
+				}
+			}
+			inimigos.limpe();
 			setInimigos(null);
 		}
 
 		setObservador(null);
+		setNave(null);
+		setSplineDeEntradaPelaEsquerda(null);
+		setSplineDeEntradaPelaDireita(null);
 		setInterpoladorDePontos(null);
+		setGrupoDeColisoes(null);
 	}
 }
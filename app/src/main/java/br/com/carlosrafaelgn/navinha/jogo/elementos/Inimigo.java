@@ -33,18 +33,21 @@
 package br.com.carlosrafaelgn.navinha.jogo.elementos;
 
 import br.com.carlosrafaelgn.navinha.jogo.desenho.FolhaDeSprites;
-import br.com.carlosrafaelgn.navinha.modelo.animacao.interpoladores.InterpoladorDeQuadros;
+import br.com.carlosrafaelgn.navinha.modelo.animacao.ClipeDeQuadros;
 import br.com.carlosrafaelgn.navinha.modelo.jogo.Jogo;
 import br.com.carlosrafaelgn.navinha.modelo.animacao.contadores.Contador;
 import br.com.carlosrafaelgn.navinha.modelo.animacao.interpoladores.InterpoladorDePontos;
 import br.com.carlosrafaelgn.navinha.modelo.animacao.interpoladores.InterpoladorDePontosComContador;
+import br.com.carlosrafaelgn.navinha.modelo.dados.SacolaIndexada;
+import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.Vetor;
 import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.VetorFloat;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeModelo;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.MascaraDePixels;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Ponto;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
-import br.com.carlosrafaelgn.navinha.modelo.elemento.ListaDeElementosDeTela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.ReservatorioDeElementos;
 
-public final class Inimigo extends AlvoDeTiro {
+public final class Inimigo extends AlvoDeTiro implements SacolaIndexada.Item {
 	//----------------------------------------------------------------------------------------------
 	// Constantes
 	//----------------------------------------------------------------------------------------------
@@ -56,10 +59,10 @@ public final class Inimigo extends AlvoDeTiro {
 	// 50% das vezes que um inimigo morrer, ele dará um tiro
 	private static final int PERMILAGEM_DE_CHANCE_DE_ATIRAR_AO_EXPLODIR = 500;
 
-	// Intervalo mínimo para que um inimigo atire (em milissegundos)
+	// Intervalo mínimo para que um inimigo atire (em milissegundos), convertido para passos da
+	// simulação, para que a cadência dos tiros não dependa do tempo real
 	private static final int INTERVALO_MINIMO_ENTRE_TIROS_EM_MS = 400;
-
-	private static final float QUADROS_POR_SEGUNDO = 6.0f;
+	private static final int PASSOS_MINIMOS_ENTRE_TIROS = (INTERVALO_MINIMO_ENTRE_TIROS_EM_MS * Jogo.PASSOS_POR_SEGUNDO) / 1000;
 
 	//----------------------------------------------------------------------------------------------
 	// Interfaces e classes internas
@@ -77,54 +80,71 @@ public final class Inimigo extends AlvoDeTiro {
 	// Campos privados
 	//----------------------------------------------------------------------------------------------
 
+	// Cada horda cria dezenas de inimigos, que são destruídos ao longo dela, então eles são
+	// reutilizados de uma horda para a outra
+	private static final ReservatorioDeElementos<Inimigo> reservatorioDeInimigos = new ReservatorioDeElementos<>("Inimigo", new ReservatorioDeElementos.Fabrica<Inimigo>() {
+		@Override
+		public Inimigo crie() {
+			return new Inimigo();
+		}
+	});
+
+	// O voo até a nave é sempre a mesma curva, apenas deslocada e esticada, e como a spline é
+	// linear em relação aos valores dos pontos, uma única spline normalizada (que vai de 0 até 1, e
+	// volta para 0) pode ser compartilhada por todos os inimigos, sendo mapeada para as posições
+	// de cada voo em processeUmQuadroSemPausa()
+	// Em vez de deixar os intervalos serem calculados automaticamente, o que geraria os intervalos
+	// 0, 0.5 e 1, vamos gerar os intervalos manualmente, para fazer com que o inimigo vá mais
+	// rápido até a nave, e volte mais devagar
+	private static final InterpoladorDePontos splineDoVooNormalizada = InterpoladorDePontos.crieSpline(
+		new VetorFloat(0.0f, 1.0f, 0.0f),
+		new VetorFloat(0.0f, 1.0f, 0.0f),
+		new VetorFloat(0.0f, 0.4f, 1.0f)
+	);
+
 	private FolhaDeSprites folhaDeSprites;
+	private SistemaDeParticulas sistemaDeParticulas;
+	private SistemaDeTiros sistemaDeTiros;
 	private Nave nave;
 	private HordaDeInimigos hordaDeInimigos;
 	private InterpoladorDePontosComContador interpoladorDePontos;
-	private InterpoladorDeQuadros interpoladorDeQuadros;
-	private int vidas;
-	private long horaDoUltimoTiro;
+	private final InterpoladorDePontosComContador interpoladorDoVoo;
+	private float xDePartidaDoVoo, yDePartidaDoVoo, deltaXDoVoo, deltaYDoVoo;
+	private ClipeDeQuadros clipeDeQuadros;
+	private float faseDaAnimacao;
+	private int indiceDoQuadroAtual;
+	private int vidas, indiceNaSacola;
+	private long passoDoUltimoTiro;
 	private float x, y;
-	private final float xEmDescansoNaHorda, yEmDescansoNaHorda;
+	private float xEmDescansoNaHorda, yEmDescansoNaHorda;
 	private CoordenadasDeModelo coordenadasDeModelo, coordenadasDeModeloDosLimites;
+	private Vetor<MascaraDePixels> mascarasDePixels;
 
 	//----------------------------------------------------------------------------------------------
 	// Construtores
 	//----------------------------------------------------------------------------------------------
 
-	public Inimigo(FolhaDeSprites folhaDeSprites, Nave nave, HordaDeInimigos hordaDeInimigos, InterpoladorDePontosComContador interpoladorDePontosInicial, int vidas, float xEmDescansoNaHorda, float yEmDescansoNaHorda) {
-		setFolhaDeSprites(folhaDeSprites);
-		setNave(nave);
-		setHordaDeInimigos(hordaDeInimigos);
-		setInterpoladorDePontos(interpoladorDePontosInicial);
-
-		this.xEmDescansoNaHorda = xEmDescansoNaHorda;
-		this.yEmDescansoNaHorda = yEmDescansoNaHorda;
-
-		Jogo jogo = Jogo.getJogo();
-
-		// Inicializa o horário do último tiro com um valor válido (em vez de 0)
-		setHoraDoUltimoTiro(jogo.getHoraAnterior());
-
-		InterpoladorDeQuadros interpoladorDeQuadros = new InterpoladorDeQuadros(nave.getFolhaDeSprites().getCoordenadasDeTexturaDoInimigoPorVida(vidas), Contador.LOOPING, QUADROS_POR_SEGUNDO);
-		// Para que os inimigos não iniciem todos no mesmo quadro
-		interpoladorDeQuadros.setIndiceDoQuadroAtual(jogo.numeroAleatorio(interpoladorDeQuadros.getContagemDeQuadros()));
-		setInterpoladorDeQuadros(interpoladorDeQuadros);
-
-		carregueInternamente();
-
-		// Define a vida apenas depois de carregado (por causa das coordenadas de textura)
-		setVidas(vidas);
-
+	private Inimigo() {
 		// Queremos que a nave possa participar do sistema de colisões, e seja detectada por outros
 		// elementos de tela, como, por exemplo, um tiro
+		setCamadaDeColisao(CamadasDeColisao.INIMIGO);
+		setMascaraDeColisao(CamadasDeColisao.NAVE | CamadasDeColisao.TIRO_DA_NAVE);
 		setParteDoSistemaDeColisoes(true);
+		setIndiceNaSacola(-1);
+
+		// Cada inimigo possui seu próprio contador para o voo até a nave, que é reiniciado a cada
+		// voo, em vez de criar um interpolador novo a cada vez
+		interpoladorDoVoo = new InterpoladorDePontosComContador(splineDoVooNormalizada, Contador.UMA_VEZ, 0.0f, Inimigo.VELOCIDADE_MAXIMA);
 	}
 
 	//----------------------------------------------------------------------------------------------
 	// Métodos acessores e modificadores
 	//----------------------------------------------------------------------------------------------
 
+	public static ReservatorioDeElementos<Inimigo> getReservatorioDeInimigos() {
+		return reservatorioDeInimigos;
+	}
+
 	public FolhaDeSprites getFolhaDeSprites() {
 		return folhaDeSprites;
 	}
@@ -133,6 +153,22 @@ public final class Inimigo extends AlvoDeTiro {
 		this.folhaDeSprites = folhaDeSprites;
 	}
 
+	private SistemaDeParticulas getSistemaDeParticulas() {
+		return sistemaDeParticulas;
+	}
+
+	private void setSistemaDeParticulas(SistemaDeParticulas sistemaDeParticulas) {
+		this.sistemaDeParticulas = sistemaDeParticulas;
+	}
+
+	private SistemaDeTiros getSistemaDeTiros() {
+		return sistemaDeTiros;
+	}
+
+	private void setSistemaDeTiros(SistemaDeTiros sistemaDeTiros) {
+		this.sistemaDeTiros = sistemaDeTiros;
+	}
+
 	public Nave getNave() {
 		return nave;
 	}
@@ -157,12 +193,55 @@ public final class Inimigo extends AlvoDeTiro {
 		this.interpoladorDePontos = interpoladorDePontos;
 	}
 
-	private InterpoladorDeQuadros getInterpoladorDeQuadros() {
-		return interpoladorDeQuadros;
+	private InterpoladorDePontosComContador getInterpoladorDoVoo() {
+		return interpoladorDoVoo;
+	}
+
+	private float getXDePartidaDoVoo() {
+		return xDePartidaDoVoo;
+	}
+
+	private float getYDePartidaDoVoo() {
+		return yDePartidaDoVoo;
+	}
+
+	private float getDeltaXDoVoo() {
+		return deltaXDoVoo;
+	}
+
+	private float getDeltaYDoVoo() {
+		return deltaYDoVoo;
+	}
+
+	private void setVoo(float xDePartida, float yDePartida, float xDeDestino, float yDeDestino) {
+		this.xDePartidaDoVoo = xDePartida;
+		this.yDePartidaDoVoo = yDePartida;
+		this.deltaXDoVoo = xDeDestino - xDePartida;
+		this.deltaYDoVoo = yDeDestino - yDePartida;
+	}
+
+	private ClipeDeQuadros getClipeDeQuadros() {
+		return clipeDeQuadros;
+	}
+
+	private void setClipeDeQuadros(ClipeDeQuadros clipeDeQuadros) {
+		this.clipeDeQuadros = clipeDeQuadros;
+	}
+
+	private float getFaseDaAnimacao() {
+		return faseDaAnimacao;
+	}
+
+	private void setFaseDaAnimacao(float faseDaAnimacao) {
+		this.faseDaAnimacao = faseDaAnimacao;
+	}
+
+	private int getIndiceDoQuadroAtual() {
+		return indiceDoQuadroAtual;
 	}
 
-	private void setInterpoladorDeQuadros(InterpoladorDeQuadros interpoladorDeQuadros) {
-		this.interpoladorDeQuadros = interpoladorDeQuadros;
+	private void setIndiceDoQuadroAtual(int indiceDoQuadroAtual) {
+		this.indiceDoQuadroAtual = indiceDoQuadroAtual;
 	}
 
 	public int getVidas() {
@@ -178,8 +257,7 @@ public final class Inimigo extends AlvoDeTiro {
 
 		if (vidas == 0) {
 			// Explodiu!!!! Vamos indicar isso criando uma explosão no meio do inimigo
-			ListaDeElementosDeTela listaDeElementosDeTela = getLista();
-			listaDeElementosDeTela.adicioneAcima(new Explosao(getFolhaDeSprites(), false, getX(), getY()), this);
+			getSistemaDeParticulas().crieExplosao(false, getX(), getY());
 
 			// Além disso, algumas vezes, ele dará um tiro ao explodir ;)
 			if (Jogo.getJogo().sorteie(PERMILAGEM_DE_CHANCE_DE_ATIRAR_AO_EXPLODIR)) {
@@ -196,15 +274,26 @@ public final class Inimigo extends AlvoDeTiro {
 		} else {
 			// Nosso desenho mudou (de verde para amarelo ou de amarelo para vermelho)
 			atualizeCoordenadasDeTextura();
+			atualizeAreaLimite();
 		}
 	}
 
-	private long getHoraDoUltimoTiro() {
-		return horaDoUltimoTiro;
+	@Override
+	public int getIndiceNaSacola() {
+		return indiceNaSacola;
+	}
+
+	@Override
+	public void setIndiceNaSacola(int indiceNaSacola) {
+		this.indiceNaSacola = indiceNaSacola;
+	}
+
+	private long getPassoDoUltimoTiro() {
+		return passoDoUltimoTiro;
 	}
 
-	private void setHoraDoUltimoTiro(long horaDoUltimoTiro) {
-		this.horaDoUltimoTiro = horaDoUltimoTiro;
+	private void setPassoDoUltimoTiro(long passoDoUltimoTiro) {
+		this.passoDoUltimoTiro = passoDoUltimoTiro;
 	}
 
 	public float getX() {
@@ -216,6 +305,10 @@ public final class Inimigo extends AlvoDeTiro {
 	}
 
 	private void setXY(float x, float y) {
+		// A posição pode mudar tanto pelo processamento do inimigo quanto pelo da horda, mas
+		// apenas a posição do início do quadro é registrada
+		registrePosicaoAnterior(this.x, this.y);
+
 		this.x = x;
 		this.y = y;
 
@@ -254,6 +347,14 @@ public final class Inimigo extends AlvoDeTiro {
 		this.coordenadasDeModeloDosLimites = coordenadasDeModeloDosLimites;
 	}
 
+	private Vetor<MascaraDePixels> getMascarasDePixels() {
+		return mascarasDePixels;
+	}
+
+	private void setMascarasDePixels(Vetor<MascaraDePixels> mascarasDePixels) {
+		this.mascarasDePixels = mascarasDePixels;
+	}
+
 	@Override
 	public boolean isCarregado() {
 		// Nossa forma de detectar se o recurso foi carregado ou não (cada recurso faz isso de
@@ -265,14 +366,62 @@ public final class Inimigo extends AlvoDeTiro {
 	// Métodos privados e protegidos
 	//----------------------------------------------------------------------------------------------
 
+	private void inicie(FolhaDeSprites folhaDeSprites, Nave nave, HordaDeInimigos hordaDeInimigos, InterpoladorDePontosComContador interpoladorDePontosInicial, int vidas, float xEmDescansoNaHorda, float yEmDescansoNaHorda) {
+		setFolhaDeSprites(folhaDeSprites);
+		// As explosões dos inimigos acontecem no mesmo sistema de partículas da nave
+		setSistemaDeParticulas(nave.getSistemaDeParticulas());
+		// Idem para os tiros, que ficam todos no sistema de tiros dos inimigos
+		setSistemaDeTiros(nave.getSistemaDeTirosDosInimigos());
+		setNave(nave);
+		setHordaDeInimigos(hordaDeInimigos);
+		setInterpoladorDePontos(interpoladorDePontosInicial);
+
+		this.xEmDescansoNaHorda = xEmDescansoNaHorda;
+		this.yEmDescansoNaHorda = yEmDescansoNaHorda;
+		this.x = 0.0f;
+		this.y = 0.0f;
+
+		Jogo jogo = Jogo.getJogo();
+
+		// Inicializa o passo do último tiro com um valor válido (em vez de 0)
+		setPassoDoUltimoTiro(jogo.getPassosSimulados());
+
+		// O clipe é compartilhado com os outros inimigos, e o quadro atual é calculado a partir do
+		// relógio de animação global, então não há nada para ser contado a cada quadro
+		ClipeDeQuadros clipeDeQuadros = nave.getFolhaDeSprites().getClipeDoInimigoPorVida(vidas);
+		setClipeDeQuadros(clipeDeQuadros);
+		// Para que os inimigos não iniciem todos no mesmo quadro
+		setFaseDaAnimacao((float)jogo.numeroAleatorio(clipeDeQuadros.getContagemDeQuadros()) / clipeDeQuadros.getQuadrosPorSegundo());
+		setIndiceDoQuadroAtual(calculeIndiceDoQuadroAtual());
+		// Assim como os quadros, as máscaras também dependem da vida
+		setMascarasDePixels(nave.getFolhaDeSprites().getMascarasDePixelsDoInimigoPorVida(vidas));
+
+		carregueInternamente();
+
+		// Define a vida apenas depois de carregado (por causa das coordenadas de textura)
+		setVidas(vidas);
+
+		if (hordaDeInimigos != null) {
+			setGrupoDeColisoes(hordaDeInimigos.getGrupoDeColisoes());
+		}
+	}
+
+	private int calculeIndiceDoQuadroAtual() {
+		return getClipeDeQuadros().getIndiceDoQuadro(ElementoDeTelaComPausa.getSegundosDeAnimacao() + getFaseDaAnimacao());
+	}
+
 	private void atualizeAreaLimite() {
-		altereAreaLimite(getCoordenadasDeModeloDosLimites(), getX(), getY());
+		// Cada quadro da animação possui sua própria máscara de pixels
+		altereAreaLimite(getMascarasDePixels().item(getIndiceDoQuadroAtual()), getX(), getY());
 	}
 
 	private void atualizeCoordenadasDeTextura() {
 		int vidas = getVidas();
 		if (vidas > 0) {
-			getInterpoladorDeQuadros().setQuadros(getFolhaDeSprites().getCoordenadasDeTexturaDoInimigoPorVida(vidas));
+			FolhaDeSprites folhaDeSprites = getFolhaDeSprites();
+			// Todos os clipes possuem a mesma quantidade de quadros, então a fase continua valendo
+			setClipeDeQuadros(folhaDeSprites.getClipeDoInimigoPorVida(vidas));
+			setMascarasDePixels(folhaDeSprites.getMascarasDePixelsDoInimigoPorVida(vidas));
 		}
 	}
 
@@ -293,9 +442,11 @@ public final class Inimigo extends AlvoDeTiro {
 		setCoordenadasDeModelo(folhaDeSprites.getCoordenadasDeModeloDoInimigo());
 		setCoordenadasDeModeloDosLimites(folhaDeSprites.getCoordenadasDeModeloDosLimitesDoInimigo());
 
-		atualizeAreaLimite();
-
+		// As coordenadas de textura precisam ser atualizadas antes da área limite, pois as máscaras
+		// de pixels podem ter sido recriadas pela folha de sprites
 		atualizeCoordenadasDeTextura();
+
+		atualizeAreaLimite();
 	}
 
 	@Override
@@ -306,15 +457,33 @@ public final class Inimigo extends AlvoDeTiro {
 		setCoordenadasDeModeloDosLimites(null);
 	}
 
+	@Override
+	protected void recicleInternamente() {
+		// O inimigo volta para o reservatório sem nenhuma referência para a horda, a nave ou a
+		// folha de sprites, e será carregado novamente por inicie()
+		libere();
+		setFolhaDeSprites(null);
+		setSistemaDeParticulas(null);
+		setSistemaDeTiros(null);
+		setNave(null);
+		setHordaDeInimigos(null);
+		setInterpoladorDePontos(null);
+		setClipeDeQuadros(null);
+		setMascarasDePixels(null);
+		setIndiceNaSacola(-1);
+	}
+
 	@Override
 	protected void destruaInternamente() {
 		// Vamos invalidar o objeto
 
 		setFolhaDeSprites(null);
+		setSistemaDeParticulas(null);
 		setNave(null);
 		setHordaDeInimigos(null);
 		setInterpoladorDePontos(null);
-		setInterpoladorDeQuadros(null);
+		setClipeDeQuadros(null);
+		setMascarasDePixels(null);
 
 		// Ao final, precisamos chamar o método destruaInternamente() da classe ElementoDeTela, para
 		// permitir que ela destrua seus recursos
@@ -323,14 +492,25 @@ public final class Inimigo extends AlvoDeTiro {
 
 	@Override
 	protected void processeUmQuadroSemPausa(float deltaSegundos) {
-		// Calcula os quadros da animação do inimigo
-		getInterpoladorDeQuadros().interpoleDelta(deltaSegundos);
+		// O quadro da animação vem do relógio global, apenas precisamos descobrir se ele mudou,
+		// para que a máscara de pixels acompanhe o quadro atual
+		int indiceDoQuadroAtual = calculeIndiceDoQuadroAtual();
+		if (indiceDoQuadroAtual != getIndiceDoQuadroAtual()) {
+			setIndiceDoQuadroAtual(indiceDoQuadroAtual);
+			atualizeAreaLimite();
+		}
 
 		// Se o inimigo possui um interpolador de pontos, significa que ele está se movendo pela
 		// tela, e precisamos atualizar sua posição
 		InterpoladorDePontosComContador interpoladorDePontos = getInterpoladorDePontos();
 		if (interpoladorDePontos != null) {
 			Ponto ponto = interpoladorDePontos.interpoleDelta(deltaSegundos);
+			float xDoPonto = ponto.getX(), yDoPonto = ponto.getY();
+			if (interpoladorDePontos == getInterpoladorDoVoo()) {
+				// Mapeia a spline normalizada para as posições de partida e de destino deste voo
+				xDoPonto = getXDePartidaDoVoo() + (getDeltaXDoVoo() * xDoPonto);
+				yDoPonto = getYDePartidaDoVoo() + (getDeltaYDoVoo() * yDoPonto);
+			}
 			if (interpoladorDePontos.getIntervalo() >= 1.0f) {
 				// O movimento do inimigo acabou
 				setInterpoladorDePontos(null);
@@ -350,14 +530,14 @@ public final class Inimigo extends AlvoDeTiro {
 					float percentualDeRetorno = 2.0f * (interpoladorDePontos.getIntervalo() - 0.5f);
 
 					setXY(
-						(ponto.getX() * (1.0f - percentualDeRetorno)) +
+						(xDoPonto * (1.0f - percentualDeRetorno)) +
 						(getXEmDescanso() * percentualDeRetorno),
 
-						(ponto.getY() * (1.0f - percentualDeRetorno)) +
+						(yDoPonto * (1.0f - percentualDeRetorno)) +
 						(getYEmDescanso() * percentualDeRetorno)
 					);
 				} else {
-					setXY(ponto.getX(), ponto.getY());
+					setXY(xDoPonto, yDoPonto);
 				}
 			}
 		}
@@ -367,6 +547,13 @@ public final class Inimigo extends AlvoDeTiro {
 	// Métodos públicos
 	//----------------------------------------------------------------------------------------------
 
+	// Os inimigos são sempre obtidos do reservatório, e voltam para ele quando são destruídos
+	public static Inimigo obtenha(FolhaDeSprites folhaDeSprites, Nave nave, HordaDeInimigos hordaDeInimigos, InterpoladorDePontosComContador interpoladorDePontosInicial, int vidas, float xEmDescansoNaHorda, float yEmDescansoNaHorda) {
+		Inimigo inimigo = getReservatorioDeInimigos().obtenha();
+		inimigo.inicie(folhaDeSprites, nave, hordaDeInimigos, interpoladorDePontosInicial, vidas, xEmDescansoNaHorda, yEmDescansoNaHorda);
+		return inimigo;
+	}
+
 	public void atire() {
 		// Não deixa o inimigo atirar caso ele já tenha atirado há pouco tempo, ou caso a nave já
 		// tenha explodido
@@ -376,13 +563,13 @@ public final class Inimigo extends AlvoDeTiro {
 			return;
 		}
 
-		long horaAnterior = Jogo.getJogo().getHoraAnterior();
+		long passosSimulados = Jogo.getJogo().getPassosSimulados();
 
-		if ((horaAnterior - getHoraDoUltimoTiro()) >= INTERVALO_MINIMO_ENTRE_TIROS_EM_MS) {
-			setHoraDoUltimoTiro(horaAnterior);
+		if ((passosSimulados - getPassoDoUltimoTiro()) >= PASSOS_MINIMOS_ENTRE_TIROS) {
+			setPassoDoUltimoTiro(passosSimulados);
 
 			// Cria um tiro no centro do inimigo
-			getLista().adicioneAcima(new Tiro(getFolhaDeSprites(), getX(), getY(), false), this);
+			getSistemaDeTiros().adicioneTiro(getX(), getY());
 		}
 	}
 
@@ -403,17 +590,13 @@ public final class Inimigo extends AlvoDeTiro {
 			return;
 		}
 
-		// Em vez de deixar os intervalos serem calculados automaticamente, o que geraria os
-		// intervalos 0, 0.5 e 1, vamos gerar os intervalos manualmente, para fazer com que o
-		// inimigo vá mais rápido até a nave, e volte mais devagar
-		setInterpoladorDePontos(new InterpoladorDePontosComContador(InterpoladorDePontos.crieSpline(
-				new VetorFloat(getX(), nave.getX()                                   , getX()),
-				new VetorFloat(getY(), nave.getY() - getFolhaDeSprites().pixels(1.5f), getY()),
-				new VetorFloat(0.0f  , 0.4f                                          , 1.0f)
-			),
-			Contador.UMA_VEZ,
-			0.0f,
-			Inimigo.VELOCIDADE_MAXIMA));
+		// O voo reutiliza sempre o mesmo interpolador (veja splineDoVooNormalizada), bastando
+		// guardar as posições de partida e de destino
+		setVoo(getX(), getY(), nave.getX(), nave.getY() - getFolhaDeSprites().pixels(1.5f));
+
+		InterpoladorDePontosComContador interpoladorDoVoo = getInterpoladorDoVoo();
+		interpoladorDoVoo.reinicie();
+		setInterpoladorDePontos(interpoladorDoVoo);
 	}
 
 	public void posicaoDaHordaMudou() {
@@ -421,7 +604,7 @@ public final class Inimigo extends AlvoDeTiro {
 	}
 
 	@Override
-	public void acertadoPorUmTiro(Tiro tiro) {
+	public void acertadoPorUmTiro(float xDoTiro, float yDoTiro) {
 		int vidas = getVidas();
 
 		// Duas prevenções simples:
@@ -433,7 +616,7 @@ public final class Inimigo extends AlvoDeTiro {
 			if (vidas != 1) {
 				// Se o inimigo ainda não explodiu, vamos fazer um efeito especial, para indicar que
 				// foi atingido
-				getLista().adicioneAcima(new Explosao(getFolhaDeSprites(), true, tiro.getX(), tiro.getY()), this);
+				getSistemaDeParticulas().crieExplosao(true, xDoTiro, yDoTiro);
 			}
 			setVidas(vidas - 1);
 		}
@@ -441,6 +624,6 @@ public final class Inimigo extends AlvoDeTiro {
 
 	@Override
 	public void desenheUmQuadro() {
-		Tela.getTela().desenhe(getFolhaDeSprites().getImagem(), getCoordenadasDeModelo(), 1.0f, getInterpoladorDeQuadros().getQuadroAtual(), getX(), getY());
+		Tela.getTela().desenhe(getFolhaDeSprites().getImagem(), getCoordenadasDeModelo(), 1.0f, getClipeDeQuadros().getQuadros().item(getIndiceDoQuadroAtual()), interpoleX(getX()), interpoleY(getY()));
 	}
 }
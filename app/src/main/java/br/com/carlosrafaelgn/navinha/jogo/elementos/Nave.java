@@ -47,6 +47,7 @@ import br.com.carlosrafaelgn.navinha.modelo.interacao.Ponteiro;
 import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.Vetor;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeModelo;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeTextura;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.MascaraDePixels;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
 import br.com.carlosrafaelgn.navinha.modelo.recurso.Recurso;
 
@@ -430,21 +431,26 @@ public final class Nave extends AlvoDeTiro {
 	//----------------------------------------------------------------------------------------------
 
 	private FolhaDeSprites folhaDeSprites;
+	private SistemaDeParticulas sistemaDeParticulas;
+	private SistemaDeTiros sistemaDeTirosDaNave, sistemaDeTirosDosInimigos;
 	private int tipoDeMovimento, vidas;
 	private float x, y, velocidade, velocidadeMaxima, aceleracaoMaxima, intervaloDesdeUltimoTiro;
-	private boolean habilitada, controladaPorMovimento;
+	private boolean habilitada, controladaPorMovimento, invencivel;
 	private Controle controle;
 	private Observador observador;
 	private CoordenadasDeModelo coordenadasDeModelo;
-	private CoordenadasDeModelo coordenadasDeModeloDosLimites;
+	private MascaraDePixels mascaraDePixelsDosLimites;
 	private CoordenadasDeTextura coordenadasDeTextura;
 
 	//----------------------------------------------------------------------------------------------
 	// Construtores
 	//----------------------------------------------------------------------------------------------
 
-	public Nave(FolhaDeSprites folhaDeSprites, boolean controladaPorMovimento, Observador observador) {
+	public Nave(FolhaDeSprites folhaDeSprites, SistemaDeParticulas sistemaDeParticulas, SistemaDeTiros sistemaDeTirosDaNave, SistemaDeTiros sistemaDeTirosDosInimigos, boolean controladaPorMovimento, Observador observador) {
 		setFolhaDeSprites(folhaDeSprites);
+		setSistemaDeParticulas(sistemaDeParticulas);
+		setSistemaDeTirosDaNave(sistemaDeTirosDaNave);
+		setSistemaDeTirosDosInimigos(sistemaDeTirosDosInimigos);
 		setVidas(VIDAS_INICIAIS);
 		setControladaPorMovimento(controladaPorMovimento);
 		setObservador(observador);
@@ -462,6 +468,8 @@ public final class Nave extends AlvoDeTiro {
 
 		// Queremos que a nave possa participar do sistema de colisões, e seja detectada por outros
 		// elementos de tela, como, por exemplo, um tiro
+		setCamadaDeColisao(CamadasDeColisao.NAVE);
+		setMascaraDeColisao(CamadasDeColisao.INIMIGO | CamadasDeColisao.TIRO_DO_INIMIGO);
 		setParteDoSistemaDeColisoes(true);
 	}
 
@@ -477,6 +485,30 @@ public final class Nave extends AlvoDeTiro {
 		this.folhaDeSprites = folhaDeSprites;
 	}
 
+	public SistemaDeParticulas getSistemaDeParticulas() {
+		return sistemaDeParticulas;
+	}
+
+	private void setSistemaDeParticulas(SistemaDeParticulas sistemaDeParticulas) {
+		this.sistemaDeParticulas = sistemaDeParticulas;
+	}
+
+	private SistemaDeTiros getSistemaDeTirosDaNave() {
+		return sistemaDeTirosDaNave;
+	}
+
+	private void setSistemaDeTirosDaNave(SistemaDeTiros sistemaDeTirosDaNave) {
+		this.sistemaDeTirosDaNave = sistemaDeTirosDaNave;
+	}
+
+	public SistemaDeTiros getSistemaDeTirosDosInimigos() {
+		return sistemaDeTirosDosInimigos;
+	}
+
+	private void setSistemaDeTirosDosInimigos(SistemaDeTiros sistemaDeTirosDosInimigos) {
+		this.sistemaDeTirosDosInimigos = sistemaDeTirosDosInimigos;
+	}
+
 	private int getTipoDeMovimento() {
 		return tipoDeMovimento;
 	}
@@ -507,7 +539,7 @@ public final class Nave extends AlvoDeTiro {
 
 		if (vidas == 0) {
 			// Morremos!!!! Vamos indicar isso criando uma explosão no meio da nave
-			getLista().adicioneAcima(new Explosao(getFolhaDeSprites(), true, getX(), getY()), this);
+			getSistemaDeParticulas().crieExplosao(true, getX(), getY());
 
 			removaEDestrua();
 		}
@@ -526,6 +558,8 @@ public final class Nave extends AlvoDeTiro {
 	}
 
 	private void setTipoDeMovimentoX(int tipoDeMovimento, float x) {
+		registrePosicaoAnterior(this.x, this.y);
+
 		if (getTipoDeMovimento() != tipoDeMovimento) {
 			this.tipoDeMovimento = tipoDeMovimento;
 			this.x = x;
@@ -539,6 +573,8 @@ public final class Nave extends AlvoDeTiro {
 	}
 
 	private void setTipoDeMovimentoXY(int tipoDeMovimento, float x, float y) {
+		registrePosicaoAnterior(this.x, this.y);
+
 		if (getTipoDeMovimento() != tipoDeMovimento) {
 			this.tipoDeMovimento = tipoDeMovimento;
 			this.x = x;
@@ -593,6 +629,14 @@ public final class Nave extends AlvoDeTiro {
 		this.habilitada = habilitada;
 	}
 
+	public boolean isInvencivel() {
+		return invencivel;
+	}
+
+	public void setInvencivel(boolean invencivel) {
+		this.invencivel = invencivel;
+	}
+
 	public boolean isControladaPorMovimento() {
 		return controladaPorMovimento;
 	}
@@ -651,12 +695,12 @@ public final class Nave extends AlvoDeTiro {
 		this.coordenadasDeModelo = coordenadasDeModelo;
 	}
 
-	private CoordenadasDeModelo getCoordenadasDeModeloDosLimites() {
-		return coordenadasDeModeloDosLimites;
+	private MascaraDePixels getMascaraDePixelsDosLimites() {
+		return mascaraDePixelsDosLimites;
 	}
 
-	private void setCoordenadasDeModeloDosLimites(CoordenadasDeModelo coordenadasDeModeloDosLimites) {
-		this.coordenadasDeModeloDosLimites = coordenadasDeModeloDosLimites;
+	private void setMascaraDePixelsDosLimites(MascaraDePixels mascaraDePixelsDosLimites) {
+		this.mascaraDePixelsDosLimites = mascaraDePixelsDosLimites;
 	}
 
 	private CoordenadasDeTextura getCoordenadasDeTextura() {
@@ -680,18 +724,18 @@ public final class Nave extends AlvoDeTiro {
 
 	private void atire() {
 		// Cria um tiro na parte de cima da nave, mas centralizado horizontalmente
-		getLista().adicioneAcima(new Tiro(getFolhaDeSprites(), getX(), getAreaLimiteCima(), true), this);
+		getSistemaDeTirosDaNave().adicioneTiro(getX(), getAreaLimiteCima());
 	}
 
 	private void atualizeAreaLimite() {
-		altereAreaLimite(getCoordenadasDeModeloDosLimites(), getX(), getY());
+		altereAreaLimite(getMascaraDePixelsDosLimites(), getX(), getY());
 	}
 
 	private void atualizeAreaLimiteECoordenadas() {
 		FolhaDeSprites folhaDeSprites = getFolhaDeSprites();
 		int tipoDeMovimento = getTipoDeMovimento();
 
-		setCoordenadasDeModeloDosLimites(folhaDeSprites.getCoordenadasDeModeloDosLimitesDaNavePorTipoDeMovimento(tipoDeMovimento));
+		setMascaraDePixelsDosLimites(folhaDeSprites.getMascaraDePixelsDaNavePorTipoDeMovimento(tipoDeMovimento));
 		setCoordenadasDeTextura(folhaDeSprites.getCoordenadasDeTexturaDaNavePorTipoDeMovimento(tipoDeMovimento));
 
 		atualizeAreaLimite();
@@ -720,7 +764,7 @@ public final class Nave extends AlvoDeTiro {
 		getControle().libere();
 
 		setCoordenadasDeModelo(null);
-		setCoordenadasDeModeloDosLimites(null);
+		setMascaraDePixelsDosLimites(null);
 		setCoordenadasDeTextura(null);
 	}
 
@@ -735,6 +779,7 @@ public final class Nave extends AlvoDeTiro {
 		}
 
 		setFolhaDeSprites(null);
+		setSistemaDeParticulas(null);
 		setObservador(null);
 
 		// Ao final, precisamos chamar o método destruaInternamente() da classe ElementoDeTela, para
@@ -845,16 +890,22 @@ public final class Nave extends AlvoDeTiro {
 	//----------------------------------------------------------------------------------------------
 
 	@Override
-	public void acertadoPorUmTiro(Tiro tiro) {
+	public void acertadoPorUmTiro(float xDoTiro, float yDoTiro) {
 		int vidas = getVidas();
 
+		if (isInvencivel()) {
+			// O tiro ainda produz seu efeito especial, mas não tira vidas
+			getSistemaDeParticulas().crieExplosao(false, xDoTiro, yDoTiro);
+			return;
+		}
+
 		// Prevenção simples, para o caso da nave receber dois tiros no mesmo quadro, e a vida,
 		// antes de receber o primeiro tiro, valia 1
 		if (vidas > 0) {
 			if (vidas != 1) {
 				// Se ainda não morremos, vamos fazer um efeito especial, para indicar que fomos
 				// atingidos
-				getLista().adicioneAcima(new Explosao(getFolhaDeSprites(), false, tiro.getX(), tiro.getY()), this);
+				getSistemaDeParticulas().crieExplosao(false, xDoTiro, yDoTiro);
 			}
 			setVidas(vidas - 1);
 		}
@@ -862,6 +913,6 @@ public final class Nave extends AlvoDeTiro {
 
 	@Override
 	public void desenheUmQuadro() {
-		Tela.getTela().desenhe(getFolhaDeSprites().getImagem(), getCoordenadasDeModelo(), 1.0f, getCoordenadasDeTextura(), getX(), getY());
+		Tela.getTela().desenhe(getFolhaDeSprites().getImagem(), getCoordenadasDeModelo(), 1.0f, getCoordenadasDeTextura(), interpoleX(getX()), interpoleY(getY()));
 	}
 }
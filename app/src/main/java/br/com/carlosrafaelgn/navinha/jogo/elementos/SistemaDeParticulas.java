@@ -0,0 +1,395 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.jogo.elementos;
+
+import java.util.Random;
+
+import br.com.carlosrafaelgn.navinha.jogo.desenho.FolhaDeSprites;
+import br.com.carlosrafaelgn.navinha.modelo.jogo.GovernadorDeQualidade;
+import br.com.carlosrafaelgn.navinha.modelo.jogo.Jogo;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeModelo;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeTextura;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.Imagem;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.LoteDeRetangulosAnimados;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
+
+// Guarda os fragmentos de todas as explosões do cenário em um único lote de retângulos animados:
+// cada fragmento é enviado ao OpenGL apenas uma vez, quando sua explosão é criada, e é o shader
+// quem calcula sua posição e sua transparência a partir do tempo
+// Como todos os fragmentos duram o mesmo tempo, o lote é utilizado como uma fila circular: os
+// fragmentos novos entram no fim da fila, e os mais antigos, que sempre terminam primeiro, saem
+// do início da fila
+public final class SistemaDeParticulas extends ElementoDeTelaComPausa {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// Valores máximos, utilizados quando o governador de qualidade está no nível mais alto
+	public static final int FRAGMENTOS_POR_EXPLOSAO = 75;
+	public static final int EXPLOSOES_SIMULTANEAS = 32;
+	// Suficiente para EXPLOSOES_SIMULTANEAS explosões simultâneas (quando não houver mais espaço,
+	// as novas explosões simplesmente terão menos fragmentos)
+	public static final int CAPACIDADE_DE_PARTICULAS = EXPLOSOES_SIMULTANEAS * FRAGMENTOS_POR_EXPLOSAO;
+	private static final float VELOCIDADE_MINIMA = 10.0f;
+	private static final float VELOCIDADE_MAXIMA = 80.0f;
+	public static final float DURACAO_DA_EXPLOSAO = 1.5f;
+
+	// As direções dos fragmentos são sorteadas dentre as direções dessa tabela, em vez de calcular
+	// seno e cosseno para cada fragmento (o tamanho deve ser uma potência de 2)
+	private static final int TAMANHO_DA_TABELA_DE_DIRECOES = 256;
+	private static final float[] SENOS = crieTabelaDeDirecoes(true);
+	private static final float[] COSSENOS = crieTabelaDeDirecoes(false);
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private FolhaDeSprites folhaDeSprites;
+	private LoteDeRetangulosAnimados loteDeFragmentos;
+	private int inicioDosFragmentos, contagemDeParticulas;
+	// O tempo do sistema (no início do último quadro processado, e agora), e o instante em que
+	// cada fragmento foi criado
+	private float tempoAnterior, tempo;
+	private float[] fases;
+	private CoordenadasDeModelo coordenadasDeModelo;
+	private CoordenadasDeTextura coordenadasDeTexturaDaNave, coordenadasDeTexturaDoInimigo;
+	// Os fragmentos sorteiam seus números daqui, e não do jogo: como a quantidade de fragmentos
+	// depende do governador de qualidade (e, portanto, da velocidade do aparelho), utilizar os
+	// números do jogo faria com que todos os sorteios seguintes mudassem de um aparelho para outro
+	private final Random random;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public SistemaDeParticulas(FolhaDeSprites folhaDeSprites) {
+		// A semente é sorteada uma única vez, para que as explosões não sejam sempre iguais, mas
+		// continuem sendo reproduzidas quando a semente do jogo for fixa
+		this.random = new Random(Jogo.getJogo().numeroAleatorio(Integer.MAX_VALUE));
+
+		setFolhaDeSprites(folhaDeSprites);
+
+		// O lote e as fases são criados uma única vez, com a capacidade máxima
+		setLoteDeFragmentos(new LoteDeRetangulosAnimados(CAPACIDADE_DE_PARTICULAS));
+		setFases(new float[CAPACIDADE_DE_PARTICULAS]);
+
+		carregueInternamente();
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private FolhaDeSprites getFolhaDeSprites() {
+		return folhaDeSprites;
+	}
+
+	private void setFolhaDeSprites(FolhaDeSprites folhaDeSprites) {
+		this.folhaDeSprites = folhaDeSprites;
+	}
+
+	private LoteDeRetangulosAnimados getLoteDeFragmentos() {
+		return loteDeFragmentos;
+	}
+
+	private void setLoteDeFragmentos(LoteDeRetangulosAnimados loteDeFragmentos) {
+		this.loteDeFragmentos = loteDeFragmentos;
+	}
+
+	private int getInicioDosFragmentos() {
+		return inicioDosFragmentos;
+	}
+
+	private void setInicioDosFragmentos(int inicioDosFragmentos) {
+		this.inicioDosFragmentos = inicioDosFragmentos;
+	}
+
+	public int getContagemDeParticulas() {
+		return contagemDeParticulas;
+	}
+
+	private void setContagemDeParticulas(int contagemDeParticulas) {
+		this.contagemDeParticulas = contagemDeParticulas;
+	}
+
+	private float getTempoAnterior() {
+		return tempoAnterior;
+	}
+
+	private void setTempoAnterior(float tempoAnterior) {
+		this.tempoAnterior = tempoAnterior;
+	}
+
+	private float getTempo() {
+		return tempo;
+	}
+
+	private void setTempo(float tempo) {
+		this.tempo = tempo;
+	}
+
+	private float[] getFases() {
+		return fases;
+	}
+
+	private void setFases(float[] fases) {
+		this.fases = fases;
+	}
+
+	private CoordenadasDeModelo getCoordenadasDeModelo() {
+		return coordenadasDeModelo;
+	}
+
+	private void setCoordenadasDeModelo(CoordenadasDeModelo coordenadasDeModelo) {
+		this.coordenadasDeModelo = coordenadasDeModelo;
+	}
+
+	private CoordenadasDeTextura getCoordenadasDeTexturaDaNave() {
+		return coordenadasDeTexturaDaNave;
+	}
+
+	private void setCoordenadasDeTexturaDaNave(CoordenadasDeTextura coordenadasDeTexturaDaNave) {
+		this.coordenadasDeTexturaDaNave = coordenadasDeTexturaDaNave;
+	}
+
+	private CoordenadasDeTextura getCoordenadasDeTexturaDoInimigo() {
+		return coordenadasDeTexturaDoInimigo;
+	}
+
+	private void setCoordenadasDeTexturaDoInimigo(CoordenadasDeTextura coordenadasDeTexturaDoInimigo) {
+		this.coordenadasDeTexturaDoInimigo = coordenadasDeTexturaDoInimigo;
+	}
+
+	private Random getRandom() {
+		return random;
+	}
+
+	@Override
+	public boolean isCarregado() {
+		// Nossa forma de detectar se o recurso foi carregado ou não (cada recurso faz isso de
+		// jeitos diferentes)
+		return (getCoordenadasDeModelo() != null);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private static float[] crieTabelaDeDirecoes(boolean senos) {
+		float[] tabela = new float[TAMANHO_DA_TABELA_DE_DIRECOES];
+
+		for (int i = TAMANHO_DA_TABELA_DE_DIRECOES - 1; i >= 0; i--) {
+			double anguloEmRadianos = (6.283185307179586476925286766559 * i) / TAMANHO_DA_TABELA_DE_DIRECOES;
+			tabela[i] = (float)(senos ? Math.sin(anguloEmRadianos) : Math.cos(anguloEmRadianos));
+		}
+
+		return tabela;
+	}
+
+	private float numeroAleatorio(float minimo, float maximo) {
+		return (getRandom().nextFloat() * (maximo - minimo)) + minimo;
+	}
+
+	@Override
+	protected void carregueInternamente() {
+		FolhaDeSprites folhaDeSprites = getFolhaDeSprites();
+
+		setCoordenadasDeModelo(folhaDeSprites.getCoordenadasDeModeloDoFragmentoDaExplosao());
+		setCoordenadasDeTexturaDaNave(folhaDeSprites.getCoordenadasDeTexturaDoFragmentoDaExplosaoDaNave());
+		setCoordenadasDeTexturaDoInimigo(folhaDeSprites.getCoordenadasDeTexturaDoFragmentoDaExplosaoDoInimigo());
+
+		// Os fragmentos já existentes não são perdidos quando o sistema é liberado, pois o lote
+		// mantém seus dados, e os envia novamente ao OpenGL
+		getLoteDeFragmentos().carregue();
+	}
+
+	@Override
+	protected void libereInternamente() {
+		// Vamos liberar toda a memória que não será mais utilizada
+
+		getLoteDeFragmentos().libere();
+		setCoordenadasDeModelo(null);
+		setCoordenadasDeTexturaDaNave(null);
+		setCoordenadasDeTexturaDoInimigo(null);
+	}
+
+	@Override
+	protected void destruaInternamente() {
+		// Vamos invalidar o objeto
+
+		getLoteDeFragmentos().destrua();
+		setLoteDeFragmentos(null);
+		setFolhaDeSprites(null);
+		setInicioDosFragmentos(0);
+		setContagemDeParticulas(0);
+		setFases(null);
+
+		// Ao final, precisamos chamar o método destruaInternamente() da classe ElementoDeTela, para
+		// permitir que ela destrua seus recursos
+		super.destruaInternamente();
+	}
+
+	@Override
+	protected void processeUmQuadroSemPausa(float deltaSegundos) {
+		int contagemDeParticulas = getContagemDeParticulas();
+		if (contagemDeParticulas == 0) {
+			return;
+		}
+
+		int inicioDosFragmentos = getInicioDosFragmentos();
+		float tempoAnterior = getTempo();
+		float tempo = tempoAnterior + deltaSegundos;
+		float[] fases = getFases();
+
+		// Os fragmentos do início da fila são os mais antigos, então basta removê-los do início
+		// até encontrar um fragmento que ainda não terminou
+		while (contagemDeParticulas > 0 && (tempo - fases[inicioDosFragmentos]) >= DURACAO_DA_EXPLOSAO) {
+			contagemDeParticulas--;
+			inicioDosFragmentos++;
+			if (inicioDosFragmentos == CAPACIDADE_DE_PARTICULAS) {
+				inicioDosFragmentos = 0;
+			}
+		}
+
+		// Quando não sobrar nenhum fragmento, o tempo volta a 0, para que ele não cresça
+		// indefinidamente
+		if (contagemDeParticulas == 0) {
+			inicioDosFragmentos = 0;
+			tempoAnterior = 0.0f;
+			tempo = 0.0f;
+		}
+
+		setInicioDosFragmentos(inicioDosFragmentos);
+		setContagemDeParticulas(contagemDeParticulas);
+		setTempoAnterior(tempoAnterior);
+		setTempo(tempo);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	public void crieExplosao(boolean explosaoDaNave, float xCentro, float yCentro) {
+		Jogo jogo = Jogo.getJogo();
+
+		// Tanto a quantidade de fragmentos da explosão, quanto a quantidade de explosões
+		// simultâneas, dependem da qualidade escolhida pelo governador no momento da criação
+		GovernadorDeQualidade governadorDeQualidade = jogo.getGovernadorDeQualidade();
+		int limiteDeParticulas = governadorDeQualidade.orcamento(EXPLOSOES_SIMULTANEAS) * FRAGMENTOS_POR_EXPLOSAO;
+
+		int contagemDeParticulas = getContagemDeParticulas();
+		int contagemFinal = contagemDeParticulas + governadorDeQualidade.orcamento(FRAGMENTOS_POR_EXPLOSAO);
+		if (contagemFinal > limiteDeParticulas) {
+			contagemFinal = limiteDeParticulas;
+		}
+		if (contagemFinal <= contagemDeParticulas) {
+			// Não há espaço para mais nenhum fragmento
+			return;
+		}
+
+		float dispersaoInicial = getFolhaDeSprites().pixels(0.25f);
+		float densidade = Tela.getTela().getDensidade();
+
+		Random random = getRandom();
+		LoteDeRetangulosAnimados loteDeFragmentos = getLoteDeFragmentos();
+		CoordenadasDeModelo coordenadasDeModelo = getCoordenadasDeModelo();
+		CoordenadasDeTextura coordenadasDeTextura = (explosaoDaNave ? getCoordenadasDeTexturaDaNave() : getCoordenadasDeTexturaDoInimigo());
+		float tempo = getTempo();
+		float[] fases = getFases();
+
+		// Os novos fragmentos entram no fim da fila
+		int indice = getInicioDosFragmentos() + contagemDeParticulas;
+		if (indice >= CAPACIDADE_DE_PARTICULAS) {
+			indice -= CAPACIDADE_DE_PARTICULAS;
+		}
+
+		for (int i = contagemDeParticulas; i < contagemFinal; i++) {
+			// Sorteia a direção do voo do fragmento, e, como a velocidade de cada fragmento também
+			// será diferente, já calculamos o deslocamento que ele terá ao final da explosão
+			int direcao = random.nextInt(TAMANHO_DA_TABELA_DE_DIRECOES);
+			float velocidade = densidade * numeroAleatorio(VELOCIDADE_MINIMA, VELOCIDADE_MAXIMA);
+
+			// Vamos posicionar cada fragmento, de modo que eles iniciem em posições aleatórias, mas
+			// próximas entre si
+			loteDeFragmentos.altereRetangulo(indice,
+				xCentro + numeroAleatorio(-dispersaoInicial, dispersaoInicial),
+				yCentro + numeroAleatorio(-dispersaoInicial, dispersaoInicial),
+				coordenadasDeModelo,
+				velocidade * COSSENOS[direcao],
+				velocidade * SENOS[direcao],
+				tempo,
+				coordenadasDeTextura);
+			fases[indice] = tempo;
+
+			indice++;
+			if (indice == CAPACIDADE_DE_PARTICULAS) {
+				indice = 0;
+			}
+		}
+
+		setContagemDeParticulas(contagemFinal);
+	}
+
+	// Remove todos os fragmentos de uma vez
+	public void limpe() {
+		setInicioDosFragmentos(0);
+		setContagemDeParticulas(0);
+		setTempoAnterior(0.0f);
+		setTempo(0.0f);
+	}
+
+	@Override
+	public void desenheUmQuadro() {
+		int contagemDeParticulas = getContagemDeParticulas();
+		if (contagemDeParticulas == 0) {
+			return;
+		}
+
+		Tela tela = Tela.getTela();
+		Imagem imagem = getFolhaDeSprites().getImagem();
+		LoteDeRetangulosAnimados loteDeFragmentos = getLoteDeFragmentos();
+		int inicioDosFragmentos = getInicioDosFragmentos();
+		// Os fragmentos criados durante o último quadro processado podem ficar alguns instantes
+		// "antes" da sua criação, o que não chega a ser perceptível
+		float tempo = interpoleSemPausa(getTempoAnterior(), getTempo());
+
+		// Quando a fila dá a volta no fim do lote, são necessários dois desenhos
+		int contagemAteOFim = CAPACIDADE_DE_PARTICULAS - inicioDosFragmentos;
+		if (contagemDeParticulas <= contagemAteOFim) {
+			tela.desenhe(imagem, loteDeFragmentos, inicioDosFragmentos, contagemDeParticulas, tempo, DURACAO_DA_EXPLOSAO, 0.0f, 0.0f);
+		} else {
+			tela.desenhe(imagem, loteDeFragmentos, inicioDosFragmentos, contagemAteOFim, tempo, DURACAO_DA_EXPLOSAO, 0.0f, 0.0f);
+			tela.desenhe(imagem, loteDeFragmentos, 0, contagemDeParticulas - contagemAteOFim, tempo, DURACAO_DA_EXPLOSAO, 0.0f, 0.0f);
+		}
+	}
+}
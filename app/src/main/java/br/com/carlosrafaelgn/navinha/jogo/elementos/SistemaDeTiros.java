@@ -0,0 +1,368 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.jogo.elementos;
+
+import br.com.carlosrafaelgn.navinha.jogo.desenho.FolhaDeSprites;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeModelo;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeTextura;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.Imagem;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.ElementoDeTela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.SondaDeColisoes;
+
+// Guarda todos os tiros de um mesmo dono (a nave, ou os inimigos) em um único vetor, com x e y de
+// cada tiro lado a lado, em vez de existir um elemento de tela para cada tiro: todos os tiros são
+// movidos, testados contra os alvos e desenhados por laços simples, dentro de um único elemento
+// Os tiros não fazem parte da lista, mas esse elemento é um testador de colisões que representa
+// todos eles: durante a fase de colisões da lista (depois que os alvos já estão em suas posições
+// finais do quadro), cada tiro é testado por todo o caminho percorrido durante o quadro, e o alvo
+// atingido primeiro é avisado
+public final class SistemaDeTiros extends ElementoDeTelaComPausa {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final float VELOCIDADE_EM_UNIDADES_POR_SEGUNDO = 8.0f;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private FolhaDeSprites folhaDeSprites;
+	private final boolean tiroDaNave;
+	private float velocidade;
+	// Deslocamento vertical de todos os tiros durante o último quadro processado
+	private float deslocamentoDoQuadro;
+	// Apenas os tiros movidos durante o último quadro processado são testados na fase de colisões
+	// (os tiros criados depois disso só são testados a partir do próximo quadro)
+	private int contagemDeTiros, contagemDeTirosMovidos;
+	// x e y de cada tiro, lado a lado (o tiro i ocupa as posições 2i e 2i + 1), sendo que um x
+	// igual a NaN marca um tiro que já acertou um alvo, e que será descartado no próximo quadro
+	private float[] posicoes;
+	private CoordenadasDeModelo coordenadasDeModelo, coordenadasDeModeloDosLimites;
+	private CoordenadasDeTextura coordenadasDeTextura;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public SistemaDeTiros(FolhaDeSprites folhaDeSprites, boolean tiroDaNave, int capacidadeInicial) {
+		if (capacidadeInicial <= 0) {
+			throw new IllegalArgumentException("capacidadeInicial deve ser maior do que 0");
+		}
+
+		setFolhaDeSprites(folhaDeSprites);
+		this.tiroDaNave = tiroDaNave;
+		setPosicoes(new float[capacidadeInicial << 1]);
+
+		if (tiroDaNave) {
+			// Os tiros da nave só acertam inimigos
+			setCamadaDeColisao(CamadasDeColisao.TIRO_DA_NAVE);
+			setMascaraDeColisao(CamadasDeColisao.INIMIGO);
+		} else {
+			// Os tiros dos inimigos só acertam a nave
+			setCamadaDeColisao(CamadasDeColisao.TIRO_DO_INIMIGO);
+			setMascaraDeColisao(CamadasDeColisao.NAVE);
+		}
+		setTestadorDeColisoes(true);
+
+		carregueInternamente();
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private FolhaDeSprites getFolhaDeSprites() {
+		return folhaDeSprites;
+	}
+
+	private void setFolhaDeSprites(FolhaDeSprites folhaDeSprites) {
+		this.folhaDeSprites = folhaDeSprites;
+	}
+
+	public boolean isTiroDaNave() {
+		return tiroDaNave;
+	}
+
+	private float getVelocidade() {
+		return velocidade;
+	}
+
+	private void setVelocidade(float velocidade) {
+		this.velocidade = velocidade;
+	}
+
+	private float getDeslocamentoDoQuadro() {
+		return deslocamentoDoQuadro;
+	}
+
+	private void setDeslocamentoDoQuadro(float deslocamentoDoQuadro) {
+		this.deslocamentoDoQuadro = deslocamentoDoQuadro;
+	}
+
+	public int getContagemDeTiros() {
+		return contagemDeTiros;
+	}
+
+	private void setContagemDeTiros(int contagemDeTiros) {
+		this.contagemDeTiros = contagemDeTiros;
+	}
+
+	private int getContagemDeTirosMovidos() {
+		return contagemDeTirosMovidos;
+	}
+
+	private void setContagemDeTirosMovidos(int contagemDeTirosMovidos) {
+		this.contagemDeTirosMovidos = contagemDeTirosMovidos;
+	}
+
+	private float[] getPosicoes() {
+		return posicoes;
+	}
+
+	private void setPosicoes(float[] posicoes) {
+		this.posicoes = posicoes;
+	}
+
+	private CoordenadasDeModelo getCoordenadasDeModelo() {
+		return coordenadasDeModelo;
+	}
+
+	private void setCoordenadasDeModelo(CoordenadasDeModelo coordenadasDeModelo) {
+		this.coordenadasDeModelo = coordenadasDeModelo;
+	}
+
+	private CoordenadasDeModelo getCoordenadasDeModeloDosLimites() {
+		return coordenadasDeModeloDosLimites;
+	}
+
+	private void setCoordenadasDeModeloDosLimites(CoordenadasDeModelo coordenadasDeModeloDosLimites) {
+		this.coordenadasDeModeloDosLimites = coordenadasDeModeloDosLimites;
+	}
+
+	private CoordenadasDeTextura getCoordenadasDeTextura() {
+		return coordenadasDeTextura;
+	}
+
+	private void setCoordenadasDeTextura(CoordenadasDeTextura coordenadasDeTextura) {
+		this.coordenadasDeTextura = coordenadasDeTextura;
+	}
+
+	@Override
+	public boolean isCarregado() {
+		// Nossa forma de detectar se o recurso foi carregado ou não (cada recurso faz isso de
+		// jeitos diferentes)
+		return (getCoordenadasDeModelo() != null);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	@Override
+	protected void carregueInternamente() {
+		FolhaDeSprites folhaDeSprites = getFolhaDeSprites();
+
+		// Os tiros já existentes não são perdidos quando o sistema é liberado, pois apenas as
+		// coordenadas dependem da folha de sprites
+		// Os tiros da nave sobem, enquanto que os dos inimigos descem
+		if (isTiroDaNave()) {
+			setVelocidade(-folhaDeSprites.pixels(VELOCIDADE_EM_UNIDADES_POR_SEGUNDO));
+			setCoordenadasDeModelo(folhaDeSprites.getCoordenadasDeModeloDoTiroDaNave());
+			setCoordenadasDeModeloDosLimites(folhaDeSprites.getCoordenadasDeModeloDosLimitesDoTiroDaNave());
+			setCoordenadasDeTextura(folhaDeSprites.getCoordenadasDeTexturaDoTiroDaNave());
+		} else {
+			setVelocidade(folhaDeSprites.pixels(VELOCIDADE_EM_UNIDADES_POR_SEGUNDO));
+			setCoordenadasDeModelo(folhaDeSprites.getCoordenadasDeModeloDoTiroDoInimigo());
+			setCoordenadasDeModeloDosLimites(folhaDeSprites.getCoordenadasDeModeloDosLimitesDoTiroDoInimigo());
+			setCoordenadasDeTextura(folhaDeSprites.getCoordenadasDeTexturaDoTiroDoInimigo());
+		}
+	}
+
+	@Override
+	protected void libereInternamente() {
+		// Vamos liberar toda a memória que não será mais utilizada
+
+		setCoordenadasDeModelo(null);
+		setCoordenadasDeModeloDosLimites(null);
+		setCoordenadasDeTextura(null);
+	}
+
+	@Override
+	protected void destruaInternamente() {
+		// Vamos invalidar o objeto
+
+		setFolhaDeSprites(null);
+		setContagemDeTiros(0);
+		setContagemDeTirosMovidos(0);
+		setPosicoes(null);
+
+		// Ao final, precisamos chamar o método destruaInternamente() da classe ElementoDeTela, para
+		// permitir que ela destrua seus recursos
+		super.destruaInternamente();
+	}
+
+	@Override
+	protected void processeUmQuadroSemPausa(float deltaSegundos) {
+		// s = s0 + v.t :)
+		float deslocamento = getVelocidade() * deltaSegundos;
+		setDeslocamentoDoQuadro(deslocamento);
+
+		int contagemDeTiros = getContagemDeTiros();
+		if (contagemDeTiros == 0) {
+			setContagemDeTirosMovidos(0);
+			return;
+		}
+
+		float[] posicoes = getPosicoes();
+
+		float alturaLimite = getFolhaDeSprites().pixels(1.0f);
+		float baixoLimite = Tela.getTela().getAlturaDaVista() + alturaLimite;
+
+		// Os tiros que continuam existindo são compactados no início do vetor, mantendo sua ordem
+		int contagemFinal = 0;
+
+		for (int i = 0; i < contagemDeTiros; i++) {
+			float x = posicoes[(i << 1)];
+			float y = posicoes[(i << 1) + 1] + deslocamento;
+
+			if (Float.isNaN(x) || y <= -alturaLimite || y >= baixoLimite) {
+				// Se o tiro acertou um alvo no quadro anterior, ou saiu da área visível da vista,
+				// ele pode ser removido
+				continue;
+			}
+
+			posicoes[(contagemFinal << 1)] = x;
+			posicoes[(contagemFinal << 1) + 1] = y;
+			contagemFinal++;
+		}
+
+		setContagemDeTiros(contagemFinal);
+		setContagemDeTirosMovidos(contagemFinal);
+	}
+
+	@Override
+	protected void objetoColidiuComSemPausa(int objeto, ElementoDeTela elementoDeTela) {
+		// Os alvos de um mesmo tiro chegam na ordem em que o tiro os atingiu, então apenas o
+		// primeiro deles é atingido
+		float[] posicoes = getPosicoes();
+		float x = posicoes[(objeto << 1)];
+		if (Float.isNaN(x)) {
+			return;
+		}
+
+		// O tiro é removido assim que acerta um alvo
+		posicoes[(objeto << 1)] = Float.NaN;
+		((AlvoDeTiro)elementoDeTela).acertadoPorUmTiro(x, posicoes[(objeto << 1) + 1]);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	public void adicioneTiro(float x, float y) {
+		float[] posicoes = getPosicoes();
+		int contagemDeTiros = getContagemDeTiros();
+
+		if ((contagemDeTiros << 1) == posicoes.length) {
+			float[] novasPosicoes = new float[posicoes.length << 1];
+			System.arraycopy(posicoes, 0, novasPosicoes, 0, posicoes.length);
+			posicoes = novasPosicoes;
+			setPosicoes(posicoes);
+		}
+
+		posicoes[(contagemDeTiros << 1)] = x;
+		posicoes[(contagemDeTiros << 1) + 1] = y;
+		setContagemDeTiros(contagemDeTiros + 1);
+	}
+
+	// Remove todos os tiros de uma vez
+	public void limpe() {
+		setContagemDeTiros(0);
+		setContagemDeTirosMovidos(0);
+	}
+
+	@Override
+	public int getContagemDeObjetosDeColisoes() {
+		// Enquanto o jogo está pausado, os tiros não se movem, e não acertam nada
+		return (isPausado() ? 0 : getContagemDeTirosMovidos());
+	}
+
+	@Override
+	public void prepareSondaDoObjeto(int objeto, SondaDeColisoes sonda) {
+		// A sonda ocupa a posição final do tiro, e o deslocamento faz com que a consulta englobe
+		// todo o caminho percorrido pelo tiro durante o quadro (a máscara de pixels do alvo
+		// continua sendo testada, ao longo desse caminho)
+		float[] posicoes = getPosicoes();
+		float x = posicoes[(objeto << 1)];
+		float y = posicoes[(objeto << 1) + 1];
+		CoordenadasDeModelo coordenadasDeModeloDosLimites = getCoordenadasDeModeloDosLimites();
+		sonda.altere(
+			x + coordenadasDeModeloDosLimites.getEsquerda(),
+			y + coordenadasDeModeloDosLimites.getCima(),
+			x + coordenadasDeModeloDosLimites.getDireita(),
+			y + coordenadasDeModeloDosLimites.getBaixo(),
+			0.0f,
+			getDeslocamentoDoQuadro());
+	}
+
+	@Override
+	public void desenheUmQuadro() {
+		int contagemDeTiros = getContagemDeTiros();
+		if (contagemDeTiros == 0) {
+			return;
+		}
+
+		Tela tela = Tela.getTela();
+		Imagem imagem = getFolhaDeSprites().getImagem();
+		CoordenadasDeModelo coordenadasDeModelo = getCoordenadasDeModelo();
+		CoordenadasDeTextura coordenadasDeTextura = getCoordenadasDeTextura();
+		float[] posicoes = getPosicoes();
+
+		// Todos os tiros se movem juntos, então basta interpolar o deslocamento uma única vez
+		// (os tiros criados durante o último quadro acabam desenhados um pouco antes do ponto em
+		// que nasceram, o que não chega a ser perceptível)
+		float deslocamento = getDeslocamentoDoQuadro();
+		float ajuste = interpoleSemPausa(-deslocamento, 0.0f);
+
+		// Todos os tiros usam a mesma imagem, então a tela acumula todos eles em um único lote de
+		// retângulos
+		for (int i = (contagemDeTiros << 1) - 2; i >= 0; i -= 2) {
+			if (Float.isNaN(posicoes[i])) {
+				continue;
+			}
+			tela.desenhe(imagem, coordenadasDeModelo, 1.0f, coordenadasDeTextura, posicoes[i], posicoes[i + 1] + ajuste);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.animacao;
+
+import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.Vetor;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeTextura;
+
+public final class ClipeDeQuadros {
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	// Um clipe não possui estado: ele pode ser compartilhado por quantos elementos for preciso, e
+	// o quadro de cada elemento é calculado a partir de um horário e de uma fase
+	private final Vetor<CoordenadasDeTextura> quadros;
+	private final float quadrosPorSegundo;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public ClipeDeQuadros(Vetor<CoordenadasDeTextura> quadros, float quadrosPorSegundo) {
+		if (quadros == null || quadros.comprimento() == 0) {
+			throw new IllegalArgumentException("O clipe precisa ter ao menos um quadro");
+		}
+
+		if (quadrosPorSegundo < 0.0f) {
+			throw new IllegalArgumentException("quadrosPorSegundo não pode ser negativo");
+		}
+
+		this.quadros = quadros;
+		this.quadrosPorSegundo = quadrosPorSegundo;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	public Vetor<CoordenadasDeTextura> getQuadros() {
+		return quadros;
+	}
+
+	public float getQuadrosPorSegundo() {
+		return quadrosPorSegundo;
+	}
+
+	public int getContagemDeQuadros() {
+		return getQuadros().comprimento();
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	public int getIndiceDoQuadro(float segundos) {
+		// O clipe é sempre repetido (looping), então basta converter o tempo em quadros e pegar o
+		// resto da divisão pela quantidade de quadros
+		int indice = (int)(segundos * getQuadrosPorSegundo()) % getContagemDeQuadros();
+		return ((indice < 0) ? (indice + getContagemDeQuadros()) : indice);
+	}
+
+	public CoordenadasDeTextura getQuadro(float segundos) {
+		return getQuadros().item(getIndiceDoQuadro(segundos));
+	}
+}
@@ -0,0 +1,211 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.dados;
+
+import java.util.Arrays;
+
+// Sacola de itens sem ordem definida, onde a inserção, a remoção e o sorteio de um item custam
+// O(1), e o embaralhamento custa O(n)
+// Para que a remoção seja O(1), cada item guarda sua própria posição dentro da sacola, e o último
+// item passa a ocupar a posição do item removido (por isso, a ordem dos itens não é mantida)
+public final class SacolaIndexada<E extends SacolaIndexada.Item> {
+	//----------------------------------------------------------------------------------------------
+	// Interfaces e classes internas
+	//----------------------------------------------------------------------------------------------
+
+	public interface Item {
+		//------------------------------------------------------------------------------------------
+		// Métodos públicos
+		//------------------------------------------------------------------------------------------
+
+		// -1 indica que o item não está em sacola alguma (um item só pode estar em uma sacola de
+		// cada vez)
+		int getIndiceNaSacola();
+		void setIndiceNaSacola(int indiceNaSacola);
+	}
+
+	public interface Sorteador {
+		//------------------------------------------------------------------------------------------
+		// Métodos públicos
+		//------------------------------------------------------------------------------------------
+
+		// Deve retornar um número >= 0 e < maximo
+		int numeroAleatorio(int maximo);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private final Sorteador sorteador;
+	private E[] itens;
+	private int tamanho;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	// O sorteador é recebido de fora para que os sorteios e os embaralhamentos possam ser
+	// reproduzidos (basta utilizar um sorteador com uma semente conhecida)
+	@SuppressWarnings("unchecked")
+	public SacolaIndexada(int capacidade, Sorteador sorteador) {
+		if (capacidade < 0) {
+			throw new IllegalArgumentException("capacidade deve ser >= 0");
+		}
+
+		if (sorteador == null) {
+			throw new IllegalArgumentException("sorteador não pode ser null");
+		}
+
+		this.sorteador = sorteador;
+		this.itens = (E[])new Item[capacidade];
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private Sorteador getSorteador() {
+		return sorteador;
+	}
+
+	private E[] getItens() {
+		return itens;
+	}
+
+	private void setItens(E[] itens) {
+		this.itens = itens;
+	}
+
+	public int getTamanho() {
+		return tamanho;
+	}
+
+	private void setTamanho(int tamanho) {
+		this.tamanho = tamanho;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private void coloque(E[] itens, int indice, E item) {
+		itens[indice] = item;
+		item.setIndiceNaSacola(indice);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	public E item(int indice) {
+		if (indice < 0 || indice >= getTamanho()) {
+			throw new IllegalArgumentException("indice inválido");
+		}
+
+		return getItens()[indice];
+	}
+
+	public void adicione(E item) {
+		if (item.getIndiceNaSacola() >= 0) {
+			throw new RuntimeException("O item já está em uma sacola");
+		}
+
+		E[] itens = getItens();
+		int tamanho = getTamanho();
+
+		if (tamanho == itens.length) {
+			// Dobra a capacidade, como o ArrayList faria
+			itens = Arrays.copyOf(itens, (tamanho < 4) ? 8 : (tamanho << 1));
+			setItens(itens);
+		}
+
+		coloque(itens, tamanho, item);
+		setTamanho(tamanho + 1);
+	}
+
+	public boolean remova(E item) {
+		E[] itens = getItens();
+		int indice = item.getIndiceNaSacola();
+
+		if (indice < 0 || indice >= getTamanho() || itens[indice] != item) {
+			// O item não está nessa sacola
+			return false;
+		}
+
+		// O último item ocupa o lugar do item removido
+		int ultimo = getTamanho() - 1;
+		if (indice != ultimo) {
+			coloque(itens, indice, itens[ultimo]);
+		}
+		itens[ultimo] = null;
+		setTamanho(ultimo);
+
+		item.setIndiceNaSacola(-1);
+
+		return true;
+	}
+
+	public E sorteie() {
+		int tamanho = getTamanho();
+		return ((tamanho == 0) ? null : getItens()[getSorteador().numeroAleatorio(tamanho)]);
+	}
+
+	public void embaralhe() {
+		// Fisher-Yates, sem memória adicional: cada posição, da última até a segunda, é trocada
+		// com alguma posição sorteada entre as anteriores (incluindo ela mesma)
+		E[] itens = getItens();
+		Sorteador sorteador = getSorteador();
+
+		for (int i = getTamanho() - 1; i > 0; i--) {
+			int j = sorteador.numeroAleatorio(i + 1);
+			if (j != i) {
+				E item = itens[i];
+				coloque(itens, i, itens[j]);
+				coloque(itens, j, item);
+			}
+		}
+	}
+
+	public void limpe() {
+		E[] itens = getItens();
+
+		for (int i = getTamanho() - 1; i >= 0; i--) {
+			itens[i].setIndiceNaSacola(-1);
+			// Ajuda o garbage collector :)
+			itens[i] = null;
+		}
+
+		setTamanho(0);
+	}
+}
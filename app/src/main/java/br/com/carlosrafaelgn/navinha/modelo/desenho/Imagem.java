@@ -44,6 +44,20 @@ import br.com.carlosrafaelgn.navinha.modelo.jogo.Jogo;
 import br.com.carlosrafaelgn.navinha.modelo.recurso.Recurso;
 
 public final class Imagem extends Recurso {
+	//----------------------------------------------------------------------------------------------
+	// Interfaces e classes internas
+	//----------------------------------------------------------------------------------------------
+
+	public interface ObservadorDePixels {
+		//------------------------------------------------------------------------------------------
+		// Métodos públicos
+		//------------------------------------------------------------------------------------------
+
+		// Chamado com os pixels no formato A, R, G, B, antes que eles sejam enviados ao OpenGL e
+		// descartados (o vetor não deve ser armazenado, pois será alterado logo em seguida)
+		void pixelsCarregados(Imagem imagem, int[] pixels, int largura, int altura);
+	}
+
 	//----------------------------------------------------------------------------------------------
 	// Campos privados
 	//----------------------------------------------------------------------------------------------
@@ -57,11 +71,26 @@ public final class Imagem extends Recurso {
 	//----------------------------------------------------------------------------------------------
 
 	public Imagem(int idDoDrawable) {
-		incorporeBitmap(idDoDrawable);
+		incorporeBitmap(idDoDrawable, null);
+	}
+
+	public Imagem(int idDoDrawable, ObservadorDePixels observadorDePixels) {
+		incorporeBitmap(idDoDrawable, observadorDePixels);
 	}
 
 	public Imagem(Bitmap bitmap) {
-		incorporeBitmap(bitmap);
+		incorporeBitmap(bitmap, null);
+	}
+
+	// Utilizado apenas pelos testes (o jogo sempre cria suas imagens a partir de um drawable ou de
+	// um bitmap): nos testes que rodam fora do Android, a classe Bitmap não funciona, então a
+	// imagem apenas envolve um id de textura fictício, sem passar por incorporeBitmap() (como não há
+	// um bitmap nem um drawable de origem, a imagem não pode ser carregada novamente depois de
+	// liberada)
+	Imagem(int id, float largura, float altura) {
+		setId(id);
+		setLargura(largura);
+		setAltura(altura);
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -115,7 +144,7 @@ public final class Imagem extends Recurso {
 	protected void carregueInternamente() {
 		int idDoDrawable = getIdDoDrawable();
 		if (idDoDrawable != 0) {
-			incorporeBitmap(idDoDrawable);
+			incorporeBitmap(idDoDrawable, null);
 		}
 	}
 
@@ -139,6 +168,10 @@ public final class Imagem extends Recurso {
 	//----------------------------------------------------------------------------------------------
 
 	public void incorporeBitmap(int idDoDrawable) {
+		incorporeBitmap(idDoDrawable, null);
+	}
+
+	public void incorporeBitmap(int idDoDrawable, ObservadorDePixels observadorDePixels) {
 		BitmapFactory.Options opcoes = new BitmapFactory.Options();
 		opcoes.inDither = false;
 		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
@@ -149,20 +182,27 @@ public final class Imagem extends Recurso {
 		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
 			opcoes.inPremultiplied = false;
 		}
-		incorporeBitmap(BitmapFactory.decodeResource(Jogo.getJogo().getContext().getResources(), idDoDrawable, opcoes));
+		incorporeBitmap(BitmapFactory.decodeResource(Jogo.getJogo().getContext().getResources(), idDoDrawable, opcoes), observadorDePixels);
 
 		setIdDoDrawable(idDoDrawable);
 	}
 
 	public void incorporeBitmap(Bitmap bitmap) {
+		incorporeBitmap(bitmap, null);
+	}
+
+	public void incorporeBitmap(Bitmap bitmap, ObservadorDePixels observadorDePixels) {
 		// Caso incorporeBitmap() seja chamado sem que antes a imagem anterior tenha sido liberada
 		libere();
 
+		Tela tela = Tela.getTela();
+		OpenGL openGL = tela.getOpenGL();
+
 		int largura = bitmap.getWidth();
 		int altura = bitmap.getHeight();
 
 		int[] tamanhoMaximo = new int[1];
-		GLES20.glGetIntegerv(GLES20.GL_MAX_TEXTURE_SIZE, tamanhoMaximo, 0);
+		openGL.glGetIntegerv(GLES20.GL_MAX_TEXTURE_SIZE, tamanhoMaximo, 0);
 		if (largura > tamanhoMaximo[0] || altura > tamanhoMaximo[0]) {
 			throw new IllegalArgumentException("As dimensões do bitmap (" + largura + "x" + altura + ") excedem os limites do OpenGL (" + tamanhoMaximo[0] + "x" + tamanhoMaximo[0] + ")");
 		}
@@ -173,24 +213,24 @@ public final class Imagem extends Recurso {
 		// Pede para o OpenGL criar uma textura cujo id será armazenado em id
 
 		// Limpa as marcações de erro do OpenGL
-		while (GLES20.glGetError() != GLES20.GL_NO_ERROR) {
-			GLES20.glGetError();
+		while (openGL.glGetError() != GLES20.GL_NO_ERROR) {
+			openGL.glGetError();
 		}
 
-		setId(Tela.getTela().crieUmaTextura());
+		setId(tela.crieUmaTextura());
 
 		// Torna a textura recém criada como a textura atual do OpenGL
-		GLES20.glBindTexture(GLES20.GL_TEXTURE_2D, getId());
+		openGL.glBindTexture(GLES20.GL_TEXTURE_2D, getId());
 
 		// Configura o modo de redimensionamento da textura (para esse jogo, queremos o mínimo de
 		// suavização, por isso utilizamos GL_NEAREST, caso contrário, utilizaríamos GL_LINEAR)
-		GLES20.glTexParameteri(GLES20.GL_TEXTURE_2D, GLES20.GL_TEXTURE_MIN_FILTER, GLES20.GL_LINEAR);
-		GLES20.glTexParameteri(GLES20.GL_TEXTURE_2D, GLES20.GL_TEXTURE_MAG_FILTER, GLES20.GL_LINEAR);
+		openGL.glTexParameteri(GLES20.GL_TEXTURE_2D, GLES20.GL_TEXTURE_MIN_FILTER, GLES20.GL_LINEAR);
+		openGL.glTexParameteri(GLES20.GL_TEXTURE_2D, GLES20.GL_TEXTURE_MAG_FILTER, GLES20.GL_LINEAR);
 
 		// Configura o que fazer caso seja pedido uma coordenada fora da área da textura
 		// (GL_CLAMP_TO_EDGE faz com que esses casos retornem uma cor 100% transparente / vazia)
-		GLES20.glTexParameteri(GLES20.GL_TEXTURE_2D, GLES20.GL_TEXTURE_WRAP_S, GLES20.GL_CLAMP_TO_EDGE);
-		GLES20.glTexParameteri(GLES20.GL_TEXTURE_2D, GLES20.GL_TEXTURE_WRAP_T, GLES20.GL_CLAMP_TO_EDGE);
+		openGL.glTexParameteri(GLES20.GL_TEXTURE_2D, GLES20.GL_TEXTURE_WRAP_S, GLES20.GL_CLAMP_TO_EDGE);
+		openGL.glTexParameteri(GLES20.GL_TEXTURE_2D, GLES20.GL_TEXTURE_WRAP_T, GLES20.GL_CLAMP_TO_EDGE);
 
 		// Esse processo de carregar o bitmap para a memória de vídeo é meio extenso, mas é
 		// necessário, por uma série de motivos:
@@ -205,6 +245,12 @@ public final class Imagem extends Recurso {
 		// Libera o bitmap, já que não será mais necessário
 		bitmap.recycle();
 
+		// Permite que os pixels sejam examinados antes da conversão (por exemplo, para extrair
+		// máscaras de colisão a partir do canal alpha)
+		if (observadorDePixels != null) {
+			observadorDePixels.pixelsCarregados(this, pixels, largura, altura);
+		}
+
 		// Armazena os pixels em um buffer, conforme o OpenGL precisa
 		IntBuffer bufferDePixels = IntBuffer.wrap(pixels);
 
@@ -230,13 +276,13 @@ public final class Imagem extends Recurso {
 			}
 		}
 
-		GLES20.glTexImage2D(GLES20.GL_TEXTURE_2D, 0, GLES20.GL_RGBA, largura, altura, 0, GLES20.GL_RGBA, GLES20.GL_UNSIGNED_BYTE, bufferDePixels);
+		openGL.glTexImage2D(GLES20.GL_TEXTURE_2D, 0, GLES20.GL_RGBA, largura, altura, 0, GLES20.GL_RGBA, GLES20.GL_UNSIGNED_BYTE, bufferDePixels);
 
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR) {
+		if (openGL.glGetError() != GLES20.GL_NO_ERROR) {
 			throw new RuntimeException("Erro ao carregar a textura");
 		}
 
 		// Não precisa deixar a textura como sendo a textura atual caso não vá mais utilizar
-		GLES20.glBindTexture(GLES20.GL_TEXTURE_2D, 0);
+		openGL.glBindTexture(GLES20.GL_TEXTURE_2D, 0);
 	}
 }
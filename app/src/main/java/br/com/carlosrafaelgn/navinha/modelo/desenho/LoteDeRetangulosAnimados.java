@@ -0,0 +1,299 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.desenho;
+
+import android.opengl.GLES20;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import br.com.carlosrafaelgn.navinha.modelo.recurso.Recurso;
+
+// Um lote de retângulos animados é enviado ao OpenGL uma única vez (ou apenas quando algum
+// retângulo é alterado), e fica guardado em um buffer estático: cada retângulo possui uma âncora,
+// uma velocidade e uma fase, e é o shader de vértice quem calcula a posição de cada retângulo a
+// partir do tempo informado em Tela.desenhe(), de modo que o custo de um quadro, para a CPU, é
+// apenas o de atualizar alguns uniforms
+public final class LoteDeRetangulosAnimados extends Recurso {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// Cada vértice possui 9 atributos: x e y da âncora do retângulo (iguais nos 4 vértices), x e y
+	// do canto em relação à âncora, x e y da velocidade, a fase, e x e y da textura
+	static final int FLOATS_POR_ANCORA = 2;
+	static final int FLOATS_POR_CANTO = 2;
+	static final int FLOATS_POR_VELOCIDADE = 2;
+	static final int FLOATS_POR_FASE = 1;
+	static final int FLOATS_POR_COORDENADAS_DE_TEXTURA = 2;
+
+	static final int FLOATS_POR_VERTICE = (FLOATS_POR_ANCORA + FLOATS_POR_CANTO + FLOATS_POR_VELOCIDADE + FLOATS_POR_FASE + FLOATS_POR_COORDENADAS_DE_TEXTURA);
+	static final int BYTES_POR_VERTICE = 4 * FLOATS_POR_VERTICE;
+
+	static final int FLOATS_POR_RETANGULO = 4 * FLOATS_POR_VERTICE;
+	static final int BYTES_POR_RETANGULO = 4 * FLOATS_POR_RETANGULO;
+
+	// Os índices de início de cada atributo dentro do buffer (em bytes)
+	static final int INICIO_ANCORA = 0;
+	static final int INICIO_CANTO = 4 * FLOATS_POR_ANCORA;
+	static final int INICIO_VELOCIDADE = INICIO_CANTO + (4 * FLOATS_POR_CANTO);
+	static final int INICIO_FASE = INICIO_VELOCIDADE + (4 * FLOATS_POR_VELOCIDADE);
+	static final int INICIO_COORDENADAS_DE_TEXTURA = INICIO_FASE + (4 * FLOATS_POR_FASE);
+
+	// Mesmo limite dos retângulos comuns da tela, por causa dos índices GL_UNSIGNED_SHORT
+	public static final int CAPACIDADE_MAXIMA = 16384;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private final int capacidadeDeRetangulos;
+	private float[] dados;
+	private FloatBuffer bufferDeDados;
+	private int idDoBuffer;
+	// Intervalo de retângulos alterados desde o último envio ao OpenGL
+	private int primeiroRetanguloAlterado, fimDosRetangulosAlterados;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public LoteDeRetangulosAnimados(int capacidadeDeRetangulos) {
+		if (capacidadeDeRetangulos <= 0 || capacidadeDeRetangulos > CAPACIDADE_MAXIMA) {
+			throw new IllegalArgumentException("capacidadeDeRetangulos deve estar entre 1 e " + CAPACIDADE_MAXIMA);
+		}
+
+		this.capacidadeDeRetangulos = capacidadeDeRetangulos;
+		this.dados = new float[FLOATS_POR_RETANGULO * capacidadeDeRetangulos];
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	public int getCapacidadeDeRetangulos() {
+		return capacidadeDeRetangulos;
+	}
+
+	// Os dados exatamente como são enviados ao OpenGL (não devem ser alterados diretamente)
+	public float[] getDados() {
+		return dados;
+	}
+
+	private void setDados(float[] dados) {
+		this.dados = dados;
+	}
+
+	private FloatBuffer getBufferDeDados() {
+		return bufferDeDados;
+	}
+
+	private void setBufferDeDados(FloatBuffer bufferDeDados) {
+		this.bufferDeDados = bufferDeDados;
+	}
+
+	int getIdDoBuffer() {
+		return idDoBuffer;
+	}
+
+	private void setIdDoBuffer(int idDoBuffer) {
+		this.idDoBuffer = idDoBuffer;
+	}
+
+	int getPrimeiroRetanguloAlterado() {
+		return primeiroRetanguloAlterado;
+	}
+
+	private void setPrimeiroRetanguloAlterado(int primeiroRetanguloAlterado) {
+		this.primeiroRetanguloAlterado = primeiroRetanguloAlterado;
+	}
+
+	int getFimDosRetangulosAlterados() {
+		return fimDosRetangulosAlterados;
+	}
+
+	private void setFimDosRetangulosAlterados(int fimDosRetangulosAlterados) {
+		this.fimDosRetangulosAlterados = fimDosRetangulosAlterados;
+	}
+
+	// Indica se existem retângulos alterados que ainda não foram enviados ao OpenGL
+	public boolean isAlterado() {
+		return (getFimDosRetangulosAlterados() > getPrimeiroRetanguloAlterado());
+	}
+
+	@Override
+	public boolean isCarregado() {
+		// Nossa forma de detectar se o recurso foi carregado ou não (cada recurso faz isso de
+		// jeitos diferentes)
+		return (getIdDoBuffer() != 0);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	@Override
+	protected void carregueInternamente() {
+		// O buffer é criado e preenchido por inteiro, com todos os dados que já existirem (assim,
+		// os retângulos sobrevivem à perda do contexto do OpenGL)
+		Tela tela = Tela.getTela();
+		int idDoBuffer = tela.crieUmBuffer();
+		setIdDoBuffer(idDoBuffer);
+
+		float[] dados = getDados();
+		FloatBuffer bufferDeDados = ByteBuffer.allocateDirect(4 * dados.length).order(ByteOrder.nativeOrder()).asFloatBuffer();
+		setBufferDeDados(bufferDeDados);
+
+		OpenGL openGL = tela.getOpenGL();
+		openGL.glBindBuffer(GLES20.GL_ARRAY_BUFFER, idDoBuffer);
+		openGL.glBufferData(GLES20.GL_ARRAY_BUFFER, 4 * dados.length,
+			bufferDeDados.put(dados).position(0),
+			GLES20.GL_STATIC_DRAW);
+
+		setPrimeiroRetanguloAlterado(0);
+		setFimDosRetangulosAlterados(0);
+	}
+
+	@Override
+	protected void libereInternamente() {
+		// Vamos liberar toda a memória que não será mais utilizada (os dados continuam na memória,
+		// para que o lote possa ser carregado novamente)
+
+		Tela.getTela().destruaUmBuffer(getIdDoBuffer());
+		setIdDoBuffer(0);
+		setBufferDeDados(null);
+	}
+
+	@Override
+	protected void destruaInternamente() {
+		// Vamos invalidar o objeto
+
+		setDados(null);
+	}
+
+	// Os retângulos alterados são copiados para o quadro gravado pela thread da simulação, e
+	// apenas enviados ao OpenGL quando esse quadro é desenhado (origem é a cópia feita pelo quadro,
+	// e não os dados do lote, que podem ter sido alterados novamente nesse meio tempo)
+	void envieAlteracoes(float[] origem, int posicaoNaOrigem, int primeiroRetangulo, int fimDosRetangulos) {
+		if (fimDosRetangulos <= primeiroRetangulo) {
+			return;
+		}
+
+		int inicio = FLOATS_POR_RETANGULO * primeiroRetangulo;
+		int contagem = FLOATS_POR_RETANGULO * (fimDosRetangulos - primeiroRetangulo);
+		FloatBuffer bufferDeDados = getBufferDeDados();
+		bufferDeDados.position(inicio);
+		bufferDeDados.put(origem, posicaoNaOrigem, contagem);
+		bufferDeDados.position(inicio);
+
+		OpenGL openGL = Tela.getTela().getOpenGL();
+		openGL.glBindBuffer(GLES20.GL_ARRAY_BUFFER, getIdDoBuffer());
+		openGL.glBufferSubData(GLES20.GL_ARRAY_BUFFER, 4 * inicio, 4 * contagem, bufferDeDados);
+	}
+
+	void limpeAlteracoes() {
+		setPrimeiroRetanguloAlterado(0);
+		setFimDosRetangulosAlterados(0);
+	}
+
+	void marqueComoAlterados(int primeiroRetangulo, int fimDosRetangulos) {
+		// Amplia o intervalo que deverá ser enviado ao OpenGL no próximo desenho
+		if (isAlterado()) {
+			if (primeiroRetangulo < getPrimeiroRetanguloAlterado()) {
+				setPrimeiroRetanguloAlterado(primeiroRetangulo);
+			}
+			if (fimDosRetangulos > getFimDosRetangulosAlterados()) {
+				setFimDosRetangulosAlterados(fimDosRetangulos);
+			}
+		} else {
+			setPrimeiroRetanguloAlterado(primeiroRetangulo);
+			setFimDosRetangulosAlterados(fimDosRetangulos);
+		}
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	// Define um retângulo, cujos cantos (esquerda, cima, direita e baixo) são relativos à âncora
+	// (xAncora, yAncora)
+	// Quando o lote é desenhado sem duração, a âncora se move velocidade unidades por segundo, a
+	// partir de fase segundos
+	// Quando o lote é desenhado com uma duração, a âncora se move velocidade unidades no total,
+	// desacelerando, a partir de fase segundos, e o retângulo desaparece aos poucos durante o
+	// movimento
+	public void altereRetangulo(int indice, float xAncora, float yAncora, float esquerda, float cima, float direita, float baixo, float velocidadeX, float velocidadeY, float fase, float esquerdaTextura, float cimaTextura, float direitaTextura, float baixoTextura) {
+		if (indice < 0 || indice >= getCapacidadeDeRetangulos()) {
+			throw new IllegalArgumentException("indice inválido");
+		}
+
+		float[] dados = getDados();
+		int i = FLOATS_POR_RETANGULO * indice;
+
+		// Ordem dos vértices (a mesma dos retângulos comuns da tela):
+		// 0   2
+		//
+		// 1   3
+		for (int vertice = 0; vertice < 4; vertice++, i += FLOATS_POR_VERTICE) {
+			dados[i    ] = xAncora;
+			dados[i + 1] = yAncora;
+			dados[i + 2] = ((vertice < 2) ? esquerda : direita);
+			dados[i + 3] = (((vertice & 1) == 0) ? cima : baixo);
+			dados[i + 4] = velocidadeX;
+			dados[i + 5] = velocidadeY;
+			dados[i + 6] = fase;
+			dados[i + 7] = ((vertice < 2) ? esquerdaTextura : direitaTextura);
+			dados[i + 8] = (((vertice & 1) == 0) ? cimaTextura : baixoTextura);
+		}
+
+		marqueComoAlterados(indice, indice + 1);
+	}
+
+	public void altereRetangulo(int indice, float xAncora, float yAncora, CoordenadasDeModelo coordenadasDeModelo, float velocidadeX, float velocidadeY, float fase, CoordenadasDeTextura coordenadasDeTextura) {
+		altereRetangulo(indice,
+			xAncora,
+			yAncora,
+			coordenadasDeModelo.getEsquerda(),
+			coordenadasDeModelo.getCima(),
+			coordenadasDeModelo.getDireita(),
+			coordenadasDeModelo.getBaixo(),
+			velocidadeX,
+			velocidadeY,
+			fase,
+			coordenadasDeTextura.getEsquerda(),
+			coordenadasDeTextura.getCima(),
+			coordenadasDeTextura.getDireita(),
+			coordenadasDeTextura.getBaixo());
+	}
+}
@@ -0,0 +1,243 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.desenho;
+
+// Uma máscara de pixels indica quais pixels de um sprite são opacos, para que as colisões possam
+// ser refinadas depois que as áreas limite (retângulos) de dois elementos se intersectam
+// Apenas o menor retângulo que contém todos os pixels opacos é armazenado, uma linha após a outra,
+// com 64 pixels por long: cada linha ocupa palavrasPorLinha palavras inteiras (mesmo que a última
+// fique parcialmente vazia), e o bit i da palavra p representa a coluna (p * 64) + i, o que permite
+// testar 64 pixels de uma vez com um único E bit a bit
+// Todas as coordenadas recebidas por colideCom(), colideComRetangulo() e contemPonto() são
+// inteiras, em pixels, relativas ao canto superior esquerdo desse retângulo (e não ao canto da
+// imagem original, nem ao pivô), com x crescendo para a direita e y crescendo para baixo
+// Para converter a partir da posição de um elemento, basta subtrair a esquerda e o cima da área
+// limite, que é montada a partir de getCoordenadasDeModelo() (veja ElementoDeTela.altereAreaLimite())
+public final class MascaraDePixels {
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	// Cada linha da máscara ocupa palavrasPorLinha longs consecutivos de bits, onde o bit 0 da
+	// palavra 0 representa o pixel mais à esquerda da linha (os bits que sobram ao final de cada
+	// linha são sempre 0)
+	private final int largura, altura, palavrasPorLinha;
+	private final long[] bits;
+	// Retângulo ocupado pela máscara, com o pivô em (0, 0), assim como nas coordenadas de modelo
+	private final CoordenadasDeModelo coordenadasDeModelo;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public MascaraDePixels(int[] pixels, int larguraDaImagem, int esquerda, int cima, int largura, int altura, float pivoX, float pivoY, int limiarDoAlpha) {
+		if (esquerda < 0 || cima < 0 || largura < 0 || altura < 0 || (esquerda + largura) > larguraDaImagem || ((cima + altura) * larguraDaImagem) > pixels.length) {
+			throw new IllegalArgumentException("Retângulo fora dos limites da imagem");
+		}
+
+		// Primeiro vamos descobrir o menor retângulo que contém todos os pixels opacos, para que a
+		// máscara não precise armazenar (nem testar) as bordas transparentes do sprite
+		int esquerdaOpaca = largura, cimaOpaca = altura, direitaOpaca = 0, baixoOpaco = 0;
+		for (int y = 0; y < altura; y++) {
+			int inicioDaLinha = ((cima + y) * larguraDaImagem) + esquerda;
+			for (int x = 0; x < largura; x++) {
+				// Os pixels estão no formato A, R, G, B
+				if ((pixels[inicioDaLinha + x] >>> 24) >= limiarDoAlpha) {
+					if (esquerdaOpaca > x) {
+						esquerdaOpaca = x;
+					}
+					if (direitaOpaca <= x) {
+						direitaOpaca = x + 1;
+					}
+					if (cimaOpaca > y) {
+						cimaOpaca = y;
+					}
+					baixoOpaco = y + 1;
+				}
+			}
+		}
+
+		if (direitaOpaca == 0) {
+			// Nenhum pixel opaco, então a máscara fica vazia, e nunca colidirá com nada
+			esquerdaOpaca = 0;
+			cimaOpaca = 0;
+		}
+
+		this.largura = direitaOpaca - esquerdaOpaca;
+		this.altura = baixoOpaco - cimaOpaca;
+		this.palavrasPorLinha = (this.largura + 63) >> 6;
+		this.bits = new long[this.palavrasPorLinha * this.altura];
+		this.coordenadasDeModelo = new CoordenadasDeModelo(pivoX - (float)esquerdaOpaca, pivoY - (float)cimaOpaca, (float)this.largura, (float)this.altura);
+
+		for (int y = 0; y < this.altura; y++) {
+			int inicioDaLinha = ((cima + cimaOpaca + y) * larguraDaImagem) + esquerda + esquerdaOpaca;
+			int inicioDaLinhaDaMascara = y * this.palavrasPorLinha;
+			for (int x = 0; x < this.largura; x++) {
+				if ((pixels[inicioDaLinha + x] >>> 24) >= limiarDoAlpha) {
+					bits[inicioDaLinhaDaMascara + (x >> 6)] |= (1L << (x & 63));
+				}
+			}
+		}
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	public int getLargura() {
+		return largura;
+	}
+
+	public int getAltura() {
+		return altura;
+	}
+
+	private int getPalavrasPorLinha() {
+		return palavrasPorLinha;
+	}
+
+	private long[] getBits() {
+		return bits;
+	}
+
+	public CoordenadasDeModelo getCoordenadasDeModelo() {
+		return coordenadasDeModelo;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private long extraiaPalavra(int inicioDaLinha, int coluna) {
+		// Devolve os 64 bits da linha que começam na coluna dada (que pode estar fora da máscara,
+		// e, nesse caso, os bits de fora valem 0)
+		long[] bits = getBits();
+		if (coluna < 0) {
+			return ((coluna <= -64) ? 0 : (bits[inicioDaLinha] << -coluna));
+		}
+
+		int palavra = coluna >> 6;
+		int palavrasPorLinha = getPalavrasPorLinha();
+		if (palavra >= palavrasPorLinha) {
+			return 0;
+		}
+
+		// Em Java, deslocar um long por 64 é o mesmo que não deslocar, por isso o caso em que a
+		// coluna está alinhada precisa ser tratado separadamente
+		int deslocamento = coluna & 63;
+		long resultado = bits[inicioDaLinha + palavra] >>> deslocamento;
+		if (deslocamento != 0 && (palavra + 1) < palavrasPorLinha) {
+			resultado |= bits[inicioDaLinha + palavra + 1] << (64 - deslocamento);
+		}
+		return resultado;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	public boolean colideCom(MascaraDePixels mascaraDePixels, int deslocamentoX, int deslocamentoY) {
+		// deslocamentoX e deslocamentoY indicam a posição do canto superior esquerdo da outra
+		// máscara, em relação ao canto superior esquerdo dessa máscara
+		// Cada palavra dessa máscara é comparada com os 64 bits correspondentes da outra máscara
+		// através de um único E bit a bit, sem testar os pixels um a um
+
+		int colunaInicial = Math.max(0, deslocamentoX);
+		int colunaFinal = Math.min(getLargura(), deslocamentoX + mascaraDePixels.getLargura());
+		int linhaInicial = Math.max(0, deslocamentoY);
+		int linhaFinal = Math.min(getAltura(), deslocamentoY + mascaraDePixels.getAltura());
+		if (colunaInicial >= colunaFinal || linhaInicial >= linhaFinal) {
+			return false;
+		}
+
+		long[] bits = getBits();
+		int palavrasPorLinha = getPalavrasPorLinha();
+		int outrasPalavrasPorLinha = mascaraDePixels.getPalavrasPorLinha();
+		int palavraInicial = colunaInicial >> 6;
+		int palavraFinal = (colunaFinal - 1) >> 6;
+
+		for (int y = linhaInicial; y < linhaFinal; y++) {
+			int inicioDaLinha = y * palavrasPorLinha;
+			int inicioDaOutraLinha = (y - deslocamentoY) * outrasPalavrasPorLinha;
+			for (int palavra = palavraInicial; palavra <= palavraFinal; palavra++) {
+				// Os bits que estão fora da intersecção valem 0 em alguma das duas palavras
+				if ((bits[inicioDaLinha + palavra] & mascaraDePixels.extraiaPalavra(inicioDaOutraLinha, (palavra << 6) - deslocamentoX)) != 0) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	public boolean colideComRetangulo(int esquerda, int cima, int direita, int baixo) {
+		// O retângulo é dado em relação ao canto superior esquerdo dessa máscara, e direita/baixo
+		// não fazem parte do retângulo
+
+		int colunaInicial = Math.max(0, esquerda);
+		int colunaFinal = Math.min(getLargura(), direita);
+		int linhaInicial = Math.max(0, cima);
+		int linhaFinal = Math.min(getAltura(), baixo);
+		if (colunaInicial >= colunaFinal || linhaInicial >= linhaFinal) {
+			return false;
+		}
+
+		long[] bits = getBits();
+		int palavrasPorLinha = getPalavrasPorLinha();
+		int palavraInicial = colunaInicial >> 6;
+		int palavraFinal = (colunaFinal - 1) >> 6;
+
+		for (int palavra = palavraInicial; palavra <= palavraFinal; palavra++) {
+			// Monta os bits da palavra que estão dentro do retângulo uma única vez, e depois
+			// testa todas as linhas com eles
+			int colunaDaPalavra = palavra << 6;
+			int bitFinal = colunaFinal - colunaDaPalavra;
+			long bitsDoRetangulo = ((bitFinal >= 64) ? -1L : ((1L << bitFinal) - 1L)) & (-1L << Math.max(0, colunaInicial - colunaDaPalavra));
+			for (int y = linhaInicial; y < linhaFinal; y++) {
+				if ((bits[(y * palavrasPorLinha) + palavra] & bitsDoRetangulo) != 0) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	public boolean contemPonto(int x, int y) {
+		// O ponto é dado em relação ao canto superior esquerdo dessa máscara
+		if (x < 0 || y < 0 || x >= getLargura() || y >= getAltura()) {
+			return false;
+		}
+		return (((getBits()[(y * getPalavrasPorLinha()) + (x >> 6)] >>> (x & 63)) & 1L) != 0);
+	}
+}
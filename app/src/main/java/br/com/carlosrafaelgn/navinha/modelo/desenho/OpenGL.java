@@ -0,0 +1,121 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.desenho;
+
+import java.nio.Buffer;
+
+// Todas as chamadas ao OpenGL feitas pelas classes desse pacote passam por aqui (os nomes e os
+// parâmetros são os mesmos da classe GLES20), o que permite trocar o OpenGL de verdade por uma
+// implementação que apenas grava as chamadas, para que elas possam ser conferidas fora do aparelho
+// As constantes continuam vindo de GLES20
+interface OpenGL {
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	void glActiveTexture(int texture);
+
+	void glAttachShader(int program, int shader);
+
+	void glBindAttribLocation(int program, int index, String name);
+
+	void glBindBuffer(int target, int buffer);
+
+	void glBindTexture(int target, int texture);
+
+	void glBlendFunc(int sfactor, int dfactor);
+
+	void glBufferData(int target, int size, Buffer data, int usage);
+
+	void glBufferSubData(int target, int offset, int size, Buffer data);
+
+	void glClear(int mask);
+
+	void glClearColor(float red, float green, float blue, float alpha);
+
+	void glCompileShader(int shader);
+
+	int glCreateProgram();
+
+	int glCreateShader(int type);
+
+	void glDeleteBuffers(int n, int[] buffers, int offset);
+
+	void glDeleteProgram(int program);
+
+	void glDeleteShader(int shader);
+
+	void glDeleteTextures(int n, int[] textures, int offset);
+
+	void glDisable(int cap);
+
+	void glDisableVertexAttribArray(int index);
+
+	void glDrawElements(int mode, int count, int type, int offset);
+
+	void glEnable(int cap);
+
+	void glEnableVertexAttribArray(int index);
+
+	void glFlush();
+
+	void glGenBuffers(int n, int[] buffers, int offset);
+
+	void glGenTextures(int n, int[] textures, int offset);
+
+	int glGetError();
+
+	void glGetIntegerv(int pname, int[] params, int offset);
+
+	void glGetShaderiv(int shader, int pname, int[] params, int offset);
+
+	int glGetUniformLocation(int program, String name);
+
+	void glLinkProgram(int program);
+
+	void glShaderSource(int shader, String string);
+
+	void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, Buffer pixels);
+
+	void glTexParameteri(int target, int pname, int param);
+
+	void glUniform1f(int location, float x);
+
+	void glUniform1i(int location, int x);
+
+	void glUseProgram(int program);
+
+	void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, int offset);
+
+	void glViewport(int x, int y, int width, int height);
+}
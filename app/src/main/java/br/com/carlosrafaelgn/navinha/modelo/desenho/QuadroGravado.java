@@ -0,0 +1,358 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.desenho;
+
+import java.util.Arrays;
+
+// Um quadro gravado guarda tudo o que foi pedido à Tela durante o desenho de um quadro (os
+// vértices dos retângulos comuns, os desenhos dos lotes animados e os preenchimentos), sem fazer
+// chamada alguma ao OpenGL, de modo que o quadro possa ser gravado pela thread da simulação e
+// desenhado, depois, pela thread do OpenGL (veja Tela.desenhe(QuadroGravado))
+// Os comandos ficam em vetores paralelos, reutilizados de um quadro para o outro, assim como na
+// fila de ações pendentes da ListaDeElementosDeTela, para que gravar um quadro não crie objetos
+public final class QuadroGravado {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	static final int COMANDO_RETANGULOS = 0;
+	static final int COMANDO_LOTE = 1;
+	static final int COMANDO_PREENCHA = 2;
+	static final int COMANDO_ATIVE_MODO_DE_SOMA_DE_CORES = 3;
+	static final int COMANDO_DESATIVE_MODO_DE_SOMA_DE_CORES = 4;
+
+	// Cada comando utiliza até 5 inteiros (primeiro retângulo, contagem de retângulos, posição da
+	// cópia das alterações do lote, primeiro retângulo alterado e fim dos retângulos alterados) e
+	// até 4 floats (tempo, duração, início e tamanho do laço)
+	private static final int INTEIROS_POR_COMANDO = 5;
+	private static final int FLOATS_POR_COMANDO = 4;
+
+	private static final int CAPACIDADE_DE_COMANDOS_INICIAL = 32;
+	private static final int CAPACIDADE_DE_RETANGULOS_INICIAL = 1000;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private int[] tipos;
+	private Imagem[] imagens;
+	private LoteDeRetangulosAnimados[] lotes;
+	private int[] inteiros;
+	private float[] floats;
+	private int contagemDeComandos;
+	private float[] vertices;
+	private int contagemDeRetangulos;
+	private float[] alteracoesDosLotes;
+	private int contagemDeAlteracoesDosLotes;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public QuadroGravado() {
+		setTipos(new int[CAPACIDADE_DE_COMANDOS_INICIAL]);
+		setImagens(new Imagem[CAPACIDADE_DE_COMANDOS_INICIAL]);
+		setLotes(new LoteDeRetangulosAnimados[CAPACIDADE_DE_COMANDOS_INICIAL]);
+		setInteiros(new int[INTEIROS_POR_COMANDO * CAPACIDADE_DE_COMANDOS_INICIAL]);
+		setFloats(new float[FLOATS_POR_COMANDO * CAPACIDADE_DE_COMANDOS_INICIAL]);
+		setVertices(new float[Tela.FLOATS_POR_RETANGULO * CAPACIDADE_DE_RETANGULOS_INICIAL]);
+		setAlteracoesDosLotes(new float[LoteDeRetangulosAnimados.FLOATS_POR_RETANGULO * 32]);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private int[] getTipos() {
+		return tipos;
+	}
+
+	private void setTipos(int[] tipos) {
+		this.tipos = tipos;
+	}
+
+	private Imagem[] getImagens() {
+		return imagens;
+	}
+
+	private void setImagens(Imagem[] imagens) {
+		this.imagens = imagens;
+	}
+
+	private LoteDeRetangulosAnimados[] getLotes() {
+		return lotes;
+	}
+
+	private void setLotes(LoteDeRetangulosAnimados[] lotes) {
+		this.lotes = lotes;
+	}
+
+	private int[] getInteiros() {
+		return inteiros;
+	}
+
+	private void setInteiros(int[] inteiros) {
+		this.inteiros = inteiros;
+	}
+
+	private float[] getFloats() {
+		return floats;
+	}
+
+	private void setFloats(float[] floats) {
+		this.floats = floats;
+	}
+
+	int getContagemDeComandos() {
+		return contagemDeComandos;
+	}
+
+	private void setContagemDeComandos(int contagemDeComandos) {
+		this.contagemDeComandos = contagemDeComandos;
+	}
+
+	float[] getVertices() {
+		return vertices;
+	}
+
+	private void setVertices(float[] vertices) {
+		this.vertices = vertices;
+	}
+
+	private int getContagemDeRetangulos() {
+		return contagemDeRetangulos;
+	}
+
+	private void setContagemDeRetangulos(int contagemDeRetangulos) {
+		this.contagemDeRetangulos = contagemDeRetangulos;
+	}
+
+	float[] getAlteracoesDosLotes() {
+		return alteracoesDosLotes;
+	}
+
+	private void setAlteracoesDosLotes(float[] alteracoesDosLotes) {
+		this.alteracoesDosLotes = alteracoesDosLotes;
+	}
+
+	private int getContagemDeAlteracoesDosLotes() {
+		return contagemDeAlteracoesDosLotes;
+	}
+
+	private void setContagemDeAlteracoesDosLotes(int contagemDeAlteracoesDosLotes) {
+		this.contagemDeAlteracoesDosLotes = contagemDeAlteracoesDosLotes;
+	}
+
+	int tipo(int comando) {
+		return getTipos()[comando];
+	}
+
+	Imagem imagem(int comando) {
+		return getImagens()[comando];
+	}
+
+	LoteDeRetangulosAnimados lote(int comando) {
+		return getLotes()[comando];
+	}
+
+	int primeiroRetangulo(int comando) {
+		return getInteiros()[INTEIROS_POR_COMANDO * comando];
+	}
+
+	int contagemDeRetangulos(int comando) {
+		return getInteiros()[(INTEIROS_POR_COMANDO * comando) + 1];
+	}
+
+	int posicaoDasAlteracoes(int comando) {
+		return getInteiros()[(INTEIROS_POR_COMANDO * comando) + 2];
+	}
+
+	int primeiroRetanguloAlterado(int comando) {
+		return getInteiros()[(INTEIROS_POR_COMANDO * comando) + 3];
+	}
+
+	int fimDosRetangulosAlterados(int comando) {
+		return getInteiros()[(INTEIROS_POR_COMANDO * comando) + 4];
+	}
+
+	float tempo(int comando) {
+		return getFloats()[FLOATS_POR_COMANDO * comando];
+	}
+
+	float duracao(int comando) {
+		return getFloats()[(FLOATS_POR_COMANDO * comando) + 1];
+	}
+
+	float inicioDoLaco(int comando) {
+		return getFloats()[(FLOATS_POR_COMANDO * comando) + 2];
+	}
+
+	float tamanhoDoLaco(int comando) {
+		return getFloats()[(FLOATS_POR_COMANDO * comando) + 3];
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private int adicioneComando(int tipo, Imagem imagem, LoteDeRetangulosAnimados lote) {
+		int comando = getContagemDeComandos();
+
+		// Se precisar aumentar a capacidade, dobra a capacidade de todos os vetores
+		if (comando >= getTipos().length) {
+			int novaCapacidade = comando << 1;
+			setTipos(Arrays.copyOf(getTipos(), novaCapacidade));
+			setImagens(Arrays.copyOf(getImagens(), novaCapacidade));
+			setLotes(Arrays.copyOf(getLotes(), novaCapacidade));
+			setInteiros(Arrays.copyOf(getInteiros(), INTEIROS_POR_COMANDO * novaCapacidade));
+			setFloats(Arrays.copyOf(getFloats(), FLOATS_POR_COMANDO * novaCapacidade));
+		}
+
+		getTipos()[comando] = tipo;
+		getImagens()[comando] = imagem;
+		getLotes()[comando] = lote;
+
+		setContagemDeComandos(comando + 1);
+
+		return comando;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	// Deve ser chamado apenas quando o quadro não estiver sendo gravado nem desenhado
+	public void limpe() {
+		// As alterações dos lotes que foram copiadas para esse quadro, e que nunca foram enviadas
+		// ao OpenGL, voltam a ser marcadas como pendentes nos próprios lotes (os dados dos lotes
+		// sempre são mais novos do que a cópia feita aqui, então não há risco de perder nada)
+		for (int comando = getContagemDeComandos() - 1; comando >= 0; comando--) {
+			if (tipo(comando) == COMANDO_LOTE && fimDosRetangulosAlterados(comando) > primeiroRetanguloAlterado(comando)) {
+				LoteDeRetangulosAnimados lote = lote(comando);
+				if (lote.getDados() != null) {
+					lote.marqueComoAlterados(primeiroRetanguloAlterado(comando), fimDosRetangulosAlterados(comando));
+				}
+			}
+		}
+
+		inicieAGravacao();
+	}
+
+	void inicieAGravacao() {
+		// Não queremos manter referências a imagens e lotes que podem ser destruídos
+		Arrays.fill(getImagens(), 0, getContagemDeComandos(), null);
+		Arrays.fill(getLotes(), 0, getContagemDeComandos(), null);
+
+		setContagemDeComandos(0);
+		setContagemDeRetangulos(0);
+		setContagemDeAlteracoesDosLotes(0);
+	}
+
+	int indiceDoProximoVertice(Imagem imagem) {
+		int comando = getContagemDeComandos() - 1;
+
+		// Retângulos seguidos de uma mesma imagem fazem parte do mesmo comando (e, portanto, são
+		// desenhados de uma vez só)
+		if (comando < 0 || tipo(comando) != COMANDO_RETANGULOS || imagem(comando) != imagem) {
+			comando = adicioneComando(COMANDO_RETANGULOS, imagem, null);
+			getInteiros()[INTEIROS_POR_COMANDO * comando] = getContagemDeRetangulos();
+			getInteiros()[(INTEIROS_POR_COMANDO * comando) + 1] = 0;
+		}
+
+		getInteiros()[(INTEIROS_POR_COMANDO * comando) + 1]++;
+
+		int contagemDeRetangulos = getContagemDeRetangulos();
+
+		// Se precisar aumentar a capacidade, aumenta em passos de 32 por vez
+		if (Tela.FLOATS_POR_RETANGULO * (contagemDeRetangulos + 1) > getVertices().length) {
+			setVertices(Arrays.copyOf(getVertices(), Tela.FLOATS_POR_RETANGULO * (contagemDeRetangulos + 32)));
+		}
+
+		setContagemDeRetangulos(contagemDeRetangulos + 1);
+
+		// Retorna o índice do primeiro vértice do próximo retângulo que deve ser preenchido
+		return Tela.FLOATS_POR_RETANGULO * contagemDeRetangulos;
+	}
+
+	void graveLote(Imagem imagem, LoteDeRetangulosAnimados lote, int primeiroRetangulo, int contagemDeRetangulos, float tempo, float duracao, float inicioDoLaco, float tamanhoDoLaco) {
+		int comando = adicioneComando(COMANDO_LOTE, imagem, lote);
+
+		int primeiroRetanguloAlterado = 0, fimDosRetangulosAlterados = 0, posicaoDasAlteracoes = getContagemDeAlteracoesDosLotes();
+
+		// Os retângulos alterados até agora são copiados, pois o lote continuará sendo alterado
+		// pela simulação enquanto esse quadro estiver sendo desenhado
+		if (lote.isAlterado()) {
+			primeiroRetanguloAlterado = lote.getPrimeiroRetanguloAlterado();
+			fimDosRetangulosAlterados = lote.getFimDosRetangulosAlterados();
+
+			int inicio = LoteDeRetangulosAnimados.FLOATS_POR_RETANGULO * primeiroRetanguloAlterado;
+			int contagem = LoteDeRetangulosAnimados.FLOATS_POR_RETANGULO * (fimDosRetangulosAlterados - primeiroRetanguloAlterado);
+
+			if ((posicaoDasAlteracoes + contagem) > getAlteracoesDosLotes().length) {
+				setAlteracoesDosLotes(Arrays.copyOf(getAlteracoesDosLotes(), (posicaoDasAlteracoes + contagem) << 1));
+			}
+
+			System.arraycopy(lote.getDados(), inicio, getAlteracoesDosLotes(), posicaoDasAlteracoes, contagem);
+			setContagemDeAlteracoesDosLotes(posicaoDasAlteracoes + contagem);
+
+			lote.limpeAlteracoes();
+		}
+
+		int[] inteiros = getInteiros();
+		int i = INTEIROS_POR_COMANDO * comando;
+		inteiros[i] = primeiroRetangulo;
+		inteiros[i + 1] = contagemDeRetangulos;
+		inteiros[i + 2] = posicaoDasAlteracoes;
+		inteiros[i + 3] = primeiroRetanguloAlterado;
+		inteiros[i + 4] = fimDosRetangulosAlterados;
+
+		float[] floats = getFloats();
+		i = FLOATS_POR_COMANDO * comando;
+		floats[i] = tempo;
+		floats[i + 1] = duracao;
+		floats[i + 2] = inicioDoLaco;
+		floats[i + 3] = tamanhoDoLaco;
+	}
+
+	void graveComando(int tipo) {
+		adicioneComando(tipo, null, null);
+	}
+
+	void alteracoesDoLoteEnviadas(int comando) {
+		// Se o mesmo quadro for desenhado mais de uma vez, as alterações só são enviadas na
+		// primeira vez
+		int i = INTEIROS_POR_COMANDO * comando;
+		getInteiros()[i + 3] = 0;
+		getInteiros()[i + 4] = 0;
+	}
+}
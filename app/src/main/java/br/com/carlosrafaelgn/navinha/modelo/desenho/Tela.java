@@ -47,7 +47,6 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.nio.ShortBuffer;
-import java.util.Arrays;
 
 public final class Tela {
 	//----------------------------------------------------------------------------------------------
@@ -70,7 +69,7 @@ public final class Tela {
 	private static final int FLOATS_POR_VERTICE = (FLOATS_POR_POSICAO + FLOATS_POR_ALPHA + FLOATS_POR_COORDENADAS_DE_TEXTURA);
 	private static final int BYTES_POR_VERTICE = 4 * FLOATS_POR_VERTICE;
 
-	private static final int FLOATS_POR_RETANGULO = 4 * FLOATS_POR_VERTICE;
+	static final int FLOATS_POR_RETANGULO = 4 * FLOATS_POR_VERTICE;
 	private static final int BYTES_POR_RETANGULO = 4 * FLOATS_POR_RETANGULO;
 
 	// Os índices de início de cada atributo dentro do buffer
@@ -100,7 +99,47 @@ public final class Tela {
 		"   vCoordenadasDeTextura = aCoordenadasDeTextura;\n" +
 		"}";
 
-	// Nosso shader de fragmento
+	// Utilizados para mapear os atributos do shader dos lotes de retângulos animados
+	private static final int ATRIBUTO_ANCORA = 0;
+	private static final int ATRIBUTO_CANTO = 1;
+	private static final int ATRIBUTO_VELOCIDADE = 2;
+	private static final int ATRIBUTO_FASE = 3;
+	private static final int ATRIBUTO_COORDENADAS_DE_TEXTURA_ANIMADAS = 4;
+
+	// O shader de vértice dos lotes de retângulos animados calcula a posição de cada retângulo a
+	// partir do tempo:
+	// - Sem duração (duracao == 0), a âncora se move velocidade unidades por segundo, e o alpha é 1
+	// - Com duração, a âncora se move velocidade unidades no total, com a mesma desaceleração de
+	// Interpolador.crieDesacelerado(), e o alpha vai de 1 até 0 durante o movimento
+	// Quando tamanhoDoLaco > 0, a âncora dá a volta no eixo y, sempre ficando entre inicioDoLaco
+	// e inicioDoLaco + tamanhoDoLaco (o retângulo todo acompanha a âncora, sem se partir)
+	private static final String CODIGO_DO_SHADER_DE_VERTICE_ANIMADO = "attribute vec2 aAncora;\n" +
+		"attribute vec2 aCanto;\n" +
+		"attribute vec2 aVelocidade;\n" +
+		"attribute float aFase;\n" +
+		"attribute vec2 aCoordenadasDeTextura;\n" +
+		"varying float vAlpha;\n" +
+		"varying vec2 vCoordenadasDeTextura;\n" +
+		"uniform float doisSobreLargura, menosDoisSobreAltura, tempo, duracao, inicioDoLaco, tamanhoDoLaco;\n" +
+		"void main() {\n" +
+		"   float t = tempo - aFase;\n" +
+		"   float alpha = 1.0;\n" +
+		"   if (duracao > 0.0) {\n" +
+		"      float restante = 1.0 - clamp(t / duracao, 0.0, 1.0);\n" +
+		"      t = 1.0 - (restante * restante);\n" +
+		"      alpha = 1.0 - t;\n" +
+		"   }\n" +
+		"   vec2 ancora = aAncora + (aVelocidade * t);\n" +
+		"   if (tamanhoDoLaco > 0.0) {\n" +
+		"      ancora.y = mod(ancora.y - inicioDoLaco, tamanhoDoLaco) + inicioDoLaco;\n" +
+		"   }\n" +
+		"   vec2 posicao = ancora + aCanto;\n" +
+		"   gl_Position = vec4((posicao.x * doisSobreLargura) - 1.0, (posicao.y * menosDoisSobreAltura) + 1.0, 0.0, 1.0);\n" +
+		"   vAlpha = alpha;\n" +
+		"   vCoordenadasDeTextura = aCoordenadasDeTextura;\n" +
+		"}";
+
+	// Nosso shader de fragmento (utilizado pelos dois programas)
 	private static final String CODIGO_DO_SHADER_DE_FRAGMENTO = "precision mediump float;\n" +
 		"varying float vAlpha;\n" +
 		"varying vec2 vCoordenadasDeTextura;\n" +
@@ -125,18 +164,23 @@ public final class Tela {
 	private int rotacao;
 	// Armazena a largura e a altura como float para auxiliar o OpenGL
 	private float larguraDaTela, alturaDaTela, larguraDaVista, alturaDaVista, fatorTelaVistaX, fatorTelaVistaY, densidade;
-	private int[] idTemporario;
+	private OpenGL openGL;
+	private final int[] idTemporario;
 	private int idDoPrograma, idDoShaderDeVertice, idDoShaderDeFragmento, idDoBufferDeVertices, idDoBufferDeIndices;
-	private Imagem imagemDosRetangulosPendentes;
-	private float[] vertices;
+	private int idDoProgramaAnimado, idDoShaderDeVerticeAnimado;
+	// Localizações dos uniforms do programa animado, que são alterados a cada desenho
+	private int localizacaoDoisSobreLargura, localizacaoMenosDoisSobreAltura, localizacaoDoTempo, localizacaoDaDuracao, localizacaoDoInicioDoLaco, localizacaoDoTamanhoDoLaco;
+	private QuadroGravado quadroEmGravacao;
 	private FloatBuffer bufferDeVertices;
-	private int contagemDeRetangulos, capacidadeDeRetangulos, capacidadeDeRetangulosDoBuffer;
+	private int capacidadeDeRetangulosDoBuffer;
 
 	//----------------------------------------------------------------------------------------------
 	// Construtores
 	//----------------------------------------------------------------------------------------------
 
 	private Tela() {
+		this.openGL = new OpenGLDoAndroid();
+		this.idTemporario = new int[1];
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -207,7 +251,7 @@ public final class Tela {
 		// Atualiza o uniform doisSobreLargura do programa, caso ele exista
 		int idDoPrograma = getIdDoPrograma();
 		if (idDoPrograma != 0) {
-			GLES20.glUniform1f(GLES20.glGetUniformLocation(getIdDoPrograma(), "doisSobreLargura"), 2.0f / larguraDaVista);
+			getOpenGL().glUniform1f(getOpenGL().glGetUniformLocation(getIdDoPrograma(), "doisSobreLargura"), 2.0f / larguraDaVista);
 		}
 	}
 
@@ -223,7 +267,7 @@ public final class Tela {
 		// Atualiza o uniform menosDoisSobreAltura do programa, caso ele exista
 		int idDoPrograma = getIdDoPrograma();
 		if (idDoPrograma != 0) {
-			GLES20.glUniform1f(GLES20.glGetUniformLocation(getIdDoPrograma(), "menosDoisSobreAltura"), -2.0f / alturaDaVista);
+			getOpenGL().glUniform1f(getOpenGL().glGetUniformLocation(getIdDoPrograma(), "menosDoisSobreAltura"), -2.0f / alturaDaVista);
 		}
 	}
 
@@ -251,12 +295,18 @@ public final class Tela {
 		this.densidade = densidade;
 	}
 
-	private int[] getIdTemporario() {
-		return idTemporario;
+	// Todas as chamadas ao OpenGL feitas por esse pacote passam por aqui (os testes trocam o
+	// OpenGL de verdade por um que apenas grava as chamadas)
+	OpenGL getOpenGL() {
+		return openGL;
+	}
+
+	void setOpenGL(OpenGL openGL) {
+		this.openGL = openGL;
 	}
 
-	private void setIdTemporario(int[] idTemporario) {
-		this.idTemporario = idTemporario;
+	private int[] getIdTemporario() {
+		return idTemporario;
 	}
 
 	private int getIdDoPrograma() {
@@ -283,60 +333,100 @@ public final class Tela {
 		this.idDoShaderDeFragmento = idDoShaderDeFragmento;
 	}
 
-	private int getIdDoBufferDeVertices() {
-		return idDoBufferDeVertices;
+	private int getIdDoProgramaAnimado() {
+		return idDoProgramaAnimado;
 	}
 
-	private void setIdDoBufferDeVertices(int idDoBufferDeVertices) {
-		this.idDoBufferDeVertices = idDoBufferDeVertices;
+	private void setIdDoProgramaAnimado(int idDoProgramaAnimado) {
+		this.idDoProgramaAnimado = idDoProgramaAnimado;
 	}
 
-	private int getIdDoBufferDeIndices() {
-		return idDoBufferDeIndices;
+	private int getIdDoShaderDeVerticeAnimado() {
+		return idDoShaderDeVerticeAnimado;
 	}
 
-	private void setIdDoBufferDeIndices(int idDoBufferDeIndices) {
-		this.idDoBufferDeIndices = idDoBufferDeIndices;
+	private void setIdDoShaderDeVerticeAnimado(int idDoShaderDeVerticeAnimado) {
+		this.idDoShaderDeVerticeAnimado = idDoShaderDeVerticeAnimado;
 	}
 
-	private Imagem getImagemDosRetangulosPendentes() {
-		return imagemDosRetangulosPendentes;
+	private int getLocalizacaoDoisSobreLargura() {
+		return localizacaoDoisSobreLargura;
 	}
 
-	private void setImagemDosRetangulosPendentes(Imagem imagemDosRetangulosPendentes) {
-		this.imagemDosRetangulosPendentes = imagemDosRetangulosPendentes;
+	private void setLocalizacaoDoisSobreLargura(int localizacaoDoisSobreLargura) {
+		this.localizacaoDoisSobreLargura = localizacaoDoisSobreLargura;
 	}
 
-	private float[] getVertices() {
-		return vertices;
+	private int getLocalizacaoMenosDoisSobreAltura() {
+		return localizacaoMenosDoisSobreAltura;
 	}
 
-	private void setVertices(float[] vertices) {
-		this.vertices = vertices;
+	private void setLocalizacaoMenosDoisSobreAltura(int localizacaoMenosDoisSobreAltura) {
+		this.localizacaoMenosDoisSobreAltura = localizacaoMenosDoisSobreAltura;
 	}
 
-	private FloatBuffer getBufferDeVertices() {
-		return bufferDeVertices;
+	private int getLocalizacaoDoTempo() {
+		return localizacaoDoTempo;
 	}
 
-	private void setBufferDeVertices(FloatBuffer bufferDeVertices) {
-		this.bufferDeVertices = bufferDeVertices;
+	private void setLocalizacaoDoTempo(int localizacaoDoTempo) {
+		this.localizacaoDoTempo = localizacaoDoTempo;
+	}
+
+	private int getLocalizacaoDaDuracao() {
+		return localizacaoDaDuracao;
+	}
+
+	private void setLocalizacaoDaDuracao(int localizacaoDaDuracao) {
+		this.localizacaoDaDuracao = localizacaoDaDuracao;
 	}
 
-	private int getContagemDeRetangulos() {
-		return contagemDeRetangulos;
+	private int getLocalizacaoDoInicioDoLaco() {
+		return localizacaoDoInicioDoLaco;
 	}
 
-	private void setContagemDeRetangulos(int contagemDeRetangulos) {
-		this.contagemDeRetangulos = contagemDeRetangulos;
+	private void setLocalizacaoDoInicioDoLaco(int localizacaoDoInicioDoLaco) {
+		this.localizacaoDoInicioDoLaco = localizacaoDoInicioDoLaco;
 	}
 
-	private int getCapacidadeDeRetangulos() {
-		return capacidadeDeRetangulos;
+	private int getLocalizacaoDoTamanhoDoLaco() {
+		return localizacaoDoTamanhoDoLaco;
 	}
 
-	private void setCapacidadeDeRetangulos(int capacidadeDeRetangulos) {
-		this.capacidadeDeRetangulos = capacidadeDeRetangulos;
+	private void setLocalizacaoDoTamanhoDoLaco(int localizacaoDoTamanhoDoLaco) {
+		this.localizacaoDoTamanhoDoLaco = localizacaoDoTamanhoDoLaco;
+	}
+
+	private int getIdDoBufferDeVertices() {
+		return idDoBufferDeVertices;
+	}
+
+	private void setIdDoBufferDeVertices(int idDoBufferDeVertices) {
+		this.idDoBufferDeVertices = idDoBufferDeVertices;
+	}
+
+	private int getIdDoBufferDeIndices() {
+		return idDoBufferDeIndices;
+	}
+
+	private void setIdDoBufferDeIndices(int idDoBufferDeIndices) {
+		this.idDoBufferDeIndices = idDoBufferDeIndices;
+	}
+
+	private QuadroGravado getQuadroEmGravacao() {
+		return quadroEmGravacao;
+	}
+
+	private void setQuadroEmGravacao(QuadroGravado quadroEmGravacao) {
+		this.quadroEmGravacao = quadroEmGravacao;
+	}
+
+	private FloatBuffer getBufferDeVertices() {
+		return bufferDeVertices;
+	}
+
+	private void setBufferDeVertices(FloatBuffer bufferDeVertices) {
+		this.bufferDeVertices = bufferDeVertices;
 	}
 
 	private int getCapacidadeDeRetangulosDoBuffer() {
@@ -351,59 +441,143 @@ public final class Tela {
 	// Métodos privados e protegidos
 	//----------------------------------------------------------------------------------------------
 
-	private int indiceDoProximoVerticeDosRetangulos() {
-		int contagemDeRetangulos = getContagemDeRetangulos();
+	void crieOProgramaAnimado(int idDoShaderDeFragmento, int[] idTemporario) {
+		int idDoProgramaAnimado = getOpenGL().glCreateProgram();
+		setIdDoProgramaAnimado(idDoProgramaAnimado);
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR || idDoProgramaAnimado == 0) {
+			throw new RuntimeException("Não foi possível criar o programa animado");
+		}
 
-		// Se precisar aumentar a capacidade, aumenta em passos de 32 por vez
-		if (contagemDeRetangulos >= getCapacidadeDeRetangulos()) {
-			int capacidadeDeRetangulosDesejada = contagemDeRetangulos + 32;
+		// Cria e compila o shader de vértice animado
+		int idDoShaderDeVerticeAnimado = getOpenGL().glCreateShader(GLES20.GL_VERTEX_SHADER);
+		setIdDoShaderDeVerticeAnimado(idDoShaderDeVerticeAnimado);
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR || idDoShaderDeVerticeAnimado == 0) {
+			throw new RuntimeException("Não foi possível criar o shader de vértice animado");
+		}
+		getOpenGL().glShaderSource(idDoShaderDeVerticeAnimado, CODIGO_DO_SHADER_DE_VERTICE_ANIMADO);
+		getOpenGL().glCompileShader(idDoShaderDeVerticeAnimado);
+		getOpenGL().glGetShaderiv(idDoShaderDeVerticeAnimado, GLES20.GL_COMPILE_STATUS, idTemporario, 0);
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR || idTemporario[0] == 0) {
+			throw new RuntimeException("Não foi possível compilar o shader de vértice animado");
+		}
 
-			setCapacidadeDeRetangulos(capacidadeDeRetangulosDesejada);
+		// O shader de fragmento é o mesmo do programa principal
+		getOpenGL().glAttachShader(idDoProgramaAnimado, idDoShaderDeVerticeAnimado);
+		getOpenGL().glAttachShader(idDoProgramaAnimado, idDoShaderDeFragmento);
 
-			setVertices(Arrays.copyOf(getVertices(), FLOATS_POR_RETANGULO * capacidadeDeRetangulosDesejada));
+		getOpenGL().glBindAttribLocation(idDoProgramaAnimado, ATRIBUTO_ANCORA, "aAncora");
+		getOpenGL().glBindAttribLocation(idDoProgramaAnimado, ATRIBUTO_CANTO, "aCanto");
+		getOpenGL().glBindAttribLocation(idDoProgramaAnimado, ATRIBUTO_VELOCIDADE, "aVelocidade");
+		getOpenGL().glBindAttribLocation(idDoProgramaAnimado, ATRIBUTO_FASE, "aFase");
+		getOpenGL().glBindAttribLocation(idDoProgramaAnimado, ATRIBUTO_COORDENADAS_DE_TEXTURA_ANIMADAS, "aCoordenadasDeTextura");
+
+		getOpenGL().glLinkProgram(idDoProgramaAnimado);
+		getOpenGL().glUseProgram(idDoProgramaAnimado);
+
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR) {
+			throw new RuntimeException("Não foi possível finalizar a criação do programa animado");
 		}
 
-		setContagemDeRetangulos(contagemDeRetangulos + 1);
+		getOpenGL().glUniform1i(getOpenGL().glGetUniformLocation(idDoProgramaAnimado, "textura"), 0);
 
-		// Retorna o índice do primeiro vértice do próximo retângulo que deve ser preenchido
-		return FLOATS_POR_RETANGULO * contagemDeRetangulos;
-	}
+		// As localizações são guardadas para que não seja necessário buscá-las a cada desenho
+		setLocalizacaoDoisSobreLargura(getOpenGL().glGetUniformLocation(idDoProgramaAnimado, "doisSobreLargura"));
+		setLocalizacaoMenosDoisSobreAltura(getOpenGL().glGetUniformLocation(idDoProgramaAnimado, "menosDoisSobreAltura"));
+		setLocalizacaoDoTempo(getOpenGL().glGetUniformLocation(idDoProgramaAnimado, "tempo"));
+		setLocalizacaoDaDuracao(getOpenGL().glGetUniformLocation(idDoProgramaAnimado, "duracao"));
+		setLocalizacaoDoInicioDoLaco(getOpenGL().glGetUniformLocation(idDoProgramaAnimado, "inicioDoLaco"));
+		setLocalizacaoDoTamanhoDoLaco(getOpenGL().glGetUniformLocation(idDoProgramaAnimado, "tamanhoDoLaco"));
 
-	private void desenheRetangulosPendentes() {
-		int contagemDeRetangulos = getContagemDeRetangulos();
+		// O programa principal continua sendo o programa atual
+		getOpenGL().glUseProgram(getIdDoPrograma());
+	}
 
-		if (contagemDeRetangulos == 0) {
-			return;
-		}
+	private void desenheRetangulos(QuadroGravado quadro, int comando) {
+		int primeiroRetangulo = quadro.primeiroRetangulo(comando);
+		int contagemDeRetangulos = quadro.contagemDeRetangulos(comando);
 
 		if (contagemDeRetangulos > getCapacidadeDeRetangulosDoBuffer()) {
 			// Se a capacidade não for suficiente, realoca os buffers
-			garantaCapacidadeDeRetangulos(getCapacidadeDeRetangulos());
-		} else {
-			// Quando a capacidade for suficiente, basta atualizar os dados dos vértices
-
-			// Define o buffer do lote de retângulos como o buffer atual do OpenGL
-			GLES20.glBindBuffer(GLES20.GL_ARRAY_BUFFER, getIdDoBufferDeVertices());
-			GLES20.glBufferSubData(GLES20.GL_ARRAY_BUFFER, 0, BYTES_POR_RETANGULO * contagemDeRetangulos,
-				getBufferDeVertices().put(getVertices()).position(0));
+			garantaCapacidadeDeRetangulos(contagemDeRetangulos);
 		}
 
+		// Os vértices dos retângulos desse comando são enviados para o início do buffer, que é
+		// reaproveitado por todos os comandos do quadro
+
+		// Define o buffer do lote de retângulos como o buffer atual do OpenGL
+		getOpenGL().glBindBuffer(GLES20.GL_ARRAY_BUFFER, getIdDoBufferDeVertices());
+		getOpenGL().glBufferSubData(GLES20.GL_ARRAY_BUFFER, 0, BYTES_POR_RETANGULO * contagemDeRetangulos,
+			getBufferDeVertices().put(quadro.getVertices(), FLOATS_POR_RETANGULO * primeiroRetangulo, FLOATS_POR_RETANGULO * contagemDeRetangulos).position(0));
+
 		// Especifica a textura que o OpenGL utilizará para desenhar o retângulo
-		GLES20.glBindTexture(GLES20.GL_TEXTURE_2D, getImagemDosRetangulosPendentes().getId());
+		getOpenGL().glBindTexture(GLES20.GL_TEXTURE_2D, quadro.imagem(comando).getId());
 
 		// Explica para o OpenGL de onde ele deve tirar os dados dos atributos dos vértices
-		GLES20.glVertexAttribPointer(Tela.ATRIBUTO_POSICAO, FLOATS_POR_POSICAO, GLES20.GL_FLOAT, false, BYTES_POR_VERTICE, INICIO_POSICAO);
-		GLES20.glVertexAttribPointer(Tela.ATRIBUTO_ALPHA, FLOATS_POR_ALPHA, GLES20.GL_FLOAT, false, BYTES_POR_VERTICE, INICIO_ALPHA);
-		GLES20.glVertexAttribPointer(Tela.ATRIBUTO_COORDENADAS_DE_TEXTURA, FLOATS_POR_COORDENADAS_DE_TEXTURA, GLES20.GL_FLOAT, false, BYTES_POR_VERTICE, INICIO_COORDENADAS_DE_TEXTURA);
+		getOpenGL().glVertexAttribPointer(Tela.ATRIBUTO_POSICAO, FLOATS_POR_POSICAO, GLES20.GL_FLOAT, false, BYTES_POR_VERTICE, INICIO_POSICAO);
+		getOpenGL().glVertexAttribPointer(Tela.ATRIBUTO_ALPHA, FLOATS_POR_ALPHA, GLES20.GL_FLOAT, false, BYTES_POR_VERTICE, INICIO_ALPHA);
+		getOpenGL().glVertexAttribPointer(Tela.ATRIBUTO_COORDENADAS_DE_TEXTURA, FLOATS_POR_COORDENADAS_DE_TEXTURA, GLES20.GL_FLOAT, false, BYTES_POR_VERTICE, INICIO_COORDENADAS_DE_TEXTURA);
 
 		// Especifica os índices dos triângulos que formam os retângulos
-		GLES20.glBindBuffer(GLES20.GL_ELEMENT_ARRAY_BUFFER, getIdDoBufferDeIndices());
+		getOpenGL().glBindBuffer(GLES20.GL_ELEMENT_ARRAY_BUFFER, getIdDoBufferDeIndices());
 
 		// Cada modelo é formado por 2 triângulos, e cada triângulo possui 3 índices
-		GLES20.glDrawElements(GLES20.GL_TRIANGLES, (6 * contagemDeRetangulos), GLES20.GL_UNSIGNED_SHORT, 0);
+		getOpenGL().glDrawElements(GLES20.GL_TRIANGLES, (6 * contagemDeRetangulos), GLES20.GL_UNSIGNED_SHORT, 0);
+	}
+
+	private void desenheLote(QuadroGravado quadro, int comando) {
+		LoteDeRetangulosAnimados lote = quadro.lote(comando);
+
+		// O lote pode ter sido liberado depois que o quadro foi gravado
+		if (!lote.isCarregado()) {
+			return;
+		}
+
+		int primeiroRetangulo = quadro.primeiroRetangulo(comando);
+		int contagemDeRetangulos = quadro.contagemDeRetangulos(comando);
+
+		// O buffer de índices é compartilhado com os retângulos comuns
+		if (getCapacidadeDeRetangulosDoBuffer() < (primeiroRetangulo + contagemDeRetangulos)) {
+			garantaCapacidadeDeRetangulos(primeiroRetangulo + contagemDeRetangulos);
+		}
+
+		// Apenas os retângulos que foram alterados antes da gravação do quadro são enviados
+		lote.envieAlteracoes(quadro.getAlteracoesDosLotes(), quadro.posicaoDasAlteracoes(comando), quadro.primeiroRetanguloAlterado(comando), quadro.fimDosRetangulosAlterados(comando));
+		quadro.alteracoesDoLoteEnviadas(comando);
+
+		getOpenGL().glUseProgram(getIdDoProgramaAnimado());
+
+		// Esse é todo o trabalho da CPU durante o quadro
+		getOpenGL().glUniform1f(getLocalizacaoDoisSobreLargura(), 2.0f / getLarguraDaVista());
+		getOpenGL().glUniform1f(getLocalizacaoMenosDoisSobreAltura(), -2.0f / getAlturaDaVista());
+		getOpenGL().glUniform1f(getLocalizacaoDoTempo(), quadro.tempo(comando));
+		getOpenGL().glUniform1f(getLocalizacaoDaDuracao(), quadro.duracao(comando));
+		getOpenGL().glUniform1f(getLocalizacaoDoInicioDoLaco(), quadro.inicioDoLaco(comando));
+		getOpenGL().glUniform1f(getLocalizacaoDoTamanhoDoLaco(), quadro.tamanhoDoLaco(comando));
 
-		// Como todos os retângulos já foram desenhados, então basta zerar a contagem
-		setContagemDeRetangulos(0);
+		getOpenGL().glBindTexture(GLES20.GL_TEXTURE_2D, quadro.imagem(comando).getId());
+
+		// O programa animado utiliza dois atributos a mais do que o programa principal
+		getOpenGL().glEnableVertexAttribArray(ATRIBUTO_FASE);
+		getOpenGL().glEnableVertexAttribArray(ATRIBUTO_COORDENADAS_DE_TEXTURA_ANIMADAS);
+
+		getOpenGL().glBindBuffer(GLES20.GL_ARRAY_BUFFER, lote.getIdDoBuffer());
+		getOpenGL().glVertexAttribPointer(ATRIBUTO_ANCORA, LoteDeRetangulosAnimados.FLOATS_POR_ANCORA, GLES20.GL_FLOAT, false, LoteDeRetangulosAnimados.BYTES_POR_VERTICE, LoteDeRetangulosAnimados.INICIO_ANCORA);
+		getOpenGL().glVertexAttribPointer(ATRIBUTO_CANTO, LoteDeRetangulosAnimados.FLOATS_POR_CANTO, GLES20.GL_FLOAT, false, LoteDeRetangulosAnimados.BYTES_POR_VERTICE, LoteDeRetangulosAnimados.INICIO_CANTO);
+		getOpenGL().glVertexAttribPointer(ATRIBUTO_VELOCIDADE, LoteDeRetangulosAnimados.FLOATS_POR_VELOCIDADE, GLES20.GL_FLOAT, false, LoteDeRetangulosAnimados.BYTES_POR_VERTICE, LoteDeRetangulosAnimados.INICIO_VELOCIDADE);
+		getOpenGL().glVertexAttribPointer(ATRIBUTO_FASE, LoteDeRetangulosAnimados.FLOATS_POR_FASE, GLES20.GL_FLOAT, false, LoteDeRetangulosAnimados.BYTES_POR_VERTICE, LoteDeRetangulosAnimados.INICIO_FASE);
+		getOpenGL().glVertexAttribPointer(ATRIBUTO_COORDENADAS_DE_TEXTURA_ANIMADAS, LoteDeRetangulosAnimados.FLOATS_POR_COORDENADAS_DE_TEXTURA, GLES20.GL_FLOAT, false, LoteDeRetangulosAnimados.BYTES_POR_VERTICE, LoteDeRetangulosAnimados.INICIO_COORDENADAS_DE_TEXTURA);
+
+		getOpenGL().glBindBuffer(GLES20.GL_ELEMENT_ARRAY_BUFFER, getIdDoBufferDeIndices());
+
+		// Cada retângulo possui 6 índices, e cada índice tem 2 bytes
+		getOpenGL().glDrawElements(GLES20.GL_TRIANGLES, (6 * contagemDeRetangulos), GLES20.GL_UNSIGNED_SHORT, 2 * 6 * primeiroRetangulo);
+
+		getOpenGL().glDisableVertexAttribArray(ATRIBUTO_FASE);
+		getOpenGL().glDisableVertexAttribArray(ATRIBUTO_COORDENADAS_DE_TEXTURA_ANIMADAS);
+
+		// Volta para o programa principal (os ponteiros dos atributos são redefinidos a cada
+		// desenho dos retângulos comuns, então não é preciso restaurá-los aqui)
+		getOpenGL().glUseProgram(getIdDoPrograma());
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -447,83 +621,84 @@ public final class Tela {
 		telaDoDispositivo.getMetrics(displayMetrics);
 		setDensidade(displayMetrics.density);
 
-		// Aloca o id temporário, utilizado com os métodos do OpenGL
-		int[] idTemporario = new int[1];
-
-		setIdTemporario(idTemporario);
+		// O id temporário é utilizado com os métodos do OpenGL
+		int[] idTemporario = getIdTemporario();
 
 		// De agora em diante: OpenGL ES :)
 
 		// Limpa as marcações de erro do OpenGL
-		while (GLES20.glGetError() != GLES20.GL_NO_ERROR) {
-			GLES20.glGetError();
+		while (getOpenGL().glGetError() != GLES20.GL_NO_ERROR) {
+			getOpenGL().glGetError();
 		}
 
 		// Cria um programa
-		int idDoPrograma = GLES20.glCreateProgram();
+		int idDoPrograma = getOpenGL().glCreateProgram();
 		setIdDoPrograma(idDoPrograma);
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR || idDoPrograma == 0) {
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR || idDoPrograma == 0) {
 			throw new RuntimeException("Não foi possível criar o programa");
 		}
 
 		// Cria e compila o shader de vértice
-		int idDoShaderDeVertice = GLES20.glCreateShader(GLES20.GL_VERTEX_SHADER);
+		int idDoShaderDeVertice = getOpenGL().glCreateShader(GLES20.GL_VERTEX_SHADER);
 		setIdDoShaderDeVertice(idDoShaderDeVertice);
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR || idDoShaderDeVertice == 0) {
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR || idDoShaderDeVertice == 0) {
 			throw new RuntimeException("Não foi possível criar o shader de vértice");
 		}
-		GLES20.glShaderSource(idDoShaderDeVertice, CODIGO_DO_SHADER_DE_VERTICE);
-		GLES20.glCompileShader(idDoShaderDeVertice);
-		GLES20.glGetShaderiv(idDoShaderDeVertice, GLES20.GL_COMPILE_STATUS, idTemporario, 0);
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR || idTemporario[0] == 0) {
+		getOpenGL().glShaderSource(idDoShaderDeVertice, CODIGO_DO_SHADER_DE_VERTICE);
+		getOpenGL().glCompileShader(idDoShaderDeVertice);
+		getOpenGL().glGetShaderiv(idDoShaderDeVertice, GLES20.GL_COMPILE_STATUS, idTemporario, 0);
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR || idTemporario[0] == 0) {
 			throw new RuntimeException("Não foi possível compilar o shader de vértice");
 		}
 
 		// Cria e compila o shader de fragmento
-		int idDoShaderDeFragmento = GLES20.glCreateShader(GLES20.GL_FRAGMENT_SHADER);
+		int idDoShaderDeFragmento = getOpenGL().glCreateShader(GLES20.GL_FRAGMENT_SHADER);
 		setIdDoShaderDeFragmento(idDoShaderDeFragmento);
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR || idDoShaderDeFragmento == 0) {
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR || idDoShaderDeFragmento == 0) {
 			throw new RuntimeException("Não foi possível criar o shader de fragmento");
 		}
-		GLES20.glShaderSource(idDoShaderDeFragmento, CODIGO_DO_SHADER_DE_FRAGMENTO);
-		GLES20.glCompileShader(idDoShaderDeFragmento);
-		GLES20.glGetShaderiv(idDoShaderDeFragmento, GLES20.GL_COMPILE_STATUS, idTemporario, 0);
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR || idTemporario[0] == 0) {
+		getOpenGL().glShaderSource(idDoShaderDeFragmento, CODIGO_DO_SHADER_DE_FRAGMENTO);
+		getOpenGL().glCompileShader(idDoShaderDeFragmento);
+		getOpenGL().glGetShaderiv(idDoShaderDeFragmento, GLES20.GL_COMPILE_STATUS, idTemporario, 0);
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR || idTemporario[0] == 0) {
 			throw new RuntimeException("Não foi possível compilar o shader de fragmento");
 		}
 
 		// Associa os dois shaders ao programa criado
-		GLES20.glAttachShader(idDoPrograma, idDoShaderDeVertice);
-		GLES20.glAttachShader(idDoPrograma, idDoShaderDeFragmento);
+		getOpenGL().glAttachShader(idDoPrograma, idDoShaderDeVertice);
+		getOpenGL().glAttachShader(idDoPrograma, idDoShaderDeFragmento);
 
 		// Define a localização dos atributos inPosicaoAlpha e inCoordenadasDeTextura
-		GLES20.glBindAttribLocation(idDoPrograma, ATRIBUTO_POSICAO, "aPosicao");
-		GLES20.glBindAttribLocation(idDoPrograma, ATRIBUTO_ALPHA, "aAlpha");
-		GLES20.glBindAttribLocation(idDoPrograma, ATRIBUTO_COORDENADAS_DE_TEXTURA, "aCoordenadasDeTextura");
+		getOpenGL().glBindAttribLocation(idDoPrograma, ATRIBUTO_POSICAO, "aPosicao");
+		getOpenGL().glBindAttribLocation(idDoPrograma, ATRIBUTO_ALPHA, "aAlpha");
+		getOpenGL().glBindAttribLocation(idDoPrograma, ATRIBUTO_COORDENADAS_DE_TEXTURA, "aCoordenadasDeTextura");
 
 		// Tarefa final!
-		GLES20.glLinkProgram(idDoPrograma);
-		GLES20.glUseProgram(idDoPrograma);
+		getOpenGL().glLinkProgram(idDoPrograma);
+		getOpenGL().glUseProgram(idDoPrograma);
 
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR) {
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR) {
 			throw new RuntimeException("Não foi possível finalizar a criação do programa");
 		}
 
+		// O programa dos lotes de retângulos animados compartilha o shader de fragmento
+		crieOProgramaAnimado(idDoShaderDeFragmento, idTemporario);
+
 		// Define a textura a ser utilizada pelo programa como a textura 0 (a partir daí, só
 		// precisaremos alterar quem é a textura 0)
 		// Se o programa utilizasse mais de uma textura, sempre antes de chamar
-		// GLES20.glBindTexture(), precisaríamos chamar GLES20.glActiveTexture(GLES20.GL_TEXTUREX)
-		GLES20.glActiveTexture(GLES20.GL_TEXTURE0);
-		GLES20.glUniform1i(GLES20.glGetUniformLocation(idDoPrograma, "textura"), 0);
+		// getOpenGL().glBindTexture(), precisaríamos chamar getOpenGL().glActiveTexture(GLES20.GL_TEXTUREX)
+		getOpenGL().glActiveTexture(GLES20.GL_TEXTURE0);
+		getOpenGL().glUniform1i(getOpenGL().glGetUniformLocation(idDoPrograma, "textura"), 0);
 
 		// Habilita o uso de buffers para os enviar os dados dos atributos aPosicao, aAlpha e
 		// aCoordenadasDeTextura durante o desenho das primitivas, realizado por métodos como
 		// glDrawArrays ou glDrawElements
-		GLES20.glEnableVertexAttribArray(ATRIBUTO_POSICAO);
-		GLES20.glEnableVertexAttribArray(ATRIBUTO_ALPHA);
-		GLES20.glEnableVertexAttribArray(ATRIBUTO_COORDENADAS_DE_TEXTURA);
+		getOpenGL().glEnableVertexAttribArray(ATRIBUTO_POSICAO);
+		getOpenGL().glEnableVertexAttribArray(ATRIBUTO_ALPHA);
+		getOpenGL().glEnableVertexAttribArray(ATRIBUTO_COORDENADAS_DE_TEXTURA);
 
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR) {
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR) {
 			throw new RuntimeException("Algo saiu errado durante a configuração do OpenGL");
 		}
 
@@ -532,35 +707,35 @@ public final class Tela {
 		// jogos (por exemplo, ao desabilitar o GL_DEPTH_TEST, objetos mais distantes podem aparecer
 		// visualmente na frente de objetos mais próximos)
 		int err;
-		GLES20.glDisable(GLES20.GL_DEPTH_TEST);
-		if ((err = GLES20.glGetError()) != GLES20.GL_NO_ERROR) {
+		getOpenGL().glDisable(GLES20.GL_DEPTH_TEST);
+		if ((err = getOpenGL().glGetError()) != GLES20.GL_NO_ERROR) {
 			throw new RuntimeException("Algo saiu errado durante a configuração do OpenGL: " + err);
 		}
-		GLES20.glDisable(GLES20.GL_CULL_FACE);
-		if ((err = GLES20.glGetError()) != GLES20.GL_NO_ERROR) {
+		getOpenGL().glDisable(GLES20.GL_CULL_FACE);
+		if ((err = getOpenGL().glGetError()) != GLES20.GL_NO_ERROR) {
 			throw new RuntimeException("Algo saiu errado durante a configuração do OpenGL: " + err);
 		}
-		GLES20.glDisable(GLES20.GL_DITHER);
-		if ((err = GLES20.glGetError()) != GLES20.GL_NO_ERROR) {
+		getOpenGL().glDisable(GLES20.GL_DITHER);
+		if ((err = getOpenGL().glGetError()) != GLES20.GL_NO_ERROR) {
 			throw new RuntimeException("Algo saiu errado durante a configuração do OpenGL: " + err);
 		}
-		GLES20.glDisable(GLES20.GL_SCISSOR_TEST);
-		if ((err = GLES20.glGetError()) != GLES20.GL_NO_ERROR) {
+		getOpenGL().glDisable(GLES20.GL_SCISSOR_TEST);
+		if ((err = getOpenGL().glGetError()) != GLES20.GL_NO_ERROR) {
 			throw new RuntimeException("Algo saiu errado durante a configuração do OpenGL: " + err);
 		}
-		GLES20.glDisable(GLES20.GL_POLYGON_OFFSET_FILL);
-		GLES20.glDisable(GLES20.GL_SAMPLE_ALPHA_TO_COVERAGE);
-		GLES20.glDisable(GLES20.GL_SAMPLE_COVERAGE);
-		GLES20.glDisable(GLES20.GL_STENCIL_TEST);
-		if ((err = GLES20.glGetError()) != GLES20.GL_NO_ERROR) {
+		getOpenGL().glDisable(GLES20.GL_POLYGON_OFFSET_FILL);
+		getOpenGL().glDisable(GLES20.GL_SAMPLE_ALPHA_TO_COVERAGE);
+		getOpenGL().glDisable(GLES20.GL_SAMPLE_COVERAGE);
+		getOpenGL().glDisable(GLES20.GL_STENCIL_TEST);
+		if ((err = getOpenGL().glGetError()) != GLES20.GL_NO_ERROR) {
 			throw new RuntimeException("Algo saiu errado durante a configuração do OpenGL: " + err);
 		}
 
 		// Precisamos deixar GL_BLEND ligado para que a transparência dos sprites funcione
-		GLES20.glEnable(GLES20.GL_BLEND);
-		GLES20.glBlendFunc(GLES20.GL_SRC_ALPHA, GLES20.GL_ONE_MINUS_SRC_ALPHA);
+		getOpenGL().glEnable(GLES20.GL_BLEND);
+		getOpenGL().glBlendFunc(GLES20.GL_SRC_ALPHA, GLES20.GL_ONE_MINUS_SRC_ALPHA);
 
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR) {
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR) {
 			throw new RuntimeException("Algo saiu errado durante a configuração do OpenGL");
 		}
 
@@ -571,7 +746,7 @@ public final class Tela {
 		setAlturaDaVista((float)alturaDaTela);
 
 		// Define a área da janela utilizada pelo OpenGL como sendo a tela toda
-		GLES20.glViewport(0, 0, larguraDaTela, alturaDaTela);
+		getOpenGL().glViewport(0, 0, larguraDaTela, alturaDaTela);
 
 		// Por fim, vamos criar as estruturas utilizadas para desenhar os retângulos na tela
 		setIdDoBufferDeVertices(crieUmBuffer());
@@ -588,19 +763,31 @@ public final class Tela {
 
 		id = getIdDoPrograma();
 		if (id != 0) {
-			GLES20.glDeleteProgram(id);
+			getOpenGL().glDeleteProgram(id);
 			setIdDoPrograma(0);
 		}
 
+		id = getIdDoProgramaAnimado();
+		if (id != 0) {
+			getOpenGL().glDeleteProgram(id);
+			setIdDoProgramaAnimado(0);
+		}
+
+		id = getIdDoShaderDeVerticeAnimado();
+		if (id != 0) {
+			getOpenGL().glDeleteShader(id);
+			setIdDoShaderDeVerticeAnimado(0);
+		}
+
 		id = getIdDoShaderDeVertice();
 		if (id != 0) {
-			GLES20.glDeleteShader(id);
+			getOpenGL().glDeleteShader(id);
 			setIdDoPrograma(0);
 		}
 
 		id = getIdDoShaderDeFragmento();
 		if (id != 0) {
-			GLES20.glDeleteShader(id);
+			getOpenGL().glDeleteShader(id);
 			setIdDoPrograma(0);
 		}
 
@@ -619,34 +806,77 @@ public final class Tela {
 		setFonte8Bit(null);
 		setPaintTexto(null);
 		setMetricasDoTexto(null);
-		setIdTemporario(null);
-		setImagemDosRetangulosPendentes(null);
-		setVertices(null);
 		setBufferDeVertices(null);
-		setContagemDeRetangulos(0);
-		setCapacidadeDeRetangulos(0);
 		setCapacidadeDeRetangulosDoBuffer(0);
 	}
 
+	// A partir daqui, e até termineAGravacao(), os métodos de desenho não fazem chamada alguma ao
+	// OpenGL, e apenas gravam os comandos em quadro (o que permite que os métodos de desenho sejam
+	// chamados de outra thread, que não a do OpenGL)
+	public void inicieAGravacao(QuadroGravado quadro) {
+		quadro.inicieAGravacao();
+		setQuadroEmGravacao(quadro);
+	}
+
+	public void termineAGravacao() {
+		setQuadroEmGravacao(null);
+	}
+
+	// Deve ser chamado da thread do OpenGL, executando os comandos gravados em quadro
+	public void desenhe(QuadroGravado quadro) {
+		for (int comando = 0; comando < quadro.getContagemDeComandos(); comando++) {
+			switch (quadro.tipo(comando)) {
+			case QuadroGravado.COMANDO_RETANGULOS:
+				desenheRetangulos(quadro, comando);
+				break;
+			case QuadroGravado.COMANDO_LOTE:
+				desenheLote(quadro, comando);
+				break;
+			case QuadroGravado.COMANDO_PREENCHA:
+				getOpenGL().glClear(GLES20.GL_COLOR_BUFFER_BIT);
+				break;
+			case QuadroGravado.COMANDO_ATIVE_MODO_DE_SOMA_DE_CORES:
+				getOpenGL().glBlendFunc(GLES20.GL_ONE, GLES20.GL_ONE);
+				break;
+			case QuadroGravado.COMANDO_DESATIVE_MODO_DE_SOMA_DE_CORES:
+				getOpenGL().glBlendFunc(GLES20.GL_SRC_ALPHA, GLES20.GL_ONE_MINUS_SRC_ALPHA);
+				break;
+			}
+		}
+	}
+
 	public void termineOQuadro() {
-		// Ao final do quadro, precisamos desenhar os retângulos que ficaram pendentes
+		getOpenGL().glFlush();
+	}
+
+	// Desenha contagemDeRetangulos retângulos do lote, a partir de primeiroRetangulo, no instante
+	// tempo (veja CODIGO_DO_SHADER_DE_VERTICE_ANIMADO para o significado de duracao, inicioDoLaco
+	// e tamanhoDoLaco)
+	public void desenhe(Imagem imagem, LoteDeRetangulosAnimados lote, int primeiroRetangulo, int contagemDeRetangulos, float tempo, float duracao, float inicioDoLaco, float tamanhoDoLaco) {
+		if (contagemDeRetangulos <= 0 || !lote.isCarregado()) {
+			return;
+		}
 
-		desenheRetangulosPendentes();
+		if (primeiroRetangulo < 0 || (primeiroRetangulo + contagemDeRetangulos) > lote.getCapacidadeDeRetangulos()) {
+			throw new IllegalArgumentException("Retângulos fora dos limites do lote");
+		}
 
-		GLES20.glFlush();
+		// Os retângulos alterados são copiados agora, e só serão enviados ao OpenGL quando o
+		// quadro for desenhado
+		getQuadroEmGravacao().graveLote(imagem, lote, primeiroRetangulo, contagemDeRetangulos, tempo, duracao, inicioDoLaco, tamanhoDoLaco);
 	}
 
 	public int crieUmaTextura() {
 		// Limpa as marcações de erro do OpenGL
-		while (GLES20.glGetError() != GLES20.GL_NO_ERROR) {
-			GLES20.glGetError();
+		while (getOpenGL().glGetError() != GLES20.GL_NO_ERROR) {
+			getOpenGL().glGetError();
 		}
 
 		int[] idTemporario = getIdTemporario();
 
-		GLES20.glGenTextures(1, idTemporario, 0);
+		getOpenGL().glGenTextures(1, idTemporario, 0);
 
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR || idTemporario[0] == 0) {
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR || idTemporario[0] == 0) {
 			throw new RuntimeException("Erro ao criar a textura");
 		}
 
@@ -662,20 +892,20 @@ public final class Tela {
 
 		idTemporario[0] = idDaTextura;
 
-		GLES20.glDeleteTextures(1, idTemporario, 0);
+		getOpenGL().glDeleteTextures(1, idTemporario, 0);
 	}
 
 	public int crieUmBuffer() {
 		// Limpa as marcações de erro do OpenGL
-		while (GLES20.glGetError() != GLES20.GL_NO_ERROR) {
-			GLES20.glGetError();
+		while (getOpenGL().glGetError() != GLES20.GL_NO_ERROR) {
+			getOpenGL().glGetError();
 		}
 
 		int[] idTemporario = getIdTemporario();
 
-		GLES20.glGenBuffers(1, idTemporario, 0);
+		getOpenGL().glGenBuffers(1, idTemporario, 0);
 
-		if (GLES20.glGetError() != GLES20.GL_NO_ERROR || idTemporario[0] == 0) {
+		if (getOpenGL().glGetError() != GLES20.GL_NO_ERROR || idTemporario[0] == 0) {
 			throw new RuntimeException("Erro ao criar o buffer");
 		}
 
@@ -691,15 +921,15 @@ public final class Tela {
 
 		idTemporario[0] = idDoBuffer;
 
-		GLES20.glDeleteBuffers(1, idTemporario, 0);
+		getOpenGL().glDeleteBuffers(1, idTemporario, 0);
 	}
 
 	public void corDoPreenchimento(float vermelho, float verde, float azul) {
-		GLES20.glClearColor(vermelho, verde, azul, 1.0f);
+		getOpenGL().glClearColor(vermelho, verde, azul, 1.0f);
 	}
 
 	public void preencha() {
-		GLES20.glClear(GLES20.GL_COLOR_BUFFER_BIT);
+		getQuadroEmGravacao().graveComando(QuadroGravado.COMANDO_PREENCHA);
 	}
 
 	public int larguraDoTexto(String texto, int tamanhoDoTexto) {
@@ -788,29 +1018,14 @@ public final class Tela {
 	}
 
 	public void ativeModoDeSomaDeCores() {
-		GLES20.glBlendFunc(GLES20.GL_ONE, GLES20.GL_ONE);
+		getQuadroEmGravacao().graveComando(QuadroGravado.COMANDO_ATIVE_MODO_DE_SOMA_DE_CORES);
 	}
 
 	public void desativeModoDeSomaDeCores() {
-		GLES20.glBlendFunc(GLES20.GL_SRC_ALPHA, GLES20.GL_ONE_MINUS_SRC_ALPHA);
+		getQuadroEmGravacao().graveComando(QuadroGravado.COMANDO_DESATIVE_MODO_DE_SOMA_DE_CORES);
 	}
 
 	public void garantaCapacidadeDeRetangulos(int capacidadeDeRetangulosDesejada) {
-		if (getCapacidadeDeRetangulos() < capacidadeDeRetangulosDesejada) {
-			setCapacidadeDeRetangulos(capacidadeDeRetangulosDesejada);
-
-			if (getContagemDeRetangulos() > capacidadeDeRetangulosDesejada) {
-				setContagemDeRetangulos(capacidadeDeRetangulosDesejada);
-			}
-
-			float[] vertices = getVertices();
-			if (vertices == null) {
-				setVertices(new float[FLOATS_POR_RETANGULO * capacidadeDeRetangulosDesejada]);
-			} else {
-				setVertices(Arrays.copyOf(vertices, FLOATS_POR_RETANGULO * capacidadeDeRetangulosDesejada));
-			}
-		}
-
 		if (getCapacidadeDeRetangulosDoBuffer() < capacidadeDeRetangulosDesejada) {
 			setCapacidadeDeRetangulosDoBuffer(capacidadeDeRetangulosDesejada);
 
@@ -845,31 +1060,27 @@ public final class Tela {
 
 			ShortBuffer bufferDeIndices = ByteBuffer.allocateDirect(2 * contagemDeIndices).order(ByteOrder.nativeOrder()).asShortBuffer();
 
-			GLES20.glBindBuffer(GLES20.GL_ELEMENT_ARRAY_BUFFER, getIdDoBufferDeIndices());
+			getOpenGL().glBindBuffer(GLES20.GL_ELEMENT_ARRAY_BUFFER, getIdDoBufferDeIndices());
 			// Cada índice tem 2 bytes (1 short = 2 bytes)
-			GLES20.glBufferData(GLES20.GL_ELEMENT_ARRAY_BUFFER, 2 * contagemDeIndices,
+			getOpenGL().glBufferData(GLES20.GL_ELEMENT_ARRAY_BUFFER, 2 * contagemDeIndices,
 				bufferDeIndices.put(indices).position(0),
 				GLES20.GL_STATIC_DRAW);
 
 			setBufferDeVertices(ByteBuffer.allocateDirect(BYTES_POR_RETANGULO * capacidadeDeRetangulosDesejada).order(ByteOrder.nativeOrder()).asFloatBuffer());
 
-			GLES20.glBindBuffer(GLES20.GL_ARRAY_BUFFER, getIdDoBufferDeVertices());
-			GLES20.glBufferData(GLES20.GL_ARRAY_BUFFER, BYTES_POR_RETANGULO * capacidadeDeRetangulosDesejada,
-				getBufferDeVertices().put(getVertices()).position(0),
+			getOpenGL().glBindBuffer(GLES20.GL_ARRAY_BUFFER, getIdDoBufferDeVertices());
+			getOpenGL().glBufferData(GLES20.GL_ARRAY_BUFFER, BYTES_POR_RETANGULO * capacidadeDeRetangulosDesejada,
+				getBufferDeVertices(),
 				GLES20.GL_DYNAMIC_DRAW);
 		}
 	}
 
 	public void desenhe(Imagem imagem, float esquerda, float cima, float direita, float baixo, float alpha, float esquerdaTextura, float cimaTextura, float direitaTextura, float baixoTextura) {
-		// Quando a imagem é alterada, precisamos efetivamente desenhar todos os retângulos que
-		// ficaram pendentes até o momento
-		if (getImagemDosRetangulosPendentes() != imagem) {
-			desenheRetangulosPendentes();
-			setImagemDosRetangulosPendentes(imagem);
-		}
-
-		int indiceDoPrimeiroVertice = indiceDoProximoVerticeDosRetangulos();
-		float[] verticesDestino = getVertices();
+		// Retângulos seguidos de uma mesma imagem são desenhados de uma só vez, quando o quadro
+		// gravado for desenhado
+		QuadroGravado quadro = getQuadroEmGravacao();
+		int indiceDoPrimeiroVertice = quadro.indiceDoProximoVertice(imagem);
+		float[] verticesDestino = quadro.getVertices();
 
 		// Apenas copia o ponto de entrada para o ponto destino:
 		//
@@ -911,15 +1122,11 @@ public final class Tela {
 	}
 
 	public void desenhe(Imagem imagem, float esquerda, float cima, float direita, float baixo, float alpha, CoordenadasDeTextura coordenadasDeTextura) {
-		// Quando a imagem é alterada, precisamos efetivamente desenhar todos os retângulos que
-		// ficaram pendentes até o momento
-		if (getImagemDosRetangulosPendentes() != imagem) {
-			desenheRetangulosPendentes();
-			setImagemDosRetangulosPendentes(imagem);
-		}
-
-		int indiceDoPrimeiroVertice = indiceDoProximoVerticeDosRetangulos();
-		float[] verticesDestino = getVertices();
+		// Retângulos seguidos de uma mesma imagem são desenhados de uma só vez, quando o quadro
+		// gravado for desenhado
+		QuadroGravado quadro = getQuadroEmGravacao();
+		int indiceDoPrimeiroVertice = quadro.indiceDoProximoVertice(imagem);
+		float[] verticesDestino = quadro.getVertices();
 
 		// Apenas copia o ponto de entrada para o ponto destino:
 		//
@@ -961,15 +1168,11 @@ public final class Tela {
 	}
 
 	public void desenhe(Imagem imagem, float esquerda, float cima, float direita, float baixo, float alpha, CoordenadasDeTextura coordenadasDeTextura, float anguloEmRadianos, float destinoX, float destinoY) {
-		// Quando a imagem é alterada, precisamos efetivamente desenhar todos os retângulos que
-		// ficaram pendentes até o momento
-		if (getImagemDosRetangulosPendentes() != imagem) {
-			desenheRetangulosPendentes();
-			setImagemDosRetangulosPendentes(imagem);
-		}
-
-		int indiceDoPrimeiroVertice = indiceDoProximoVerticeDosRetangulos();
-		float[] verticesDestino = getVertices();
+		// Retângulos seguidos de uma mesma imagem são desenhados de uma só vez, quando o quadro
+		// gravado for desenhado
+		QuadroGravado quadro = getQuadroEmGravacao();
+		int indiceDoPrimeiroVertice = quadro.indiceDoProximoVertice(imagem);
+		float[] verticesDestino = quadro.getVertices();
 
 		// Aplica manualmente uma matriz a todos os pontos, equivalente à seguinte operação:
 		//
@@ -1020,15 +1223,11 @@ public final class Tela {
 	}
 
 	public void desenhe(Imagem imagem, CoordenadasDeModelo coordenadasDeModelo, float alpha, CoordenadasDeTextura coordenadasDeTextura) {
-		// Quando a imagem é alterada, precisamos efetivamente desenhar todos os retângulos que
-		// ficaram pendentes até o momento
-		if (getImagemDosRetangulosPendentes() != imagem) {
-			desenheRetangulosPendentes();
-			setImagemDosRetangulosPendentes(imagem);
-		}
-
-		int indiceDoPrimeiroVertice = indiceDoProximoVerticeDosRetangulos();
-		float[] verticesDestino = getVertices();
+		// Retângulos seguidos de uma mesma imagem são desenhados de uma só vez, quando o quadro
+		// gravado for desenhado
+		QuadroGravado quadro = getQuadroEmGravacao();
+		int indiceDoPrimeiroVertice = quadro.indiceDoProximoVertice(imagem);
+		float[] verticesDestino = quadro.getVertices();
 
 		// Apenas copia o ponto de entrada para o ponto destino:
 		//
@@ -1070,15 +1269,11 @@ public final class Tela {
 	}
 
 	public void desenhe(Imagem imagem, CoordenadasDeModelo coordenadasDeModelo, float alpha, CoordenadasDeTextura coordenadasDeTextura, float destinoX, float destinoY) {
-		// Quando a imagem é alterada, precisamos efetivamente desenhar todos os retângulos que
-		// ficaram pendentes até o momento
-		if (getImagemDosRetangulosPendentes() != imagem) {
-			desenheRetangulosPendentes();
-			setImagemDosRetangulosPendentes(imagem);
-		}
-
-		int indiceDoPrimeiroVertice = indiceDoProximoVerticeDosRetangulos();
-		float[] verticesDestino = getVertices();
+		// Retângulos seguidos de uma mesma imagem são desenhados de uma só vez, quando o quadro
+		// gravado for desenhado
+		QuadroGravado quadro = getQuadroEmGravacao();
+		int indiceDoPrimeiroVertice = quadro.indiceDoProximoVertice(imagem);
+		float[] verticesDestino = quadro.getVertices();
 
 		// Aplica manualmente uma matriz a todos os pontos, equivalente à seguinte operação:
 		//
@@ -1125,15 +1320,11 @@ public final class Tela {
 	}
 
 	public void desenhe(Imagem imagem, CoordenadasDeModelo coordenadasDeModelo, float alpha, CoordenadasDeTextura coordenadasDeTextura, float escalaX, float escalaY, float destinoX, float destinoY) {
-		// Quando a imagem é alterada, precisamos efetivamente desenhar todos os retângulos que
-		// ficaram pendentes até o momento
-		if (getImagemDosRetangulosPendentes() != imagem) {
-			desenheRetangulosPendentes();
-			setImagemDosRetangulosPendentes(imagem);
-		}
-
-		int indiceDoPrimeiroVertice = indiceDoProximoVerticeDosRetangulos();
-		float[] verticesDestino = getVertices();
+		// Retângulos seguidos de uma mesma imagem são desenhados de uma só vez, quando o quadro
+		// gravado for desenhado
+		QuadroGravado quadro = getQuadroEmGravacao();
+		int indiceDoPrimeiroVertice = quadro.indiceDoProximoVertice(imagem);
+		float[] verticesDestino = quadro.getVertices();
 
 		// Aplica manualmente uma matriz a todos os pontos, equivalente à seguinte operação:
 		//
@@ -1180,15 +1371,11 @@ public final class Tela {
 	}
 
 	public void desenhe(Imagem imagem, CoordenadasDeModelo coordenadasDeModelo, float alpha, CoordenadasDeTextura coordenadasDeTextura, float anguloEmRadianos, float destinoX, float destinoY) {
-		// Quando a imagem é alterada, precisamos efetivamente desenhar todos os retângulos que
-		// ficaram pendentes até o momento
-		if (getImagemDosRetangulosPendentes() != imagem) {
-			desenheRetangulosPendentes();
-			setImagemDosRetangulosPendentes(imagem);
-		}
-
-		int indiceDoPrimeiroVertice = indiceDoProximoVerticeDosRetangulos();
-		float[] verticesDestino = getVertices();
+		// Retângulos seguidos de uma mesma imagem são desenhados de uma só vez, quando o quadro
+		// gravado for desenhado
+		QuadroGravado quadro = getQuadroEmGravacao();
+		int indiceDoPrimeiroVertice = quadro.indiceDoProximoVertice(imagem);
+		float[] verticesDestino = quadro.getVertices();
 
 		// Aplica manualmente uma matriz a todos os pontos, equivalente à seguinte operação:
 		//
@@ -1244,15 +1431,11 @@ public final class Tela {
 	}
 
 	public void desenhe(Imagem imagem, CoordenadasDeModelo coordenadasDeModelo, float alpha, CoordenadasDeTextura coordenadasDeTextura, float escalaX, float escalaY, float anguloEmRadianos, float destinoX, float destinoY) {
-		// Quando a imagem é alterada, precisamos efetivamente desenhar todos os retângulos que
-		// ficaram pendentes até o momento
-		if (getImagemDosRetangulosPendentes() != imagem) {
-			desenheRetangulosPendentes();
-			setImagemDosRetangulosPendentes(imagem);
-		}
-
-		int indiceDoPrimeiroVertice = indiceDoProximoVerticeDosRetangulos();
-		float[] verticesDestino = getVertices();
+		// Retângulos seguidos de uma mesma imagem são desenhados de uma só vez, quando o quadro
+		// gravado for desenhado
+		QuadroGravado quadro = getQuadroEmGravacao();
+		int indiceDoPrimeiroVertice = quadro.indiceDoProximoVertice(imagem);
+		float[] verticesDestino = quadro.getVertices();
 
 		// Aplica manualmente uma matriz a todos os pontos, equivalente à seguinte operação:
 		//
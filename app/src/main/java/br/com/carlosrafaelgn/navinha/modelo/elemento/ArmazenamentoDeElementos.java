@@ -0,0 +1,123 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
+
+// O armazenamento define como uma ListaDeElementosDeTela guarda seus elementos, e em qual ordem
+// eles são percorridos
+// ListaLigada: cada elemento aponta para o seu anterior e para o seu seguinte, o que torna
+// qualquer alteração barata, mas espalha a travessia pela memória (a chave de profundidade de cada
+// elemento é mantida com espaços entre vizinhos, e renumerada apenas quando o espaço acaba)
+// VetorDenso: os elementos ficam em um vetor, na ordem em que são desenhados, e a posição de cada
+// um no vetor serve como sua chave de profundidade (estável entre duas compactações), ideal para
+// listas com milhares de elementos, que são percorridas muitas vezes por quadro
+// Nos dois casos, o primeiro elemento está acima de todos os outros, e o último está abaixo
+// A lista mantém um armazenamento separado para cada um de seus planos
+// Cada instância deve ser utilizada por uma única lista!
+public abstract class ArmazenamentoDeElementos {
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	ArmazenamentoDeElementos() {
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	// A lista utiliza o armazenamento fornecido em seu construtor para o plano padrão, e cria o
+	// armazenamento dos demais planos por meio desse método
+	abstract ArmazenamentoDeElementos crieSemelhante();
+
+	// A lista já garantiu que o elemento não pertence a lista alguma, e que o elemento de
+	// referência pertence a ela (e a esse armazenamento)
+	abstract void adicioneAoInicio(ElementoDeTela elementoDeTela);
+
+	abstract void adicioneAoFinal(ElementoDeTela elementoDeTela);
+
+	abstract void adicioneAcima(ElementoDeTela elementoDeTela, ElementoDeTela elementoDeReferencia);
+
+	abstract void remova(ElementoDeTela elementoDeTela);
+
+	// Os métodos de reordenação apenas mudam a posição do elemento, que continua pertencendo à
+	// lista (e ao seu sistema de colisões) durante toda a operação
+	abstract void movaParaOInicio(ElementoDeTela elementoDeTela);
+
+	abstract void movaParaOFinal(ElementoDeTela elementoDeTela);
+
+	abstract void subaUmNivel(ElementoDeTela elementoDeTela);
+
+	abstract void descaUmNivel(ElementoDeTela elementoDeTela);
+
+	// Os elementos são percorridos do último para o primeiro (do fundo para a frente), ignorando
+	// aqueles marcados para remoção
+	abstract void processeUmQuadro(float deltaSegundos);
+
+	abstract void desenheUmQuadro();
+
+	// Visita os elementos na mesma ordem em que são desenhados, retornando a quantidade de
+	// elementos visitados
+	abstract int visite(ListaDeElementosDeTela.Visitante visitante);
+
+	// Chamado pela lista no final de cada quadro, depois que todas as ações pendentes foram
+	// executadas
+	abstract void finalizeQuadro();
+
+	abstract void carregue();
+
+	abstract void libere();
+
+	// Destrói todos os elementos (ou os devolve aos seus reservatórios), e esvazia o armazenamento
+	abstract void destrua();
+
+	// Os resultados de uma consulta foram todos marcados com numeroDaConsulta, e esses métodos
+	// descobrem qual deles está mais à frente na tela, ou os colocam em ordem, do primeiro (o mais
+	// à frente na tela) para o último
+	// Apenas os resultados entre inicio e inicio + contagemDeResultados são considerados, e todos
+	// eles pertencem a esse armazenamento
+	abstract ElementoDeTela maisAFrente(ElementoDeTela[] resultados, int inicio, int contagemDeResultados, int numeroDaConsulta);
+
+	abstract void ordeneDaFrenteParaTras(ElementoDeTela[] resultados, int inicio, int contagemDeResultados, int numeroDaConsulta);
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	public static ArmazenamentoDeElementos crieListaLigada() {
+		return new ListaLigadaDeElementos();
+	}
+
+	public static ArmazenamentoDeElementos crieVetorDenso() {
+		return new VetorDensoDeElementos();
+	}
+}
@@ -0,0 +1,348 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
+
+// A árvore quaternária folgada (loose quadtree) divide o espaço recursivamente em quatro
+// quadrantes, e cada elemento é colocado no nó mais profundo cujo quadrante contém o centro do
+// elemento, e cujo tamanho é suficiente para conter o elemento inteiro dentro dos limites folgados
+// do nó (que têm o dobro do tamanho do quadrante). Dessa forma, cada elemento fica em um único nó,
+// e nunca precisa ser dividido entre vários nós
+// Os nós são armazenados em vetores, como em um heap: os filhos do nó i são os nós 4i + 1 até
+// 4i + 4, o que evita a criação de objetos para os nós
+final class ArvoreQuaternariaFolgadaDeColisoes extends SistemaDeColisoes {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final int PROFUNDIDADE_MAXIMA = 5;
+	// 1 + 4 + 16 + 64 + 256 + 1024
+	private static final int CONTAGEM_DE_NOS = ((1 << (2 * (PROFUNDIDADE_MAXIMA + 1))) - 1) / 3;
+	// Os nós a partir desse índice não possuem filhos
+	private static final int PRIMEIRA_FOLHA = ((1 << (2 * PROFUNDIDADE_MAXIMA)) - 1) / 3;
+	private static final int CAPACIDADE_INICIAL_DO_NO = 4;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	// Centro e metade do tamanho do quadrante de cada nó (os limites folgados vão de
+	// centro - 2 * meioTamanho até centro + 2 * meioTamanho)
+	private final float esquerda, cima, tamanho;
+	private final float[] centrosX, centrosY, meiosTamanhos;
+	private final ElementoDeTela[][] elementosDosNos;
+	private final int[] contagensDosNos, contagensDasSubarvores;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	ArvoreQuaternariaFolgadaDeColisoes(float esquerda, float cima, float tamanho) {
+		if (tamanho <= 0.0f) {
+			throw new IllegalArgumentException("tamanho deve ser > 0");
+		}
+
+		float[] centrosX = new float[CONTAGEM_DE_NOS];
+		float[] centrosY = new float[CONTAGEM_DE_NOS];
+		float[] meiosTamanhos = new float[CONTAGEM_DE_NOS];
+
+		meiosTamanhos[0] = tamanho * 0.5f;
+		centrosX[0] = esquerda + meiosTamanhos[0];
+		centrosY[0] = cima + meiosTamanhos[0];
+
+		// Como os pais sempre vêm antes dos filhos, basta percorrer os nós em ordem
+		for (int no = 0; no < PRIMEIRA_FOLHA; no++) {
+			float meioTamanhoDoFilho = meiosTamanhos[no] * 0.5f;
+			for (int quadrante = 0; quadrante < 4; quadrante++) {
+				int filho = (no << 2) + 1 + quadrante;
+				meiosTamanhos[filho] = meioTamanhoDoFilho;
+				centrosX[filho] = centrosX[no] + (((quadrante & 1) != 0) ? meioTamanhoDoFilho : -meioTamanhoDoFilho);
+				centrosY[filho] = centrosY[no] + (((quadrante & 2) != 0) ? meioTamanhoDoFilho : -meioTamanhoDoFilho);
+			}
+		}
+
+		this.esquerda = esquerda;
+		this.cima = cima;
+		this.tamanho = tamanho;
+		this.centrosX = centrosX;
+		this.centrosY = centrosY;
+		this.meiosTamanhos = meiosTamanhos;
+		this.elementosDosNos = new ElementoDeTela[CONTAGEM_DE_NOS][];
+		this.contagensDosNos = new int[CONTAGEM_DE_NOS];
+		this.contagensDasSubarvores = new int[CONTAGEM_DE_NOS];
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private float getEsquerda() {
+		return esquerda;
+	}
+
+	private float getCima() {
+		return cima;
+	}
+
+	private float getTamanho() {
+		return tamanho;
+	}
+
+	private float[] getCentrosX() {
+		return centrosX;
+	}
+
+	private float[] getCentrosY() {
+		return centrosY;
+	}
+
+	private float[] getMeiosTamanhos() {
+		return meiosTamanhos;
+	}
+
+	private ElementoDeTela[][] getElementosDosNos() {
+		return elementosDosNos;
+	}
+
+	private int[] getContagensDosNos() {
+		return contagensDosNos;
+	}
+
+	private int[] getContagensDasSubarvores() {
+		return contagensDasSubarvores;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private int noDoElemento(ElementoDeTela elementoDeTela) {
+		float[] centrosX = getCentrosX();
+		float[] centrosY = getCentrosY();
+		float[] meiosTamanhos = getMeiosTamanhos();
+
+		float esquerda = elementoDeTela.getAreaLimiteEsquerda();
+		float cima = elementoDeTela.getAreaLimiteCima();
+		float direita = elementoDeTela.getAreaLimiteDireita();
+		float baixo = elementoDeTela.getAreaLimiteBaixo();
+
+		float x = (esquerda + direita) * 0.5f;
+		float y = (cima + baixo) * 0.5f;
+		float meiaExtensao = Math.max(direita - esquerda, baixo - cima) * 0.5f;
+
+		// Elementos cujo centro está fora da raiz ficam na própria raiz
+		if (x < centrosX[0] - meiosTamanhos[0] || x >= centrosX[0] + meiosTamanhos[0] ||
+			y < centrosY[0] - meiosTamanhos[0] || y >= centrosY[0] + meiosTamanhos[0]) {
+			return 0;
+		}
+
+		int no = 0;
+		while (no < PRIMEIRA_FOLHA && meiaExtensao <= (meiosTamanhos[no] * 0.5f)) {
+			no = (no << 2) + 1 + ((x >= centrosX[no]) ? 1 : 0) + ((y >= centrosY[no]) ? 2 : 0);
+		}
+
+		return no;
+	}
+
+	private void adicioneAoNo(int no, ElementoDeTela elementoDeTela) {
+		ElementoDeTela[][] elementosDosNos = getElementosDosNos();
+		int[] contagensDosNos = getContagensDosNos();
+
+		ElementoDeTela[] elementos = elementosDosNos[no];
+		int contagem = contagensDosNos[no];
+
+		if (elementos == null) {
+			elementos = new ElementoDeTela[CAPACIDADE_INICIAL_DO_NO];
+			elementosDosNos[no] = elementos;
+		} else if (contagem == elementos.length) {
+			ElementoDeTela[] novosElementos = new ElementoDeTela[contagem << 1];
+			System.arraycopy(elementos, 0, novosElementos, 0, contagem);
+			elementos = novosElementos;
+			elementosDosNos[no] = elementos;
+		}
+
+		elementos[contagem] = elementoDeTela;
+		contagensDosNos[no] = contagem + 1;
+
+		elementoDeTela.setIndiceNoSistemaDeColisoes(no);
+
+		// Atualiza a contagem de todos os ancestrais, para que as consultas possam ignorar
+		// subárvores vazias
+		int[] contagensDasSubarvores = getContagensDasSubarvores();
+		while (no > 0) {
+			contagensDasSubarvores[no]++;
+			no = (no - 1) >> 2;
+		}
+		contagensDasSubarvores[0]++;
+	}
+
+	private boolean noTemElementosPossiveis(int no, float esquerda, float cima, float direita, float baixo) {
+		if (getContagensDasSubarvores()[no] == 0) {
+			return false;
+		}
+
+		float limiteFolgado = getMeiosTamanhos()[no] * 2.0f;
+		float centroX = getCentrosX()[no];
+		float centroY = getCentrosY()[no];
+
+		// O teste não é estrito, para que pontos exatamente sobre os limites também sejam aceitos
+		return ((centroX - limiteFolgado) <= direita &&
+			esquerda <= (centroX + limiteFolgado) &&
+			(centroY - limiteFolgado) <= baixo &&
+			cima <= (centroY + limiteFolgado));
+	}
+
+	private void elementosQueColidem(int no, ElementoDeTela elementoParaTestar, ConsultaDeColisoes consulta) {
+		ElementoDeTela[] elementos = getElementosDosNos()[no];
+
+		for (int i = getContagensDosNos()[no] - 1; i >= 0; i--) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoParaTestar.colideDuranteOQuadroCom(elementoDeTela)) {
+				consulta.adicione(elementoDeTela);
+			}
+		}
+
+		if (no < PRIMEIRA_FOLHA) {
+			float esquerda = elementoParaTestar.getAreaDeConsultaEsquerda();
+			float cima = elementoParaTestar.getAreaDeConsultaCima();
+			float direita = elementoParaTestar.getAreaDeConsultaDireita();
+			float baixo = elementoParaTestar.getAreaDeConsultaBaixo();
+
+			int primeiroFilho = (no << 2) + 1;
+			for (int filho = primeiroFilho + 3; filho >= primeiroFilho; filho--) {
+				if (noTemElementosPossiveis(filho, esquerda, cima, direita, baixo)) {
+					elementosQueColidem(filho, elementoParaTestar, consulta);
+				}
+			}
+		}
+	}
+
+	private void elementosQueContemPonto(int no, float x, float y, ConsultaDeColisoes consulta) {
+		ElementoDeTela[] elementos = getElementosDosNos()[no];
+
+		for (int i = getContagensDosNos()[no] - 1; i >= 0; i--) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoDeTela.contemPonto(x, y)) {
+				consulta.adicione(elementoDeTela);
+			}
+		}
+
+		if (no < PRIMEIRA_FOLHA) {
+			int primeiroFilho = (no << 2) + 1;
+			for (int filho = primeiroFilho + 3; filho >= primeiroFilho; filho--) {
+				// Um ponto é tratado como um retângulo de tamanho 0 (apenas para reaproveitar o teste)
+				if (noTemElementosPossiveis(filho, x, y, x, y)) {
+					elementosQueContemPonto(filho, x, y, consulta);
+				}
+			}
+		}
+	}
+
+	@Override
+	SistemaDeColisoes crieSemelhante() {
+		return new ArvoreQuaternariaFolgadaDeColisoes(getEsquerda(), getCima(), getTamanho());
+	}
+
+	@Override
+	void adicione(ElementoDeTela elementoDeTela) {
+		adicioneAoNo(noDoElemento(elementoDeTela), elementoDeTela);
+	}
+
+	@Override
+	void remova(ElementoDeTela elementoDeTela) {
+		int no = elementoDeTela.getIndiceNoSistemaDeColisoes();
+
+		ElementoDeTela[] elementos = getElementosDosNos()[no];
+		int[] contagensDosNos = getContagensDosNos();
+		int contagem = contagensDosNos[no];
+
+		for (int i = contagem - 1; i >= 0; i--) {
+			if (elementos[i] == elementoDeTela) {
+				// A ordem dentro do nó não importa, então basta trazer o último para cá
+				contagem--;
+				elementos[i] = elementos[contagem];
+				elementos[contagem] = null;
+				contagensDosNos[no] = contagem;
+
+				int[] contagensDasSubarvores = getContagensDasSubarvores();
+				while (no > 0) {
+					contagensDasSubarvores[no]--;
+					no = (no - 1) >> 2;
+				}
+				contagensDasSubarvores[0]--;
+				return;
+			}
+		}
+	}
+
+	@Override
+	void atualize(ElementoDeTela elementoDeTela) {
+		// Enquanto o elemento continuar pertencendo ao mesmo nó, não há nada a ser feito
+		int no = noDoElemento(elementoDeTela);
+		if (no == elementoDeTela.getIndiceNoSistemaDeColisoes()) {
+			return;
+		}
+
+		remova(elementoDeTela);
+		adicioneAoNo(no, elementoDeTela);
+	}
+
+	@Override
+	void limpe() {
+		ElementoDeTela[][] elementosDosNos = getElementosDosNos();
+		int[] contagensDosNos = getContagensDosNos();
+		int[] contagensDasSubarvores = getContagensDasSubarvores();
+
+		for (int no = CONTAGEM_DE_NOS - 1; no >= 0; no--) {
+			ElementoDeTela[] elementos = elementosDosNos[no];
+			if (elementos != null) {
+				for (int i = contagensDosNos[no] - 1; i >= 0; i--) {
+					elementos[i] = null;
+				}
+			}
+			contagensDosNos[no] = 0;
+			contagensDasSubarvores[no] = 0;
+		}
+	}
+
+	@Override
+	void elementosQueColidem(ElementoDeTela elementoParaTestar, ConsultaDeColisoes consulta) {
+		// A raiz é sempre visitada, pois ela também guarda os elementos que estão fora de seus
+		// limites
+		elementosQueColidem(0, elementoParaTestar, consulta);
+	}
+
+	@Override
+	void elementosQueContemPonto(float x, float y, ConsultaDeColisoes consulta) {
+		elementosQueContemPonto(0, x, y, consulta);
+	}
+}
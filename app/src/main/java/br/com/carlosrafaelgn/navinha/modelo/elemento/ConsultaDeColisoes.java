@@ -0,0 +1,150 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
+
+// Guarda os resultados de uma consulta feita por uma ListaDeElementosDeTela aos seus sistemas de
+// colisões (um por camada). Como todas as camadas compartilham a mesma consulta, o número da
+// consulta é único entre todas elas, o que permite marcar os elementos encontrados sem risco de
+// confusão entre camadas
+final class ConsultaDeColisoes {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final int CAPACIDADE_INICIAL = 8;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private ElementoDeTela[] resultados;
+	private int contagemDeResultados, numero;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public ConsultaDeColisoes() {
+		this.resultados = new ElementoDeTela[CAPACIDADE_INICIAL];
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	public ElementoDeTela[] getResultados() {
+		return resultados;
+	}
+
+	private void setResultados(ElementoDeTela[] resultados) {
+		this.resultados = resultados;
+	}
+
+	public int getContagemDeResultados() {
+		return contagemDeResultados;
+	}
+
+	private void setContagemDeResultados(int contagemDeResultados) {
+		this.contagemDeResultados = contagemDeResultados;
+	}
+
+	// Os sistemas de colisões podem utilizar esse número para marcar os elementos já testados
+	// durante a consulta atual (ElementoDeTela.setUltimaConsulta())
+	public int getNumero() {
+		return numero;
+	}
+
+	private void setNumero(int numero) {
+		this.numero = numero;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	public void inicie() {
+		int numero = getNumero() + 1;
+		if (numero == Integer.MAX_VALUE) {
+			// Praticamente impossível de acontecer, mas vamos garantir que nenhum elemento fique
+			// com uma marca antiga igual a uma marca nova
+			numero = 1;
+		}
+		setNumero(numero);
+		setContagemDeResultados(0);
+	}
+
+	public void adicione(ElementoDeTela elementoDeTela) {
+		ElementoDeTela[] resultados = getResultados();
+		int contagemDeResultados = getContagemDeResultados();
+
+		if (contagemDeResultados == resultados.length) {
+			ElementoDeTela[] novosResultados = new ElementoDeTela[contagemDeResultados << 1];
+			System.arraycopy(resultados, 0, novosResultados, 0, contagemDeResultados);
+			resultados = novosResultados;
+			setResultados(resultados);
+		}
+
+		resultados[contagemDeResultados] = elementoDeTela;
+		setContagemDeResultados(contagemDeResultados + 1);
+
+		// A marca permite que a lista descubra a ordem dos resultados sem precisar procurá-los
+		elementoDeTela.setUltimoAcerto(getNumero());
+	}
+
+	public void filtre(Class<?> classeDesejada) {
+		// O teste de classe é feito apenas sobre os elementos que realmente colidiram, e nunca
+		// sobre todos os candidatos
+		ElementoDeTela[] resultados = getResultados();
+		int contagemDeResultados = getContagemDeResultados();
+
+		for (int i = contagemDeResultados - 1; i >= 0; i--) {
+			ElementoDeTela elementoDeTela = resultados[i];
+			if (!classeDesejada.isAssignableFrom(elementoDeTela.getClass())) {
+				elementoDeTela.setUltimoAcerto(0);
+				contagemDeResultados--;
+				resultados[i] = resultados[contagemDeResultados];
+				resultados[contagemDeResultados] = null;
+			}
+		}
+
+		setContagemDeResultados(contagemDeResultados);
+	}
+
+	public void limpe() {
+		ElementoDeTela[] resultados = getResultados();
+		for (int i = resultados.length - 1; i >= 0; i--) {
+			resultados[i] = null;
+		}
+		setContagemDeResultados(0);
+	}
+}
@@ -33,23 +33,84 @@
 package br.com.carlosrafaelgn.navinha.modelo.elemento;
 
 import br.com.carlosrafaelgn.navinha.modelo.desenho.CoordenadasDeModelo;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.MascaraDePixels;
 import br.com.carlosrafaelgn.navinha.modelo.recurso.Recurso;
 
 public abstract class ElementoDeTela extends Recurso {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// Cada camada de colisão é representada por um único bit, enquanto que uma máscara pode conter
+	// qualquer combinação de camadas
+	// Os jogos podem definir suas próprias camadas a partir do bit 1 (1 << 1, 1 << 2...)
+	public static final int CAMADA_DE_COLISAO_PADRAO = 1;
+	public static final int TODAS_AS_CAMADAS_DE_COLISAO = 0xffffffff;
+	// Como as camadas e as máscaras são guardadas em um int, existe uma camada para cada bit
+	public static final int QUANTIDADE_DE_CAMADAS_DE_COLISAO = Integer.SIZE;
+
+	// Limite de posições intermediárias testadas com as máscaras de pixels durante uma colisão
+	// contínua (o teste dos retângulos não depende desse limite)
+	private static final int AMOSTRAS_MAXIMAS_DA_COLISAO_CONTINUA = 32;
+
 	//----------------------------------------------------------------------------------------------
 	// Campos privados
 	//----------------------------------------------------------------------------------------------
 
+	private static int proximoNumeroDeSerie;
+
+	// Fração (entre 0 e 1) do intervalo entre o penúltimo e o último quadro processado que
+	// corresponde ao momento do desenho (definida pela lista antes de desenhar seus elementos)
+	private static float fatorDeInterpolacao = 1.0f;
+
+	// O número de série não depende da posição do elemento na lista, e por isso é utilizado para
+	// ordenar as colisões detectadas durante a fase de colisões da lista
+	private final int numeroDeSerie = proximoNumeroDeSerie++;
+	// Utilizados pelo armazenamento da lista (ponteiros da lista ligada, ou a posição no vetor denso)
 	private ElementoDeTela elementoAnterior, elementoSeguinte;
+	private int indiceNoArmazenamento;
 	private ListaDeElementosDeTela lista;
+	// Plano da lista no qual o elemento se encontra (válido apenas enquanto ele pertence a ela)
+	private int plano;
 	// Não vamos utilizar um objeto retângulo aqui, pois utilizaremos os valores soltos
 	private float areaLimiteEsquerda, areaLimiteCima, areaLimiteDireita, areaLimiteBaixo;
-	private boolean marcadoParaRemocao, parteDoSistemaDeColisoes;
+	// Quando existe, a máscara de pixels ocupa exatamente a área limite
+	private MascaraDePixels mascaraDePixels;
+	private boolean marcadoParaRemocao, parteDoSistemaDeColisoes, testadorDeColisoes, colisaoContinua;
+	// Deslocamento do centro da área limite durante o quadro indicado por quadroDoDeslocamento
+	private float deslocamentoX, deslocamentoY;
+	private int quadroDoDeslocamento;
+	// Posição do elemento antes de ele ser movido durante o quadro indicado por
+	// quadroDaPosicaoAnterior, utilizada apenas no desenho (e registrada pelo próprio elemento)
+	private float xAnterior, yAnterior;
+	private int quadroDaPosicaoAnterior = -1;
+	// A camada indica em qual grupo esse elemento se encontra, enquanto que a máscara indica com
+	// quais camadas esse elemento colide, quando ele for o elemento sendo testado
+	private int camadaDeColisao = CAMADA_DE_COLISAO_PADRAO, mascaraDeColisao = TODAS_AS_CAMADAS_DE_COLISAO;
+	// Quando o elemento pertence a um grupo, é o grupo que o representa perante a lista
+	private GrupoDeColisoes grupoDeColisoes;
+	// Reservatório de onde o elemento foi obtido, e para onde ele volta em vez de ser destruído
+	private ReservatorioDeElementos<?> reservatorio;
+	private boolean noReservatorio;
+	// Informações mantidas pelo sistema de colisões da lista à qual esse elemento pertence
+	private int celulaEsquerda, celulaCima, celulaDireita, celulaBaixo, indiceNoSistemaDeColisoes, indiceNosTestadoresDeColisoes, ultimaConsulta, ultimoAcerto;
 
 	//----------------------------------------------------------------------------------------------
 	// Métodos acessores e modificadores
 	//----------------------------------------------------------------------------------------------
 
+	public static float getFatorDeInterpolacao() {
+		return fatorDeInterpolacao;
+	}
+
+	static void setFatorDeInterpolacao(float fatorDeInterpolacao) {
+		ElementoDeTela.fatorDeInterpolacao = fatorDeInterpolacao;
+	}
+
+	final int getNumeroDeSerie() {
+		return numeroDeSerie;
+	}
+
 	final ElementoDeTela getElementoAnterior() {
 		return elementoAnterior;
 	}
@@ -66,6 +127,14 @@ public abstract class ElementoDeTela extends Recurso {
 		this.elementoSeguinte = elementoSeguinte;
 	}
 
+	final int getIndiceNoArmazenamento() {
+		return indiceNoArmazenamento;
+	}
+
+	final void setIndiceNoArmazenamento(int indiceNoArmazenamento) {
+		this.indiceNoArmazenamento = indiceNoArmazenamento;
+	}
+
 	public final ListaDeElementosDeTela getLista() {
 		return lista;
 	}
@@ -74,6 +143,14 @@ public abstract class ElementoDeTela extends Recurso {
 		this.lista = lista;
 	}
 
+	public final int getPlano() {
+		return plano;
+	}
+
+	final void setPlano(int plano) {
+		this.plano = plano;
+	}
+
 	public final float getAreaLimiteEsquerda() {
 		return areaLimiteEsquerda;
 	}
@@ -106,7 +183,17 @@ public abstract class ElementoDeTela extends Recurso {
 		this.areaLimiteBaixo = areaLimiteBaixo;
 	}
 
-	final boolean isMarcadoParaRemocao() {
+	public final MascaraDePixels getMascaraDePixels() {
+		return mascaraDePixels;
+	}
+
+	private void setMascaraDePixels(MascaraDePixels mascaraDePixels) {
+		this.mascaraDePixels = mascaraDePixels;
+	}
+
+	// Um elemento marcado para remoção não é mais processado nem desenhado, e não deve mais ser
+	// considerado por quem o encontrar em uma consulta feita durante o quadro atual
+	public final boolean isMarcadoParaRemocao() {
 		return marcadoParaRemocao;
 	}
 
@@ -114,6 +201,61 @@ public abstract class ElementoDeTela extends Recurso {
 		this.marcadoParaRemocao = marcadoParaRemocao;
 	}
 
+	final int getCelulaEsquerda() {
+		return celulaEsquerda;
+	}
+
+	final int getCelulaCima() {
+		return celulaCima;
+	}
+
+	final int getCelulaDireita() {
+		return celulaDireita;
+	}
+
+	final int getCelulaBaixo() {
+		return celulaBaixo;
+	}
+
+	final void altereCelulas(int celulaEsquerda, int celulaCima, int celulaDireita, int celulaBaixo) {
+		this.celulaEsquerda = celulaEsquerda;
+		this.celulaCima = celulaCima;
+		this.celulaDireita = celulaDireita;
+		this.celulaBaixo = celulaBaixo;
+	}
+
+	final int getIndiceNoSistemaDeColisoes() {
+		return indiceNoSistemaDeColisoes;
+	}
+
+	final void setIndiceNoSistemaDeColisoes(int indiceNoSistemaDeColisoes) {
+		this.indiceNoSistemaDeColisoes = indiceNoSistemaDeColisoes;
+	}
+
+	final int getIndiceNosTestadoresDeColisoes() {
+		return indiceNosTestadoresDeColisoes;
+	}
+
+	final void setIndiceNosTestadoresDeColisoes(int indiceNosTestadoresDeColisoes) {
+		this.indiceNosTestadoresDeColisoes = indiceNosTestadoresDeColisoes;
+	}
+
+	final int getUltimaConsulta() {
+		return ultimaConsulta;
+	}
+
+	final void setUltimaConsulta(int ultimaConsulta) {
+		this.ultimaConsulta = ultimaConsulta;
+	}
+
+	final int getUltimoAcerto() {
+		return ultimoAcerto;
+	}
+
+	final void setUltimoAcerto(int ultimoAcerto) {
+		this.ultimoAcerto = ultimoAcerto;
+	}
+
 	public final boolean isParteDoSistemaDeColisoes() {
 		return parteDoSistemaDeColisoes;
 	}
@@ -136,10 +278,338 @@ public abstract class ElementoDeTela extends Recurso {
 		}
 	}
 
+	public final boolean isTestadorDeColisoes() {
+		return testadorDeColisoes;
+	}
+
+	public final void setTestadorDeColisoes(boolean testadorDeColisoes) {
+		// Os testadores de colisões são testados automaticamente pela lista, uma vez por quadro,
+		// contra todos os elementos das camadas presentes em sua máscara de colisão, e são avisados
+		// por meio de colidiuCom()
+		if (this.testadorDeColisoes == testadorDeColisoes) {
+			return;
+		}
+
+		this.testadorDeColisoes = testadorDeColisoes;
+
+		ListaDeElementosDeTela lista = getLista();
+		if (lista != null) {
+			if (testadorDeColisoes) {
+				lista.adicioneAosTestadoresDeColisoes(this);
+			} else {
+				lista.removaDosTestadoresDeColisoes(this);
+			}
+		}
+	}
+
+	public final GrupoDeColisoes getGrupoDeColisoes() {
+		return grupoDeColisoes;
+	}
+
+	public final void setGrupoDeColisoes(GrupoDeColisoes grupoDeColisoes) {
+		if (this.grupoDeColisoes == grupoDeColisoes) {
+			return;
+		}
+
+		// Se o elemento já estava no sistema de colisões, ele precisa sair do sistema da sua
+		// camada (ou do grupo antigo) e entrar no grupo novo (ou no sistema da sua camada)
+		ListaDeElementosDeTela lista = getLista();
+		if (isParteDoSistemaDeColisoes() && lista != null) {
+			lista.removaDoSistemaDeColisoes(this);
+			this.grupoDeColisoes = grupoDeColisoes;
+			lista.adicioneAoSistemaDeColisoes(this);
+		} else {
+			this.grupoDeColisoes = grupoDeColisoes;
+		}
+	}
+
+	final ReservatorioDeElementos<?> getReservatorio() {
+		return reservatorio;
+	}
+
+	final void setReservatorio(ReservatorioDeElementos<?> reservatorio) {
+		this.reservatorio = reservatorio;
+	}
+
+	// Indica se o elemento está guardado no reservatório, aguardando para ser reutilizado
+	final boolean isNoReservatorio() {
+		return noReservatorio;
+	}
+
+	final void setNoReservatorio(boolean noReservatorio) {
+		this.noReservatorio = noReservatorio;
+	}
+
+	public final boolean isColisaoContinua() {
+		return colisaoContinua;
+	}
+
+	public final void setColisaoContinua(boolean colisaoContinua) {
+		// Um elemento com colisão contínua é testado contra todo o caminho percorrido durante o
+		// quadro (e não apenas contra sua posição final), o que impede que elementos rápidos, ou
+		// quadros longos, façam com que um elemento atravesse outro sem colidir
+		this.colisaoContinua = colisaoContinua;
+	}
+
+	public final float getDeslocamentoX() {
+		// O deslocamento só é válido durante o quadro em que foi registrado
+		ListaDeElementosDeTela lista = getLista();
+		return ((lista != null && quadroDoDeslocamento == lista.getNumeroDoQuadro()) ? deslocamentoX : 0.0f);
+	}
+
+	public final float getDeslocamentoY() {
+		ListaDeElementosDeTela lista = getLista();
+		return ((lista != null && quadroDoDeslocamento == lista.getNumeroDoQuadro()) ? deslocamentoY : 0.0f);
+	}
+
+	// A área de consulta é a área utilizada pelos sistemas de colisões para encontrar os
+	// candidatos a colidir com esse elemento: para elementos com colisão contínua, ela engloba as
+	// áreas limite inicial e final do quadro
+	final float getAreaDeConsultaEsquerda() {
+		return (isColisaoContinua() ? (getAreaLimiteEsquerda() - Math.max(0.0f, getDeslocamentoX())) : getAreaLimiteEsquerda());
+	}
+
+	final float getAreaDeConsultaCima() {
+		return (isColisaoContinua() ? (getAreaLimiteCima() - Math.max(0.0f, getDeslocamentoY())) : getAreaLimiteCima());
+	}
+
+	final float getAreaDeConsultaDireita() {
+		return (isColisaoContinua() ? (getAreaLimiteDireita() - Math.min(0.0f, getDeslocamentoX())) : getAreaLimiteDireita());
+	}
+
+	final float getAreaDeConsultaBaixo() {
+		return (isColisaoContinua() ? (getAreaLimiteBaixo() - Math.min(0.0f, getDeslocamentoY())) : getAreaLimiteBaixo());
+	}
+
+	public final int getCamadaDeColisao() {
+		return camadaDeColisao;
+	}
+
+	public final void setCamadaDeColisao(int camadaDeColisao) {
+		if (camadaDeColisao == 0 || (camadaDeColisao & (camadaDeColisao - 1)) != 0) {
+			throw new IllegalArgumentException("camadaDeColisao deve possuir exatamente um bit ligado");
+		}
+
+		if (this.camadaDeColisao == camadaDeColisao) {
+			return;
+		}
+
+		// Se o elemento já estava no sistema de colisões, ele precisa trocar de camada lá dentro
+		// também
+		ListaDeElementosDeTela lista = getLista();
+		if (isParteDoSistemaDeColisoes() && lista != null) {
+			lista.removaDoSistemaDeColisoes(this);
+			this.camadaDeColisao = camadaDeColisao;
+			lista.adicioneAoSistemaDeColisoes(this);
+		} else {
+			this.camadaDeColisao = camadaDeColisao;
+		}
+	}
+
+	public final int getMascaraDeColisao() {
+		return mascaraDeColisao;
+	}
+
+	public final void setMascaraDeColisao(int mascaraDeColisao) {
+		this.mascaraDeColisao = mascaraDeColisao;
+	}
+
 	//----------------------------------------------------------------------------------------------
 	// Métodos privados e protegidos
 	//----------------------------------------------------------------------------------------------
 
+	private void altereAreaLimiteInternamente(float esquerda, float cima, float direita, float baixo) {
+		float centroXAnterior = getAreaLimiteEsquerda() + getAreaLimiteDireita();
+		float centroYAnterior = getAreaLimiteCima() + getAreaLimiteBaixo();
+
+		setAreaLimiteEsquerda(esquerda);
+		setAreaLimiteCima(cima);
+		setAreaLimiteDireita(direita);
+		setAreaLimiteBaixo(baixo);
+
+		ListaDeElementosDeTela lista = getLista();
+		if (lista != null) {
+			// O deslocamento é acumulado durante o quadro atual, e utiliza o centro da área limite
+			// para que uma simples troca de tamanho (sem movimento) não seja considerada
+			int numeroDoQuadro = lista.getNumeroDoQuadro();
+			if (quadroDoDeslocamento != numeroDoQuadro) {
+				quadroDoDeslocamento = numeroDoQuadro;
+				deslocamentoX = 0.0f;
+				deslocamentoY = 0.0f;
+			}
+			deslocamentoX += 0.5f * ((esquerda + direita) - centroXAnterior);
+			deslocamentoY += 0.5f * ((cima + baixo) - centroYAnterior);
+
+			if (isParteDoSistemaDeColisoes()) {
+				// Pedimos à lista de elementos à qual esse elemento pertence, para que ela faça as
+				// alterações necessárias internamente
+				lista.areaLimiteAlterada(this);
+			}
+		}
+	}
+
+	// Utilizado apenas pela sonda da fase de colisões, que não pertence ao armazenamento da lista,
+	// e por isso define diretamente seu deslocamento durante o quadro atual
+	final void altereAreaEDeslocamento(float esquerda, float cima, float direita, float baixo, float deslocamentoX, float deslocamentoY) {
+		setAreaLimiteEsquerda(esquerda);
+		setAreaLimiteCima(cima);
+		setAreaLimiteDireita(direita);
+		setAreaLimiteBaixo(baixo);
+
+		ListaDeElementosDeTela lista = getLista();
+		if (lista != null) {
+			quadroDoDeslocamento = lista.getNumeroDoQuadro();
+			this.deslocamentoX = deslocamentoX;
+			this.deslocamentoY = deslocamentoY;
+		}
+	}
+
+	private float varraAte(ElementoDeTela elementoDeTela, boolean saida) {
+		// Calcula o instante (entre 0 e 1, dentro do quadro) em que esse elemento começa (ou deixa)
+		// de intersectar o outro, considerando o movimento relativo entre os dois, como se esse
+		// elemento tivesse partido de (área limite - deslocamento relativo), e o outro estivesse
+		// parado em sua área limite atual
+		// Devolve NaN quando os retângulos não se intersectam em momento algum do quadro
+		float deslocamentoX = getDeslocamentoX() - elementoDeTela.getDeslocamentoX();
+		float deslocamentoY = getDeslocamentoY() - elementoDeTela.getDeslocamentoY();
+		float entrada = Float.NEGATIVE_INFINITY, fim = Float.POSITIVE_INFINITY;
+
+		if (deslocamentoX == 0.0f) {
+			if (getAreaLimiteEsquerda() >= elementoDeTela.getAreaLimiteDireita() || elementoDeTela.getAreaLimiteEsquerda() >= getAreaLimiteDireita()) {
+				return Float.NaN;
+			}
+		} else {
+			float t1 = (elementoDeTela.getAreaLimiteEsquerda() - getAreaLimiteDireita() + deslocamentoX) / deslocamentoX;
+			float t2 = (elementoDeTela.getAreaLimiteDireita() - getAreaLimiteEsquerda() + deslocamentoX) / deslocamentoX;
+			entrada = Math.min(t1, t2);
+			fim = Math.max(t1, t2);
+		}
+
+		if (deslocamentoY == 0.0f) {
+			if (getAreaLimiteCima() >= elementoDeTela.getAreaLimiteBaixo() || elementoDeTela.getAreaLimiteCima() >= getAreaLimiteBaixo()) {
+				return Float.NaN;
+			}
+		} else {
+			float t1 = (elementoDeTela.getAreaLimiteCima() - getAreaLimiteBaixo() + deslocamentoY) / deslocamentoY;
+			float t2 = (elementoDeTela.getAreaLimiteBaixo() - getAreaLimiteCima() + deslocamentoY) / deslocamentoY;
+			entrada = Math.max(entrada, Math.min(t1, t2));
+			fim = Math.min(fim, Math.max(t1, t2));
+		}
+
+		if (entrada >= fim || entrada >= 1.0f || fim <= 0.0f) {
+			return Float.NaN;
+		}
+
+		return (saida ? Math.min(1.0f, fim) : Math.max(0.0f, entrada));
+	}
+
+	private boolean mascarasColidem(ElementoDeTela elementoDeTela, float ajusteX, float ajusteY) {
+		// Testa as máscaras de pixels dos dois elementos (se existirem), com a área limite do outro
+		// elemento deslocada por (ajusteX, ajusteY), considerando que os retângulos já se
+		// intersectam
+		MascaraDePixels mascaraDePixels = getMascaraDePixels();
+		MascaraDePixels outraMascaraDePixels = elementoDeTela.getMascaraDePixels();
+
+		if (mascaraDePixels != null) {
+			float esquerda = getAreaLimiteEsquerda() - ajusteX;
+			float cima = getAreaLimiteCima() - ajusteY;
+			if (outraMascaraDePixels != null) {
+				return mascaraDePixels.colideCom(outraMascaraDePixels,
+					Math.round(elementoDeTela.getAreaLimiteEsquerda() - esquerda),
+					Math.round(elementoDeTela.getAreaLimiteCima() - cima));
+			}
+			return mascaraDePixels.colideComRetangulo(
+				Math.round(elementoDeTela.getAreaLimiteEsquerda() - esquerda),
+				Math.round(elementoDeTela.getAreaLimiteCima() - cima),
+				Math.round(elementoDeTela.getAreaLimiteDireita() - esquerda),
+				Math.round(elementoDeTela.getAreaLimiteBaixo() - cima));
+		}
+
+		if (outraMascaraDePixels != null) {
+			float esquerda = elementoDeTela.getAreaLimiteEsquerda() + ajusteX;
+			float cima = elementoDeTela.getAreaLimiteCima() + ajusteY;
+			return outraMascaraDePixels.colideComRetangulo(
+				Math.round(getAreaLimiteEsquerda() - esquerda),
+				Math.round(getAreaLimiteCima() - cima),
+				Math.round(getAreaLimiteDireita() - esquerda),
+				Math.round(getAreaLimiteBaixo() - cima));
+		}
+
+		return true;
+	}
+
+	// Utilizado pelos sistemas de colisões para testar um candidato encontrado dentro da área de
+	// consulta desse elemento
+	final boolean colideDuranteOQuadroCom(ElementoDeTela elementoDeTela) {
+		if (elementoDeTela.colideCom(this)) {
+			return true;
+		}
+
+		if (!isColisaoContinua()) {
+			return false;
+		}
+
+		float entrada = varraAte(elementoDeTela, false);
+		if (Float.isNaN(entrada)) {
+			return false;
+		}
+
+		if (getMascaraDePixels() == null && elementoDeTela.getMascaraDePixels() == null) {
+			return true;
+		}
+
+		// Os retângulos se intersectam em algum momento entre entrada e saída, então as máscaras
+		// são testadas em algumas posições intermediárias, espaçadas de acordo com a menor dimensão
+		// desse elemento
+		float saida = varraAte(elementoDeTela, true);
+		float deslocamentoX = getDeslocamentoX() - elementoDeTela.getDeslocamentoX();
+		float deslocamentoY = getDeslocamentoY() - elementoDeTela.getDeslocamentoY();
+		float distancia = (float)Math.sqrt((deslocamentoX * deslocamentoX) + (deslocamentoY * deslocamentoY)) * (saida - entrada);
+		float passo = Math.max(1.0f, 0.5f * Math.min(getAreaLimiteDireita() - getAreaLimiteEsquerda(), getAreaLimiteBaixo() - getAreaLimiteCima()));
+		int amostras = Math.min(AMOSTRAS_MAXIMAS_DA_COLISAO_CONTINUA, (int)Math.ceil(distancia / passo));
+
+		for (int i = 0; i <= amostras; i++) {
+			float t = ((amostras == 0) ? entrada : (entrada + (((saida - entrada) * (float)i) / (float)amostras)));
+			// Na posição final (t = 1), o ajuste é 0
+			if (mascarasColidem(elementoDeTela, (1.0f - t) * deslocamentoX, (1.0f - t) * deslocamentoY)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	// Chamado quando o elemento é devolvido ao seu reservatório: as subclasses devem abandonar as
+	// referências que não serão mais necessárias, e deixar o elemento pronto para ser inicializado
+	// novamente, por quem o obtiver do reservatório
+	protected void recicleInternamente() {
+	}
+
+	final void recicle() {
+		// O elemento volta ao estado em que estava logo depois de ser criado, no que diz respeito
+		// à lista
+		setElementoAnterior(null);
+		setElementoSeguinte(null);
+		setLista(null);
+		setMarcadoParaRemocao(false);
+		setMascaraDePixels(null);
+		setGrupoDeColisoes(null);
+		deslocamentoX = 0.0f;
+		deslocamentoY = 0.0f;
+		quadroDaPosicaoAnterior = -1;
+
+		recicleInternamente();
+	}
+
+	final void destruaOuDevolva() {
+		ReservatorioDeElementos<?> reservatorio = getReservatorio();
+		if (reservatorio != null) {
+			reservatorio.devolva(this);
+		} else {
+			destrua();
+		}
+	}
+
 	@Override
 	protected void destruaInternamente() {
 		// Vamos invalidar o objeto
@@ -147,6 +617,31 @@ public abstract class ElementoDeTela extends Recurso {
 		setElementoAnterior(null);
 		setElementoSeguinte(null);
 		setLista(null);
+		setMascaraDePixels(null);
+		setGrupoDeColisoes(null);
+	}
+
+	protected final void registrePosicaoAnterior(float x, float y) {
+		// Deve ser chamado com a posição atual, logo antes de o elemento se mover: apenas a
+		// primeira chamada de cada quadro é registrada, de modo que a posição anterior é sempre a
+		// posição do elemento no início do quadro, independente de quantas vezes, ou de quem, o
+		// moveu durante o quadro
+		ListaDeElementosDeTela lista = getLista();
+		if (lista != null) {
+			int numeroDoQuadro = lista.getNumeroDoQuadro();
+			if (quadroDaPosicaoAnterior != numeroDoQuadro) {
+				quadroDaPosicaoAnterior = numeroDoQuadro;
+				xAnterior = x;
+				yAnterior = y;
+			}
+		}
+	}
+
+	private boolean isPosicaoAnteriorValida() {
+		// Assim como o deslocamento, a posição anterior só é válida durante o quadro em que foi
+		// registrada (um elemento que não se moveu no último quadro é desenhado onde está)
+		ListaDeElementosDeTela lista = getLista();
+		return (lista != null && quadroDaPosicaoAnterior == lista.getNumeroDoQuadro());
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -165,10 +660,25 @@ public abstract class ElementoDeTela extends Recurso {
 		if (lista != null) {
 			lista.removaEDestrua(this);
 		} else {
-			destrua();
+			destruaOuDevolva();
 		}
 	}
 
+	public static float interpole(float anterior, float atual) {
+		// Devolve o valor a ser utilizado no desenho, entre o valor do quadro anterior e o atual
+		return anterior + ((atual - anterior) * getFatorDeInterpolacao());
+	}
+
+	public final float interpoleX(float x) {
+		// Devolve a coordenada x a ser utilizada no desenho, considerando a posição registrada por
+		// registrePosicaoAnterior()
+		return (isPosicaoAnteriorValida() ? interpole(xAnterior, x) : x);
+	}
+
+	public final float interpoleY(float y) {
+		return (isPosicaoAnteriorValida() ? interpole(yAnterior, y) : y);
+	}
+
 	public final boolean limitesColidem(ElementoDeTela elementoDeTela) {
 		// Apenas determina se os retângulos limítrofes dos dois elementos fazem alguma intersecção
 		return ((getAreaLimiteEsquerda() < elementoDeTela.getAreaLimiteDireita()) &&
@@ -186,60 +696,92 @@ public abstract class ElementoDeTela extends Recurso {
 	}
 
 	public boolean colideCom(ElementoDeTela elementoDeTela) {
-		// A implementação padrão para detecção de colisões se baseia apenas em uma única
-		// intersecção de retângulos, o que oferece resultados aceitáveis com um tempo de
-		// processamento rápido, considerando que o formato dos elementos realmente seja próximo ao
-		// de um retângulo
+		// A implementação padrão para detecção de colisões se baseia em uma intersecção de
+		// retângulos, o que oferece resultados aceitáveis com um tempo de processamento rápido,
+		// considerando que o formato dos elementos realmente seja próximo ao de um retângulo
+		// Quando algum dos elementos possui uma máscara de pixels, e os retângulos se intersectam,
+		// a máscara é testada em seguida, com poucas operações sobre palavras inteiras de bits
 		// Outras implementações podem utilizar regras de colisões mais complexas, como intersecção
 		// de um ou mais polígonos, círculos etc...
-		return ((getAreaLimiteEsquerda() < elementoDeTela.getAreaLimiteDireita()) &&
-			(elementoDeTela.getAreaLimiteEsquerda() < getAreaLimiteDireita()) &&
-			(getAreaLimiteCima() < elementoDeTela.getAreaLimiteBaixo()) &&
-			(elementoDeTela.getAreaLimiteCima() < getAreaLimiteBaixo()));
+		if (!limitesColidem(elementoDeTela)) {
+			return false;
+		}
+
+		return mascarasColidem(elementoDeTela, 0.0f, 0.0f);
 	}
 
 	public boolean contemPonto(float x, float y) {
-		// A implementação padrão para o teste de pertinência de ponto se baseia apenas em um único
-		// teste de pertinência de ponto em retângulo, o que oferece resultados aceitáveis com um
-		// tempo de processamento rápido, considerando que o formato dos elementos realmente seja
-		// próximo ao de um retângulo
+		// A implementação padrão para o teste de pertinência de ponto se baseia em um teste de
+		// pertinência de ponto em retângulo, seguido do teste da máscara de pixels, caso exista
 		// Outras implementações podem utilizar testes de pertinência mais complexos, como
 		// pertinência de ponto em círculo, elipse ou até mesmo em um ou mais polígonos
-		return ((getAreaLimiteEsquerda() <= x) &&
-			(x < getAreaLimiteDireita()) &&
-			(getAreaLimiteCima() <= y) &&
-			(y < getAreaLimiteBaixo()));
+		if (!limitesContemPonto(x, y)) {
+			return false;
+		}
+
+		MascaraDePixels mascaraDePixels = getMascaraDePixels();
+		return ((mascaraDePixels == null) ||
+			mascaraDePixels.contemPonto((int)(x - getAreaLimiteEsquerda()), (int)(y - getAreaLimiteCima())));
 	}
 
 	public final void altereAreaLimite(CoordenadasDeModelo coordenadasDeModelo, float x, float y) {
-		setAreaLimiteEsquerda(coordenadasDeModelo.getEsquerda() + x);
-		setAreaLimiteCima(coordenadasDeModelo.getCima() + y);
-		setAreaLimiteDireita(coordenadasDeModelo.getDireita() + x);
-		setAreaLimiteBaixo(coordenadasDeModelo.getBaixo() + y);
-
-		ListaDeElementosDeTela lista = getLista();
-		if (isParteDoSistemaDeColisoes() && lista != null) {
-			// Pedimos à lista de elementos à qual esse elemento pertence, para que ela faça as
-			// alterações necessárias internamente
-			lista.areaLimiteAlterada(this);
-		}
+		setMascaraDePixels(null);
+		altereAreaLimiteInternamente(
+			coordenadasDeModelo.getEsquerda() + x,
+			coordenadasDeModelo.getCima() + y,
+			coordenadasDeModelo.getDireita() + x,
+			coordenadasDeModelo.getBaixo() + y);
 	}
 
 	public final void altereAreaLimite(float esquerda, float cima, float direita, float baixo) {
-		setAreaLimiteEsquerda(esquerda);
-		setAreaLimiteCima(cima);
-		setAreaLimiteDireita(direita);
-		setAreaLimiteBaixo(baixo);
+		setMascaraDePixels(null);
+		altereAreaLimiteInternamente(esquerda, cima, direita, baixo);
+	}
 
-		ListaDeElementosDeTela lista = getLista();
-		if (isParteDoSistemaDeColisoes() && lista != null) {
-			// Pedimos à lista de elementos à qual esse elemento pertence, para que ela faça as
-			// alterações necessárias internamente
-			lista.areaLimiteAlterada(this);
-		}
+	public final void altereAreaLimite(MascaraDePixels mascaraDePixels, float x, float y) {
+		// A área limite passa a ser o retângulo ocupado pela máscara, que será utilizada para
+		// refinar as colisões, depois que os retângulos se intersectarem
+		setMascaraDePixels(mascaraDePixels);
+		CoordenadasDeModelo coordenadasDeModelo = mascaraDePixels.getCoordenadasDeModelo();
+		altereAreaLimiteInternamente(
+			coordenadasDeModelo.getEsquerda() + x,
+			coordenadasDeModelo.getCima() + y,
+			coordenadasDeModelo.getDireita() + x,
+			coordenadasDeModelo.getBaixo() + y);
+	}
+
+	public final float tempoDeImpacto(ElementoDeTela elementoDeTela) {
+		// Devolve o instante (entre 0 e 1, dentro do quadro atual) em que as áreas limite dos dois
+		// elementos começaram a se intersectar, considerando o deslocamento de ambos durante o
+		// quadro, ou -1 caso elas não tenham se intersectado durante o quadro
+		float entrada = varraAte(elementoDeTela, false);
+		return (Float.isNaN(entrada) ? -1.0f : entrada);
 	}
 
 	public abstract void processeUmQuadro(float deltaSegundos);
 
+	// Chamado durante a fase de colisões da lista (depois que todos os elementos foram processados,
+	// e antes de serem desenhados), apenas para os testadores de colisões
+	// Quando um testador colide com vários elementos no mesmo quadro, esse método é chamado uma vez
+	// para cada elemento, em uma ordem que não depende da posição dos elementos na lista
+	public void colidiuCom(ElementoDeTela elementoDeTela) {
+	}
+
+	// Um testador pode representar vários objetos que não são elementos de tela (como os tiros de
+	// um sistema de tiros): nesse caso, esse método devolve quantos objetos devem ser testados no
+	// quadro atual, e a fase de colisões testa cada um deles, com a área e o deslocamento
+	// definidos por prepareSondaDoObjeto(), no lugar do próprio testador
+	public int getContagemDeObjetosDeColisoes() {
+		return 0;
+	}
+
+	public void prepareSondaDoObjeto(int objeto, SondaDeColisoes sonda) {
+	}
+
+	// Equivalente a colidiuCom(), para cada objeto do testador: quando um objeto colide com vários
+	// elementos no mesmo quadro, os elementos chegam na ordem em que o objeto os atingiu
+	public void objetoColidiuCom(int objeto, ElementoDeTela elementoDeTela) {
+	}
+
 	public abstract void desenheUmQuadro();
 }
@@ -0,0 +1,270 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
+
+// A grade de colisões divide o espaço em células quadradas de mesmo tamanho, e mantém, para cada
+// célula, os elementos cujos retângulos limítrofes a tocam. Assim, uma consulta precisa testar
+// apenas os elementos que estão nas células tocadas pelo elemento (ou ponto) sendo testado, em vez
+// de testar todos os elementos da lista
+// Como a área do jogo não é limitada (tiros, por exemplo, podem sair da tela), as células não são
+// armazenadas em uma matriz, mas sim espalhadas em uma quantidade fixa de baldes, por meio de uma
+// função de espalhamento (duas células diferentes podem cair no mesmo balde, o que não é um
+// problema, já que todos os candidatos são testados no final)
+final class GradeDeColisoes extends SistemaDeColisoes {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// Deve ser uma potência de 2
+	private static final int CONTAGEM_DE_BALDES = 256;
+	private static final int CAPACIDADE_INICIAL_DO_BALDE = 4;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private final float tamanhoDaCelula, inversoDoTamanhoDaCelula;
+	private final ElementoDeTela[][] baldes;
+	private final int[] contagens;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	GradeDeColisoes(float tamanhoDaCelula) {
+		if (tamanhoDaCelula <= 0.0f) {
+			throw new IllegalArgumentException("tamanhoDaCelula deve ser > 0");
+		}
+
+		this.tamanhoDaCelula = tamanhoDaCelula;
+		this.inversoDoTamanhoDaCelula = 1.0f / tamanhoDaCelula;
+		this.baldes = new ElementoDeTela[CONTAGEM_DE_BALDES][];
+		this.contagens = new int[CONTAGEM_DE_BALDES];
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private float getTamanhoDaCelula() {
+		return tamanhoDaCelula;
+	}
+
+	private float getInversoDoTamanhoDaCelula() {
+		return inversoDoTamanhoDaCelula;
+	}
+
+	private ElementoDeTela[][] getBaldes() {
+		return baldes;
+	}
+
+	private int[] getContagens() {
+		return contagens;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private int celula(float coordenada) {
+		// Math.floor() é necessário para que coordenadas negativas caiam na célula correta
+		return (int)Math.floor(coordenada * getInversoDoTamanhoDaCelula());
+	}
+
+	private static int indiceDoBalde(int celulaX, int celulaY) {
+		// Dois números primos grandes espalham bem células vizinhas entre os baldes
+		return ((celulaX * 73856093) ^ (celulaY * 19349663)) & (CONTAGEM_DE_BALDES - 1);
+	}
+
+	private void adicioneAoBalde(int indice, ElementoDeTela elementoDeTela) {
+		ElementoDeTela[][] baldes = getBaldes();
+		int[] contagens = getContagens();
+
+		ElementoDeTela[] balde = baldes[indice];
+		int contagem = contagens[indice];
+
+		if (balde == null) {
+			balde = new ElementoDeTela[CAPACIDADE_INICIAL_DO_BALDE];
+			baldes[indice] = balde;
+		} else if (contagem == balde.length) {
+			ElementoDeTela[] novoBalde = new ElementoDeTela[contagem << 1];
+			System.arraycopy(balde, 0, novoBalde, 0, contagem);
+			balde = novoBalde;
+			baldes[indice] = balde;
+		}
+
+		balde[contagem] = elementoDeTela;
+		contagens[indice] = contagem + 1;
+	}
+
+	private void removaDoBalde(int indice, ElementoDeTela elementoDeTela) {
+		ElementoDeTela[] balde = getBaldes()[indice];
+		int[] contagens = getContagens();
+		int contagem = contagens[indice];
+
+		for (int i = contagem - 1; i >= 0; i--) {
+			if (balde[i] == elementoDeTela) {
+				// A ordem dentro do balde não importa, então basta trazer o último para cá
+				contagem--;
+				balde[i] = balde[contagem];
+				balde[contagem] = null;
+				contagens[indice] = contagem;
+				return;
+			}
+		}
+	}
+
+	@Override
+	SistemaDeColisoes crieSemelhante() {
+		return new GradeDeColisoes(getTamanhoDaCelula());
+	}
+
+	@Override
+	void adicione(ElementoDeTela elementoDeTela) {
+		int celulaEsquerda = celula(elementoDeTela.getAreaLimiteEsquerda());
+		int celulaCima = celula(elementoDeTela.getAreaLimiteCima());
+		int celulaDireita = celula(elementoDeTela.getAreaLimiteDireita());
+		int celulaBaixo = celula(elementoDeTela.getAreaLimiteBaixo());
+
+		// Guardamos as células no próprio elemento, para que ele possa ser removido depois, mesmo
+		// que sua área limite tenha sido alterada
+		elementoDeTela.altereCelulas(celulaEsquerda, celulaCima, celulaDireita, celulaBaixo);
+
+		for (int y = celulaCima; y <= celulaBaixo; y++) {
+			for (int x = celulaEsquerda; x <= celulaDireita; x++) {
+				adicioneAoBalde(indiceDoBalde(x, y), elementoDeTela);
+			}
+		}
+	}
+
+	@Override
+	void remova(ElementoDeTela elementoDeTela) {
+		int celulaDireita = elementoDeTela.getCelulaDireita();
+		int celulaBaixo = elementoDeTela.getCelulaBaixo();
+
+		for (int y = elementoDeTela.getCelulaCima(); y <= celulaBaixo; y++) {
+			for (int x = elementoDeTela.getCelulaEsquerda(); x <= celulaDireita; x++) {
+				removaDoBalde(indiceDoBalde(x, y), elementoDeTela);
+			}
+		}
+	}
+
+	@Override
+	void atualize(ElementoDeTela elementoDeTela) {
+		// Na maioria dos quadros, o elemento se move tão pouco que continua nas mesmas células, e
+		// não há nada a ser feito
+		if (elementoDeTela.getCelulaEsquerda() == celula(elementoDeTela.getAreaLimiteEsquerda()) &&
+			elementoDeTela.getCelulaCima() == celula(elementoDeTela.getAreaLimiteCima()) &&
+			elementoDeTela.getCelulaDireita() == celula(elementoDeTela.getAreaLimiteDireita()) &&
+			elementoDeTela.getCelulaBaixo() == celula(elementoDeTela.getAreaLimiteBaixo())) {
+			return;
+		}
+
+		remova(elementoDeTela);
+		adicione(elementoDeTela);
+	}
+
+	@Override
+	void limpe() {
+		ElementoDeTela[][] baldes = getBaldes();
+		int[] contagens = getContagens();
+
+		for (int i = CONTAGEM_DE_BALDES - 1; i >= 0; i--) {
+			ElementoDeTela[] balde = baldes[i];
+			if (balde != null) {
+				for (int j = contagens[i] - 1; j >= 0; j--) {
+					balde[j] = null;
+				}
+			}
+			contagens[i] = 0;
+		}
+	}
+
+	@Override
+	void elementosQueColidem(ElementoDeTela elementoParaTestar, ConsultaDeColisoes consulta) {
+		int numeroDaConsulta = consulta.getNumero();
+
+		int celulaEsquerda = celula(elementoParaTestar.getAreaDeConsultaEsquerda());
+		int celulaCima = celula(elementoParaTestar.getAreaDeConsultaCima());
+		int celulaDireita = celula(elementoParaTestar.getAreaDeConsultaDireita());
+		int celulaBaixo = celula(elementoParaTestar.getAreaDeConsultaBaixo());
+
+		ElementoDeTela[][] baldes = getBaldes();
+		int[] contagens = getContagens();
+
+		for (int y = celulaCima; y <= celulaBaixo; y++) {
+			for (int x = celulaEsquerda; x <= celulaDireita; x++) {
+				int indice = indiceDoBalde(x, y);
+				ElementoDeTela[] balde = baldes[indice];
+
+				for (int i = contagens[indice] - 1; i >= 0; i--) {
+					ElementoDeTela elementoDeTela = balde[i];
+
+					// Um mesmo elemento pode estar em mais de uma célula, mas deve ser testado
+					// apenas uma vez
+					if (elementoDeTela.getUltimaConsulta() == numeroDaConsulta) {
+						continue;
+					}
+					elementoDeTela.setUltimaConsulta(numeroDaConsulta);
+
+					if (elementoParaTestar.colideDuranteOQuadroCom(elementoDeTela)) {
+						consulta.adicione(elementoDeTela);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	void elementosQueContemPonto(float x, float y, ConsultaDeColisoes consulta) {
+		int numeroDaConsulta = consulta.getNumero();
+
+		// Um ponto está sempre dentro de uma única célula
+		int indice = indiceDoBalde(celula(x), celula(y));
+		ElementoDeTela[] balde = getBaldes()[indice];
+
+		for (int i = getContagens()[indice] - 1; i >= 0; i--) {
+			ElementoDeTela elementoDeTela = balde[i];
+
+			// Duas células de um mesmo elemento podem ter caído no mesmo balde
+			if (elementoDeTela.getUltimaConsulta() == numeroDaConsulta) {
+				continue;
+			}
+			elementoDeTela.setUltimaConsulta(numeroDaConsulta);
+
+			if (elementoDeTela.contemPonto(x, y)) {
+				consulta.adicione(elementoDeTela);
+			}
+		}
+	}
+}
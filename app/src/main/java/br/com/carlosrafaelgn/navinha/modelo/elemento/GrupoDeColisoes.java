@@ -0,0 +1,293 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
+
+// Um grupo de colisões reúne elementos logicamente relacionados (como os inimigos de uma horda), e
+// mantém uma área limite que engloba todos eles. Os membros de um grupo não entram nos sistemas de
+// colisões da lista: durante uma consulta, a área do grupo é testada primeiro, e os membros só
+// são testados um a um quando ela é atingida, o que permite descartar o grupo inteiro com um único
+// teste
+// A área do grupo apenas cresce conforme os membros se movem, e é reajustada (encolhida) no máximo
+// uma vez por quadro, antes da fase de colisões da lista, por isso ela nunca é menor do que deveria
+// Cada grupo deve ser utilizado por uma única lista!
+public final class GrupoDeColisoes {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final int CAPACIDADE_INICIAL = 16;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	// Apenas os membros que fazem parte do sistema de colisões de uma lista ficam aqui (o índice
+	// de cada um é armazenado em ElementoDeTela.indiceNoSistemaDeColisoes)
+	private ElementoDeTela[] membros;
+	private int contagemDeMembros, indiceNaLista;
+	private float areaLimiteEsquerda, areaLimiteCima, areaLimiteDireita, areaLimiteBaixo;
+	// União das camadas de todos os membros (pode conter camadas a mais, até o próximo reajuste)
+	private int camadasDeColisao;
+	private boolean reajustePendente;
+	private ListaDeElementosDeTela lista;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public GrupoDeColisoes() {
+		this.membros = new ElementoDeTela[CAPACIDADE_INICIAL];
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private ElementoDeTela[] getMembros() {
+		return membros;
+	}
+
+	private void setMembros(ElementoDeTela[] membros) {
+		this.membros = membros;
+	}
+
+	public int getContagemDeMembros() {
+		return contagemDeMembros;
+	}
+
+	private void setContagemDeMembros(int contagemDeMembros) {
+		this.contagemDeMembros = contagemDeMembros;
+	}
+
+	int getIndiceNaLista() {
+		return indiceNaLista;
+	}
+
+	void setIndiceNaLista(int indiceNaLista) {
+		this.indiceNaLista = indiceNaLista;
+	}
+
+	public float getAreaLimiteEsquerda() {
+		return areaLimiteEsquerda;
+	}
+
+	private void setAreaLimiteEsquerda(float areaLimiteEsquerda) {
+		this.areaLimiteEsquerda = areaLimiteEsquerda;
+	}
+
+	public float getAreaLimiteCima() {
+		return areaLimiteCima;
+	}
+
+	private void setAreaLimiteCima(float areaLimiteCima) {
+		this.areaLimiteCima = areaLimiteCima;
+	}
+
+	public float getAreaLimiteDireita() {
+		return areaLimiteDireita;
+	}
+
+	private void setAreaLimiteDireita(float areaLimiteDireita) {
+		this.areaLimiteDireita = areaLimiteDireita;
+	}
+
+	public float getAreaLimiteBaixo() {
+		return areaLimiteBaixo;
+	}
+
+	private void setAreaLimiteBaixo(float areaLimiteBaixo) {
+		this.areaLimiteBaixo = areaLimiteBaixo;
+	}
+
+	private int getCamadasDeColisao() {
+		return camadasDeColisao;
+	}
+
+	private void setCamadasDeColisao(int camadasDeColisao) {
+		this.camadasDeColisao = camadasDeColisao;
+	}
+
+	private boolean isReajustePendente() {
+		return reajustePendente;
+	}
+
+	private void setReajustePendente(boolean reajustePendente) {
+		this.reajustePendente = reajustePendente;
+	}
+
+	ListaDeElementosDeTela getLista() {
+		return lista;
+	}
+
+	void setLista(ListaDeElementosDeTela lista) {
+		this.lista = lista;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private void englobe(ElementoDeTela elementoDeTela) {
+		setAreaLimiteEsquerda(Math.min(getAreaLimiteEsquerda(), elementoDeTela.getAreaLimiteEsquerda()));
+		setAreaLimiteCima(Math.min(getAreaLimiteCima(), elementoDeTela.getAreaLimiteCima()));
+		setAreaLimiteDireita(Math.max(getAreaLimiteDireita(), elementoDeTela.getAreaLimiteDireita()));
+		setAreaLimiteBaixo(Math.max(getAreaLimiteBaixo(), elementoDeTela.getAreaLimiteBaixo()));
+	}
+
+	private void reinicieArea(ElementoDeTela elementoDeTela) {
+		setAreaLimiteEsquerda(elementoDeTela.getAreaLimiteEsquerda());
+		setAreaLimiteCima(elementoDeTela.getAreaLimiteCima());
+		setAreaLimiteDireita(elementoDeTela.getAreaLimiteDireita());
+		setAreaLimiteBaixo(elementoDeTela.getAreaLimiteBaixo());
+	}
+
+	void adicione(ElementoDeTela elementoDeTela) {
+		ElementoDeTela[] membros = getMembros();
+		int contagemDeMembros = getContagemDeMembros();
+
+		if (contagemDeMembros == membros.length) {
+			ElementoDeTela[] novosMembros = new ElementoDeTela[contagemDeMembros << 1];
+			System.arraycopy(membros, 0, novosMembros, 0, contagemDeMembros);
+			membros = novosMembros;
+			setMembros(membros);
+		}
+
+		if (contagemDeMembros == 0) {
+			reinicieArea(elementoDeTela);
+			setCamadasDeColisao(elementoDeTela.getCamadaDeColisao());
+		} else {
+			englobe(elementoDeTela);
+			setCamadasDeColisao(getCamadasDeColisao() | elementoDeTela.getCamadaDeColisao());
+		}
+
+		membros[contagemDeMembros] = elementoDeTela;
+		elementoDeTela.setIndiceNoSistemaDeColisoes(contagemDeMembros);
+		setContagemDeMembros(contagemDeMembros + 1);
+	}
+
+	void remova(ElementoDeTela elementoDeTela) {
+		// A ordem dos membros não importa, então basta trazer o último para cá
+		ElementoDeTela[] membros = getMembros();
+		int contagemDeMembros = getContagemDeMembros() - 1;
+		int indice = elementoDeTela.getIndiceNoSistemaDeColisoes();
+
+		ElementoDeTela ultimo = membros[contagemDeMembros];
+		membros[indice] = ultimo;
+		ultimo.setIndiceNoSistemaDeColisoes(indice);
+		membros[contagemDeMembros] = null;
+		setContagemDeMembros(contagemDeMembros);
+
+		// A área continua englobando todos os membros restantes, mas pode ter ficado maior do que
+		// o necessário
+		setReajustePendente(true);
+	}
+
+	void atualize(ElementoDeTela elementoDeTela) {
+		// Crescer é barato e mantém a área sempre correta, enquanto que encolher exige percorrer
+		// todos os membros, e por isso fica para o próximo reajuste
+		englobe(elementoDeTela);
+		setReajustePendente(true);
+	}
+
+	void reajuste() {
+		if (!isReajustePendente()) {
+			return;
+		}
+		setReajustePendente(false);
+
+		ElementoDeTela[] membros = getMembros();
+		int contagemDeMembros = getContagemDeMembros();
+		if (contagemDeMembros == 0) {
+			return;
+		}
+
+		reinicieArea(membros[0]);
+		int camadasDeColisao = membros[0].getCamadaDeColisao();
+		for (int i = contagemDeMembros - 1; i > 0; i--) {
+			ElementoDeTela elementoDeTela = membros[i];
+			englobe(elementoDeTela);
+			camadasDeColisao |= elementoDeTela.getCamadaDeColisao();
+		}
+		setCamadasDeColisao(camadasDeColisao);
+	}
+
+	void limpe() {
+		ElementoDeTela[] membros = getMembros();
+		for (int i = getContagemDeMembros() - 1; i >= 0; i--) {
+			membros[i] = null;
+		}
+		setContagemDeMembros(0);
+		setReajustePendente(false);
+		setLista(null);
+	}
+
+	void elementosQueColidem(ElementoDeTela elementoParaTestar, int mascaraDeColisao, ConsultaDeColisoes consulta) {
+		// Um único teste descarta o grupo inteiro (o teste não é estrito, assim como o das
+		// células e dos nós dos sistemas de colisões)
+		if ((getCamadasDeColisao() & mascaraDeColisao) == 0 ||
+			elementoParaTestar.getAreaDeConsultaEsquerda() > getAreaLimiteDireita() ||
+			getAreaLimiteEsquerda() > elementoParaTestar.getAreaDeConsultaDireita() ||
+			elementoParaTestar.getAreaDeConsultaCima() > getAreaLimiteBaixo() ||
+			getAreaLimiteCima() > elementoParaTestar.getAreaDeConsultaBaixo()) {
+			return;
+		}
+
+		ElementoDeTela[] membros = getMembros();
+		for (int i = getContagemDeMembros() - 1; i >= 0; i--) {
+			ElementoDeTela elementoDeTela = membros[i];
+			if ((elementoDeTela.getCamadaDeColisao() & mascaraDeColisao) != 0 &&
+				elementoParaTestar.colideDuranteOQuadroCom(elementoDeTela)) {
+				consulta.adicione(elementoDeTela);
+			}
+		}
+	}
+
+	void elementosQueContemPonto(float x, float y, int mascaraDeColisao, ConsultaDeColisoes consulta) {
+		if ((getCamadasDeColisao() & mascaraDeColisao) == 0 ||
+			x < getAreaLimiteEsquerda() ||
+			x > getAreaLimiteDireita() ||
+			y < getAreaLimiteCima() ||
+			y > getAreaLimiteBaixo()) {
+			return;
+		}
+
+		ElementoDeTela[] membros = getMembros();
+		for (int i = getContagemDeMembros() - 1; i >= 0; i--) {
+			ElementoDeTela elementoDeTela = membros[i];
+			if ((elementoDeTela.getCamadaDeColisao() & mascaraDeColisao) != 0 &&
+				elementoDeTela.contemPonto(x, y)) {
+				consulta.adicione(elementoDeTela);
+			}
+		}
+	}
+}
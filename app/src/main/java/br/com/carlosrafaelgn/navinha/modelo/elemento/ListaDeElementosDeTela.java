@@ -41,7 +41,21 @@ public final class ListaDeElementosDeTela extends Recurso {
 	// Interfaces e classes internas
 	//----------------------------------------------------------------------------------------------
 
-	private static class AcaoPendente {
+	public interface Visitante {
+		//------------------------------------------------------------------------------------------
+		// Métodos públicos
+		//------------------------------------------------------------------------------------------
+
+		// Deve retornar false para interromper a visita aos elementos restantes
+		// Durante a visita, não é permitido fazer outras consultas à mesma lista!
+		boolean visite(ElementoDeTela elementoDeTela);
+	}
+
+	// As ações pendentes ficam em um vetor circular que cresce conforme a necessidade, e que é
+	// reutilizado a cada quadro: cada ação é representada pelas posições de mesmo índice nos três
+	// vetores (o tipo e o plano codificados em um int, o elemento e o elemento de referência), de
+	// modo que agendar uma ação não cria objeto algum
+	private static final class FilaDeAcoesPendentes {
 		//------------------------------------------------------------------------------------------
 		// Constantes
 		//------------------------------------------------------------------------------------------
@@ -56,183 +70,365 @@ public final class ListaDeElementosDeTela extends Recurso {
 		public static final int SUBA_UM_NIVEL = 7;
 		public static final int DESCA_UM_NIVEL = 8;
 
+		// O tipo da ação ocupa os bits mais baixos do código, e o plano, os bits acima deles
+		private static final int BITS_DO_TIPO = 4;
+		private static final int MASCARA_DO_TIPO = (1 << BITS_DO_TIPO) - 1;
+
+		private static final int CAPACIDADE_INICIAL = 16;
+
 		//------------------------------------------------------------------------------------------
 		// Campos privados
 		//------------------------------------------------------------------------------------------
 
-		private AcaoPendente acaoSeguinte;
-		private ElementoDeTela elementoDeTela, elementoDeReferencia;
-		private int tipoAcao;
+		private int[] codigos;
+		private ElementoDeTela[] elementos, elementosDeReferencia;
+		private int inicio, contagem;
 
 		//------------------------------------------------------------------------------------------
 		// Construtores
 		//------------------------------------------------------------------------------------------
 
-		public AcaoPendente(ElementoDeTela elementoDeTela, ElementoDeTela elementoDeReferencia, int tipoAcao) {
-			setElementoDeTela(elementoDeTela);
-			setElementoDeReferencia(elementoDeReferencia);
-			setTipoAcao(tipoAcao);
+		public FilaDeAcoesPendentes() {
+			setCodigos(new int[CAPACIDADE_INICIAL]);
+			setElementos(new ElementoDeTela[CAPACIDADE_INICIAL]);
+			setElementosDeReferencia(new ElementoDeTela[CAPACIDADE_INICIAL]);
 		}
 
 		//------------------------------------------------------------------------------------------
 		// Métodos acessores e modificadores
 		//------------------------------------------------------------------------------------------
 
-		public AcaoPendente getAcaoSeguinte() {
-			return acaoSeguinte;
+		private int[] getCodigos() {
+			return codigos;
 		}
 
-		public void setAcaoSeguinte(AcaoPendente acaoSeguinte) {
-			this.acaoSeguinte = acaoSeguinte;
+		private void setCodigos(int[] codigos) {
+			this.codigos = codigos;
 		}
 
-		private ElementoDeTela getElementoDeTela() {
-			return elementoDeTela;
+		private ElementoDeTela[] getElementos() {
+			return elementos;
 		}
 
-		private void setElementoDeTela(ElementoDeTela elementoDeTela) {
-			this.elementoDeTela = elementoDeTela;
+		private void setElementos(ElementoDeTela[] elementos) {
+			this.elementos = elementos;
 		}
 
-		private ElementoDeTela getElementoDeReferencia() {
-			return elementoDeReferencia;
+		private ElementoDeTela[] getElementosDeReferencia() {
+			return elementosDeReferencia;
 		}
 
-		private void setElementoDeReferencia(ElementoDeTela elementoDeReferencia) {
-			this.elementoDeReferencia = elementoDeReferencia;
+		private void setElementosDeReferencia(ElementoDeTela[] elementosDeReferencia) {
+			this.elementosDeReferencia = elementosDeReferencia;
 		}
 
-		private int getTipoAcao() {
-			return tipoAcao;
+		private int getInicio() {
+			return inicio;
 		}
 
-		private void setTipoAcao(int tipoAcao) {
-			this.tipoAcao = tipoAcao;
+		private void setInicio(int inicio) {
+			this.inicio = inicio;
+		}
+
+		public int getContagem() {
+			return contagem;
+		}
+
+		private void setContagem(int contagem) {
+			this.contagem = contagem;
+		}
+
+		//------------------------------------------------------------------------------------------
+		// Métodos privados e protegidos
+		//------------------------------------------------------------------------------------------
+
+		private void cresca() {
+			int[] codigos = getCodigos();
+			ElementoDeTela[] elementos = getElementos();
+			ElementoDeTela[] elementosDeReferencia = getElementosDeReferencia();
+
+			int capacidade = codigos.length;
+			int inicio = getInicio();
+			int[] novosCodigos = new int[capacidade << 1];
+			ElementoDeTela[] novosElementos = new ElementoDeTela[capacidade << 1];
+			ElementoDeTela[] novosElementosDeReferencia = new ElementoDeTela[capacidade << 1];
+
+			// A fila está cheia, então ela é copiada em duas partes (do início até o final do
+			// vetor, e do começo do vetor até o início), e passa a começar no índice 0
+			int tamanhoDaPrimeiraParte = capacidade - inicio;
+			System.arraycopy(codigos, inicio, novosCodigos, 0, tamanhoDaPrimeiraParte);
+			System.arraycopy(codigos, 0, novosCodigos, tamanhoDaPrimeiraParte, inicio);
+			System.arraycopy(elementos, inicio, novosElementos, 0, tamanhoDaPrimeiraParte);
+			System.arraycopy(elementos, 0, novosElementos, tamanhoDaPrimeiraParte, inicio);
+			System.arraycopy(elementosDeReferencia, inicio, novosElementosDeReferencia, 0, tamanhoDaPrimeiraParte);
+			System.arraycopy(elementosDeReferencia, 0, novosElementosDeReferencia, tamanhoDaPrimeiraParte, inicio);
+
+			setCodigos(novosCodigos);
+			setElementos(novosElementos);
+			setElementosDeReferencia(novosElementosDeReferencia);
+			setInicio(0);
+		}
+
+		private static void destruaForaDaLista(ElementoDeTela elementoDeTela) {
+			// Um mesmo elemento pode aparecer nas duas filas (uma adição e uma remoção agendadas
+			// para o mesmo quadro), mas só pode ser devolvido ao seu reservatório uma vez
+			if (elementoDeTela != null && elementoDeTela.getLista() == null && !elementoDeTela.isNoReservatorio()) {
+				elementoDeTela.destruaOuDevolva();
+			}
 		}
 
 		//------------------------------------------------------------------------------------------
 		// Métodos públicos
 		//------------------------------------------------------------------------------------------
 
+		public void adicione(ElementoDeTela elementoDeTela, ElementoDeTela elementoDeReferencia, int plano, int tipoAcao) {
+			int contagem = getContagem();
+
+			if (contagem == getCodigos().length) {
+				cresca();
+			}
+
+			int[] codigos = getCodigos();
+			// A capacidade é sempre uma potência de 2
+			int indice = (getInicio() + contagem) & (codigos.length - 1);
+
+			codigos[indice] = (plano << BITS_DO_TIPO) | tipoAcao;
+			getElementos()[indice] = elementoDeTela;
+			getElementosDeReferencia()[indice] = elementoDeReferencia;
+
+			setContagem(contagem + 1);
+		}
+
 		public void carregue() {
-			carregueComSeguranca(getElementoDeTela());
-			carregueComSeguranca(getElementoDeReferencia());
+			ElementoDeTela[] elementos = getElementos();
+			ElementoDeTela[] elementosDeReferencia = getElementosDeReferencia();
+			int mascaraDoIndice = elementos.length - 1;
+
+			for (int i = getInicio(), restantes = getContagem(); restantes > 0; i = (i + 1) & mascaraDoIndice, restantes--) {
+				carregueComSeguranca(elementos[i]);
+				carregueComSeguranca(elementosDeReferencia[i]);
+			}
 		}
 
 		public void libere() {
-			libereComSeguranca(getElementoDeTela());
-			libereComSeguranca(getElementoDeReferencia());
+			ElementoDeTela[] elementos = getElementos();
+			ElementoDeTela[] elementosDeReferencia = getElementosDeReferencia();
+			int mascaraDoIndice = elementos.length - 1;
+
+			for (int i = getInicio(), restantes = getContagem(); restantes > 0; i = (i + 1) & mascaraDoIndice, restantes--) {
+				libereComSeguranca(elementos[i]);
+				libereComSeguranca(elementosDeReferencia[i]);
+			}
 		}
 
 		public void destrua() {
-			// Vamos invalidar o objeto
-
-			destruaComSeguranca(getElementoDeTela());
-			destruaComSeguranca(getElementoDeReferencia());
+			// Vamos esvaziar a fila (apenas os elementos que não pertencem a uma lista precisam
+			// ser destruídos aqui, pois os demais serão destruídos pela própria lista)
+
+			ElementoDeTela[] elementos = getElementos();
+			ElementoDeTela[] elementosDeReferencia = getElementosDeReferencia();
+			int mascaraDoIndice = elementos.length - 1;
+
+			for (int i = getInicio(), restantes = getContagem(); restantes > 0; i = (i + 1) & mascaraDoIndice, restantes--) {
+				destruaForaDaLista(elementos[i]);
+				destruaForaDaLista(elementosDeReferencia[i]);
+				elementos[i] = null;
+				elementosDeReferencia[i] = null;
+			}
 
-			setAcaoSeguinte(null);
-			setElementoDeTela(null);
-			setElementoDeReferencia(null);
+			setInicio(0);
+			setContagem(0);
 		}
 
 		public void execute(ListaDeElementosDeTela listaDeElementosDeTela) {
-			switch (getTipoAcao()) {
-			case ADICIONE_AO_INICIO:
-				listaDeElementosDeTela.adicioneAoInicio(getElementoDeTela());
-				break;
-			case ADICIONE_AO_FINAL:
-				listaDeElementosDeTela.adicioneAoFinal(getElementoDeTela());
-				break;
-			case ADICIONE_ACIMA:
-				listaDeElementosDeTela.adicioneAcima(getElementoDeTela(), getElementoDeReferencia());
-				break;
-			case REMOVA:
-				listaDeElementosDeTela.remova(getElementoDeTela());
-				break;
-			case REMOVA_E_DESTRUA:
-				listaDeElementosDeTela.removaEDestrua(getElementoDeTela());
-				break;
-			case MOVA_PARA_O_INICIO:
-				listaDeElementosDeTela.movaParaOInicio(getElementoDeTela());
-				break;
-			case MOVA_PARA_O_FINAL:
-				listaDeElementosDeTela.movaParaOFinal(getElementoDeTela());
-				break;
-			case SUBA_UM_NIVEL:
-				listaDeElementosDeTela.subaUmNivel(getElementoDeTela());
-				break;
-			case DESCA_UM_NIVEL:
-				listaDeElementosDeTela.descaUmNivel(getElementoDeTela());
-				break;
+			int[] codigos = getCodigos();
+			ElementoDeTela[] elementos = getElementos();
+			ElementoDeTela[] elementosDeReferencia = getElementosDeReferencia();
+			int mascaraDoIndice = codigos.length - 1;
+
+			// Como a lista não está mais processando, nenhuma das ações executadas aqui agenda uma
+			// nova ação, e, por isso, os vetores não mudam durante a execução
+			for (int i = getInicio(), restantes = getContagem(); restantes > 0; i = (i + 1) & mascaraDoIndice, restantes--) {
+				int codigo = codigos[i];
+				ElementoDeTela elementoDeTela = elementos[i];
+				ElementoDeTela elementoDeReferencia = elementosDeReferencia[i];
+
+				// As posições são liberadas antes da execução, para que a fila não mantenha
+				// referências para elementos que podem ter sido destruídos
+				elementos[i] = null;
+				elementosDeReferencia[i] = null;
+
+				switch (codigo & MASCARA_DO_TIPO) {
+				case ADICIONE_AO_INICIO:
+					listaDeElementosDeTela.adicioneAoInicio(codigo >>> BITS_DO_TIPO, elementoDeTela);
+					break;
+				case ADICIONE_AO_FINAL:
+					listaDeElementosDeTela.adicioneAoFinal(codigo >>> BITS_DO_TIPO, elementoDeTela);
+					break;
+				case ADICIONE_ACIMA:
+					listaDeElementosDeTela.adicioneAcima(elementoDeTela, elementoDeReferencia);
+					break;
+				case REMOVA:
+					listaDeElementosDeTela.remova(elementoDeTela);
+					break;
+				case REMOVA_E_DESTRUA:
+					listaDeElementosDeTela.removaEDestrua(elementoDeTela);
+					break;
+				case MOVA_PARA_O_INICIO:
+					listaDeElementosDeTela.movaParaOInicio(elementoDeTela);
+					break;
+				case MOVA_PARA_O_FINAL:
+					listaDeElementosDeTela.movaParaOFinal(elementoDeTela);
+					break;
+				case SUBA_UM_NIVEL:
+					listaDeElementosDeTela.subaUmNivel(elementoDeTela);
+					break;
+				case DESCA_UM_NIVEL:
+					listaDeElementosDeTela.descaUmNivel(elementoDeTela);
+					break;
+				}
 			}
 
-			setAcaoSeguinte(null);
-			setElementoDeTela(null);
-			setElementoDeReferencia(null);
+			setInicio(0);
+			setContagem(0);
 		}
 	}
 
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// Em pixels (algo entre duas e três vezes o tamanho da nave, na maioria das telas), utilizado
+	// pelas listas criadas sem um sistema de colisões específico
+	public static final float TAMANHO_PADRAO_DA_CELULA_DE_COLISAO = 128.0f;
+
+	// Os planos dividem a lista em faixas de profundidade fixas: todos os elementos de um plano são
+	// desenhados acima de todos os elementos dos planos anteriores, independente da ordem em que
+	// foram adicionados, e cada plano pode ser pausado (não é processado) ou ocultado (não é
+	// desenhado) por inteiro
+	public static final int PLANO_DE_FUNDO = 0;
+	public static final int PLANO_DO_MUNDO = 1;
+	public static final int PLANO_DOS_EFEITOS = 2;
+	public static final int PLANO_DA_INTERFACE = 3;
+	public static final int PLANO_DE_SOBREPOSICAO = 4;
+	public static final int QUANTIDADE_DE_PLANOS = 5;
+	// Utilizado pelos métodos que não recebem um plano
+	public static final int PLANO_PADRAO = PLANO_DO_MUNDO;
+
+	private static final int CAPACIDADE_INICIAL_DOS_GRUPOS_DE_COLISOES = 4;
+	private static final int CAPACIDADE_INICIAL_DA_FASE_DE_COLISOES = 16;
+
 	//----------------------------------------------------------------------------------------------
 	// Campos privados
 	//----------------------------------------------------------------------------------------------
 
-	// No que diz respeito à ordem de desenho na tela, o primeiro elemento está acima de todos os
-	// outros, enquanto que o último elemento está abaixo de todos os outros
-	private ElementoDeTela primeiroElemento, ultimoElemento;
-	private AcaoPendente primeiraAcaoPendente, ultimaAcaoPendente, primeiraRemocaoPendente, ultimaRemocaoPendente;
-	private int contagemDeElementos;
+	// No que diz respeito à ordem de desenho na tela, dentro de cada plano, o primeiro elemento
+	// está acima de todos os outros, enquanto que o último elemento está abaixo de todos os outros
+	// (a forma como os elementos são guardados, e percorridos, fica por conta do armazenamento de
+	// cada plano)
+	private final ArmazenamentoDeElementos[] armazenamentosPorPlano;
+	private final int[] contagensDeElementosPorPlano;
+	private int planosPausados, planosOcultos;
+	private final FilaDeAcoesPendentes acoesPendentes, remocoesPendentes;
+	private int contagemDeElementos, numeroDoQuadro;
 	private boolean processando, carregado;
+	// Cada camada de colisão possui seu próprio sistema, criado apenas quando algum elemento
+	// daquela camada entra no sistema de colisões (o sistema fornecido no construtor é utilizado
+	// como modelo para os demais)
+	private final SistemaDeColisoes sistemaDeColisoes;
+	private final SistemaDeColisoes[] sistemasDeColisoesPorCamada;
+	private final ConsultaDeColisoes consultaDeColisoes;
+	private int camadasDeColisaoEmUso;
+	// Grupos com pelo menos um membro no sistema de colisões dessa lista
+	private GrupoDeColisoes[] gruposDeColisoes;
+	private int contagemDeGruposDeColisoes;
+	// Os testadores ficam em um vetor denso, e as colisões detectadas durante a fase de colisões
+	// ficam em quatro vetores paralelos (testador, objeto do testador, alvo e tempo de impacto),
+	// reaproveitados de um quadro para o outro
+	private ElementoDeTela[] testadoresDeColisoes, testadoresDasColisoes, alvosDasColisoes;
+	private int[] objetosDasColisoes;
+	private float[] temposDasColisoes;
+	private int contagemDeTestadoresDeColisoes, contagemDeColisoes;
+	// Representa, um de cada vez, os objetos dos testadores que representam vários objetos
+	private final SondaDeColisoes sondaDeColisoes;
 
 	//----------------------------------------------------------------------------------------------
-	// Métodos acessores e modificadores
+	// Construtores
 	//----------------------------------------------------------------------------------------------
 
-	private ElementoDeTela getPrimeiroElemento() {
-		return primeiroElemento;
+	public ListaDeElementosDeTela() {
+		this(SistemaDeColisoes.crieGrade(TAMANHO_PADRAO_DA_CELULA_DE_COLISAO));
 	}
 
-	private void setPrimeiroElemento(ElementoDeTela primeiroElemento) {
-		this.primeiroElemento = primeiroElemento;
+	public ListaDeElementosDeTela(SistemaDeColisoes sistemaDeColisoes) {
+		this(sistemaDeColisoes, ArmazenamentoDeElementos.crieListaLigada());
 	}
 
-	private ElementoDeTela getUltimoElemento() {
-		return ultimoElemento;
-	}
+	public ListaDeElementosDeTela(SistemaDeColisoes sistemaDeColisoes, ArmazenamentoDeElementos armazenamentoDeElementos) {
+		if (sistemaDeColisoes == null) {
+			throw new IllegalArgumentException("sistemaDeColisoes não pode ser nulo");
+		}
+
+		if (armazenamentoDeElementos == null) {
+			throw new IllegalArgumentException("armazenamentoDeElementos não pode ser nulo");
+		}
 
-	private void setUltimoElemento(ElementoDeTela ultimoElemento) {
-		this.ultimoElemento = ultimoElemento;
+		// O armazenamento fornecido fica com o plano padrão, e os demais são criados a partir dele
+		this.armazenamentosPorPlano = new ArmazenamentoDeElementos[QUANTIDADE_DE_PLANOS];
+		for (int i = 0; i < QUANTIDADE_DE_PLANOS; i++) {
+			this.armazenamentosPorPlano[i] = ((i == PLANO_PADRAO) ?
+				armazenamentoDeElementos :
+				armazenamentoDeElementos.crieSemelhante());
+		}
+		this.contagensDeElementosPorPlano = new int[QUANTIDADE_DE_PLANOS];
+		this.acoesPendentes = new FilaDeAcoesPendentes();
+		this.remocoesPendentes = new FilaDeAcoesPendentes();
+		this.sistemaDeColisoes = sistemaDeColisoes;
+		this.sistemasDeColisoesPorCamada = new SistemaDeColisoes[ElementoDeTela.QUANTIDADE_DE_CAMADAS_DE_COLISAO];
+		this.consultaDeColisoes = new ConsultaDeColisoes();
+		this.testadoresDeColisoes = new ElementoDeTela[CAPACIDADE_INICIAL_DA_FASE_DE_COLISOES];
+		this.testadoresDasColisoes = new ElementoDeTela[CAPACIDADE_INICIAL_DA_FASE_DE_COLISOES];
+		this.alvosDasColisoes = new ElementoDeTela[CAPACIDADE_INICIAL_DA_FASE_DE_COLISOES];
+		this.objetosDasColisoes = new int[CAPACIDADE_INICIAL_DA_FASE_DE_COLISOES];
+		this.temposDasColisoes = new float[CAPACIDADE_INICIAL_DA_FASE_DE_COLISOES];
+		this.gruposDeColisoes = new GrupoDeColisoes[CAPACIDADE_INICIAL_DOS_GRUPOS_DE_COLISOES];
+		this.sondaDeColisoes = new SondaDeColisoes(this);
 	}
 
-	private AcaoPendente getPrimeiraAcaoPendente() {
-		return primeiraAcaoPendente;
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private ArmazenamentoDeElementos[] getArmazenamentosPorPlano() {
+		return armazenamentosPorPlano;
 	}
 
-	private void setPrimeiraAcaoPendente(AcaoPendente primeiraAcaoPendente) {
-		this.primeiraAcaoPendente = primeiraAcaoPendente;
+	private int[] getContagensDeElementosPorPlano() {
+		return contagensDeElementosPorPlano;
 	}
 
-	private AcaoPendente getUltimaAcaoPendente() {
-		return ultimaAcaoPendente;
+	private int getPlanosPausados() {
+		return planosPausados;
 	}
 
-	private void setUltimaAcaoPendente(AcaoPendente ultimaAcaoPendente) {
-		this.ultimaAcaoPendente = ultimaAcaoPendente;
+	private void setPlanosPausados(int planosPausados) {
+		this.planosPausados = planosPausados;
 	}
 
-	private AcaoPendente getPrimeiraRemocaoPendente() {
-		return primeiraRemocaoPendente;
+	private int getPlanosOcultos() {
+		return planosOcultos;
 	}
 
-	private void setPrimeiraRemocaoPendente(AcaoPendente primeiraRemocaoPendente) {
-		this.primeiraRemocaoPendente = primeiraRemocaoPendente;
+	private void setPlanosOcultos(int planosOcultos) {
+		this.planosOcultos = planosOcultos;
 	}
 
-	private AcaoPendente getUltimaRemocaoPendente() {
-		return ultimaRemocaoPendente;
+	private FilaDeAcoesPendentes getAcoesPendentes() {
+		return acoesPendentes;
 	}
 
-	private void setUltimaRemocaoPendente(AcaoPendente ultimaRemocaoPendente) {
-		this.ultimaRemocaoPendente = ultimaRemocaoPendente;
+	private FilaDeAcoesPendentes getRemocoesPendentes() {
+		return remocoesPendentes;
 	}
 
 	public int getContagemDeElementos() {
@@ -243,6 +439,141 @@ public final class ListaDeElementosDeTela extends Recurso {
 		this.contagemDeElementos = contagemDeElementos;
 	}
 
+	public int getContagemDeElementosDoPlano(int plano) {
+		valideOPlano(plano);
+		return getContagensDeElementosPorPlano()[plano];
+	}
+
+	public boolean isPlanoPausado(int plano) {
+		valideOPlano(plano);
+		return ((getPlanosPausados() & (1 << plano)) != 0);
+	}
+
+	// Um plano pausado não é processado, e seus testadores não participam da fase de colisões (mas
+	// seus elementos continuam sendo desenhados, e podem ser encontrados pelas consultas)
+	public void setPlanoPausado(int plano, boolean pausado) {
+		valideOPlano(plano);
+		setPlanosPausados(pausado ? (getPlanosPausados() | (1 << plano)) : (getPlanosPausados() & ~(1 << plano)));
+	}
+
+	public boolean isPlanoOculto(int plano) {
+		valideOPlano(plano);
+		return ((getPlanosOcultos() & (1 << plano)) != 0);
+	}
+
+	// Um plano oculto não é desenhado (mas continua sendo processado, a menos que também esteja
+	// pausado)
+	public void setPlanoOculto(int plano, boolean oculto) {
+		valideOPlano(plano);
+		setPlanosOcultos(oculto ? (getPlanosOcultos() | (1 << plano)) : (getPlanosOcultos() & ~(1 << plano)));
+	}
+
+	// Identifica o quadro atual, para que os elementos saibam quando reiniciar o registro de seus
+	// deslocamentos
+	final int getNumeroDoQuadro() {
+		return numeroDoQuadro;
+	}
+
+	private void setNumeroDoQuadro(int numeroDoQuadro) {
+		this.numeroDoQuadro = numeroDoQuadro;
+	}
+
+	private SistemaDeColisoes getSistemaDeColisoes() {
+		return sistemaDeColisoes;
+	}
+
+	private SistemaDeColisoes[] getSistemasDeColisoesPorCamada() {
+		return sistemasDeColisoesPorCamada;
+	}
+
+	private ConsultaDeColisoes getConsultaDeColisoes() {
+		return consultaDeColisoes;
+	}
+
+	private int getCamadasDeColisaoEmUso() {
+		return camadasDeColisaoEmUso;
+	}
+
+	private void setCamadasDeColisaoEmUso(int camadasDeColisaoEmUso) {
+		this.camadasDeColisaoEmUso = camadasDeColisaoEmUso;
+	}
+
+	private ElementoDeTela[] getTestadoresDeColisoes() {
+		return testadoresDeColisoes;
+	}
+
+	private void setTestadoresDeColisoes(ElementoDeTela[] testadoresDeColisoes) {
+		this.testadoresDeColisoes = testadoresDeColisoes;
+	}
+
+	private ElementoDeTela[] getTestadoresDasColisoes() {
+		return testadoresDasColisoes;
+	}
+
+	private void setTestadoresDasColisoes(ElementoDeTela[] testadoresDasColisoes) {
+		this.testadoresDasColisoes = testadoresDasColisoes;
+	}
+
+	private ElementoDeTela[] getAlvosDasColisoes() {
+		return alvosDasColisoes;
+	}
+
+	private void setAlvosDasColisoes(ElementoDeTela[] alvosDasColisoes) {
+		this.alvosDasColisoes = alvosDasColisoes;
+	}
+
+	private GrupoDeColisoes[] getGruposDeColisoes() {
+		return gruposDeColisoes;
+	}
+
+	private void setGruposDeColisoes(GrupoDeColisoes[] gruposDeColisoes) {
+		this.gruposDeColisoes = gruposDeColisoes;
+	}
+
+	private int getContagemDeGruposDeColisoes() {
+		return contagemDeGruposDeColisoes;
+	}
+
+	private void setContagemDeGruposDeColisoes(int contagemDeGruposDeColisoes) {
+		this.contagemDeGruposDeColisoes = contagemDeGruposDeColisoes;
+	}
+
+	private int[] getObjetosDasColisoes() {
+		return objetosDasColisoes;
+	}
+
+	private void setObjetosDasColisoes(int[] objetosDasColisoes) {
+		this.objetosDasColisoes = objetosDasColisoes;
+	}
+
+	private SondaDeColisoes getSondaDeColisoes() {
+		return sondaDeColisoes;
+	}
+
+	private float[] getTemposDasColisoes() {
+		return temposDasColisoes;
+	}
+
+	private void setTemposDasColisoes(float[] temposDasColisoes) {
+		this.temposDasColisoes = temposDasColisoes;
+	}
+
+	private int getContagemDeTestadoresDeColisoes() {
+		return contagemDeTestadoresDeColisoes;
+	}
+
+	private void setContagemDeTestadoresDeColisoes(int contagemDeTestadoresDeColisoes) {
+		this.contagemDeTestadoresDeColisoes = contagemDeTestadoresDeColisoes;
+	}
+
+	private int getContagemDeColisoes() {
+		return contagemDeColisoes;
+	}
+
+	private void setContagemDeColisoes(int contagemDeColisoes) {
+		this.contagemDeColisoes = contagemDeColisoes;
+	}
+
 	private boolean isProcessando() {
 		return processando;
 	}
@@ -266,174 +597,560 @@ public final class ListaDeElementosDeTela extends Recurso {
 	// Métodos privados e protegidos
 	//----------------------------------------------------------------------------------------------
 
+	private static void valideOPlano(int plano) {
+		if (plano < 0 || plano >= QUANTIDADE_DE_PLANOS) {
+			throw new IllegalArgumentException("plano inválido");
+		}
+	}
+
+	private ArmazenamentoDeElementos armazenamentoDoElemento(ElementoDeTela elementoDeTela) {
+		return getArmazenamentosPorPlano()[elementoDeTela.getPlano()];
+	}
+
 	private void adicioneAcaoPendente(ElementoDeTela elementoDeTela, ElementoDeTela elementoDeReferencia, int tipoAcao) {
-		// Para as ações pendentes, nós mantemos uma lista ligada simples, com uma ressalva: ações
-		// de remoção devem ficar em uma lista separada, pois todas as remoções devem acontecer
-		// depois das demais (um caso prático: uma adição usando o elemento X como referência está
-		// agendada para o mesmo quadro que a remoção de X)
+		adicioneAcaoPendente(elementoDeTela, elementoDeReferencia, PLANO_PADRAO, tipoAcao);
+	}
 
-		AcaoPendente acaoPendente = new AcaoPendente(elementoDeTela, elementoDeReferencia, tipoAcao);
+	private void adicioneAcaoPendente(ElementoDeTela elementoDeTela, ElementoDeTela elementoDeReferencia, int plano, int tipoAcao) {
+		// Para as ações pendentes, nós mantemos uma fila simples, com uma ressalva: ações de
+		// remoção devem ficar em uma fila separada, pois todas as remoções devem acontecer depois
+		// das demais (um caso prático: uma adição usando o elemento X como referência está
+		// agendada para o mesmo quadro que a remoção de X)
 
 		switch (tipoAcao) {
-		case AcaoPendente.REMOVA:
-		case AcaoPendente.REMOVA_E_DESTRUA:
+		case FilaDeAcoesPendentes.REMOVA:
+		case FilaDeAcoesPendentes.REMOVA_E_DESTRUA:
 			// Esse elemento não deve mais ser processado/desenhado
 			elementoDeTela.setMarcadoParaRemocao(true);
 
-			if (getPrimeiraRemocaoPendente() == null) {
-				setPrimeiraRemocaoPendente(acaoPendente);
-			}
+			getRemocoesPendentes().adicione(elementoDeTela, elementoDeReferencia, plano, tipoAcao);
+			return;
+		}
 
-			AcaoPendente ultimaRemocaoPendente = getUltimaRemocaoPendente();
+		getAcoesPendentes().adicione(elementoDeTela, elementoDeReferencia, plano, tipoAcao);
+	}
 
-			if (ultimaRemocaoPendente != null) {
-				ultimaRemocaoPendente.setAcaoSeguinte(acaoPendente);
-			}
+	private SistemaDeColisoes sistemaDaCamada(int camadaDeColisao) {
+		int indice = Integer.numberOfTrailingZeros(camadaDeColisao);
+		SistemaDeColisoes[] sistemasDeColisoesPorCamada = getSistemasDeColisoesPorCamada();
+		SistemaDeColisoes sistemaDeColisoes = sistemasDeColisoesPorCamada[indice];
+
+		if (sistemaDeColisoes == null) {
+			// A primeira camada a ser utilizada fica com o próprio sistema fornecido no construtor
+			// (getCamadasDeColisaoEmUso() nunca volta a ser 0)
+			sistemaDeColisoes = ((getCamadasDeColisaoEmUso() == 0) ?
+				getSistemaDeColisoes() :
+				getSistemaDeColisoes().crieSemelhante());
+			sistemasDeColisoesPorCamada[indice] = sistemaDeColisoes;
+		}
 
-			setUltimaRemocaoPendente(acaoPendente);
-			return;
+		setCamadasDeColisaoEmUso(getCamadasDeColisaoEmUso() | camadaDeColisao);
+
+		return sistemaDeColisoes;
+	}
+
+	private void consulteElementosQueColidem(ElementoDeTela elementoParaTestar, int mascaraDeColisao) {
+		ConsultaDeColisoes consulta = getConsultaDeColisoes();
+		consulta.inicie();
+
+		// Apenas as camadas pedidas pela máscara são consultadas, e as demais nem chegam a ser
+		// olhadas
+		SistemaDeColisoes[] sistemasDeColisoesPorCamada = getSistemasDeColisoesPorCamada();
+		int camadas = mascaraDeColisao & getCamadasDeColisaoEmUso();
+
+		while (camadas != 0) {
+			int indice = Integer.numberOfTrailingZeros(camadas);
+			sistemasDeColisoesPorCamada[indice].elementosQueColidem(elementoParaTestar, consulta);
+			camadas &= camadas - 1;
 		}
 
-		if (getPrimeiraAcaoPendente() == null) {
-			setPrimeiraAcaoPendente(acaoPendente);
+		// Os membros dos grupos não estão nos sistemas, e cada grupo é descartado por inteiro
+		// quando sua área não é atingida
+		GrupoDeColisoes[] gruposDeColisoes = getGruposDeColisoes();
+		for (int i = getContagemDeGruposDeColisoes() - 1; i >= 0; i--) {
+			gruposDeColisoes[i].elementosQueColidem(elementoParaTestar, mascaraDeColisao, consulta);
 		}
+	}
+
+	private void consulteElementosQueContemPonto(float x, float y, int mascaraDeColisao) {
+		ConsultaDeColisoes consulta = getConsultaDeColisoes();
+		consulta.inicie();
 
-		AcaoPendente ultimaAcaoPendente = getUltimaAcaoPendente();
+		SistemaDeColisoes[] sistemasDeColisoesPorCamada = getSistemasDeColisoesPorCamada();
+		int camadas = mascaraDeColisao & getCamadasDeColisaoEmUso();
 
-		if (ultimaAcaoPendente != null) {
-			ultimaAcaoPendente.setAcaoSeguinte(acaoPendente);
+		while (camadas != 0) {
+			int indice = Integer.numberOfTrailingZeros(camadas);
+			sistemasDeColisoesPorCamada[indice].elementosQueContemPonto(x, y, consulta);
+			camadas &= camadas - 1;
 		}
 
-		setUltimaAcaoPendente(acaoPendente);
+		GrupoDeColisoes[] gruposDeColisoes = getGruposDeColisoes();
+		for (int i = getContagemDeGruposDeColisoes() - 1; i >= 0; i--) {
+			gruposDeColisoes[i].elementosQueContemPonto(x, y, mascaraDeColisao, consulta);
+		}
 	}
 
-	private ElementoDeTela primeiroElementoQueColideForcaBruta(ElementoDeTela elementoParaTestar) {
-		// Basta percorrer todos os elementos até que se encontre um que faça intersecção com
-		// o elemento desejado (começa pelo primeiro elemento, que é o elemento mais à frente na
-		// tela)
-		ElementoDeTela elementoDeTela = getPrimeiroElemento();
+	private ElementoDeTela primeiroResultado() {
+		// O sistema de colisões não conhece a ordem dos elementos na tela, por isso, quando mais de
+		// um elemento for encontrado, precisamos descobrir qual deles está mais à frente na tela
+		ConsultaDeColisoes consulta = getConsultaDeColisoes();
+		int contagemDeResultados = consulta.getContagemDeResultados();
 
-		while (elementoDeTela != null) {
-			if (elementoDeTela.isParteDoSistemaDeColisoes() && elementoDeTela.colideCom(elementoParaTestar)) {
-				return elementoDeTela;
-			}
-			elementoDeTela = elementoDeTela.getElementoAnterior();
+		if (contagemDeResultados == 0) {
+			return null;
 		}
 
-		return null;
+		if (contagemDeResultados == 1) {
+			return consulta.getResultados()[0];
+		}
+
+		// O elemento mais à frente está no plano mais alto entre os resultados, e o armazenamento
+		// desse plano sabe como encontrá-lo
+		ElementoDeTela[] resultados = consulta.getResultados();
+		int planoMaisAlto = 0;
+		for (int i = contagemDeResultados - 1; i >= 0; i--) {
+			planoMaisAlto = Math.max(planoMaisAlto, resultados[i].getPlano());
+		}
+
+		int contagemDoPlano = agrupeResultadosDoPlano(resultados, 0, contagemDeResultados, planoMaisAlto);
+		return getArmazenamentosPorPlano()[planoMaisAlto].maisAFrente(resultados, 0, contagemDoPlano, consulta.getNumero());
 	}
 
-	@SuppressWarnings("unchecked")
-	private <E extends ElementoDeTela> E primeiroElementoQueColideForcaBruta(ElementoDeTela elementoParaTestar, Class<E> classeDesejada) {
-		// Basta percorrer todos os elementos até que se encontre um que faça intersecção com
-		// o elemento desejado (começa pelo primeiro elemento, que é o elemento mais à frente na
-		// tela)
-		ElementoDeTela elementoDeTela = getPrimeiroElemento();
-
-		while (elementoDeTela != null) {
-			if (elementoDeTela.isParteDoSistemaDeColisoes() && elementoDeTela.colideCom(elementoParaTestar) && classeDesejada.isAssignableFrom(elementoDeTela.getClass())) {
-				return (E)elementoDeTela;
+	private static int agrupeResultadosDoPlano(ElementoDeTela[] resultados, int inicio, int contagemDeResultados, int plano) {
+		// Traz para a faixa que começa em inicio todos os resultados que pertencem ao plano,
+		// retornando quantos são
+		int fim = inicio;
+		for (int i = inicio; i < contagemDeResultados; i++) {
+			ElementoDeTela elementoDeTela = resultados[i];
+			if (elementoDeTela.getPlano() == plano) {
+				resultados[i] = resultados[fim];
+				resultados[fim] = elementoDeTela;
+				fim++;
 			}
-			elementoDeTela = elementoDeTela.getElementoAnterior();
 		}
-
-		return null;
+		return fim - inicio;
 	}
 
-	private ArrayList<ElementoDeTela> elementosQueColidemForcaBruta(ElementoDeTela elementoParaTestar) {
-		// Basta percorrer todos os elementos, e ir adicionando à lista elementos todos os elementos
-		// que fazem intersecção com o elemento desejado (começa pelo primeiro elemento, que é o
-		// elemento mais à frente na tela)
-		ArrayList<ElementoDeTela> elementos = new ArrayList<>();
-		ElementoDeTela elementoDeTela = getPrimeiroElemento();
+	private int ordeneResultados() {
+		// Assim como acontecia antes do sistema de colisões existir, os elementos devem ser
+		// entregues do primeiro (o mais à frente na tela) para o último
+		ConsultaDeColisoes consulta = getConsultaDeColisoes();
+		int contagemDeResultados = consulta.getContagemDeResultados();
 
-		while (elementoDeTela != null) {
-			if (elementoDeTela.isParteDoSistemaDeColisoes() && elementoDeTela.colideCom(elementoParaTestar)) {
-				elementos.add(elementoDeTela);
+		if (contagemDeResultados <= 1) {
+			return contagemDeResultados;
+		}
+
+		// Todos os elementos encontrados foram marcados pela consulta, então basta agrupá-los por
+		// plano, do mais alto para o mais baixo, e deixar que o armazenamento de cada plano coloque
+		// seu grupo em ordem
+		ElementoDeTela[] resultados = consulta.getResultados();
+		ArmazenamentoDeElementos[] armazenamentosPorPlano = getArmazenamentosPorPlano();
+		int numeroDaConsulta = consulta.getNumero();
+		int inicio = 0;
+
+		for (int plano = QUANTIDADE_DE_PLANOS - 1; plano >= 0 && inicio < contagemDeResultados; plano--) {
+			int contagemDoPlano = agrupeResultadosDoPlano(resultados, inicio, contagemDeResultados, plano);
+			if (contagemDoPlano != 0) {
+				armazenamentosPorPlano[plano].ordeneDaFrenteParaTras(resultados, inicio, contagemDoPlano, numeroDaConsulta);
+				inicio += contagemDoPlano;
 			}
-			elementoDeTela = elementoDeTela.getElementoAnterior();
 		}
 
-		return elementos;
+		return contagemDeResultados;
 	}
 
-	private ElementoDeTela primeiroElementoQueContemPontoForcaBruta(float x, float y) {
-		// Basta percorrer todos os elementos até que se encontre um que contenha o ponto desejado
-		// (começa pelo primeiro elemento, que é o elemento mais à frente na tela)
-		ElementoDeTela elementoDeTela = getPrimeiroElemento();
+	private ArrayList<ElementoDeTela> resultadosOrdenados() {
+		int contagemDeResultados = ordeneResultados();
+		ArrayList<ElementoDeTela> elementos = new ArrayList<>(contagemDeResultados);
+		copieResultados(elementos, contagemDeResultados);
+		return elementos;
+	}
 
-		while (elementoDeTela != null) {
-			if (elementoDeTela.isParteDoSistemaDeColisoes() && elementoDeTela.contemPonto(x, y)) {
-				return elementoDeTela;
-			}
-			elementoDeTela = elementoDeTela.getElementoAnterior();
+	private void copieResultados(ArrayList<ElementoDeTela> elementos, int contagemDeResultados) {
+		ElementoDeTela[] resultados = getConsultaDeColisoes().getResultados();
+		for (int i = 0; i < contagemDeResultados; i++) {
+			elementos.add(resultados[i]);
 		}
+	}
 
-		return null;
+	private int copieResultados(ElementoDeTela[] elementos) {
+		// Copia apenas o que couber em elementos, mas retorna a contagem total, para que quem
+		// chamou saiba se o vetor era pequeno demais
+		int contagemDeResultados = ordeneResultados();
+		System.arraycopy(getConsultaDeColisoes().getResultados(), 0, elementos, 0, Math.min(contagemDeResultados, elementos.length));
+		return contagemDeResultados;
 	}
 
-	@SuppressWarnings("unchecked")
-	private <E extends ElementoDeTela> E primeiroElementoQueContemPontoForcaBruta(float x, float y, Class<E> classeDesejada) {
-		// Basta percorrer todos os elementos até que se encontre um que contenha o ponto desejado
-		// (começa pelo primeiro elemento, que é o elemento mais à frente na tela)
-		ElementoDeTela elementoDeTela = getPrimeiroElemento();
-
-		while (elementoDeTela != null) {
-			if (elementoDeTela.isParteDoSistemaDeColisoes() && elementoDeTela.contemPonto(x, y) && classeDesejada.isAssignableFrom(elementoDeTela.getClass())) {
-				return (E)elementoDeTela;
+	private int visiteResultados(Visitante visitante) {
+		int contagemDeResultados = ordeneResultados();
+		ElementoDeTela[] resultados = getConsultaDeColisoes().getResultados();
+		for (int i = 0; i < contagemDeResultados; i++) {
+			if (!visitante.visite(resultados[i])) {
+				return i + 1;
 			}
-			elementoDeTela = elementoDeTela.getElementoAnterior();
 		}
-
-		return null;
+		return contagemDeResultados;
 	}
 
-	private ArrayList<ElementoDeTela> elementosQueContemPontoForcaBruta(float x, float y) {
-		// Basta percorrer todos os elementos, e ir adicionando à lista elementos todos os elementos
-		// que contenham o ponto desejado (começa pelo primeiro elemento, que é o elemento mais à
-		// frente na tela)
-		ArrayList<ElementoDeTela> elementos = new ArrayList<>();
-		ElementoDeTela elementoDeTela = getPrimeiroElemento();
+	private void adicioneGrupoDeColisoes(GrupoDeColisoes grupoDeColisoes) {
+		if (grupoDeColisoes.getLista() != null) {
+			throw new RuntimeException("O grupo de colisões já está sendo utilizado por outra lista");
+		}
+
+		GrupoDeColisoes[] gruposDeColisoes = getGruposDeColisoes();
+		int contagemDeGruposDeColisoes = getContagemDeGruposDeColisoes();
 
-		while (elementoDeTela != null) {
-			if (elementoDeTela.isParteDoSistemaDeColisoes() && elementoDeTela.contemPonto(x, y)) {
-				elementos.add(elementoDeTela);
-			}
-			elementoDeTela = elementoDeTela.getElementoAnterior();
+		if (contagemDeGruposDeColisoes == gruposDeColisoes.length) {
+			GrupoDeColisoes[] novosGruposDeColisoes = new GrupoDeColisoes[contagemDeGruposDeColisoes << 1];
+			System.arraycopy(gruposDeColisoes, 0, novosGruposDeColisoes, 0, contagemDeGruposDeColisoes);
+			gruposDeColisoes = novosGruposDeColisoes;
+			setGruposDeColisoes(gruposDeColisoes);
 		}
 
-		return elementos;
+		gruposDeColisoes[contagemDeGruposDeColisoes] = grupoDeColisoes;
+		grupoDeColisoes.setIndiceNaLista(contagemDeGruposDeColisoes);
+		grupoDeColisoes.setLista(this);
+		setContagemDeGruposDeColisoes(contagemDeGruposDeColisoes + 1);
+	}
+
+	private void removaGrupoDeColisoes(GrupoDeColisoes grupoDeColisoes) {
+		// A ordem dos grupos não importa, então basta trazer o último para cá
+		GrupoDeColisoes[] gruposDeColisoes = getGruposDeColisoes();
+		int contagemDeGruposDeColisoes = getContagemDeGruposDeColisoes() - 1;
+		int indice = grupoDeColisoes.getIndiceNaLista();
+
+		GrupoDeColisoes ultimo = gruposDeColisoes[contagemDeGruposDeColisoes];
+		gruposDeColisoes[indice] = ultimo;
+		ultimo.setIndiceNaLista(indice);
+		gruposDeColisoes[contagemDeGruposDeColisoes] = null;
+		setContagemDeGruposDeColisoes(contagemDeGruposDeColisoes);
+
+		grupoDeColisoes.setLista(null);
 	}
 
 	void areaLimiteAlterada(ElementoDeTela elementoDeTela) {
+		GrupoDeColisoes grupoDeColisoes = elementoDeTela.getGrupoDeColisoes();
+		if (grupoDeColisoes != null) {
+			grupoDeColisoes.atualize(elementoDeTela);
+		} else {
+			sistemaDaCamada(elementoDeTela.getCamadaDeColisao()).atualize(elementoDeTela);
+		}
 	}
 
 	void adicioneAoSistemaDeColisoes(ElementoDeTela elementoDeTela) {
+		GrupoDeColisoes grupoDeColisoes = elementoDeTela.getGrupoDeColisoes();
+		if (grupoDeColisoes != null) {
+			// O grupo passa a fazer parte da lista junto com seu primeiro membro
+			if (grupoDeColisoes.getContagemDeMembros() == 0) {
+				adicioneGrupoDeColisoes(grupoDeColisoes);
+			} else if (grupoDeColisoes.getLista() != this) {
+				throw new RuntimeException("O grupo de colisões já está sendo utilizado por outra lista");
+			}
+			grupoDeColisoes.adicione(elementoDeTela);
+		} else {
+			sistemaDaCamada(elementoDeTela.getCamadaDeColisao()).adicione(elementoDeTela);
+		}
 	}
 
 	void removaDoSistemaDeColisoes(ElementoDeTela elementoDeTela) {
+		GrupoDeColisoes grupoDeColisoes = elementoDeTela.getGrupoDeColisoes();
+		if (grupoDeColisoes != null) {
+			grupoDeColisoes.remova(elementoDeTela);
+			// E sai da lista junto com seu último membro
+			if (grupoDeColisoes.getContagemDeMembros() == 0) {
+				removaGrupoDeColisoes(grupoDeColisoes);
+			}
+		} else {
+			sistemaDaCamada(elementoDeTela.getCamadaDeColisao()).remova(elementoDeTela);
+		}
 	}
 
-	@Override
-	public void carregueInternamente() {
-		ElementoDeTela elementoDeTela = getUltimoElemento();
-		while (elementoDeTela != null) {
-			elementoDeTela.carregue();
-			elementoDeTela = elementoDeTela.getElementoSeguinte();
+	void adicioneAosTestadoresDeColisoes(ElementoDeTela elementoDeTela) {
+		ElementoDeTela[] testadoresDeColisoes = getTestadoresDeColisoes();
+		int contagemDeTestadoresDeColisoes = getContagemDeTestadoresDeColisoes();
+
+		if (contagemDeTestadoresDeColisoes == testadoresDeColisoes.length) {
+			ElementoDeTela[] novosTestadoresDeColisoes = new ElementoDeTela[contagemDeTestadoresDeColisoes << 1];
+			System.arraycopy(testadoresDeColisoes, 0, novosTestadoresDeColisoes, 0, contagemDeTestadoresDeColisoes);
+			testadoresDeColisoes = novosTestadoresDeColisoes;
+			setTestadoresDeColisoes(testadoresDeColisoes);
+		}
+
+		testadoresDeColisoes[contagemDeTestadoresDeColisoes] = elementoDeTela;
+		elementoDeTela.setIndiceNosTestadoresDeColisoes(contagemDeTestadoresDeColisoes);
+		setContagemDeTestadoresDeColisoes(contagemDeTestadoresDeColisoes + 1);
+	}
+
+	void removaDosTestadoresDeColisoes(ElementoDeTela elementoDeTela) {
+		// A ordem dos testadores não importa (as colisões são ordenadas antes de serem
+		// despachadas), então basta trazer o último para o lugar do elemento removido
+		ElementoDeTela[] testadoresDeColisoes = getTestadoresDeColisoes();
+		int contagemDeTestadoresDeColisoes = getContagemDeTestadoresDeColisoes() - 1;
+		int indice = elementoDeTela.getIndiceNosTestadoresDeColisoes();
+
+		ElementoDeTela ultimo = testadoresDeColisoes[contagemDeTestadoresDeColisoes];
+		testadoresDeColisoes[indice] = ultimo;
+		ultimo.setIndiceNosTestadoresDeColisoes(indice);
+		testadoresDeColisoes[contagemDeTestadoresDeColisoes] = null;
+		setContagemDeTestadoresDeColisoes(contagemDeTestadoresDeColisoes);
+	}
+
+	private void adicioneColisao(ElementoDeTela testador, int objeto, ElementoDeTela alvo, float tempo) {
+		ElementoDeTela[] testadoresDasColisoes = getTestadoresDasColisoes();
+		ElementoDeTela[] alvosDasColisoes = getAlvosDasColisoes();
+		int[] objetosDasColisoes = getObjetosDasColisoes();
+		float[] temposDasColisoes = getTemposDasColisoes();
+		int contagemDeColisoes = getContagemDeColisoes();
+
+		if (contagemDeColisoes == testadoresDasColisoes.length) {
+			ElementoDeTela[] novosTestadores = new ElementoDeTela[contagemDeColisoes << 1];
+			ElementoDeTela[] novosAlvos = new ElementoDeTela[contagemDeColisoes << 1];
+			int[] novosObjetos = new int[contagemDeColisoes << 1];
+			float[] novosTempos = new float[contagemDeColisoes << 1];
+			System.arraycopy(testadoresDasColisoes, 0, novosTestadores, 0, contagemDeColisoes);
+			System.arraycopy(alvosDasColisoes, 0, novosAlvos, 0, contagemDeColisoes);
+			System.arraycopy(objetosDasColisoes, 0, novosObjetos, 0, contagemDeColisoes);
+			System.arraycopy(temposDasColisoes, 0, novosTempos, 0, contagemDeColisoes);
+			testadoresDasColisoes = novosTestadores;
+			alvosDasColisoes = novosAlvos;
+			objetosDasColisoes = novosObjetos;
+			temposDasColisoes = novosTempos;
+			setTestadoresDasColisoes(testadoresDasColisoes);
+			setAlvosDasColisoes(alvosDasColisoes);
+			setObjetosDasColisoes(objetosDasColisoes);
+			setTemposDasColisoes(temposDasColisoes);
+		}
+
+		// As colisões são apenas acrescentadas aqui, e ordenadas uma única vez, antes de serem
+		// despachadas
+		testadoresDasColisoes[contagemDeColisoes] = testador;
+		alvosDasColisoes[contagemDeColisoes] = alvo;
+		objetosDasColisoes[contagemDeColisoes] = objeto;
+		temposDasColisoes[contagemDeColisoes] = tempo;
+		setContagemDeColisoes(contagemDeColisoes + 1);
+	}
+
+	private int compareColisoes(int a, int b) {
+		// Ordena pelo número de série do testador, depois pelo objeto do testador, pelo tempo de
+		// impacto e, por fim, pelo número de série do alvo: assim, a ordem em que as colisões são
+		// despachadas não depende da ordem dos elementos na lista, nem da ordem dos testadores, e
+		// um testador com colisão contínua é avisado primeiro sobre o alvo que encontrou primeiro
+		ElementoDeTela[] testadoresDasColisoes = getTestadoresDasColisoes();
+		int comparacao = testadoresDasColisoes[a].getNumeroDeSerie() - testadoresDasColisoes[b].getNumeroDeSerie();
+		if (comparacao != 0) {
+			return comparacao;
+		}
+
+		int[] objetosDasColisoes = getObjetosDasColisoes();
+		comparacao = objetosDasColisoes[a] - objetosDasColisoes[b];
+		if (comparacao != 0) {
+			return comparacao;
+		}
+
+		float[] temposDasColisoes = getTemposDasColisoes();
+		if (temposDasColisoes[a] != temposDasColisoes[b]) {
+			return ((temposDasColisoes[a] < temposDasColisoes[b]) ? -1 : 1);
+		}
+
+		ElementoDeTela[] alvosDasColisoes = getAlvosDasColisoes();
+		return alvosDasColisoes[a].getNumeroDeSerie() - alvosDasColisoes[b].getNumeroDeSerie();
+	}
+
+	private void troqueColisoes(int a, int b) {
+		ElementoDeTela[] testadoresDasColisoes = getTestadoresDasColisoes();
+		ElementoDeTela[] alvosDasColisoes = getAlvosDasColisoes();
+		int[] objetosDasColisoes = getObjetosDasColisoes();
+		float[] temposDasColisoes = getTemposDasColisoes();
+
+		ElementoDeTela testador = testadoresDasColisoes[a];
+		testadoresDasColisoes[a] = testadoresDasColisoes[b];
+		testadoresDasColisoes[b] = testador;
+
+		ElementoDeTela alvo = alvosDasColisoes[a];
+		alvosDasColisoes[a] = alvosDasColisoes[b];
+		alvosDasColisoes[b] = alvo;
+
+		int objeto = objetosDasColisoes[a];
+		objetosDasColisoes[a] = objetosDasColisoes[b];
+		objetosDasColisoes[b] = objeto;
+
+		float tempo = temposDasColisoes[a];
+		temposDasColisoes[a] = temposDasColisoes[b];
+		temposDasColisoes[b] = tempo;
+	}
+
+	private void afundeNoHeap(int pai, int contagem) {
+		int filho;
+		while ((filho = (pai << 1) + 1) < contagem) {
+			if (filho + 1 < contagem && compareColisoes(filho + 1, filho) > 0) {
+				filho++;
+			}
+			if (compareColisoes(pai, filho) >= 0) {
+				return;
+			}
+			troqueColisoes(pai, filho);
+			pai = filho;
+		}
+	}
+
+	private void ordeneColisoes() {
+		// Heapsort sobre os quatro vetores paralelos, que não aloca nada e custa O(k log k), mesmo
+		// nos quadros com muitas colisões (pares com chaves iguais não existem, pois um mesmo par é
+		// registrado apenas uma vez, em cada sentido)
+		int contagemDeColisoes = getContagemDeColisoes();
+
+		for (int i = (contagemDeColisoes >> 1) - 1; i >= 0; i--) {
+			afundeNoHeap(i, contagemDeColisoes);
+		}
+
+		for (int fim = contagemDeColisoes - 1; fim > 0; fim--) {
+			troqueColisoes(0, fim);
+			afundeNoHeap(0, fim);
+		}
+	}
+
+	private static boolean consultaEncontra(ElementoDeTela testador, ElementoDeTela elementoDeTela) {
+		// Indica se a consulta feita pelo próprio testador, durante a fase de colisões, encontra o
+		// elemento: apenas os elementos que fazem parte do sistema de colisões podem ser
+		// encontrados, e cada candidato é confirmado pelo mesmo teste utilizado pelos sistemas
+		return (elementoDeTela.isParteDoSistemaDeColisoes() &&
+			testador.getContagemDeObjetosDeColisoes() == 0 &&
+			testador.colideDuranteOQuadroCom(elementoDeTela));
+	}
+
+	private void detecteColisoesDosObjetos(ElementoDeTela testador, int contagemDeObjetos) {
+		// Cada objeto do testador é consultado por meio da sonda, como um elemento com colisão
+		// contínua, e o próprio testador não é testado
+		SondaDeColisoes sonda = getSondaDeColisoes();
+		ConsultaDeColisoes consulta = getConsultaDeColisoes();
+		int mascaraDeColisao = testador.getMascaraDeColisao();
+
+		for (int objeto = 0; objeto < contagemDeObjetos; objeto++) {
+			testador.prepareSondaDoObjeto(objeto, sonda);
+
+			consulteElementosQueColidem(sonda, mascaraDeColisao);
+
+			ElementoDeTela[] resultados = consulta.getResultados();
+			for (int r = consulta.getContagemDeResultados() - 1; r >= 0; r--) {
+				ElementoDeTela alvo = resultados[r];
+
+				if (alvo == testador || alvo.isMarcadoParaRemocao()) {
+					continue;
+				}
+
+				adicioneColisao(testador, objeto, alvo, Math.max(0.0f, sonda.tempoDeImpacto(alvo)));
+			}
 		}
+	}
 
-		AcaoPendente acaoPendente = getPrimeiraAcaoPendente();
-		while (acaoPendente != null) {
-			acaoPendente.carregue();
-			acaoPendente = acaoPendente.getAcaoSeguinte();
+	private void executeFaseDeColisoes() {
+		int contagemDeTestadoresDeColisoes = getContagemDeTestadoresDeColisoes();
+		if (contagemDeTestadoresDeColisoes == 0) {
+			return;
 		}
 
-		AcaoPendente remocaoPendente = getPrimeiraRemocaoPendente();
-		while (remocaoPendente != null) {
-			remocaoPendente.carregue();
-			remocaoPendente = remocaoPendente.getAcaoSeguinte();
+		// As áreas dos grupos podem ter ficado maiores do que o necessário durante o quadro, e são
+		// reajustadas apenas uma vez, aqui, em vez de a cada movimento de seus membros
+		GrupoDeColisoes[] gruposDeColisoes = getGruposDeColisoes();
+		for (int i = getContagemDeGruposDeColisoes() - 1; i >= 0; i--) {
+			gruposDeColisoes[i].reajuste();
 		}
 
+		// Primeiro, todas as colisões são detectadas, e apenas depois elas são despachadas, para
+		// que um testador não altere o resultado dos testes feitos pelos testadores seguintes
+		ElementoDeTela[] testadoresDeColisoes = getTestadoresDeColisoes();
+		ConsultaDeColisoes consulta = getConsultaDeColisoes();
+
+		int planosPausados = getPlanosPausados();
+
+		for (int t = 0; t < contagemDeTestadoresDeColisoes; t++) {
+			ElementoDeTela testador = testadoresDeColisoes[t];
+			// Os elementos de um plano pausado continuam podendo ser atingidos, mas não testam
+			// nada, e não são avisados sobre colisões
+			if (testador.isMarcadoParaRemocao() || (planosPausados & (1 << testador.getPlano())) != 0) {
+				continue;
+			}
+
+			int contagemDeObjetos = testador.getContagemDeObjetosDeColisoes();
+			if (contagemDeObjetos > 0) {
+				detecteColisoesDosObjetos(testador, contagemDeObjetos);
+				continue;
+			}
+
+			consulteElementosQueColidem(testador, testador.getMascaraDeColisao());
+
+			ElementoDeTela[] resultados = consulta.getResultados();
+			for (int r = consulta.getContagemDeResultados() - 1; r >= 0; r--) {
+				ElementoDeTela alvo = resultados[r];
+
+				if (alvo == testador || alvo.isMarcadoParaRemocao()) {
+					continue;
+				}
+
+				// Sem colisão contínua, todas as colisões acontecem no final do quadro
+				float tempo = ((testador.isColisaoContinua() || alvo.isColisaoContinua()) ?
+					Math.max(0.0f, testador.tempoDeImpacto(alvo)) :
+					0.0f);
+
+				if (alvo.isTestadorDeColisoes() && (alvo.getMascaraDeColisao() & testador.getCamadaDeColisao()) != 0 &&
+					(planosPausados & (1 << alvo.getPlano())) == 0 && alvo.getContagemDeObjetosDeColisoes() == 0) {
+					// Quando dois testadores se enxergam, o par é registrado apenas uma vez, mas nos
+					// dois sentidos: pelo testador de menor número de série, quando a consulta dele
+					// também encontrar o outro (o que nem sempre acontece, por exemplo, quando o
+					// outro não faz parte do sistema de colisões, ou quando apenas um dos dois possui
+					// colisão contínua), ou por quem o encontrar
+					if (alvo.getNumeroDeSerie() < testador.getNumeroDeSerie() && consultaEncontra(alvo, testador)) {
+						continue;
+					}
+					adicioneColisao(alvo, -1, testador, tempo);
+				}
+
+				adicioneColisao(testador, -1, alvo, tempo);
+			}
+		}
+
+		ordeneColisoes();
+
+		// Agora sim, as colisões podem ser despachadas (como a lista ainda está sendo processada,
+		// qualquer remoção feita por colidiuCom() é apenas agendada, e marca o elemento)
+		ElementoDeTela[] testadoresDasColisoes = getTestadoresDasColisoes();
+		ElementoDeTela[] alvosDasColisoes = getAlvosDasColisoes();
+		int[] objetosDasColisoes = getObjetosDasColisoes();
+		int contagemDeColisoes = getContagemDeColisoes();
+
+		for (int i = 0; i < contagemDeColisoes; i++) {
+			ElementoDeTela testador = testadoresDasColisoes[i];
+			ElementoDeTela alvo = alvosDasColisoes[i];
+			int objeto = objetosDasColisoes[i];
+
+			// Vamos ajudar o garbage colletor :)
+			testadoresDasColisoes[i] = null;
+			alvosDasColisoes[i] = null;
+
+			// Um testador (ou alvo) pode ter sido removido por uma colisão despachada antes dessa
+			if (!testador.isMarcadoParaRemocao() && !alvo.isMarcadoParaRemocao()) {
+				if (objeto < 0) {
+					testador.colidiuCom(alvo);
+				} else {
+					testador.objetoColidiuCom(objeto, alvo);
+				}
+			}
+		}
+
+		setContagemDeColisoes(0);
+	}
+
+	@Override
+	public void carregueInternamente() {
+		for (ArmazenamentoDeElementos armazenamentoDoPlano : getArmazenamentosPorPlano()) {
+			armazenamentoDoPlano.carregue();
+		}
+
+		getAcoesPendentes().carregue();
+		getRemocoesPendentes().carregue();
+
 		// Utilizamos a propriedade carregado para indicar o carregamento, já que a lista de
 		// elementos de tela não tem um objeto em especial que possa ser utilizado para isso
 		setCarregado(true);
@@ -441,23 +1158,12 @@ public final class ListaDeElementosDeTela extends Recurso {
 
 	@Override
 	public void libereInternamente() {
-		ElementoDeTela elementoDeTela = getUltimoElemento();
-		while (elementoDeTela != null) {
-			elementoDeTela.libere();
-			elementoDeTela = elementoDeTela.getElementoSeguinte();
+		for (ArmazenamentoDeElementos armazenamentoDoPlano : getArmazenamentosPorPlano()) {
+			armazenamentoDoPlano.libere();
 		}
 
-		AcaoPendente acaoPendente = getPrimeiraAcaoPendente();
-		while (acaoPendente != null) {
-			acaoPendente.libere();
-			acaoPendente = acaoPendente.getAcaoSeguinte();
-		}
-
-		AcaoPendente remocaoPendente = getPrimeiraRemocaoPendente();
-		while (remocaoPendente != null) {
-			remocaoPendente.libere();
-			remocaoPendente = remocaoPendente.getAcaoSeguinte();
-		}
+		getAcoesPendentes().libere();
+		getRemocoesPendentes().libere();
 
 		// Utilizamos a propriedade carregado para indicar o carregamento, já que a lista de
 		// elementos de tela não tem um objeto em especial que possa ser utilizado para isso
@@ -466,47 +1172,41 @@ public final class ListaDeElementosDeTela extends Recurso {
 
 	@Override
 	public void destruaInternamente() {
-		ElementoDeTela elementoDeTela = getUltimoElemento();
-		while (elementoDeTela != null) {
-			// Temos que manter uma referência para o próximo elemento aqui, pois o método destrua()
-			// irá transformar tudo em null
-			ElementoDeTela temporario = elementoDeTela.getElementoSeguinte();
+		getAcoesPendentes().destrua();
+		getRemocoesPendentes().destrua();
 
-			elementoDeTela.destrua();
-
-			elementoDeTela = temporario;
+		// As ações pendentes são destruídas antes dos elementos da lista, pois elas precisam saber
+		// quais de seus elementos ainda não pertencem à lista
+		for (ArmazenamentoDeElementos armazenamentoDoPlano : getArmazenamentosPorPlano()) {
+			armazenamentoDoPlano.destrua();
 		}
 
-		AcaoPendente acaoPendente = getPrimeiraAcaoPendente();
-		while (acaoPendente != null) {
-			// Temos que manter uma referência para a próxima ação aqui, pois o método destrua()
-			// irá transformar tudo em null
-			AcaoPendente temporario = acaoPendente.getAcaoSeguinte();
-
-			acaoPendente.destrua();
-
-			acaoPendente = temporario;
+		// Vamos aproveitar que todos os elementos de tela foram destruídos, e invalidar o objeto
+		setContagemDeElementos(0);
+		int[] contagensDeElementosPorPlano = getContagensDeElementosPorPlano();
+		for (int i = 0; i < QUANTIDADE_DE_PLANOS; i++) {
+			contagensDeElementosPorPlano[i] = 0;
 		}
 
-		AcaoPendente remocaoPendente = getPrimeiraRemocaoPendente();
-		while (remocaoPendente != null) {
-			// Temos que manter uma referência para a próxima ação aqui, pois o método destrua()
-			// irá transformar tudo em null
-			AcaoPendente temporario = remocaoPendente.getAcaoSeguinte();
-
-			remocaoPendente.destrua();
+		for (SistemaDeColisoes sistemaDaCamada : getSistemasDeColisoesPorCamada()) {
+			if (sistemaDaCamada != null) {
+				sistemaDaCamada.limpe();
+			}
+		}
+		getConsultaDeColisoes().limpe();
 
-			remocaoPendente = temporario;
+		GrupoDeColisoes[] gruposDeColisoes = getGruposDeColisoes();
+		for (int i = getContagemDeGruposDeColisoes() - 1; i >= 0; i--) {
+			gruposDeColisoes[i].limpe();
+			gruposDeColisoes[i] = null;
 		}
+		setContagemDeGruposDeColisoes(0);
 
-		// Vamos aproveitar que todos os elementos de tela foram destruídos, e invalidar o objeto
-		setPrimeiroElemento(null);
-		setUltimoElemento(null);
-		setPrimeiraAcaoPendente(null);
-		setUltimaAcaoPendente(null);
-		setPrimeiraRemocaoPendente(null);
-		setUltimaRemocaoPendente(null);
-		setContagemDeElementos(0);
+		ElementoDeTela[] testadoresDeColisoes = getTestadoresDeColisoes();
+		for (int i = getContagemDeTestadoresDeColisoes() - 1; i >= 0; i--) {
+			testadoresDeColisoes[i] = null;
+		}
+		setContagemDeTestadoresDeColisoes(0);
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -514,11 +1214,18 @@ public final class ListaDeElementosDeTela extends Recurso {
 	//----------------------------------------------------------------------------------------------
 
 	public void adicioneAoInicio(ElementoDeTela elementoDeTela) {
+		adicioneAoInicio(PLANO_PADRAO, elementoDeTela);
+	}
+
+	public void adicioneAoInicio(int plano, ElementoDeTela elementoDeTela) {
+		valideOPlano(plano);
+		ReservatorioDeElementos.verifiqueUso(elementoDeTela);
+
 		// Se a lista estava no meio do processamento, não podemos deixar que seus elementos sejam
 		// alterados, e por isso adicionamos uma ação pendente para ser executada no início do
 		// próximo quadro
 		if (isProcessando()) {
-			adicioneAcaoPendente(elementoDeTela, null, AcaoPendente.ADICIONE_AO_INICIO);
+			adicioneAcaoPendente(elementoDeTela, null, plano, FilaDeAcoesPendentes.ADICIONE_AO_INICIO);
 			return;
 		}
 
@@ -527,38 +1234,41 @@ public final class ListaDeElementosDeTela extends Recurso {
 			throw new RuntimeException("Esse elemento já pertence a uma lista");
 		}
 
-		// O elemento pertence a essa lista agora
+		// O elemento pertence a essa lista (e a esse plano) agora
 		elementoDeTela.setLista(this);
+		elementoDeTela.setPlano(plano);
 
 		// O elemento pode ser processado/desenhado
 		elementoDeTela.setMarcadoParaRemocao(false);
 
-		// Adiciona o elemento ao início lista
-		ElementoDeTela primeiroElemento = getPrimeiroElemento();
+		// Adiciona o elemento ao início do plano
+		getArmazenamentosPorPlano()[plano].adicioneAoInicio(elementoDeTela);
 
-		elementoDeTela.setElementoAnterior(primeiroElemento);
-		elementoDeTela.setElementoSeguinte(null);
+		setContagemDeElementos(getContagemDeElementos() + 1);
+		getContagensDeElementosPorPlano()[plano]++;
 
-		if (primeiroElemento != null) {
-			primeiroElemento.setElementoSeguinte(elementoDeTela);
+		if (elementoDeTela.isParteDoSistemaDeColisoes()) {
+			adicioneAoSistemaDeColisoes(elementoDeTela);
 		}
 
-		setPrimeiroElemento(elementoDeTela);
-
-		if (getUltimoElemento() == null) {
-			// Se a lista estiver vazia, o primeiro também será o último
-			setUltimoElemento(elementoDeTela);
+		if (elementoDeTela.isTestadorDeColisoes()) {
+			adicioneAosTestadoresDeColisoes(elementoDeTela);
 		}
-
-		setContagemDeElementos(getContagemDeElementos() + 1);
 	}
 
 	public void adicioneAoFinal(ElementoDeTela elementoDeTela) {
+		adicioneAoFinal(PLANO_PADRAO, elementoDeTela);
+	}
+
+	public void adicioneAoFinal(int plano, ElementoDeTela elementoDeTela) {
+		valideOPlano(plano);
+		ReservatorioDeElementos.verifiqueUso(elementoDeTela);
+
 		// Se a lista estava no meio do processamento, não podemos deixar que seus elementos sejam
 		// alterados, e por isso adicionamos uma ação pendente para ser executada no início do
 		// próximo quadro
 		if (isProcessando()) {
-			adicioneAcaoPendente(elementoDeTela, null, AcaoPendente.ADICIONE_AO_FINAL);
+			adicioneAcaoPendente(elementoDeTela, null, plano, FilaDeAcoesPendentes.ADICIONE_AO_FINAL);
 			return;
 		}
 
@@ -567,47 +1277,36 @@ public final class ListaDeElementosDeTela extends Recurso {
 			throw new RuntimeException("Esse elemento já pertence a uma lista");
 		}
 
-		// O elemento pertence a essa lista agora
+		// O elemento pertence a essa lista (e a esse plano) agora
 		elementoDeTela.setLista(this);
+		elementoDeTela.setPlano(plano);
 
 		// O elemento pode ser processado/desenhado
 		elementoDeTela.setMarcadoParaRemocao(false);
 
-		// Adiciona o elemento ao final da lista
-		ElementoDeTela ultimoElemento = getUltimoElemento();
+		// Adiciona o elemento ao final do plano
+		getArmazenamentosPorPlano()[plano].adicioneAoFinal(elementoDeTela);
 
-		elementoDeTela.setElementoAnterior(null);
-		elementoDeTela.setElementoSeguinte(ultimoElemento);
+		setContagemDeElementos(getContagemDeElementos() + 1);
+		getContagensDeElementosPorPlano()[plano]++;
 
-		if (ultimoElemento != null) {
-			ultimoElemento.setElementoAnterior(elementoDeTela);
+		if (elementoDeTela.isParteDoSistemaDeColisoes()) {
+			adicioneAoSistemaDeColisoes(elementoDeTela);
 		}
 
-		setUltimoElemento(elementoDeTela);
-
-		if (getPrimeiroElemento() == null) {
-			// Se a lista estiver vazia, o primeiro também será o último
-			setPrimeiroElemento(elementoDeTela);
+		if (elementoDeTela.isTestadorDeColisoes()) {
+			adicioneAosTestadoresDeColisoes(elementoDeTela);
 		}
-
-		setContagemDeElementos(getContagemDeElementos() + 1);
 	}
 
 	public void adicioneAcima(ElementoDeTela elementoDeTela, ElementoDeTela elementoDeReferencia) {
+		ReservatorioDeElementos.verifiqueUso(elementoDeTela);
+
 		// Se a lista estava no meio do processamento, não podemos deixar que seus elementos sejam
 		// alterados, e por isso adicionamos uma ação pendente para ser executada no início do
 		// próximo quadro
 		if (isProcessando()) {
-			adicioneAcaoPendente(elementoDeTela, elementoDeReferencia, AcaoPendente.ADICIONE_ACIMA);
-			return;
-		}
-
-		ElementoDeTela primeiroElemento = getPrimeiroElemento();
-
-		// Se o elemento de referência era o primeiro elemento, então basta adicionar elementoDeTela
-		// ao início da lista
-		if (elementoDeReferencia == primeiroElemento) {
-			adicioneAoInicio(elementoDeTela);
+			adicioneAcaoPendente(elementoDeTela, elementoDeReferencia, FilaDeAcoesPendentes.ADICIONE_ACIMA);
 			return;
 		}
 
@@ -621,31 +1320,37 @@ public final class ListaDeElementosDeTela extends Recurso {
 			throw new RuntimeException("O elemento de referência não pertence a essa lista");
 		}
 
-		// O elemento pertence a essa lista agora
+		// O elemento pertence a essa lista agora, e sempre ao mesmo plano do elemento de referência
+		int plano = elementoDeReferencia.getPlano();
 		elementoDeTela.setLista(this);
+		elementoDeTela.setPlano(plano);
 
 		// O elemento pode ser processado/desenhado
 		elementoDeTela.setMarcadoParaRemocao(false);
 
-		ElementoDeTela seguinte = elementoDeReferencia.getElementoSeguinte();
+		// Adiciona o elemento logo acima do elemento de referência
+		getArmazenamentosPorPlano()[plano].adicioneAcima(elementoDeTela, elementoDeReferencia);
 
-		// Adiciona o elemento ao meio da lista
-		elementoDeTela.setElementoAnterior(elementoDeReferencia);
-		elementoDeTela.setElementoSeguinte(seguinte);
+		setContagemDeElementos(getContagemDeElementos() + 1);
+		getContagensDeElementosPorPlano()[plano]++;
 
-		// Atualiza o anterior do seguinte, e o seguinte de elementoDeReferencia
-		seguinte.setElementoAnterior(elementoDeTela);
-		elementoDeReferencia.setElementoSeguinte(elementoDeTela);
+		if (elementoDeTela.isParteDoSistemaDeColisoes()) {
+			adicioneAoSistemaDeColisoes(elementoDeTela);
+		}
 
-		setContagemDeElementos(getContagemDeElementos() + 1);
+		if (elementoDeTela.isTestadorDeColisoes()) {
+			adicioneAosTestadoresDeColisoes(elementoDeTela);
+		}
 	}
 
 	public void remova(ElementoDeTela elementoDeTela) {
+		ReservatorioDeElementos.verifiqueUso(elementoDeTela);
+
 		// Se a lista estava no meio do processamento, não podemos deixar que seus elementos sejam
 		// alterados, e por isso adicionamos uma ação pendente para ser executada no início do
 		// próximo quadro
 		if (isProcessando()) {
-			adicioneAcaoPendente(elementoDeTela, null, AcaoPendente.REMOVA);
+			adicioneAcaoPendente(elementoDeTela, null, FilaDeAcoesPendentes.REMOVA);
 			return;
 		}
 
@@ -656,224 +1361,282 @@ public final class ListaDeElementosDeTela extends Recurso {
 
 		elementoDeTela.setLista(null);
 
-		ElementoDeTela anterior = elementoDeTela.getElementoAnterior();
-		ElementoDeTela seguinte = elementoDeTela.getElementoSeguinte();
-
-		// Vamos ajudar o garbage colletor :)
-		elementoDeTela.setElementoAnterior(null);
-		elementoDeTela.setElementoSeguinte(null);
-
-		if (elementoDeTela == getPrimeiroElemento()) {
-			// O elemento que vinha antes de elementoDeTela agora se tornou o primeiro
-			setPrimeiroElemento(anterior);
+		if (elementoDeTela.isParteDoSistemaDeColisoes()) {
+			removaDoSistemaDeColisoes(elementoDeTela);
 		}
 
-		if (elementoDeTela == getUltimoElemento()) {
-			// O elemento que vinha depois de elementoDeTela agora se tornou o último
-			setUltimoElemento(seguinte);
+		if (elementoDeTela.isTestadorDeColisoes()) {
+			removaDosTestadoresDeColisoes(elementoDeTela);
 		}
 
-		// Apenas atualiza o seguinte do anterior, e o anterior do seguine ;)
-		if (anterior != null) {
-			anterior.setElementoSeguinte(seguinte);
-		}
-		if (seguinte != null) {
-			seguinte.setElementoAnterior(anterior);
-		}
+		armazenamentoDoElemento(elementoDeTela).remova(elementoDeTela);
 
 		setContagemDeElementos(getContagemDeElementos() - 1);
+		getContagensDeElementosPorPlano()[elementoDeTela.getPlano()]--;
 	}
 
 	public void removaEDestrua(ElementoDeTela elementoDeTela) {
+		ReservatorioDeElementos.verifiqueUso(elementoDeTela);
+
 		// Se a lista estava no meio do processamento, não podemos deixar que seus elementos sejam
 		// alterados, e por isso adicionamos uma ação pendente para ser executada no início do
 		// próximo quadro
 		if (isProcessando()) {
-			adicioneAcaoPendente(elementoDeTela, null, AcaoPendente.REMOVA_E_DESTRUA);
+			adicioneAcaoPendente(elementoDeTela, null, FilaDeAcoesPendentes.REMOVA_E_DESTRUA);
 			return;
 		}
 
-		// Vamos reaproveitar os comportamentos já existentes desses outros dois métodos
+		// Vamos reaproveitar os comportamentos já existentes desses outros dois métodos (os
+		// elementos obtidos de um reservatório voltam para ele, em vez de serem destruídos)
 		remova(elementoDeTela);
-		elementoDeTela.destrua();
+		elementoDeTela.destruaOuDevolva();
 	}
 
 	public void movaParaOInicio(ElementoDeTela elementoDeTela) {
+		ReservatorioDeElementos.verifiqueUso(elementoDeTela);
+
 		// Se a lista estava no meio do processamento, não podemos deixar que seus elementos sejam
 		// alterados, e por isso adicionamos uma ação pendente para ser executada no início do
 		// próximo quadro
 		if (isProcessando()) {
-			adicioneAcaoPendente(elementoDeTela, null, AcaoPendente.MOVA_PARA_O_INICIO);
+			adicioneAcaoPendente(elementoDeTela, null, FilaDeAcoesPendentes.MOVA_PARA_O_INICIO);
 			return;
 		}
 
-		if (elementoDeTela == getPrimeiroElemento()) {
-			// Não há mais nada que possa ser feito, o elemento já está na parte mais alta da lista
-			return;
+		if (elementoDeTela.getLista() != this) {
+			throw new RuntimeException("Esse elemento não pertence a essa lista");
 		}
 
-		// Vamos reaproveitar os comportamentos já existentes desses outros dois métodos
-		remova(elementoDeTela);
-		adicioneAoInicio(elementoDeTela);
+		// Apenas a posição do elemento muda, e ele continua no sistema de colisões durante a
+		// operação
+		armazenamentoDoElemento(elementoDeTela).movaParaOInicio(elementoDeTela);
 	}
 
 	public void movaParaOFinal(ElementoDeTela elementoDeTela) {
+		ReservatorioDeElementos.verifiqueUso(elementoDeTela);
+
 		// Se a lista estava no meio do processamento, não podemos deixar que seus elementos sejam
 		// alterados, e por isso adicionamos uma ação pendente para ser executada no início do
 		// próximo quadro
 		if (isProcessando()) {
-			adicioneAcaoPendente(elementoDeTela, null, AcaoPendente.MOVA_PARA_O_FINAL);
+			adicioneAcaoPendente(elementoDeTela, null, FilaDeAcoesPendentes.MOVA_PARA_O_FINAL);
 			return;
 		}
 
-		if (elementoDeTela == getUltimoElemento()) {
-			// Não há mais nada que possa ser feito, o elemento já está na parte mais baixa da lista
-			return;
+		if (elementoDeTela.getLista() != this) {
+			throw new RuntimeException("Esse elemento não pertence a essa lista");
 		}
 
-		// Vamos reaproveitar os comportamentos já existentes desses outros dois métodos
-		remova(elementoDeTela);
-		adicioneAoFinal(elementoDeTela);
+		// Apenas a posição do elemento muda, e ele continua no sistema de colisões durante a
+		// operação
+		armazenamentoDoElemento(elementoDeTela).movaParaOFinal(elementoDeTela);
 	}
 
 	public void subaUmNivel(ElementoDeTela elementoDeTela) {
+		ReservatorioDeElementos.verifiqueUso(elementoDeTela);
+
 		// Se a lista estava no meio do processamento, não podemos deixar que seus elementos sejam
 		// alterados, e por isso adicionamos uma ação pendente para ser executada no início do
 		// próximo quadro
 		if (isProcessando()) {
-			adicioneAcaoPendente(elementoDeTela, null, AcaoPendente.SUBA_UM_NIVEL);
+			adicioneAcaoPendente(elementoDeTela, null, FilaDeAcoesPendentes.SUBA_UM_NIVEL);
 			return;
 		}
 
-		if (elementoDeTela == getPrimeiroElemento()) {
-			// Não há mais nada que possa ser feito, o elemento já está na parte mais alta da lista
-			return;
+		if (elementoDeTela.getLista() != this) {
+			throw new RuntimeException("Esse elemento não pertence a essa lista");
 		}
 
-		// Vamos reaproveitar os comportamentos já existentes desses outros métodos
-		ElementoDeTela seguinte = elementoDeTela.getElementoSeguinte();
-		remova(elementoDeTela);
-		adicioneAcima(elementoDeTela, seguinte);
+		// O elemento troca de lugar com o elemento que está imediatamente acima dele (se ele
+		// já estiver na parte mais alta da lista, nada acontece)
+		armazenamentoDoElemento(elementoDeTela).subaUmNivel(elementoDeTela);
 	}
 
 	public void descaUmNivel(ElementoDeTela elementoDeTela) {
+		ReservatorioDeElementos.verifiqueUso(elementoDeTela);
+
 		// Se a lista estava no meio do processamento, não podemos deixar que seus elementos sejam
 		// alterados, e por isso adicionamos uma ação pendente para ser executada no início do
 		// próximo quadro
 		if (isProcessando()) {
-			adicioneAcaoPendente(elementoDeTela, null, AcaoPendente.DESCA_UM_NIVEL);
+			adicioneAcaoPendente(elementoDeTela, null, FilaDeAcoesPendentes.DESCA_UM_NIVEL);
 			return;
 		}
 
-		ElementoDeTela ultimoElemento = getUltimoElemento();
-
-		if (elementoDeTela == ultimoElemento) {
-			// Não há mais nada que possa ser feito, o elemento já está na parte mais baixa da lista
-			return;
+		if (elementoDeTela.getLista() != this) {
+			throw new RuntimeException("Esse elemento não pertence a essa lista");
 		}
 
-		// Vamos reaproveitar os comportamentos já existentes desses outros métodos
-		ElementoDeTela anterior = elementoDeTela.getElementoAnterior();
+		// O elemento troca de lugar com o elemento que está imediatamente abaixo dele (se ele
+		// já estiver na parte mais baixa da lista, nada acontece)
+		armazenamentoDoElemento(elementoDeTela).descaUmNivel(elementoDeTela);
+	}
 
-		if (anterior == ultimoElemento) {
-			// Se o elemento que vinha antes de elementoDeTela era o último, então para fazer com
-			// que ele desça um nível, basta adicioná-lo ao final da lista
-			remova(elementoDeTela);
-			adicioneAoFinal(elementoDeTela);
-		} else {
-			// Agora, se o elemento que vinha antes de elementoDeTela não era o último, então para
-			// fazer com que ele desça um nível, basta adicioná-lo acima do elemento que vinha antes
-			// de anterior
-			remova(elementoDeTela);
-			adicioneAcima(elementoDeTela, anterior.getElementoAnterior());
-		}
+	// Visita os elementos do plano na mesma ordem em que são desenhados (do fundo para a frente),
+	// ignorando os elementos marcados para remoção, e retorna a quantidade de elementos visitados
+	public int visiteElementosDoPlano(int plano, Visitante visitante) {
+		valideOPlano(plano);
+		return getArmazenamentosPorPlano()[plano].visite(visitante);
 	}
 
+	// Todas as consultas passam pelo sistema de colisões, que devolve apenas os elementos próximos
+	// ao elemento (ou ponto) sendo testado, em vez de percorrer a lista inteira
+	// As consultas de colisão consideram apenas as camadas presentes na máscara de colisão do
+	// elemento sendo testado, e as consultas de pontos que não recebem uma máscara consideram
+	// todas as camadas
 	public ElementoDeTela primeiroElementoQueColide(ElementoDeTela elementoParaTestar) {
-		return primeiroElementoQueColideForcaBruta(elementoParaTestar);
+		consulteElementosQueColidem(elementoParaTestar, elementoParaTestar.getMascaraDeColisao());
+		return primeiroResultado();
 	}
 
+	@SuppressWarnings("unchecked")
 	public <E extends ElementoDeTela> E primeiroElementoQueColide(ElementoDeTela elementoParaTestar, Class<E> classeDesejada) {
-		return primeiroElementoQueColideForcaBruta(elementoParaTestar, classeDesejada);
+		consulteElementosQueColidem(elementoParaTestar, elementoParaTestar.getMascaraDeColisao());
+		getConsultaDeColisoes().filtre(classeDesejada);
+		return (E)primeiroResultado();
 	}
 
 	public ArrayList<ElementoDeTela> elementosQueColidem(ElementoDeTela elementoParaTestar) {
-		return elementosQueColidemForcaBruta(elementoParaTestar);
+		consulteElementosQueColidem(elementoParaTestar, elementoParaTestar.getMascaraDeColisao());
+		return resultadosOrdenados();
+	}
+
+	// As versões que recebem um ArrayList, um vetor ou um Visitante não criam objeto algum, e
+	// servem para quem precisa fazer consultas com vários resultados em todos os quadros (tiros
+	// que atravessam inimigos, explosões que atingem uma área etc.)
+
+	// Limpa elementos, e depois o preenche com os resultados, retornando a quantidade de resultados
+	public int elementosQueColidem(ElementoDeTela elementoParaTestar, ArrayList<ElementoDeTela> elementos) {
+		consulteElementosQueColidem(elementoParaTestar, elementoParaTestar.getMascaraDeColisao());
+		int contagemDeResultados = ordeneResultados();
+		elementos.clear();
+		copieResultados(elementos, contagemDeResultados);
+		return contagemDeResultados;
+	}
+
+	// Preenche elementos com até elementos.length resultados, mas retorna a quantidade total de
+	// resultados (que pode ser maior do que elementos.length)
+	public int elementosQueColidem(ElementoDeTela elementoParaTestar, ElementoDeTela[] elementos) {
+		consulteElementosQueColidem(elementoParaTestar, elementoParaTestar.getMascaraDeColisao());
+		return copieResultados(elementos);
+	}
+
+	// Retorna a quantidade de elementos visitados
+	public int elementosQueColidem(ElementoDeTela elementoParaTestar, Visitante visitante) {
+		consulteElementosQueColidem(elementoParaTestar, elementoParaTestar.getMascaraDeColisao());
+		return visiteResultados(visitante);
 	}
 
 	public ElementoDeTela primeiroElementoQueContemPonto(float x, float y) {
-		return primeiroElementoQueContemPontoForcaBruta(x, y);
+		return primeiroElementoQueContemPonto(x, y, ElementoDeTela.TODAS_AS_CAMADAS_DE_COLISAO);
 	}
 
+	public ElementoDeTela primeiroElementoQueContemPonto(float x, float y, int mascaraDeColisao) {
+		consulteElementosQueContemPonto(x, y, mascaraDeColisao);
+		return primeiroResultado();
+	}
+
+	@SuppressWarnings("unchecked")
 	public <E extends ElementoDeTela> E primeiroElementoQueContemPonto(float x, float y, Class<E> classeDesejada) {
-		return primeiroElementoQueContemPontoForcaBruta(x, y, classeDesejada);
+		consulteElementosQueContemPonto(x, y, ElementoDeTela.TODAS_AS_CAMADAS_DE_COLISAO);
+		getConsultaDeColisoes().filtre(classeDesejada);
+		return (E)primeiroResultado();
 	}
 
 	public ArrayList<ElementoDeTela> elementosQueContemPonto(float x, float y) {
-		return elementosQueContemPontoForcaBruta(x, y);
+		return elementosQueContemPonto(x, y, ElementoDeTela.TODAS_AS_CAMADAS_DE_COLISAO);
 	}
 
-	public void processeEDesenheUmQuadro(float deltaSegundos) {
+	public ArrayList<ElementoDeTela> elementosQueContemPonto(float x, float y, int mascaraDeColisao) {
+		consulteElementosQueContemPonto(x, y, mascaraDeColisao);
+		return resultadosOrdenados();
+	}
+
+	public int elementosQueContemPonto(float x, float y, int mascaraDeColisao, ArrayList<ElementoDeTela> elementos) {
+		consulteElementosQueContemPonto(x, y, mascaraDeColisao);
+		int contagemDeResultados = ordeneResultados();
+		elementos.clear();
+		copieResultados(elementos, contagemDeResultados);
+		return contagemDeResultados;
+	}
+
+	public int elementosQueContemPonto(float x, float y, int mascaraDeColisao, ElementoDeTela[] elementos) {
+		consulteElementosQueContemPonto(x, y, mascaraDeColisao);
+		return copieResultados(elementos);
+	}
+
+	public int elementosQueContemPonto(float x, float y, int mascaraDeColisao, Visitante visitante) {
+		consulteElementosQueContemPonto(x, y, mascaraDeColisao);
+		return visiteResultados(visitante);
+	}
+
+	public void processeUmQuadro(float deltaSegundos) {
 		// Essa indicação serve para controlar o comportamento dos métodos que alteram a lista, tais
 		// como adicioneAoInicio, remova e assim por diante
 		setProcessando(true);
 
-		// Processa todos os elementos do último para o primeiro (do fundo para a frente)
-		ElementoDeTela elementoDeTela = getUltimoElemento();
-		while (elementoDeTela != null) {
-			if (!elementoDeTela.isMarcadoParaRemocao()) {
-				elementoDeTela.processeUmQuadro(deltaSegundos);
+		// A partir daqui, os deslocamentos dos elementos passam a ser registrados para o novo
+		// quadro
+		setNumeroDoQuadro(getNumeroDoQuadro() + 1);
+
+		// Processa todos os elementos do último para o primeiro (do fundo para a frente), plano por
+		// plano, pulando os planos pausados
+		ArmazenamentoDeElementos[] armazenamentosPorPlano = getArmazenamentosPorPlano();
+		int planosPausados = getPlanosPausados();
+		for (int plano = 0; plano < QUANTIDADE_DE_PLANOS; plano++) {
+			if ((planosPausados & (1 << plano)) == 0) {
+				armazenamentosPorPlano[plano].processeUmQuadro(deltaSegundos);
 			}
-			elementoDeTela = elementoDeTela.getElementoSeguinte();
 		}
 
-		// Os elementos devem ser desenhados apenas depois de todos terem sido processados
-
-		// Desenha todos os elementos do último para o primeiro (do fundo para a frente)
-		elementoDeTela = getUltimoElemento();
-		while (elementoDeTela != null) {
-			if (!elementoDeTela.isMarcadoParaRemocao()) {
-				elementoDeTela.desenheUmQuadro();
-			}
-			elementoDeTela = elementoDeTela.getElementoSeguinte();
-		}
+		// Com todos os elementos já em suas novas posições, as colisões do quadro são detectadas
+		// e despachadas de uma só vez
+		executeFaseDeColisoes();
 
 		setProcessando(false);
 
 		// Depois de processar o quadro temos que realizar todas as ações que estavam pendentes,
 		// garantindo, assim, que a lista de objetos ativos não seja alterada durante o
 		// processamento do quadro, o que poderia trazer resultados estranhos...
+		// (como um mesmo desenho pode ser precedido por vários quadros, ou por nenhum, as ações
+		// são executadas aqui, e não depois do desenho)
 
-		AcaoPendente acaoPendente = getPrimeiraAcaoPendente();
-		if (acaoPendente != null) {
-			do {
-				// Temos que manter uma referência para a próxima ação aqui, pois o método execute()
-				// irá transformar tudo em null
-				AcaoPendente temporario = acaoPendente.getAcaoSeguinte();
-
-				acaoPendente.execute(this);
-
-				acaoPendente = temporario;
-			} while (acaoPendente != null);
+		FilaDeAcoesPendentes acoesPendentes = getAcoesPendentes();
+		if (acoesPendentes.getContagem() != 0) {
+			acoesPendentes.execute(this);
+		}
 
-			setPrimeiraAcaoPendente(null);
-			setUltimaAcaoPendente(null);
+		FilaDeAcoesPendentes remocoesPendentes = getRemocoesPendentes();
+		if (remocoesPendentes.getContagem() != 0) {
+			remocoesPendentes.execute(this);
 		}
 
-		AcaoPendente remocaoPendente = getPrimeiraRemocaoPendente();
-		if (remocaoPendente != null) {
-			do {
-				// Temos que manter uma referência para a próxima ação aqui, pois o método execute()
-				// irá transformar tudo em null
-				AcaoPendente temporario = remocaoPendente.getAcaoSeguinte();
+		// Com a lista já estável, o armazenamento pode se reorganizar (um vetor denso, por
+		// exemplo, elimina as lacunas deixadas pelas remoções do quadro)
+		for (ArmazenamentoDeElementos armazenamentoDoPlano : armazenamentosPorPlano) {
+			armazenamentoDoPlano.finalizeQuadro();
+		}
+	}
 
-				remocaoPendente.execute(this);
+	public void desenheUmQuadro(float fatorDeInterpolacao) {
+		// Os elementos que se movem utilizam esse fator para serem desenhados entre sua posição
+		// no início do último quadro processado e sua posição atual
+		ElementoDeTela.setFatorDeInterpolacao(fatorDeInterpolacao);
 
-				remocaoPendente = temporario;
-			} while (remocaoPendente != null);
+		// Caso algum elemento tente alterar a lista durante o desenho, a alteração fica pendente
+		// até o final do próximo quadro processado
+		setProcessando(true);
 
-			setPrimeiraRemocaoPendente(null);
-			setUltimaRemocaoPendente(null);
+		// Desenha todos os elementos do último para o primeiro (do fundo para a frente), plano por
+		// plano, pulando os planos ocultos
+		ArmazenamentoDeElementos[] armazenamentosPorPlano = getArmazenamentosPorPlano();
+		int planosOcultos = getPlanosOcultos();
+		for (int plano = 0; plano < QUANTIDADE_DE_PLANOS; plano++) {
+			if ((planosOcultos & (1 << plano)) == 0) {
+				armazenamentosPorPlano[plano].desenheUmQuadro();
+			}
 		}
+
+		setProcessando(false);
 	}
 }
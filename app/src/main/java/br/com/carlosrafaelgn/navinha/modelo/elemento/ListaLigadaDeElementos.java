@@ -0,0 +1,420 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
+
+// A lista duplamente ligada utiliza os campos elementoAnterior e elementoSeguinte dos próprios
+// elementos, e não precisa de memória adicional alguma
+// Além dos ponteiros, cada elemento recebe uma chave de profundidade (guardada em seu índice no
+// armazenamento), que cresce do último para o primeiro elemento, deixando espaços entre elementos
+// vizinhos: assim, os resultados de uma consulta podem ser ordenados apenas pela chave, sem
+// percorrer a lista inteira (quando não existe mais espaço, a lista toda é renumerada)
+final class ListaLigadaDeElementos extends ArmazenamentoDeElementos {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final int ESPACO_ENTRE_CHAVES = 1 << 16;
+	private static final int LIMITE_DA_ORDENACAO_POR_INSERCAO = 16;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private ElementoDeTela primeiroElemento, ultimoElemento;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	ListaLigadaDeElementos() {
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private ElementoDeTela getPrimeiroElemento() {
+		return primeiroElemento;
+	}
+
+	private void setPrimeiroElemento(ElementoDeTela primeiroElemento) {
+		this.primeiroElemento = primeiroElemento;
+	}
+
+	private ElementoDeTela getUltimoElemento() {
+		return ultimoElemento;
+	}
+
+	private void setUltimoElemento(ElementoDeTela ultimoElemento) {
+		this.ultimoElemento = ultimoElemento;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private void renumere() {
+		// Distribui as chaves igualmente por todo o intervalo de um int, do último elemento (a menor
+		// chave) para o primeiro (a maior chave), deixando o mesmo espaço livre nas duas pontas
+		long contagem = 0;
+		ElementoDeTela elementoDeTela = getUltimoElemento();
+		while (elementoDeTela != null) {
+			contagem++;
+			elementoDeTela = elementoDeTela.getElementoSeguinte();
+		}
+
+		long espaco = Math.max(1L, Math.min((long)ESPACO_ENTRE_CHAVES, 0xFFFFFFFFL / (contagem + 1L)));
+		long chave = -((contagem - 1L) * espaco) / 2L;
+		elementoDeTela = getUltimoElemento();
+		while (elementoDeTela != null) {
+			elementoDeTela.setIndiceNoArmazenamento((int)chave);
+			chave += espaco;
+			elementoDeTela = elementoDeTela.getElementoSeguinte();
+		}
+	}
+
+	private static void afundeNoHeap(ElementoDeTela[] resultados, int inicio, int pai, int contagem) {
+		// O heap mantém na raiz a menor chave (o elemento mais ao fundo), que vai para o final
+		int filho;
+		while ((filho = (pai << 1) + 1) < contagem) {
+			if (filho + 1 < contagem && resultados[inicio + filho + 1].getIndiceNoArmazenamento() < resultados[inicio + filho].getIndiceNoArmazenamento()) {
+				filho++;
+			}
+			ElementoDeTela elementoDoPai = resultados[inicio + pai];
+			if (elementoDoPai.getIndiceNoArmazenamento() <= resultados[inicio + filho].getIndiceNoArmazenamento()) {
+				return;
+			}
+			resultados[inicio + pai] = resultados[inicio + filho];
+			resultados[inicio + filho] = elementoDoPai;
+			pai = filho;
+		}
+	}
+
+	@Override
+	ArmazenamentoDeElementos crieSemelhante() {
+		return new ListaLigadaDeElementos();
+	}
+
+	@Override
+	void adicioneAoInicio(ElementoDeTela elementoDeTela) {
+		// Adiciona o elemento ao início lista
+		ElementoDeTela primeiroElemento = getPrimeiroElemento();
+
+		elementoDeTela.setElementoAnterior(primeiroElemento);
+		elementoDeTela.setElementoSeguinte(null);
+
+		if (primeiroElemento != null) {
+			primeiroElemento.setElementoSeguinte(elementoDeTela);
+		}
+
+		setPrimeiroElemento(elementoDeTela);
+
+		if (getUltimoElemento() == null) {
+			// Se a lista estiver vazia, o primeiro também será o último
+			setUltimoElemento(elementoDeTela);
+			elementoDeTela.setIndiceNoArmazenamento(0);
+		} else if (primeiroElemento.getIndiceNoArmazenamento() <= Integer.MAX_VALUE - ESPACO_ENTRE_CHAVES) {
+			elementoDeTela.setIndiceNoArmazenamento(primeiroElemento.getIndiceNoArmazenamento() + ESPACO_ENTRE_CHAVES);
+		} else {
+			renumere();
+		}
+	}
+
+	@Override
+	void adicioneAoFinal(ElementoDeTela elementoDeTela) {
+		// Adiciona o elemento ao final da lista
+		ElementoDeTela ultimoElemento = getUltimoElemento();
+
+		elementoDeTela.setElementoAnterior(null);
+		elementoDeTela.setElementoSeguinte(ultimoElemento);
+
+		if (ultimoElemento != null) {
+			ultimoElemento.setElementoAnterior(elementoDeTela);
+		}
+
+		setUltimoElemento(elementoDeTela);
+
+		if (getPrimeiroElemento() == null) {
+			// Se a lista estiver vazia, o primeiro também será o último
+			setPrimeiroElemento(elementoDeTela);
+			elementoDeTela.setIndiceNoArmazenamento(0);
+		} else if (ultimoElemento.getIndiceNoArmazenamento() >= Integer.MIN_VALUE + ESPACO_ENTRE_CHAVES) {
+			elementoDeTela.setIndiceNoArmazenamento(ultimoElemento.getIndiceNoArmazenamento() - ESPACO_ENTRE_CHAVES);
+		} else {
+			renumere();
+		}
+	}
+
+	@Override
+	void adicioneAcima(ElementoDeTela elementoDeTela, ElementoDeTela elementoDeReferencia) {
+		// Se o elemento de referência era o primeiro elemento, então basta adicionar elementoDeTela
+		// ao início da lista
+		if (elementoDeReferencia == getPrimeiroElemento()) {
+			adicioneAoInicio(elementoDeTela);
+			return;
+		}
+
+		ElementoDeTela seguinte = elementoDeReferencia.getElementoSeguinte();
+
+		// Adiciona o elemento ao meio da lista
+		elementoDeTela.setElementoAnterior(elementoDeReferencia);
+		elementoDeTela.setElementoSeguinte(seguinte);
+
+		// Atualiza o anterior do seguinte, e o seguinte de elementoDeReferencia
+		seguinte.setElementoAnterior(elementoDeTela);
+		elementoDeReferencia.setElementoSeguinte(elementoDeTela);
+
+		// A nova chave fica no meio das chaves dos dois vizinhos, se ainda houver espaço entre elas
+		long chaveDeBaixo = elementoDeReferencia.getIndiceNoArmazenamento();
+		long chaveDeCima = seguinte.getIndiceNoArmazenamento();
+		if (chaveDeCima - chaveDeBaixo >= 2L) {
+			elementoDeTela.setIndiceNoArmazenamento((int)((chaveDeBaixo + chaveDeCima) >> 1));
+		} else {
+			renumere();
+		}
+	}
+
+	@Override
+	void remova(ElementoDeTela elementoDeTela) {
+		ElementoDeTela anterior = elementoDeTela.getElementoAnterior();
+		ElementoDeTela seguinte = elementoDeTela.getElementoSeguinte();
+
+		// Vamos ajudar o garbage colletor :)
+		elementoDeTela.setElementoAnterior(null);
+		elementoDeTela.setElementoSeguinte(null);
+
+		if (elementoDeTela == getPrimeiroElemento()) {
+			// O elemento que vinha antes de elementoDeTela agora se tornou o primeiro
+			setPrimeiroElemento(anterior);
+		}
+
+		if (elementoDeTela == getUltimoElemento()) {
+			// O elemento que vinha depois de elementoDeTela agora se tornou o último
+			setUltimoElemento(seguinte);
+		}
+
+		// Apenas atualiza o seguinte do anterior, e o anterior do seguine ;)
+		if (anterior != null) {
+			anterior.setElementoSeguinte(seguinte);
+		}
+		if (seguinte != null) {
+			seguinte.setElementoAnterior(anterior);
+		}
+	}
+
+	@Override
+	void movaParaOInicio(ElementoDeTela elementoDeTela) {
+		if (elementoDeTela == getPrimeiroElemento()) {
+			// Não há mais nada que possa ser feito, o elemento já está na parte mais alta da lista
+			return;
+		}
+
+		// Vamos reaproveitar os comportamentos já existentes desses outros dois métodos
+		remova(elementoDeTela);
+		adicioneAoInicio(elementoDeTela);
+	}
+
+	@Override
+	void movaParaOFinal(ElementoDeTela elementoDeTela) {
+		if (elementoDeTela == getUltimoElemento()) {
+			// Não há mais nada que possa ser feito, o elemento já está na parte mais baixa da lista
+			return;
+		}
+
+		// Vamos reaproveitar os comportamentos já existentes desses outros dois métodos
+		remova(elementoDeTela);
+		adicioneAoFinal(elementoDeTela);
+	}
+
+	@Override
+	void subaUmNivel(ElementoDeTela elementoDeTela) {
+		if (elementoDeTela == getPrimeiroElemento()) {
+			// Não há mais nada que possa ser feito, o elemento já está na parte mais alta da lista
+			return;
+		}
+
+		// Vamos reaproveitar os comportamentos já existentes desses outros métodos
+		ElementoDeTela seguinte = elementoDeTela.getElementoSeguinte();
+		remova(elementoDeTela);
+		adicioneAcima(elementoDeTela, seguinte);
+	}
+
+	@Override
+	void descaUmNivel(ElementoDeTela elementoDeTela) {
+		ElementoDeTela ultimoElemento = getUltimoElemento();
+
+		if (elementoDeTela == ultimoElemento) {
+			// Não há mais nada que possa ser feito, o elemento já está na parte mais baixa da lista
+			return;
+		}
+
+		// Vamos reaproveitar os comportamentos já existentes desses outros métodos
+		ElementoDeTela anterior = elementoDeTela.getElementoAnterior();
+
+		if (anterior == ultimoElemento) {
+			// Se o elemento que vinha antes de elementoDeTela era o último, então para fazer com
+			// que ele desça um nível, basta adicioná-lo ao final da lista
+			remova(elementoDeTela);
+			adicioneAoFinal(elementoDeTela);
+		} else {
+			// Agora, se o elemento que vinha antes de elementoDeTela não era o último, então para
+			// fazer com que ele desça um nível, basta adicioná-lo acima do elemento que vinha antes
+			// de anterior
+			remova(elementoDeTela);
+			adicioneAcima(elementoDeTela, anterior.getElementoAnterior());
+		}
+	}
+
+	@Override
+	void processeUmQuadro(float deltaSegundos) {
+		ElementoDeTela elementoDeTela = getUltimoElemento();
+		while (elementoDeTela != null) {
+			if (!elementoDeTela.isMarcadoParaRemocao()) {
+				elementoDeTela.processeUmQuadro(deltaSegundos);
+			}
+			elementoDeTela = elementoDeTela.getElementoSeguinte();
+		}
+	}
+
+	@Override
+	void desenheUmQuadro() {
+		ElementoDeTela elementoDeTela = getUltimoElemento();
+		while (elementoDeTela != null) {
+			if (!elementoDeTela.isMarcadoParaRemocao()) {
+				elementoDeTela.desenheUmQuadro();
+			}
+			elementoDeTela = elementoDeTela.getElementoSeguinte();
+		}
+	}
+
+	@Override
+	int visite(ListaDeElementosDeTela.Visitante visitante) {
+		int contagem = 0;
+		ElementoDeTela elementoDeTela = getUltimoElemento();
+		while (elementoDeTela != null) {
+			if (!elementoDeTela.isMarcadoParaRemocao()) {
+				contagem++;
+				if (!visitante.visite(elementoDeTela)) {
+					break;
+				}
+			}
+			elementoDeTela = elementoDeTela.getElementoSeguinte();
+		}
+		return contagem;
+	}
+
+	@Override
+	void finalizeQuadro() {
+		// Não há nada para ser reorganizado em uma lista ligada
+	}
+
+	@Override
+	void carregue() {
+		ElementoDeTela elementoDeTela = getUltimoElemento();
+		while (elementoDeTela != null) {
+			elementoDeTela.carregue();
+			elementoDeTela = elementoDeTela.getElementoSeguinte();
+		}
+	}
+
+	@Override
+	void libere() {
+		ElementoDeTela elementoDeTela = getUltimoElemento();
+		while (elementoDeTela != null) {
+			elementoDeTela.libere();
+			elementoDeTela = elementoDeTela.getElementoSeguinte();
+		}
+	}
+
+	@Override
+	void destrua() {
+		ElementoDeTela elementoDeTela = getUltimoElemento();
+		while (elementoDeTela != null) {
+			// Temos que manter uma referência para o próximo elemento aqui, pois destruir o
+			// elemento (ou devolvê-lo ao seu reservatório) irá transformar tudo em null
+			ElementoDeTela temporario = elementoDeTela.getElementoSeguinte();
+
+			elementoDeTela.destruaOuDevolva();
+
+			elementoDeTela = temporario;
+		}
+
+		setPrimeiroElemento(null);
+		setUltimoElemento(null);
+	}
+
+	@Override
+	ElementoDeTela maisAFrente(ElementoDeTela[] resultados, int inicio, int contagemDeResultados, int numeroDaConsulta) {
+		// O elemento mais à frente é aquele com a maior chave
+		ElementoDeTela maisAFrente = resultados[inicio];
+		int fim = inicio + contagemDeResultados;
+		for (int i = inicio + 1; i < fim; i++) {
+			if (resultados[i].getIndiceNoArmazenamento() > maisAFrente.getIndiceNoArmazenamento()) {
+				maisAFrente = resultados[i];
+			}
+		}
+		return maisAFrente;
+	}
+
+	@Override
+	void ordeneDaFrenteParaTras(ElementoDeTela[] resultados, int inicio, int contagemDeResultados, int numeroDaConsulta) {
+		// Apenas os resultados são ordenados, pela chave, da maior para a menor, sem percorrer a
+		// lista (o custo depende apenas da quantidade de resultados)
+		if (contagemDeResultados <= LIMITE_DA_ORDENACAO_POR_INSERCAO) {
+			int fimDosResultados = inicio + contagemDeResultados;
+			for (int i = inicio + 1; i < fimDosResultados; i++) {
+				ElementoDeTela elementoDeTela = resultados[i];
+				int chave = elementoDeTela.getIndiceNoArmazenamento();
+				int j = i;
+				while (j > inicio && resultados[j - 1].getIndiceNoArmazenamento() < chave) {
+					resultados[j] = resultados[j - 1];
+					j--;
+				}
+				resultados[j] = elementoDeTela;
+			}
+			return;
+		}
+
+		// Com muitos resultados, um heapsort, que não aloca nada
+		for (int i = (contagemDeResultados >> 1) - 1; i >= 0; i--) {
+			afundeNoHeap(resultados, inicio, i, contagemDeResultados);
+		}
+
+		for (int fim = contagemDeResultados - 1; fim > 0; fim--) {
+			ElementoDeTela elementoDeTela = resultados[inicio];
+			resultados[inicio] = resultados[inicio + fim];
+			resultados[inicio + fim] = elementoDeTela;
+			afundeNoHeap(resultados, inicio, 0, fim);
+		}
+	}
+}
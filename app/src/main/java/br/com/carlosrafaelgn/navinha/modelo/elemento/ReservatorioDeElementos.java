@@ -0,0 +1,259 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
+
+// Um reservatório (object pool) guarda elementos de um mesmo tipo que não estão mais em uso, para
+// que eles possam ser reutilizados, em vez de serem destruídos e criados novamente a cada tiro,
+// explosão etc.
+// Os elementos obtidos de um reservatório voltam para ele automaticamente quando são destruídos
+// por meio de removaEDestrua(), ou quando a lista à qual pertencem é destruída, e, ao voltarem,
+// têm seu método recicleInternamente() chamado
+// Com as verificações ativas (apenas durante o desenvolvimento), o uso de um elemento que já foi
+// devolvido ao reservatório é detectado, e gera uma exceção
+public final class ReservatorioDeElementos<E extends ElementoDeTela> {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final int CAPACIDADE_INICIAL = 16;
+
+	//----------------------------------------------------------------------------------------------
+	// Interfaces e classes internas
+	//----------------------------------------------------------------------------------------------
+
+	public interface Fabrica<E extends ElementoDeTela> {
+		//------------------------------------------------------------------------------------------
+		// Métodos públicos
+		//------------------------------------------------------------------------------------------
+
+		// Deve criar um novo elemento, que será inicializado por quem o obtiver do reservatório
+		E crie();
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private static boolean verificacoesAtivas;
+
+	private final String nome;
+	private final Fabrica<E> fabrica;
+	// Os elementos livres ficam em uma pilha, para que o último elemento devolvido (que
+	// provavelmente ainda está no cache) seja o primeiro a ser reutilizado
+	private ElementoDeTela[] elementosLivres;
+	private int contagemDeElementosLivres;
+	// Estatísticas do reservatório
+	private int contagemDeElementosEmUso, maximoDeElementosEmUso, contagemDeElementosCriados;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public ReservatorioDeElementos(String nome, Fabrica<E> fabrica) {
+		if (fabrica == null) {
+			throw new IllegalArgumentException("fabrica não pode ser nula");
+		}
+
+		this.nome = nome;
+		this.fabrica = fabrica;
+		this.elementosLivres = new ElementoDeTela[CAPACIDADE_INICIAL];
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	public static boolean isVerificacoesAtivas() {
+		return verificacoesAtivas;
+	}
+
+	public static void setVerificacoesAtivas(boolean verificacoesAtivas) {
+		ReservatorioDeElementos.verificacoesAtivas = verificacoesAtivas;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	private Fabrica<E> getFabrica() {
+		return fabrica;
+	}
+
+	private ElementoDeTela[] getElementosLivres() {
+		return elementosLivres;
+	}
+
+	private void setElementosLivres(ElementoDeTela[] elementosLivres) {
+		this.elementosLivres = elementosLivres;
+	}
+
+	public int getContagemDeElementosLivres() {
+		return contagemDeElementosLivres;
+	}
+
+	private void setContagemDeElementosLivres(int contagemDeElementosLivres) {
+		this.contagemDeElementosLivres = contagemDeElementosLivres;
+	}
+
+	public int getContagemDeElementosEmUso() {
+		return contagemDeElementosEmUso;
+	}
+
+	private void setContagemDeElementosEmUso(int contagemDeElementosEmUso) {
+		this.contagemDeElementosEmUso = contagemDeElementosEmUso;
+	}
+
+	// A maior quantidade de elementos em uso ao mesmo tempo, desde a criação do reservatório (ou
+	// desde a última chamada a reinicieEstatisticas()), que é um bom valor para preencha()
+	public int getMaximoDeElementosEmUso() {
+		return maximoDeElementosEmUso;
+	}
+
+	private void setMaximoDeElementosEmUso(int maximoDeElementosEmUso) {
+		this.maximoDeElementosEmUso = maximoDeElementosEmUso;
+	}
+
+	public int getContagemDeElementosCriados() {
+		return contagemDeElementosCriados;
+	}
+
+	private void setContagemDeElementosCriados(int contagemDeElementosCriados) {
+		this.contagemDeElementosCriados = contagemDeElementosCriados;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private E crieElemento() {
+		E elementoDeTela = getFabrica().crie();
+		elementoDeTela.setReservatorio(this);
+		setContagemDeElementosCriados(getContagemDeElementosCriados() + 1);
+		return elementoDeTela;
+	}
+
+	private void empilhe(ElementoDeTela elementoDeTela) {
+		ElementoDeTela[] elementosLivres = getElementosLivres();
+		int contagemDeElementosLivres = getContagemDeElementosLivres();
+
+		if (contagemDeElementosLivres == elementosLivres.length) {
+			ElementoDeTela[] novosElementosLivres = new ElementoDeTela[contagemDeElementosLivres << 1];
+			System.arraycopy(elementosLivres, 0, novosElementosLivres, 0, contagemDeElementosLivres);
+			elementosLivres = novosElementosLivres;
+			setElementosLivres(elementosLivres);
+		}
+
+		elementoDeTela.setNoReservatorio(true);
+		elementosLivres[contagemDeElementosLivres] = elementoDeTela;
+		setContagemDeElementosLivres(contagemDeElementosLivres + 1);
+	}
+
+	void devolva(ElementoDeTela elementoDeTela) {
+		if (elementoDeTela.isNoReservatorio()) {
+			// Devolver o mesmo elemento duas vezes faria com que ele fosse entregue a dois donos
+			// diferentes no futuro, então a segunda devolução é sempre ignorada
+			if (isVerificacoesAtivas()) {
+				throw new RuntimeException("O elemento já havia sido devolvido ao reservatório " + getNome());
+			}
+			return;
+		}
+
+		elementoDeTela.recicle();
+		empilhe(elementoDeTela);
+		setContagemDeElementosEmUso(getContagemDeElementosEmUso() - 1);
+	}
+
+	static void verifiqueUso(ElementoDeTela elementoDeTela) {
+		if (isVerificacoesAtivas() && elementoDeTela.isNoReservatorio()) {
+			throw new RuntimeException("O elemento está sendo utilizado depois de ter sido devolvido ao reservatório " + elementoDeTela.getReservatorio().getNome());
+		}
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	// Garante que existam pelo menos quantidade elementos (livres ou em uso) criados, para que
+	// nenhum elemento precise ser criado durante o jogo (deve ser chamado durante o carregamento
+	// de um cenário, por exemplo)
+	public void preencha(int quantidade) {
+		for (int i = getContagemDeElementosLivres() + getContagemDeElementosEmUso(); i < quantidade; i++) {
+			empilhe(crieElemento());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public E obtenha() {
+		E elementoDeTela;
+		int contagemDeElementosLivres = getContagemDeElementosLivres();
+
+		if (contagemDeElementosLivres == 0) {
+			elementoDeTela = crieElemento();
+		} else {
+			contagemDeElementosLivres--;
+			ElementoDeTela[] elementosLivres = getElementosLivres();
+			elementoDeTela = (E)elementosLivres[contagemDeElementosLivres];
+			elementosLivres[contagemDeElementosLivres] = null;
+			setContagemDeElementosLivres(contagemDeElementosLivres);
+			elementoDeTela.setNoReservatorio(false);
+		}
+
+		int contagemDeElementosEmUso = getContagemDeElementosEmUso() + 1;
+		setContagemDeElementosEmUso(contagemDeElementosEmUso);
+		if (contagemDeElementosEmUso > getMaximoDeElementosEmUso()) {
+			setMaximoDeElementosEmUso(contagemDeElementosEmUso);
+		}
+
+		return elementoDeTela;
+	}
+
+	public void reinicieEstatisticas() {
+		setMaximoDeElementosEmUso(getContagemDeElementosEmUso());
+		setContagemDeElementosCriados(0);
+	}
+
+	// Destrói todos os elementos livres (os elementos em uso continuam funcionando, e serão
+	// guardados novamente quando forem devolvidos)
+	public void esvazie() {
+		ElementoDeTela[] elementosLivres = getElementosLivres();
+		for (int i = getContagemDeElementosLivres() - 1; i >= 0; i--) {
+			ElementoDeTela elementoDeTela = elementosLivres[i];
+			elementosLivres[i] = null;
+			// O elemento deixa de pertencer ao reservatório, para ser realmente destruído
+			elementoDeTela.setReservatorio(null);
+			elementoDeTela.setNoReservatorio(false);
+			elementoDeTela.destrua();
+		}
+		setContagemDeElementosLivres(0);
+	}
+}
@@ -0,0 +1,97 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
+
+// Um sistema de colisões é a estrutura utilizada por uma ListaDeElementosDeTela para descobrir,
+// rapidamente, quais elementos podem estar colidindo com um elemento (ou contendo um ponto), sem
+// precisar testar todos os elementos da lista
+// Estruturas diferentes funcionam melhor em situações diferentes, por isso cada lista escolhe o seu
+// sistema no momento em que é criada:
+// Grade: divide o espaço em células de mesmo tamanho, ideal para muitos elementos de tamanhos
+// parecidos, espalhados pela tela
+// VarreduraEPoda: mantém os elementos ordenados pelo lado esquerdo, ideal para poucos elementos,
+// ou para elementos que se movem pouco no eixo x
+// ArvoreQuaternariaFolgada: subdivide o espaço recursivamente, ideal para elementos de tamanhos
+// muito diferentes entre si
+// Cada instância deve ser utilizada por uma única lista!
+public abstract class SistemaDeColisoes {
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	SistemaDeColisoes() {
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	// A lista mantém um sistema separado para cada camada de colisão em uso, e todos eles são
+	// criados a partir do sistema fornecido à lista, por meio desse método
+	abstract SistemaDeColisoes crieSemelhante();
+
+	abstract void adicione(ElementoDeTela elementoDeTela);
+
+	abstract void remova(ElementoDeTela elementoDeTela);
+
+	// Chamado sempre que a área limite de um elemento que já faz parte do sistema é alterada
+	abstract void atualize(ElementoDeTela elementoDeTela);
+
+	abstract void limpe();
+
+	// Os métodos de consulta devem adicionar à consulta (sem qualquer ordem) todos os elementos
+	// encontrados
+	// A busca por colisões deve utilizar a área de consulta do elemento sendo testado, e confirmar
+	// cada candidato com elementoParaTestar.colideDuranteOQuadroCom()
+	abstract void elementosQueColidem(ElementoDeTela elementoParaTestar, ConsultaDeColisoes consulta);
+
+	abstract void elementosQueContemPonto(float x, float y, ConsultaDeColisoes consulta);
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	public static SistemaDeColisoes crieGrade(float tamanhoDaCelula) {
+		return new GradeDeColisoes(tamanhoDaCelula);
+	}
+
+	public static SistemaDeColisoes crieVarreduraEPoda() {
+		return new VarreduraEPodaDeColisoes();
+	}
+
+	// A raiz da árvore cobre o quadrado que começa em (esquerda, cima), com lado tamanho (elementos
+	// fora dessa área continuam funcionando, mas ficam todos na raiz)
+	public static SistemaDeColisoes crieArvoreQuaternariaFolgada(float esquerda, float cima, float tamanho) {
+		return new ArvoreQuaternariaFolgadaDeColisoes(esquerda, cima, tamanho);
+	}
+}
@@ -30,85 +30,58 @@
 //
 // https://github.com/carlosrafaelgn/Navinha
 //
-package br.com.carlosrafaelgn.navinha.modelo.dados;
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-
-import br.com.carlosrafaelgn.navinha.modelo.jogo.Jogo;
-
-public final class ListaEmbaralhavel<E> extends ArrayList<E> {
+// Um elemento que nunca pertence ao armazenamento da lista, utilizado pela fase de colisões para
+// testar cada objeto de um testador que representa vários objetos (como os tiros de um sistema de
+// tiros), com a área final e o deslocamento de cada objeto durante o quadro
+public final class SondaDeColisoes extends ElementoDeTela {
 	//----------------------------------------------------------------------------------------------
-	// Campos privados
+	// Construtores
 	//----------------------------------------------------------------------------------------------
 
-	private E[] armazenamentoTemporario;
+	SondaDeColisoes(ListaDeElementosDeTela lista) {
+		// A lista só é utilizada para validar o deslocamento durante o quadro atual
+		setLista(lista);
+		setColisaoContinua(true);
+	}
 
 	//----------------------------------------------------------------------------------------------
-	// Construtores
+	// Métodos acessores e modificadores
 	//----------------------------------------------------------------------------------------------
 
-	public ListaEmbaralhavel() {
-	}
-
-	public ListaEmbaralhavel(int capacidade) {
-		super(capacidade);
+	@Override
+	public boolean isCarregado() {
+		return true;
 	}
 
 	//----------------------------------------------------------------------------------------------
 	// Métodos privados e protegidos
 	//----------------------------------------------------------------------------------------------
 
-	private E[] getArmazenamentoTemporario() {
-		return armazenamentoTemporario;
+	@Override
+	protected void carregueInternamente() {
 	}
 
-	private void setArmazenamentoTemporario(E[] armazenamentoTemporario) {
-		this.armazenamentoTemporario = armazenamentoTemporario;
+	@Override
+	protected void libereInternamente() {
 	}
 
 	//----------------------------------------------------------------------------------------------
 	// Métodos públicos
 	//----------------------------------------------------------------------------------------------
 
-	@SuppressWarnings("unchecked")
-	public void embaralhe() {
-		E[] armazenamentoTemporario = getArmazenamentoTemporario();
-		int tamanho = size();
-
-		if (tamanho < 2) {
-			// Nada para embaralhar
-			return;
-		}
-
-		if (armazenamentoTemporario == null || armazenamentoTemporario.length < tamanho) {
-			armazenamentoTemporario = (E[])new Object[tamanho];
-			setArmazenamentoTemporario(armazenamentoTemporario);
-		}
-
-		toArray(armazenamentoTemporario);
-
-		Jogo jogo = Jogo.getJogo();
-
-		// Remove um objeto de uma posição aleatória do armazenamento temporário e o coloca de volta
-		// na lista correta
-		int destino = 0;
-		while (tamanho > 0) {
-			int indice = jogo.numeroAleatorio(tamanho);
-
-			E objeto = armazenamentoTemporario[indice];
-
-			// Remove o objeto na posição indice
-			System.arraycopy(armazenamentoTemporario, indice + 1, armazenamentoTemporario, indice, tamanho - indice - 1);
-
-			// Armazena o objeto na posição correta
-			set(destino, objeto);
-			destino++;
+	public void altere(float esquerda, float cima, float direita, float baixo, float deslocamentoX, float deslocamentoY) {
+		// A área é a posição do objeto ao final do quadro, e o deslocamento é o quanto ele se moveu
+		// durante o quadro (assim, a consulta engloba todo o caminho percorrido pelo objeto)
+		altereAreaEDeslocamento(esquerda, cima, direita, baixo, deslocamentoX, deslocamentoY);
+	}
 
-			tamanho--;
-		}
+	@Override
+	public void processeUmQuadro(float deltaSegundos) {
+	}
 
-		// Ajuda o garbage collector :)
-		Arrays.fill(armazenamentoTemporario, 0, size(), null);
+	@Override
+	public void desenheUmQuadro() {
 	}
 }
@@ -0,0 +1,250 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
+
+// A varredura e poda (sweep and prune) mantém os elementos em um vetor ordenado pelo lado esquerdo
+// de suas áreas limite. Assim, uma consulta precisa testar apenas os elementos cujo lado esquerdo
+// está entre (esquerda do elemento testado - maior largura) e a direita do elemento testado
+// Como os elementos costumam se mover pouco de um quadro para o outro, manter o vetor ordenado
+// custa poucas trocas por quadro
+final class VarreduraEPodaDeColisoes extends SistemaDeColisoes {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final int CAPACIDADE_INICIAL = 16;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private ElementoDeTela[] elementos;
+	private int contagemDeElementos;
+	// A maior largura é apenas uma estimativa conservadora: ela só cresce, e volta a 0 apenas
+	// quando o sistema fica vazio
+	private float maiorLargura;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	VarreduraEPodaDeColisoes() {
+		this.elementos = new ElementoDeTela[CAPACIDADE_INICIAL];
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private ElementoDeTela[] getElementos() {
+		return elementos;
+	}
+
+	private void setElementos(ElementoDeTela[] elementos) {
+		this.elementos = elementos;
+	}
+
+	private int getContagemDeElementos() {
+		return contagemDeElementos;
+	}
+
+	private void setContagemDeElementos(int contagemDeElementos) {
+		this.contagemDeElementos = contagemDeElementos;
+	}
+
+	private float getMaiorLargura() {
+		return maiorLargura;
+	}
+
+	private void setMaiorLargura(float maiorLargura) {
+		this.maiorLargura = maiorLargura;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private int primeiroIndiceComEsquerdaMaiorOuIgual(float esquerda) {
+		// Busca binária pelo primeiro elemento cujo lado esquerdo seja >= esquerda
+		ElementoDeTela[] elementos = getElementos();
+		int inicio = 0, fim = getContagemDeElementos();
+
+		while (inicio < fim) {
+			int meio = (inicio + fim) >>> 1;
+			if (elementos[meio].getAreaLimiteEsquerda() < esquerda) {
+				inicio = meio + 1;
+			} else {
+				fim = meio;
+			}
+		}
+
+		return inicio;
+	}
+
+	private void atualizeMaiorLargura(ElementoDeTela elementoDeTela) {
+		float largura = elementoDeTela.getAreaLimiteDireita() - elementoDeTela.getAreaLimiteEsquerda();
+		if (largura > getMaiorLargura()) {
+			setMaiorLargura(largura);
+		}
+	}
+
+	@Override
+	SistemaDeColisoes crieSemelhante() {
+		return new VarreduraEPodaDeColisoes();
+	}
+
+	@Override
+	void adicione(ElementoDeTela elementoDeTela) {
+		ElementoDeTela[] elementos = getElementos();
+		int contagemDeElementos = getContagemDeElementos();
+
+		if (contagemDeElementos == elementos.length) {
+			ElementoDeTela[] novosElementos = new ElementoDeTela[contagemDeElementos << 1];
+			System.arraycopy(elementos, 0, novosElementos, 0, contagemDeElementos);
+			elementos = novosElementos;
+			setElementos(elementos);
+		}
+
+		int indice = primeiroIndiceComEsquerdaMaiorOuIgual(elementoDeTela.getAreaLimiteEsquerda());
+
+		// Abre espaço para o novo elemento, e atualiza os índices de quem foi deslocado
+		System.arraycopy(elementos, indice, elementos, indice + 1, contagemDeElementos - indice);
+		elementos[indice] = elementoDeTela;
+		contagemDeElementos++;
+		setContagemDeElementos(contagemDeElementos);
+
+		for (int i = indice; i < contagemDeElementos; i++) {
+			elementos[i].setIndiceNoSistemaDeColisoes(i);
+		}
+
+		atualizeMaiorLargura(elementoDeTela);
+	}
+
+	@Override
+	void remova(ElementoDeTela elementoDeTela) {
+		ElementoDeTela[] elementos = getElementos();
+		int contagemDeElementos = getContagemDeElementos() - 1;
+		int indice = elementoDeTela.getIndiceNoSistemaDeColisoes();
+
+		// Fecha o espaço deixado pelo elemento, e atualiza os índices de quem foi deslocado
+		System.arraycopy(elementos, indice + 1, elementos, indice, contagemDeElementos - indice);
+		elementos[contagemDeElementos] = null;
+		setContagemDeElementos(contagemDeElementos);
+
+		for (int i = indice; i < contagemDeElementos; i++) {
+			elementos[i].setIndiceNoSistemaDeColisoes(i);
+		}
+
+		if (contagemDeElementos == 0) {
+			setMaiorLargura(0.0f);
+		}
+	}
+
+	@Override
+	void atualize(ElementoDeTela elementoDeTela) {
+		// Ordenação por inserção, apenas para o elemento alterado: como ele se move pouco de um
+		// quadro para o outro, normalmente nenhuma (ou quase nenhuma) troca é necessária
+		ElementoDeTela[] elementos = getElementos();
+		int contagemDeElementos = getContagemDeElementos();
+		int indice = elementoDeTela.getIndiceNoSistemaDeColisoes();
+		float esquerda = elementoDeTela.getAreaLimiteEsquerda();
+
+		while (indice > 0 && elementos[indice - 1].getAreaLimiteEsquerda() > esquerda) {
+			ElementoDeTela anterior = elementos[indice - 1];
+			elementos[indice] = anterior;
+			anterior.setIndiceNoSistemaDeColisoes(indice);
+			indice--;
+		}
+
+		while (indice < (contagemDeElementos - 1) && elementos[indice + 1].getAreaLimiteEsquerda() < esquerda) {
+			ElementoDeTela seguinte = elementos[indice + 1];
+			elementos[indice] = seguinte;
+			seguinte.setIndiceNoSistemaDeColisoes(indice);
+			indice++;
+		}
+
+		elementos[indice] = elementoDeTela;
+		elementoDeTela.setIndiceNoSistemaDeColisoes(indice);
+
+		atualizeMaiorLargura(elementoDeTela);
+	}
+
+	@Override
+	void limpe() {
+		ElementoDeTela[] elementos = getElementos();
+		for (int i = getContagemDeElementos() - 1; i >= 0; i--) {
+			elementos[i] = null;
+		}
+		setContagemDeElementos(0);
+		setMaiorLargura(0.0f);
+	}
+
+	@Override
+	void elementosQueColidem(ElementoDeTela elementoParaTestar, ConsultaDeColisoes consulta) {
+		ElementoDeTela[] elementos = getElementos();
+		int contagemDeElementos = getContagemDeElementos();
+		float direita = elementoParaTestar.getAreaDeConsultaDireita();
+
+		// Nenhum elemento que comece antes de (esquerda - maior largura) consegue alcançar o
+		// elemento sendo testado, e nenhum elemento que comece depois de direita também
+		for (int i = primeiroIndiceComEsquerdaMaiorOuIgual(elementoParaTestar.getAreaDeConsultaEsquerda() - getMaiorLargura()); i < contagemDeElementos; i++) {
+			ElementoDeTela elementoDeTela = elementos[i];
+
+			if (elementoDeTela.getAreaLimiteEsquerda() >= direita) {
+				break;
+			}
+
+			if (elementoParaTestar.colideDuranteOQuadroCom(elementoDeTela)) {
+				consulta.adicione(elementoDeTela);
+			}
+		}
+	}
+
+	@Override
+	void elementosQueContemPonto(float x, float y, ConsultaDeColisoes consulta) {
+		ElementoDeTela[] elementos = getElementos();
+		int contagemDeElementos = getContagemDeElementos();
+
+		for (int i = primeiroIndiceComEsquerdaMaiorOuIgual(x - getMaiorLargura()); i < contagemDeElementos; i++) {
+			ElementoDeTela elementoDeTela = elementos[i];
+
+			if (elementoDeTela.getAreaLimiteEsquerda() > x) {
+				break;
+			}
+
+			if (elementoDeTela.contemPonto(x, y)) {
+				consulta.adicione(elementoDeTela);
+			}
+		}
+	}
+}
@@ -0,0 +1,481 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.elemento;
+
+// O vetor denso mantém os elementos em posições consecutivas de um vetor, na ordem em que são
+// desenhados: a posição inicio contém o último elemento (o mais ao fundo), e a posição fim - 1
+// contém o primeiro (o mais à frente)
+// Existe espaço livre nas duas pontas do vetor, então adicionar ao início ou ao final custa O(1)
+// (amortizado), enquanto que adicionar no meio desloca apenas o lado mais curto do vetor
+// Uma remoção apenas deixa uma lacuna (null) na posição do elemento, e todas as lacunas são
+// eliminadas de uma só vez no final do quadro, preservando a ordem dos elementos restantes
+// Como as posições só mudam durante as alterações do vetor, e nunca durante um quadro, elas servem
+// como chaves de profundidade para ordenar os resultados das consultas sem percorrer o vetor
+final class VetorDensoDeElementos extends ArmazenamentoDeElementos {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final int CAPACIDADE_INICIAL = 32;
+	// Até essa quantidade de resultados, é mais rápido ordená-los por inserção do que percorrer o
+	// vetor todo procurando por eles
+	private static final int LIMITE_DA_ORDENACAO_POR_INSERCAO = 16;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private ElementoDeTela[] elementos;
+	private int inicio, fim, contagemDeLacunas;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	VetorDensoDeElementos() {
+		this.elementos = new ElementoDeTela[CAPACIDADE_INICIAL];
+		this.inicio = CAPACIDADE_INICIAL >> 1;
+		this.fim = CAPACIDADE_INICIAL >> 1;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private ElementoDeTela[] getElementos() {
+		return elementos;
+	}
+
+	private void setElementos(ElementoDeTela[] elementos) {
+		this.elementos = elementos;
+	}
+
+	private int getInicio() {
+		return inicio;
+	}
+
+	private void setInicio(int inicio) {
+		this.inicio = inicio;
+	}
+
+	private int getFim() {
+		return fim;
+	}
+
+	private void setFim(int fim) {
+		this.fim = fim;
+	}
+
+	private int getContagemDeLacunas() {
+		return contagemDeLacunas;
+	}
+
+	private void setContagemDeLacunas(int contagemDeLacunas) {
+		this.contagemDeLacunas = contagemDeLacunas;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private void atualizeIndices(int de, int ate) {
+		ElementoDeTela[] elementos = getElementos();
+		for (int i = de; i < ate; i++) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoDeTela != null) {
+				elementoDeTela.setIndiceNoArmazenamento(i);
+			}
+		}
+	}
+
+	private void compacte() {
+		// Desloca os elementos na direção do início, eliminando as lacunas, sem alterar a ordem
+		// relativa entre eles
+		if (getContagemDeLacunas() == 0) {
+			return;
+		}
+
+		ElementoDeTela[] elementos = getElementos();
+		int fim = getFim();
+		int destino = getInicio();
+
+		for (int i = destino; i < fim; i++) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoDeTela != null) {
+				if (i != destino) {
+					elementos[destino] = elementoDeTela;
+					elementoDeTela.setIndiceNoArmazenamento(destino);
+				}
+				destino++;
+			}
+		}
+
+		// Vamos ajudar o garbage colletor :)
+		for (int i = destino; i < fim; i++) {
+			elementos[i] = null;
+		}
+
+		setFim(destino);
+		setContagemDeLacunas(0);
+	}
+
+	private void centralize() {
+		// Chamado quando uma das pontas do vetor fica sem espaço: os elementos são centralizados,
+		// em um vetor maior, caso estejam ocupando pelo menos metade do vetor atual
+		compacte();
+
+		ElementoDeTela[] elementos = getElementos();
+		int inicio = getInicio();
+		int fim = getFim();
+		int contagem = fim - inicio;
+		ElementoDeTela[] novosElementos = (((contagem << 1) >= elementos.length) ?
+			new ElementoDeTela[elementos.length << 1] :
+			elementos);
+		int novoInicio = (novosElementos.length - contagem) >> 1;
+		int novoFim = novoInicio + contagem;
+
+		System.arraycopy(elementos, inicio, novosElementos, novoInicio, contagem);
+
+		if (novosElementos == elementos) {
+			// As posições antigas que ficaram fora da nova faixa precisam ser limpas
+			for (int i = inicio; i < fim; i++) {
+				if (i < novoInicio || i >= novoFim) {
+					elementos[i] = null;
+				}
+			}
+		} else {
+			setElementos(novosElementos);
+		}
+
+		setInicio(novoInicio);
+		setFim(novoFim);
+		atualizeIndices(novoInicio, novoFim);
+	}
+
+	private void removaPontasVazias() {
+		// Lacunas nas pontas podem ser descartadas imediatamente, sem precisar esperar pelo final
+		// do quadro
+		ElementoDeTela[] elementos = getElementos();
+		int inicio = getInicio();
+		int fim = getFim();
+		int contagemDeLacunas = getContagemDeLacunas();
+
+		while (fim > inicio && elementos[fim - 1] == null) {
+			fim--;
+			contagemDeLacunas--;
+		}
+		while (inicio < fim && elementos[inicio] == null) {
+			inicio++;
+			contagemDeLacunas--;
+		}
+
+		if (inicio == fim) {
+			// O vetor ficou vazio, então voltamos a ter espaço livre nas duas pontas
+			inicio = elementos.length >> 1;
+			fim = inicio;
+		}
+
+		setInicio(inicio);
+		setFim(fim);
+		setContagemDeLacunas(contagemDeLacunas);
+	}
+
+	private void troque(int a, int b) {
+		ElementoDeTela[] elementos = getElementos();
+		ElementoDeTela elementoA = elementos[a];
+		ElementoDeTela elementoB = elementos[b];
+		elementos[a] = elementoB;
+		elementos[b] = elementoA;
+		elementoA.setIndiceNoArmazenamento(b);
+		elementoB.setIndiceNoArmazenamento(a);
+	}
+
+	@Override
+	ArmazenamentoDeElementos crieSemelhante() {
+		return new VetorDensoDeElementos();
+	}
+
+	@Override
+	void adicioneAoInicio(ElementoDeTela elementoDeTela) {
+		// O início da lista (o elemento mais à frente) fica no final do vetor
+		if (getFim() == getElementos().length) {
+			centralize();
+		}
+
+		int fim = getFim();
+		getElementos()[fim] = elementoDeTela;
+		elementoDeTela.setIndiceNoArmazenamento(fim);
+		setFim(fim + 1);
+	}
+
+	@Override
+	void adicioneAoFinal(ElementoDeTela elementoDeTela) {
+		// E o final da lista (o elemento mais ao fundo) fica no início do vetor
+		if (getInicio() == 0) {
+			centralize();
+		}
+
+		int inicio = getInicio() - 1;
+		getElementos()[inicio] = elementoDeTela;
+		elementoDeTela.setIndiceNoArmazenamento(inicio);
+		setInicio(inicio);
+	}
+
+	@Override
+	void adicioneAcima(ElementoDeTela elementoDeTela, ElementoDeTela elementoDeReferencia) {
+		// elementoDeTela deve ocupar a posição logo após a do elemento de referência, e apenas o
+		// lado mais curto do vetor é deslocado para abrir espaço
+		int posicao = elementoDeReferencia.getIndiceNoArmazenamento() + 1;
+
+		if ((posicao - getInicio()) < (getFim() - posicao)) {
+			if (getInicio() == 0) {
+				centralize();
+				posicao = elementoDeReferencia.getIndiceNoArmazenamento() + 1;
+			}
+
+			// Desloca [inicio, posicao) uma posição para trás
+			int inicio = getInicio() - 1;
+			posicao--;
+			System.arraycopy(getElementos(), inicio + 1, getElementos(), inicio, posicao - inicio);
+			atualizeIndices(inicio, posicao);
+			setInicio(inicio);
+		} else {
+			if (getFim() == getElementos().length) {
+				centralize();
+				posicao = elementoDeReferencia.getIndiceNoArmazenamento() + 1;
+			}
+
+			// Desloca [posicao, fim) uma posição para frente
+			int fim = getFim();
+			System.arraycopy(getElementos(), posicao, getElementos(), posicao + 1, fim - posicao);
+			atualizeIndices(posicao + 1, fim + 1);
+			setFim(fim + 1);
+		}
+
+		getElementos()[posicao] = elementoDeTela;
+		elementoDeTela.setIndiceNoArmazenamento(posicao);
+	}
+
+	@Override
+	void remova(ElementoDeTela elementoDeTela) {
+		getElementos()[elementoDeTela.getIndiceNoArmazenamento()] = null;
+		elementoDeTela.setIndiceNoArmazenamento(-1);
+		setContagemDeLacunas(getContagemDeLacunas() + 1);
+		removaPontasVazias();
+	}
+
+	@Override
+	void movaParaOInicio(ElementoDeTela elementoDeTela) {
+		if (elementoDeTela.getIndiceNoArmazenamento() == getFim() - 1) {
+			// Não há mais nada que possa ser feito, o elemento já está na parte mais alta da lista
+			return;
+		}
+
+		remova(elementoDeTela);
+		adicioneAoInicio(elementoDeTela);
+	}
+
+	@Override
+	void movaParaOFinal(ElementoDeTela elementoDeTela) {
+		if (elementoDeTela.getIndiceNoArmazenamento() == getInicio()) {
+			// Não há mais nada que possa ser feito, o elemento já está na parte mais baixa da lista
+			return;
+		}
+
+		remova(elementoDeTela);
+		adicioneAoFinal(elementoDeTela);
+	}
+
+	@Override
+	void subaUmNivel(ElementoDeTela elementoDeTela) {
+		// Troca de posição com o elemento imediatamente acima (ignorando as lacunas)
+		ElementoDeTela[] elementos = getElementos();
+		int indice = elementoDeTela.getIndiceNoArmazenamento();
+		int fim = getFim();
+
+		for (int i = indice + 1; i < fim; i++) {
+			if (elementos[i] != null) {
+				troque(indice, i);
+				return;
+			}
+		}
+	}
+
+	@Override
+	void descaUmNivel(ElementoDeTela elementoDeTela) {
+		// Troca de posição com o elemento imediatamente abaixo (ignorando as lacunas)
+		ElementoDeTela[] elementos = getElementos();
+		int indice = elementoDeTela.getIndiceNoArmazenamento();
+		int inicio = getInicio();
+
+		for (int i = indice - 1; i >= inicio; i--) {
+			if (elementos[i] != null) {
+				troque(indice, i);
+				return;
+			}
+		}
+	}
+
+	@Override
+	void processeUmQuadro(float deltaSegundos) {
+		ElementoDeTela[] elementos = getElementos();
+		int fim = getFim();
+		for (int i = getInicio(); i < fim; i++) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoDeTela != null && !elementoDeTela.isMarcadoParaRemocao()) {
+				elementoDeTela.processeUmQuadro(deltaSegundos);
+			}
+		}
+	}
+
+	@Override
+	void desenheUmQuadro() {
+		ElementoDeTela[] elementos = getElementos();
+		int fim = getFim();
+		for (int i = getInicio(); i < fim; i++) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoDeTela != null && !elementoDeTela.isMarcadoParaRemocao()) {
+				elementoDeTela.desenheUmQuadro();
+			}
+		}
+	}
+
+	@Override
+	int visite(ListaDeElementosDeTela.Visitante visitante) {
+		ElementoDeTela[] elementos = getElementos();
+		int fim = getFim();
+		int contagem = 0;
+		for (int i = getInicio(); i < fim; i++) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoDeTela != null && !elementoDeTela.isMarcadoParaRemocao()) {
+				contagem++;
+				if (!visitante.visite(elementoDeTela)) {
+					break;
+				}
+			}
+		}
+		return contagem;
+	}
+
+	@Override
+	void finalizeQuadro() {
+		compacte();
+	}
+
+	@Override
+	void carregue() {
+		ElementoDeTela[] elementos = getElementos();
+		int fim = getFim();
+		for (int i = getInicio(); i < fim; i++) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoDeTela != null) {
+				elementoDeTela.carregue();
+			}
+		}
+	}
+
+	@Override
+	void libere() {
+		ElementoDeTela[] elementos = getElementos();
+		int fim = getFim();
+		for (int i = getInicio(); i < fim; i++) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoDeTela != null) {
+				elementoDeTela.libere();
+			}
+		}
+	}
+
+	@Override
+	void destrua() {
+		ElementoDeTela[] elementos = getElementos();
+		int fim = getFim();
+		for (int i = getInicio(); i < fim; i++) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoDeTela != null) {
+				elementos[i] = null;
+				elementoDeTela.destruaOuDevolva();
+			}
+		}
+
+		setInicio(elementos.length >> 1);
+		setFim(elementos.length >> 1);
+		setContagemDeLacunas(0);
+	}
+
+	@Override
+	ElementoDeTela maisAFrente(ElementoDeTela[] resultados, int inicio, int contagemDeResultados, int numeroDaConsulta) {
+		// O elemento mais à frente é aquele com a maior posição no vetor
+		ElementoDeTela maisAFrente = resultados[inicio];
+		int fim = inicio + contagemDeResultados;
+		for (int i = inicio + 1; i < fim; i++) {
+			if (resultados[i].getIndiceNoArmazenamento() > maisAFrente.getIndiceNoArmazenamento()) {
+				maisAFrente = resultados[i];
+			}
+		}
+		return maisAFrente;
+	}
+
+	@Override
+	void ordeneDaFrenteParaTras(ElementoDeTela[] resultados, int inicio, int contagemDeResultados, int numeroDaConsulta) {
+		int fimDosResultados = inicio + contagemDeResultados;
+
+		if (contagemDeResultados <= LIMITE_DA_ORDENACAO_POR_INSERCAO) {
+			// Ordenação por inserção, pela posição no vetor, da maior para a menor
+			for (int i = inicio + 1; i < fimDosResultados; i++) {
+				ElementoDeTela elementoDeTela = resultados[i];
+				int indice = elementoDeTela.getIndiceNoArmazenamento();
+				int j = i;
+				while (j > inicio && resultados[j - 1].getIndiceNoArmazenamento() < indice) {
+					resultados[j] = resultados[j - 1];
+					j--;
+				}
+				resultados[j] = elementoDeTela;
+			}
+			return;
+		}
+
+		// Com muitos resultados, percorrer o vetor (que é contíguo na memória) a partir do elemento
+		// mais à frente, reescrevendo os resultados, custa O(n), independente de quantos são
+		ElementoDeTela[] elementos = getElementos();
+		int inicioDoVetor = getInicio();
+		int j = inicio;
+
+		for (int i = getFim() - 1; i >= inicioDoVetor && j < fimDosResultados; i--) {
+			ElementoDeTela elementoDeTela = elementos[i];
+			if (elementoDeTela != null && elementoDeTela.getUltimoAcerto() == numeroDaConsulta) {
+				resultados[j++] = elementoDeTela;
+			}
+		}
+	}
+}
@@ -0,0 +1,189 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.interacao;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.Vetor;
+
+// Um vetor circular, alocado uma única vez, por onde passam todos os eventos de toque, na ordem em
+// que aconteceram (inclusive as amostras intermediárias que o Android agrupa em um único
+// MotionEvent), da thread principal (a única que adiciona eventos) para a thread do jogo (a única
+// que os retira), sem que nenhuma das duas precise esperar pela outra
+// Cada evento é representado pelas posições de mesmo índice nos vetores ids, xs, ys, pressionados
+// e horas
+public final class FilaDeToques {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// Precisa ser uma potência de 2 (mesmo com 4 ponteiros sendo amostrados a 240 Hz, são mais de
+	// 500 ms de eventos, enquanto a thread do jogo retira os eventos a cada passo)
+	public static final int CAPACIDADE = 2048;
+	private static final int MASCARA = CAPACIDADE - 1;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private final int[] ids;
+	private final float[] xs, ys;
+	private final boolean[] pressionados;
+	private final long[] horas;
+	// inicio só é alterado por quem retira os eventos, e fim, por quem adiciona (os dois só
+	// crescem, e o índice dentro dos vetores é obtido com MASCARA)
+	private final AtomicInteger inicio, fim;
+	private final AtomicBoolean transbordada;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public FilaDeToques() {
+		this.ids = new int[CAPACIDADE];
+		this.xs = new float[CAPACIDADE];
+		this.ys = new float[CAPACIDADE];
+		this.pressionados = new boolean[CAPACIDADE];
+		this.horas = new long[CAPACIDADE];
+		this.inicio = new AtomicInteger(0);
+		this.fim = new AtomicInteger(0);
+		this.transbordada = new AtomicBoolean(false);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private int[] getIds() {
+		return ids;
+	}
+
+	private float[] getXs() {
+		return xs;
+	}
+
+	private float[] getYs() {
+		return ys;
+	}
+
+	private boolean[] getPressionados() {
+		return pressionados;
+	}
+
+	private long[] getHoras() {
+		return horas;
+	}
+
+	private AtomicInteger getInicio() {
+		return inicio;
+	}
+
+	private AtomicInteger getFim() {
+		return fim;
+	}
+
+	private AtomicBoolean getTransbordada() {
+		return transbordada;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	// Executado apenas pela thread principal (hora deve estar na mesma base de
+	// SystemClock.uptimeMillis(), como MotionEvent.getEventTime())
+	public boolean adicione(int id, float x, float y, boolean pressionado, long hora) {
+		int fim = getFim().get();
+
+		// Se a fila estiver cheia, o evento não tem como ser guardado, e a thread do jogo precisa
+		// ser avisada de que perdeu alguma coisa
+		if ((fim - getInicio().get()) >= CAPACIDADE) {
+			getTransbordada().set(true);
+			return false;
+		}
+
+		int i = fim & MASCARA;
+		getIds()[i] = id;
+		getXs()[i] = x;
+		getYs()[i] = y;
+		getPressionados()[i] = pressionado;
+		getHoras()[i] = hora;
+
+		// Só depois de preencher tudo, o evento passa a fazer parte da fila (set() garante que
+		// tudo o que foi escrito antes seja visto pela outra thread, depois de getFim().get())
+		getFim().set(fim + 1);
+
+		return true;
+	}
+
+	// Executado apenas pela thread do jogo: entrega aos ponteiros, na ordem, todos os eventos
+	// que aconteceram até horaLimite (inclusive), deixando os mais novos para a próxima vez
+	public void distribua(Vetor<Ponteiro> ponteiros, long horaLimite) {
+		int inicio = getInicio().get();
+		int fim = getFim().get();
+
+		int[] ids = getIds();
+		long[] horas = getHoras();
+
+		while (inicio != fim) {
+			int i = inicio & MASCARA;
+
+			if (horas[i] > horaLimite) {
+				break;
+			}
+
+			int id = ids[i];
+			if (id < ponteiros.comprimento()) {
+				ponteiros.item(id).registreEvento(getXs()[i], getYs()[i], getPressionados()[i], horas[i]);
+			}
+
+			inicio++;
+		}
+
+		// Libera os espaços utilizados pelos eventos que foram entregues
+		getInicio().set(inicio);
+	}
+
+	// Executado apenas pela thread do jogo (ou com ela parada): descarta todos os eventos que
+	// ainda não foram entregues
+	public void descarte() {
+		getInicio().set(getFim().get());
+	}
+
+	// Executado apenas pela thread do jogo (ou com ela parada): indica se algum evento deixou
+	// de ser adicionado desde a última vez, por falta de espaço
+	public boolean verifiqueTransbordamento() {
+		return getTransbordada().getAndSet(false);
+	}
+}
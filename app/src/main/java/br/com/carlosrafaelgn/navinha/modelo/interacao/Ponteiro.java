@@ -32,7 +32,7 @@
 //
 package br.com.carlosrafaelgn.navinha.modelo.interacao;
 
-import br.com.carlosrafaelgn.navinha.modelo.sincronizacao.MutexSimples;
+import br.com.carlosrafaelgn.navinha.modelo.sincronizacao.BufferTriplo;
 
 public final class Ponteiro {
 	//----------------------------------------------------------------------------------------------
@@ -40,9 +40,15 @@ public final class Ponteiro {
 	//----------------------------------------------------------------------------------------------
 
 	private final int id;
-	private final MutexSimples controleDeAtualizacao;
+	// A thread principal escreve em uma das três cópias de x, y e pressionado, enquanto a thread
+	// do jogo lê de outra, sem que uma precise esperar pela outra
+	private final BufferTriplo controleDeAtualizacao;
+	private final float[] xs, ys;
+	private final boolean[] pressionados;
+	private final long[] horas;
 	private float x, y;
 	private boolean pressionado, pressionamentoAlteradoDesdeUltimoQuadro;
+	private long hora;
 
 	//----------------------------------------------------------------------------------------------
 	// Construtores
@@ -50,7 +56,11 @@ public final class Ponteiro {
 
 	public Ponteiro(int id) {
 		this.id = id;
-		this.controleDeAtualizacao = new MutexSimples();
+		this.controleDeAtualizacao = new BufferTriplo();
+		this.xs = new float[3];
+		this.ys = new float[3];
+		this.pressionados = new boolean[3];
+		this.horas = new long[3];
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -61,10 +71,26 @@ public final class Ponteiro {
 		return id;
 	}
 
-	private MutexSimples getControleDeAtualizacao() {
+	private BufferTriplo getControleDeAtualizacao() {
 		return controleDeAtualizacao;
 	}
 
+	private float[] getXs() {
+		return xs;
+	}
+
+	private float[] getYs() {
+		return ys;
+	}
+
+	private boolean[] getPressionados() {
+		return pressionados;
+	}
+
+	private long[] getHoras() {
+		return horas;
+	}
+
 	public float getX() {
 		return x;
 	}
@@ -86,7 +112,11 @@ public final class Ponteiro {
 	}
 
 	private void setPressionado(boolean pressionado) {
-		setPressionamentoAlteradoDesdeUltimoQuadro(this.isPressionado() != pressionado);
+		// O pressionamento pode mudar mais de uma vez em um mesmo passo (um toque rápido pode
+		// começar e terminar entre dois passos), e a marcação só é desfeita em inicieUmPasso()
+		if (this.isPressionado() != pressionado) {
+			setPressionamentoAlteradoDesdeUltimoQuadro(true);
+		}
 		this.pressionado = pressionado;
 	}
 
@@ -98,6 +128,15 @@ public final class Ponteiro {
 		this.pressionamentoAlteradoDesdeUltimoQuadro = pressionamentoAlteradoDesdeUltimoQuadro;
 	}
 
+	// A hora do último evento recebido pelo ponteiro (na mesma base de SystemClock.uptimeMillis())
+	public long getHora() {
+		return hora;
+	}
+
+	private void setHora(long hora) {
+		this.hora = hora;
+	}
+
 	public boolean isToqueRecemTerminado() {
 		// Indica se o jogador acabou de soltar, depois de ter clicado/tocado a tela
 		return (isPressionamentoAlteradoDesdeUltimoQuadro() && !isPressionado());
@@ -109,27 +148,46 @@ public final class Ponteiro {
 
 	public void copie(Ponteiro ponteiro) {
 		// Chamar ponteiro.getControleDeAtualizacao() fere os princípios de OO, mas nesse caso não
-		// há outra forma... É necessário garantir atomicidade na atualização dos dados do ponteiro!
-		try {
-			ponteiro.getControleDeAtualizacao().entre0();
-
-			setX(ponteiro.getX());
-			setY(ponteiro.getY());
-			setPressionado(ponteiro.isPressionado());
-		} finally {
-			ponteiro.getControleDeAtualizacao().saia0();
-		}
+		// há outra forma... A cópia de leitura só é trocada pela mais nova quando a thread
+		// principal tiver publicado algo desde a última cópia, e, como as três informações estão
+		// sempre na mesma cópia, a atualização é atômica
+		BufferTriplo controleDeAtualizacao = ponteiro.getControleDeAtualizacao();
+		controleDeAtualizacao.atualizeALeitura();
+
+		int indice = controleDeAtualizacao.getIndiceDaLeitura();
+
+		setX(ponteiro.getXs()[indice]);
+		setY(ponteiro.getYs()[indice]);
+		setPressionado(ponteiro.getPressionados()[indice]);
+		setHora(ponteiro.getHoras()[indice]);
 	}
 
-	public void atualize(float x, float y, boolean pressionado) {
-		try {
-			getControleDeAtualizacao().entre1();
+	public void atualize(float x, float y, boolean pressionado, long hora) {
+		BufferTriplo controleDeAtualizacao = getControleDeAtualizacao();
 
-			setX(x);
-			setY(y);
-			setPressionado(pressionado);
-		} finally {
-			getControleDeAtualizacao().saia1();
-		}
+		int indice = controleDeAtualizacao.getIndiceDaEscrita();
+
+		getXs()[indice] = x;
+		getYs()[indice] = y;
+		getPressionados()[indice] = pressionado;
+		getHoras()[indice] = hora;
+
+		controleDeAtualizacao.publique();
+
+		// A própria thread principal continua enxergando os valores mais recentes
+		registreEvento(x, y, pressionado, hora);
+	}
+
+	public void inicieUmPasso() {
+		// Executado pelo jogo antes de entregar os eventos de um novo passo
+		setPressionamentoAlteradoDesdeUltimoQuadro(false);
+	}
+
+	public void registreEvento(float x, float y, boolean pressionado, long hora) {
+		// Executado para cada evento, na ordem em que eles aconteceram (veja FilaDeToques)
+		setX(x);
+		setY(y);
+		setPressionado(pressionado);
+		setHora(hora);
 	}
 }
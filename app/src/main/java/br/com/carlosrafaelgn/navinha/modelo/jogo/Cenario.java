@@ -33,7 +33,9 @@
 package br.com.carlosrafaelgn.navinha.modelo.jogo;
 
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.ArmazenamentoDeElementos;
 import br.com.carlosrafaelgn.navinha.modelo.elemento.ListaDeElementosDeTela;
+import br.com.carlosrafaelgn.navinha.modelo.elemento.SistemaDeColisoes;
 import br.com.carlosrafaelgn.navinha.modelo.recurso.ArmazenamentoDeRecursos;
 import br.com.carlosrafaelgn.navinha.modelo.recurso.Recurso;
 
@@ -55,6 +57,19 @@ public abstract class Cenario extends Recurso {
 		setArmazenamentoDeRecursosInicial(new ArmazenamentoDeRecursos());
 	}
 
+	public Cenario(SistemaDeColisoes sistemaDeColisoes) {
+		// Cada cenário pode escolher o sistema de colisões mais adequado aos seus elementos
+		setListaDeElementosDeTela(new ListaDeElementosDeTela(sistemaDeColisoes));
+		setArmazenamentoDeRecursosInicial(new ArmazenamentoDeRecursos());
+	}
+
+	public Cenario(SistemaDeColisoes sistemaDeColisoes, ArmazenamentoDeElementos armazenamentoDeElementos) {
+		// E também a forma como seus elementos são guardados (cenários com muitos elementos devem
+		// preferir um vetor denso)
+		setListaDeElementosDeTela(new ListaDeElementosDeTela(sistemaDeColisoes, armazenamentoDeElementos));
+		setArmazenamentoDeRecursosInicial(new ArmazenamentoDeRecursos());
+	}
+
 	//----------------------------------------------------------------------------------------------
 	// Métodos acessores e modificadores
 	//----------------------------------------------------------------------------------------------
@@ -163,11 +178,17 @@ public abstract class Cenario extends Recurso {
 		Jogo.getJogo().encerre();
 	}
 
-	public void processeEDesenheUmQuadro(float deltaSegundos) {
+	public void processeUmQuadro(float deltaSegundos) {
+		// Chamado pelo jogo zero ou mais vezes antes de cada desenho, sempre com o mesmo
+		// deltaSegundos (o passo fixo da simulação)
+		getListaDeElementosDeTela().processeUmQuadro(deltaSegundos);
+	}
+
+	public void desenheUmQuadro(float fatorDeInterpolacao) {
 		// Preenche o fundo da tela com a cor atualmente configurada
 		Tela.getTela().preencha();
 
-		// Processa e desenha todos os elementos
-		getListaDeElementosDeTela().processeEDesenheUmQuadro(deltaSegundos);
+		// Desenha todos os elementos
+		getListaDeElementosDeTela().desenheUmQuadro(fatorDeInterpolacao);
 	}
 }
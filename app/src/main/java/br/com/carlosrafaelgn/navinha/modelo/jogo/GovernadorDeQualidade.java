@@ -0,0 +1,213 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.jogo;
+
+// Mantém uma estimativa suavizada do tempo de cada quadro, e, a partir dela, escolhe um nível de
+// qualidade para os efeitos (estrelas, fragmentos das explosões...)
+// Para que a qualidade não fique oscilando, existe uma histerese: a qualidade só diminui quando os
+// quadros ficam lentos por algum tempo, e só volta a aumentar quando eles ficam rápidos por um
+// tempo bem maior
+public final class GovernadorDeQualidade {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// Fator aplicado aos orçamentos dos efeitos em cada nível (o nível 0 é a qualidade máxima)
+	private static final float[] FATORES_POR_NIVEL = { 1.0f, 0.75f, 0.5f, 0.25f };
+
+	// Peso de cada nova amostra na média móvel exponencial
+	private static final float PESO_DA_AMOSTRA = 0.1f;
+
+	// Acima de LIMITE_SUPERIOR_EM_MS, os quadros estão perdendo o prazo (a 60 quadros por segundo,
+	// cada quadro tem 16.7 ms), e abaixo de LIMITE_INFERIOR_EM_MS, há folga
+	private static final float LIMITE_SUPERIOR_EM_MS = 20.0f;
+	private static final float LIMITE_INFERIOR_EM_MS = 17.5f;
+
+	// Por quanto tempo a estimativa precisa ficar além de um limite para que o nível mude
+	private static final float SEGUNDOS_PARA_DIMINUIR = 0.5f;
+	private static final float SEGUNDOS_PARA_AUMENTAR = 4.0f;
+
+	// Intervalos maiores que esse não representam o desempenho do jogo (o jogo ficou parado, por
+	// exemplo, enquanto o sistema trocava de aplicativo), e são ignorados
+	private static final int INTERVALO_MAXIMO_EM_MS = 250;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	// O nível é alterado pela thread da simulação, ao final de cada gravação, mas pode ser
+	// consultado de qualquer thread
+	private volatile int nivel;
+	private volatile boolean nivelFixo;
+	private float tempoDoQuadroEmMs, segundosAcimaDoLimite, segundosAbaixoDoLimite;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public GovernadorDeQualidade() {
+		reinicie();
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	public int getNivel() {
+		return nivel;
+	}
+
+	private void setNivel(int nivel) {
+		this.nivel = nivel;
+	}
+
+	public boolean isNivelFixo() {
+		return nivelFixo;
+	}
+
+	private void setNivelFixo(boolean nivelFixo) {
+		this.nivelFixo = nivelFixo;
+	}
+
+	public int getContagemDeNiveis() {
+		return FATORES_POR_NIVEL.length;
+	}
+
+	public float getFatorDeQualidade() {
+		return FATORES_POR_NIVEL[getNivel()];
+	}
+
+	public float getTempoDoQuadroEmMs() {
+		return tempoDoQuadroEmMs;
+	}
+
+	private void setTempoDoQuadroEmMs(float tempoDoQuadroEmMs) {
+		this.tempoDoQuadroEmMs = tempoDoQuadroEmMs;
+	}
+
+	private float getSegundosAcimaDoLimite() {
+		return segundosAcimaDoLimite;
+	}
+
+	private void setSegundosAcimaDoLimite(float segundosAcimaDoLimite) {
+		this.segundosAcimaDoLimite = segundosAcimaDoLimite;
+	}
+
+	private float getSegundosAbaixoDoLimite() {
+		return segundosAbaixoDoLimite;
+	}
+
+	private void setSegundosAbaixoDoLimite(float segundosAbaixoDoLimite) {
+		this.segundosAbaixoDoLimite = segundosAbaixoDoLimite;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private void altereNivel(int nivel) {
+		setNivel(nivel);
+
+		// Depois de uma mudança, a contagem recomeça, para que a mudança seguinte só aconteça
+		// depois que o efeito dessa já tiver sido percebido
+		setSegundosAcimaDoLimite(0.0f);
+		setSegundosAbaixoDoLimite(0.0f);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	public void reinicie() {
+		altereNivel(0);
+		setTempoDoQuadroEmMs(LIMITE_INFERIOR_EM_MS);
+	}
+
+	// Mantém o nível escolhido até que libereNivel() seja chamado, ignorando os tempos dos quadros
+	// (útil quando a quantidade de efeitos precisa ser a mesma em qualquer aparelho)
+	public void fixeNivel(int nivel) {
+		if (nivel < 0 || nivel >= getContagemDeNiveis()) {
+			throw new IllegalArgumentException("nivel deve estar entre 0 e " + (getContagemDeNiveis() - 1));
+		}
+		altereNivel(nivel);
+		setNivelFixo(true);
+	}
+
+	public void libereNivel() {
+		setNivelFixo(false);
+		reinicie();
+	}
+
+	// Deve ser chamado uma vez por quadro gravado, pela thread da simulação, com o intervalo real
+	// (sem limites) desde a gravação do quadro anterior
+	public void registreQuadro(int intervaloEmMs) {
+		if (isNivelFixo() || intervaloEmMs <= 0 || intervaloEmMs > INTERVALO_MAXIMO_EM_MS) {
+			return;
+		}
+
+		float intervaloEmSegundos = (float)intervaloEmMs / 1000.0f;
+		float tempoDoQuadroEmMs = getTempoDoQuadroEmMs();
+		tempoDoQuadroEmMs += ((float)intervaloEmMs - tempoDoQuadroEmMs) * PESO_DA_AMOSTRA;
+		setTempoDoQuadroEmMs(tempoDoQuadroEmMs);
+
+		int nivel = getNivel();
+
+		if (tempoDoQuadroEmMs > LIMITE_SUPERIOR_EM_MS) {
+			setSegundosAbaixoDoLimite(0.0f);
+			float segundosAcimaDoLimite = getSegundosAcimaDoLimite() + intervaloEmSegundos;
+			if (segundosAcimaDoLimite >= SEGUNDOS_PARA_DIMINUIR && nivel < (getContagemDeNiveis() - 1)) {
+				altereNivel(nivel + 1);
+			} else {
+				setSegundosAcimaDoLimite(segundosAcimaDoLimite);
+			}
+		} else if (tempoDoQuadroEmMs < LIMITE_INFERIOR_EM_MS) {
+			setSegundosAcimaDoLimite(0.0f);
+			float segundosAbaixoDoLimite = getSegundosAbaixoDoLimite() + intervaloEmSegundos;
+			if (segundosAbaixoDoLimite >= SEGUNDOS_PARA_AUMENTAR && nivel > 0) {
+				altereNivel(nivel - 1);
+			} else {
+				setSegundosAbaixoDoLimite(segundosAbaixoDoLimite);
+			}
+		} else {
+			// Entre os dois limites, nada muda
+			setSegundosAcimaDoLimite(0.0f);
+			setSegundosAbaixoDoLimite(0.0f);
+		}
+	}
+
+	// Retorna a parte do orçamento máximo que pode ser utilizada no nível atual (pelo menos 1)
+	public int orcamento(int orcamentoMaximo) {
+		int orcamento = (int)((float)orcamentoMaximo * getFatorDeQualidade() + 0.5f);
+		return ((orcamento < 1) ? 1 : orcamento);
+	}
+}
@@ -40,17 +40,29 @@ import android.os.SystemClock;
 
 import java.util.Random;
 
+import br.com.carlosrafaelgn.navinha.modelo.dados.SacolaIndexada;
 import br.com.carlosrafaelgn.navinha.modelo.dados.imutavel.Vetor;
+import br.com.carlosrafaelgn.navinha.modelo.desenho.QuadroGravado;
 import br.com.carlosrafaelgn.navinha.modelo.desenho.Tela;
+import br.com.carlosrafaelgn.navinha.modelo.interacao.FilaDeToques;
 import br.com.carlosrafaelgn.navinha.modelo.interacao.Ponteiro;
 
-public final class Jogo {
+public final class Jogo implements SacolaIndexada.Sorteador {
 	//----------------------------------------------------------------------------------------------
 	// Constantes
 	//----------------------------------------------------------------------------------------------
 
 	private static final int MENSAGEM_ENCERRE = 1;
 
+	// A simulação sempre avança em passos fixos, independente da taxa de quadros da tela, o que
+	// faz com que o resultado de uma partida não dependa do aparelho (o desenho interpola os
+	// elementos entre os dois últimos passos)
+	public static final int PASSOS_POR_SEGUNDO = 120;
+	public static final float SEGUNDOS_POR_PASSO = 1.0f / (float)PASSOS_POR_SEGUNDO;
+	// O tempo acumulado é medido em milissegundos multiplicados por PASSOS_POR_SEGUNDO, de modo
+	// que cada passo corresponde a exatamente 1000 unidades, sem erros de arredondamento
+	private static final int UNIDADES_POR_PASSO = 1000;
+
 	//----------------------------------------------------------------------------------------------
 	// Interfaces e classes internas
 	//----------------------------------------------------------------------------------------------
@@ -106,13 +118,19 @@ public final class Jogo {
 	private Thread threadPrincipal;
 	private HandlerDaThreadPrincipal handlerDaThreadPrincipal;
 	private Random random;
+	private final GovernadorDeQualidade governadorDeQualidade;
 	private volatile boolean encerrado, processando;
 	private boolean interatividadeComJogadorValida;
 	private Vetor<Ponteiro> ponteirosThreadPrincipal, ponteiros;
+	private FilaDeToques filaDeToques;
 	private Cenario cenarioInicial, cenarioAtual, cenarioSeguinte;
 	private Agendador agendador;
 	private Observador observador;
-	private long horaAnterior;
+	private ThreadDaSimulacao threadDaSimulacao;
+	private boolean simulacaoSuspensa;
+	private long horaAnterior, horaDaUltimaGravacao;
+	private int tempoAcumulado;
+	private long passosSimulados;
 
 	//----------------------------------------------------------------------------------------------
 	// Construtores
@@ -120,6 +138,8 @@ public final class Jogo {
 
 	private Jogo() {
 		setRandom(new Random());
+
+		this.governadorDeQualidade = new GovernadorDeQualidade();
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -158,6 +178,12 @@ public final class Jogo {
 		this.random = random;
 	}
 
+	// Os efeitos consultam o governador para saber quanto podem gastar (quantas estrelas,
+	// quantos fragmentos...)
+	public GovernadorDeQualidade getGovernadorDeQualidade() {
+		return governadorDeQualidade;
+	}
+
 	public boolean isEncerrado() {
 		return encerrado;
 	}
@@ -202,6 +228,14 @@ public final class Jogo {
 		this.ponteiros = ponteiros;
 	}
 
+	private FilaDeToques getFilaDeToques() {
+		return filaDeToques;
+	}
+
+	private void setFilaDeToques(FilaDeToques filaDeToques) {
+		this.filaDeToques = filaDeToques;
+	}
+
 	private Cenario getCenarioInicial() {
 		return cenarioInicial;
 	}
@@ -265,6 +299,22 @@ public final class Jogo {
 		this.observador = observador;
 	}
 
+	private ThreadDaSimulacao getThreadDaSimulacao() {
+		return threadDaSimulacao;
+	}
+
+	private void setThreadDaSimulacao(ThreadDaSimulacao threadDaSimulacao) {
+		this.threadDaSimulacao = threadDaSimulacao;
+	}
+
+	private boolean isSimulacaoSuspensa() {
+		return simulacaoSuspensa;
+	}
+
+	private void setSimulacaoSuspensa(boolean simulacaoSuspensa) {
+		this.simulacaoSuspensa = simulacaoSuspensa;
+	}
+
 	public long getHoraAnterior() {
 		return horaAnterior;
 	}
@@ -273,6 +323,157 @@ public final class Jogo {
 		this.horaAnterior = horaAnterior;
 	}
 
+	private long getHoraDaUltimaGravacao() {
+		return horaDaUltimaGravacao;
+	}
+
+	private void setHoraDaUltimaGravacao(long horaDaUltimaGravacao) {
+		this.horaDaUltimaGravacao = horaDaUltimaGravacao;
+	}
+
+	private int getTempoAcumulado() {
+		return tempoAcumulado;
+	}
+
+	private void setTempoAcumulado(int tempoAcumulado) {
+		this.tempoAcumulado = tempoAcumulado;
+	}
+
+	// Quantidade de passos fixos já executados pela simulação: diferente de getHoraAnterior(), esse
+	// relógio não depende do tempo real, e só avança quando a simulação avança
+	public long getPassosSimulados() {
+		return passosSimulados;
+	}
+
+	private void setPassosSimulados(long passosSimulados) {
+		this.passosSimulados = passosSimulados;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private void suspendaASimulacao() {
+		// Os métodos que criam ou destroem recursos do OpenGL precisam da simulação parada
+		if (!isSimulacaoSuspensa()) {
+			setSimulacaoSuspensa(true);
+			getThreadDaSimulacao().pare();
+		}
+	}
+
+	private void sincronizeOsPonteiros() {
+		// Os eventos que ainda estiverem na fila já estão refletidos nos ponteiros da thread
+		// principal, que passam a ser o novo ponto de partida
+		FilaDeToques filaDeToques = getFilaDeToques();
+		filaDeToques.verifiqueTransbordamento();
+		filaDeToques.descarte();
+
+		Vetor<Ponteiro> ponteirosThreadPrincipal = getPonteirosThreadPrincipal();
+		Vetor<Ponteiro> ponteiros = getPonteiros();
+		for (int i = ponteiros.comprimento() - 1; i >= 0; i--) {
+			ponteiros.item(i).copie(ponteirosThreadPrincipal.item(i));
+		}
+	}
+
+	private void reinicieORelogio() {
+		// Descarta o que havia sobrado do último passo, e o tempo que se passou com a simulação
+		// parada
+		long horaAtual = SystemClock.uptimeMillis();
+		setHoraAnterior(horaAtual);
+		setHoraDaUltimaGravacao(horaAtual);
+		setTempoAcumulado(0);
+	}
+
+	int milissegundosAteOProximoPasso() {
+		// Quantos milissegundos ainda faltam para completar o próximo passo (arredondando para
+		// cima)
+		int faltando = ((UNIDADES_POR_PASSO - getTempoAcumulado()) + PASSOS_POR_SEGUNDO - 1) / PASSOS_POR_SEGUNDO;
+
+		return faltando - (int)(SystemClock.uptimeMillis() - getHoraAnterior());
+	}
+
+	void processeOsPassosPendentes() {
+		// Executado pela thread da simulação
+
+		// Vamos calcular quanto tempo efetivamente se passou desde a última vez
+		long horaAtual = SystemClock.uptimeMillis();
+
+		int deltaMilissegundos = (int)(horaAtual - getHoraAnterior());
+
+		if (deltaMilissegundos > 50) {
+			// Muito tempo (mais de 50 ms) se passou desde a última vez, o que pode significar
+			// duas coisas:
+			// - o sistema está realmente lento, possivelmente porque esteja executando muitos
+			// outros aplicativos
+			// - o processamento dos passos está muito lento
+			// De qualquer forma, vamos limitar o tempo a 50 ms, o que, apesar de fazer com que
+			// o jogo pareça estar "travando", é melhor do que ter que lidar com intervalos de
+			// tempo muito grandes
+			// Isso também limita a quantidade de passos da simulação executados de uma só vez,
+			// impedindo que uma sequência lenta gere mais passos, que, por sua vez, deixam a
+			// próxima sequência ainda mais lenta
+			deltaMilissegundos = 50;
+		} else if (deltaMilissegundos < 1) {
+			// 0??? Bem, nesse caso não há o que processar
+			return;
+		}
+
+		// Atualiza o relógio para a próxima vez, afinal, hoje será "o ontem" de amanhã ;)
+		setHoraAnterior(horaAtual);
+
+		Cenario cenarioAtual = getCenarioAtual();
+		Vetor<Ponteiro> ponteiros = getPonteiros();
+		FilaDeToques filaDeToques = getFilaDeToques();
+
+		// Executa quantos passos fixos couberem no tempo acumulado até agora (que pode ser
+		// nenhum), e guarda o que sobrou para a próxima vez
+		int tempoAcumulado = getTempoAcumulado() + (deltaMilissegundos * PASSOS_POR_SEGUNDO);
+		while (tempoAcumulado >= UNIDADES_POR_PASSO) {
+			tempoAcumulado -= UNIDADES_POR_PASSO;
+
+			// Antes de processar cada passo, é preciso entregar aos ponteiros utilizados pelo
+			// processamento do jogo todos os eventos de toque que aconteceram até o fim desse
+			// passo (o que ainda sobrou no acumulador indica quanto tempo antes de horaAtual o
+			// passo termina), para que um toque recém terminado seja visto por apenas um deles,
+			// mesmo que ele tenha começado e terminado entre dois passos
+			for (int i = ponteiros.comprimento() - 1; i >= 0; i--) {
+				ponteiros.item(i).inicieUmPasso();
+			}
+			filaDeToques.distribua(ponteiros, horaAtual - (tempoAcumulado / PASSOS_POR_SEGUNDO));
+
+			// Se algum evento não coube na fila, só nos resta partir do estado mais recente dos
+			// ponteiros da thread principal
+			if (filaDeToques.verifiqueTransbordamento()) {
+				sincronizeOsPonteiros();
+			}
+
+			cenarioAtual.processeUmQuadro(SEGUNDOS_POR_PASSO);
+			setPassosSimulados(getPassosSimulados() + 1);
+		}
+		setTempoAcumulado(tempoAcumulado);
+	}
+
+	void graveUmQuadro(QuadroGravado quadro) {
+		// Executado pela thread da simulação: os desenhos do cenário são apenas gravados, e serão
+		// efetivamente desenhados pela thread do OpenGL, em desenheUmQuadro()
+		Tela tela = Tela.getTela();
+
+		tela.inicieAGravacao(quadro);
+
+		// O que sobrou no acumulador indica quanto do próximo passo já se passou, e os elementos
+		// são desenhados nesse ponto entre o penúltimo e o último passo
+		getCenarioAtual().desenheUmQuadro((float)getTempoAcumulado() / (float)UNIDADES_POR_PASSO);
+
+		tela.termineAGravacao();
+
+		// O governador de qualidade precisa do intervalo real entre os quadros gravados, e não
+		// entre os quadros desenhados: quando a simulação está atrasada, a thread do OpenGL
+		// continua desenhando o quadro anterior no ritmo da tela, e só aqui o atraso aparece
+		long horaAtual = SystemClock.uptimeMillis();
+		getGovernadorDeQualidade().registreQuadro((int)(horaAtual - getHoraDaUltimaGravacao()));
+		setHoraDaUltimaGravacao(horaAtual);
+	}
+
 	//----------------------------------------------------------------------------------------------
 	// Métodos públicos
 	//----------------------------------------------------------------------------------------------
@@ -285,11 +486,18 @@ public final class Jogo {
 		return getContext().getText(idDoRecurso).toString();
 	}
 
+	public void reinicieNumerosAleatorios(long semente) {
+		// Depois disso, a sequência de números sorteados passa a ser sempre a mesma (útil para
+		// reproduzir uma mesma situação várias vezes)
+		getRandom().setSeed(semente);
+	}
+
 	public boolean sorteie(int permilagemDeAceite) {
 		// Retorna true permilagemDeAceite / 1000 das vezes
 		return (((getRandom().nextInt() & 0x7fffffff) % 1000) < permilagemDeAceite);
 	}
 
+	@Override
 	public int numeroAleatorio(int maximo) {
 		// Retorna um número >= 0 e < maximo
 		return getRandom().nextInt(maximo);
@@ -332,7 +540,16 @@ public final class Jogo {
 			new Ponteiro(3)
 		));
 
+		setFilaDeToques(new FilaDeToques());
+
 		setCenarioInicial(cenarioInicial);
+
+		// A simulação fica parada enquanto o jogo não estiver processando (até que a
+		// interatividade com o jogador seja recuperada)
+		ThreadDaSimulacao threadDaSimulacao = new ThreadDaSimulacao();
+		setThreadDaSimulacao(threadDaSimulacao);
+		setSimulacaoSuspensa(false);
+		threadDaSimulacao.start();
 	}
 
 	public void interatividadeComJogadorPerdida() {
@@ -341,6 +558,12 @@ public final class Jogo {
 			throw new RuntimeException("O método interatividadeComJogadorPerdida() não deve ser executado na thread principal");
 		}
 
+		// A simulação só volta a executar quando a interatividade for recuperada
+		suspendaASimulacao();
+
+		// Os quadros gravados fazem referência a recursos que estão para ser liberados
+		getThreadDaSimulacao().descarteOsQuadros();
+
 		Cenario cenarioAtual = getCenarioAtual();
 
 		if (isInteratividadeComJogadorValida()) {
@@ -361,8 +584,9 @@ public final class Jogo {
 			}
 		}
 
-		// Não é necessário nos preocupar com cenarioSeguinte e com recursosDoCenarioSeguinte, pois
-		// eles *sempre* são null depois do término do método processeEDesenheUmQuadro()
+		// Não é necessário nos preocupar com cenarioSeguinte, pois a simulação fica parada,
+		// esperando, enquanto ele não for null, e ele *sempre* volta a ser null depois do término
+		// do método desenheUmQuadro()
 
 		// Libera toda a memória e recursos usados pela tela
 		Tela.getTela().destrua();
@@ -389,6 +613,8 @@ public final class Jogo {
 			return;
 		}
 
+		suspendaASimulacao();
+
 		setProcessando(true);
 
 		Cenario cenarioAtual = getCenarioAtual();
@@ -419,9 +645,20 @@ public final class Jogo {
 			cenarioAtual.interatividadeComJogadorRecuperada();
 		}
 
+		// Os quadros gravados antes disso podem fazer referência a recursos que foram recriados
+		getThreadDaSimulacao().descarteOsQuadros();
+
+		// Os toques que aconteceram enquanto a simulação estava suspensa não são entregues um a
+		// um, apenas o estado final de cada ponteiro
+		sincronizeOsPonteiros();
+
 		// Atualiza a marcação do horário para controlar o deltaMilissegundos dentro do método
-		// processeEDesenheUmQuadro()
-		setHoraAnterior(SystemClock.uptimeMillis());
+		// processeOsPassosPendentes()
+		reinicieORelogio();
+
+		// Tudo pronto, a simulação pode continuar
+		setSimulacaoSuspensa(false);
+		getThreadDaSimulacao().retome();
 	}
 
 	public void pauseOProcessamento() {
@@ -442,10 +679,38 @@ public final class Jogo {
 		}
 
 		// Tenta agendar esse runnable para executar na própria thread do jogo, no próximo quadro
+		// (com a simulação parada, já que ele pode mexer com qualquer coisa do cenário)
 		Agendador agendador = getAgendador();
 		if (agendador != null) {
-			agendador.agendeParaOProximoQuadro(runnable);
+			final Runnable runnableAgendado = runnable;
+			agendador.agendeParaOProximoQuadro(new Runnable() {
+				@Override
+				public void run() {
+					ThreadDaSimulacao threadDaSimulacao = getThreadDaSimulacao();
+					threadDaSimulacao.pare();
+					try {
+						runnableAgendado.run();
+					} finally {
+						threadDaSimulacao.retome();
+					}
+				}
+			});
+		}
+	}
+
+	public void toqueRecebido(int id, float x, float y, boolean pressionado, long hora) {
+		// Em prol do desempenho, a checagem básica de threads não é feita aqui, mas esse método
+		// deve ser executado apenas na thread principal
+
+		Vetor<Ponteiro> ponteirosThreadPrincipal = getPonteirosThreadPrincipal();
+		if (id >= ponteirosThreadPrincipal.comprimento()) {
+			return;
 		}
+
+		// O ponteiro da thread principal guarda apenas o estado mais recente, e a fila guarda
+		// todos os eventos, para que a thread do jogo possa processá-los na ordem
+		ponteirosThreadPrincipal.item(id).atualize(x, y, pressionado, hora);
+		getFilaDeToques().adicione(id, x, y, pressionado, hora);
 	}
 
 	public void botaoVoltarPressionado() {
@@ -467,7 +732,7 @@ public final class Jogo {
 		});
 	}
 
-	public void processeEDesenheUmQuadro() {
+	public void desenheUmQuadro() {
 		// Em prol do desempenho, a checagem básica de threads não é feita aqui
 
 		// Será que podemos mesmo executar?
@@ -475,51 +740,30 @@ public final class Jogo {
 			return;
 		}
 
-		// Vamos calcular quanto tempo efetivamente se passou desde o último quadro
-		long horaAtual = SystemClock.uptimeMillis();
-
-		// Quanto tempo se passou desde o último quadro?
-		int deltaMilissegundos = (int)(horaAtual - getHoraAnterior());
+		ThreadDaSimulacao threadDaSimulacao = getThreadDaSimulacao();
 
-		// É aqui que controlaremos a taxa de quadros por segundo (FPS) efetivamente percebida
-		// pelo jogador
-		if (deltaMilissegundos > 50) {
-			// Muito tempo (mais de 50 ms) se passou desde o último quadro, o que pode
-			// significar duas coisas:
-			// - o sistema está realmente lento, possivelmente porque esteja executando muitos
-			// outros aplicativos
-			// - o processamento do nosso quadro está muito lento
-			// De qualquer forma, vamos limitar o tempo a 50 ms, o que, apesar de fazer com que
-			// o jogo pareça estar "travando", é melhor do que ter que lidar com intervalos de
-			// tempo muito grandes (ao limitar a 50 ms, temos 20 quadros por segundo)
-			deltaMilissegundos = 50;
-		} else if (deltaMilissegundos < 1) {
-			// 0??? Bem, nesse caso não podemos continuar, mesmo!
-			return;
-		}
+		// Caso alguém tenha pedido para mudar o cenário, a troca é feita aqui, na thread do
+		// OpenGL, já que o novo cenário precisa criar seus recursos (a simulação está esperando
+		// por isso desde que cenarioSeguinte foi definido)
+		if (getCenarioSeguinte() != null) {
+			threadDaSimulacao.pare();
+			try {
+				setCenarioAtual(getCenarioSeguinte());
+				setCenarioSeguinte(null);
 
-		// Atualiza o relógio para o próximo quadro, afinal, hoje será "o ontem" de amanhã ;)
-		setHoraAnterior(horaAtual);
+				threadDaSimulacao.descarteOsQuadros();
 
-		// Antes de processar o quadro, é preciso copiar as informações dos ponteiros da thread
-		// principal para os ponteiros utilizados pelo processamento do jogo
-		Vetor<Ponteiro> ponteirosThreadPrincipal = getPonteirosThreadPrincipal();
-		Vetor<Ponteiro> ponteiros = getPonteiros();
-		for (int i = ponteiros.comprimento() - 1; i >= 0; i--) {
-			ponteiros.item(i).copie(ponteirosThreadPrincipal.item(i));
+				reinicieORelogio();
+			} finally {
+				threadDaSimulacao.retome();
+			}
 		}
 
-		// Processa e desenha o quadro atual do jogo
-		getCenarioAtual().processeEDesenheUmQuadro((float)deltaMilissegundos / 1000.0f);
-
-		Tela.getTela().termineOQuadro();
-
-		// Caso alguém tenha pedido para mudar o cenário
-		Cenario cenarioSeguinte = getCenarioSeguinte();
-		if (cenarioSeguinte != null) {
-			setCenarioAtual(cenarioSeguinte);
-			setCenarioSeguinte(null);
-		}
+		// Desenha o último quadro gravado pela simulação (enquanto isso, a simulação já pode
+		// estar gravando o próximo)
+		Tela tela = Tela.getTela();
+		tela.desenhe(threadDaSimulacao.troqueOsQuadros());
+		tela.termineOQuadro();
 	}
 
 	public void encerre() {
@@ -531,13 +775,16 @@ public final class Jogo {
 		}
 
 		// Indica que o jogo encerrou, e que ele está pausado, prevenindo a execução dos métodos
-		// processeEDesenheUmQuadro() e telaPronta()
+		// desenheUmQuadro() e telaPronta()
 		setEncerrado(true);
 		setProcessando(false);
 
 		// Não é mais possível agendar runnables
 		setAgendador(null);
 
+		// A thread da simulação termina assim que o passo em andamento terminar
+		getThreadDaSimulacao().encerre();
+
 		// Não se deve chamar setCenarioAtual(null) ou Tela.getTela().destrua() aqui, pois o método
 		// encerre é chamado da thread principal do programa, enquanto que todos os recursos do
 		// OpenGL foram criados na outra thread
@@ -0,0 +1,286 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.jogo;
+
+import br.com.carlosrafaelgn.navinha.modelo.desenho.QuadroGravado;
+
+// A thread da simulação executa os passos do jogo e grava os quadros que serão desenhados pela
+// thread do OpenGL, de modo que a simulação de um quadro e o desenho do quadro anterior podem
+// acontecer ao mesmo tempo
+// São utilizados dois quadros gravados: enquanto a thread do OpenGL desenha um deles, a simulação
+// grava o outro, e os dois só são trocados quando a thread do OpenGL começa um novo quadro (se a
+// simulação ainda não tiver terminado a gravação, o quadro anterior é desenhado novamente)
+// Como a simulação não pode criar nem destruir objetos do OpenGL, tudo o que faz isso (a troca de
+// cenário, a perda e a recuperação da interatividade...) é executado pela thread do OpenGL, com a
+// simulação parada (veja pare() e retome())
+final class ThreadDaSimulacao extends Thread {
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private final Object trava;
+	private QuadroGravado quadroLivre, quadroPronto, quadroEmDesenho;
+	private int pausasPedidas;
+	private boolean ociosa, encerramentoPedido;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public ThreadDaSimulacao() {
+		super("Thread da simulação");
+
+		this.trava = new Object();
+
+		setQuadroLivre(new QuadroGravado());
+		setQuadroEmDesenho(new QuadroGravado());
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private Object getTrava() {
+		return trava;
+	}
+
+	private QuadroGravado getQuadroLivre() {
+		return quadroLivre;
+	}
+
+	private void setQuadroLivre(QuadroGravado quadroLivre) {
+		this.quadroLivre = quadroLivre;
+	}
+
+	private QuadroGravado getQuadroPronto() {
+		return quadroPronto;
+	}
+
+	private void setQuadroPronto(QuadroGravado quadroPronto) {
+		this.quadroPronto = quadroPronto;
+	}
+
+	private QuadroGravado getQuadroEmDesenho() {
+		return quadroEmDesenho;
+	}
+
+	private void setQuadroEmDesenho(QuadroGravado quadroEmDesenho) {
+		this.quadroEmDesenho = quadroEmDesenho;
+	}
+
+	private int getPausasPedidas() {
+		return pausasPedidas;
+	}
+
+	private void setPausasPedidas(int pausasPedidas) {
+		this.pausasPedidas = pausasPedidas;
+	}
+
+	private boolean isOciosa() {
+		return ociosa;
+	}
+
+	private void setOciosa(boolean ociosa) {
+		this.ociosa = ociosa;
+	}
+
+	private boolean isEncerramentoPedido() {
+		return encerramentoPedido;
+	}
+
+	private void setEncerramentoPedido(boolean encerramentoPedido) {
+		this.encerramentoPedido = encerramentoPedido;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private boolean isSimulacaoPermitida(Jogo jogo) {
+		// Enquanto houver um cenário seguinte, a simulação espera até que a thread do OpenGL faça
+		// a troca
+		return (getPausasPedidas() == 0 && jogo.isProcessando() && jogo.getCenarioSeguinte() == null);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	@Override
+	public void run() {
+		Jogo jogo = Jogo.getJogo();
+		Object trava = getTrava();
+
+		try {
+			while (true) {
+				QuadroGravado quadroAGravar = null;
+
+				synchronized (trava) {
+					// Enquanto estiver aqui dentro, a simulação não está mexendo em nada do jogo
+					setOciosa(true);
+					trava.notifyAll();
+
+					while (true) {
+						if (isEncerramentoPedido()) {
+							return;
+						}
+
+						if (!isSimulacaoPermitida(jogo)) {
+							trava.wait();
+							continue;
+						}
+
+						// Um quadro é gravado assim que a thread do OpenGL libera um quadro,
+						// executando antes os passos que já estiverem atrasados
+						quadroAGravar = getQuadroLivre();
+						if (quadroAGravar != null) {
+							setQuadroLivre(null);
+							break;
+						}
+
+						// Se não houver um quadro livre, apenas esperamos pelo próximo passo
+						int espera = jogo.milissegundosAteOProximoPasso();
+						if (espera <= 0) {
+							break;
+						}
+						trava.wait(espera);
+					}
+
+					setOciosa(false);
+				}
+
+				jogo.processeOsPassosPendentes();
+
+				if (quadroAGravar != null) {
+					jogo.graveUmQuadro(quadroAGravar);
+
+					synchronized (trava) {
+						setQuadroPronto(quadroAGravar);
+					}
+				}
+			}
+		} catch (InterruptedException ex) {
+			// A thread foi interrompida, então, apenas encerramos
+		} finally {
+			synchronized (trava) {
+				setEncerramentoPedido(true);
+				setOciosa(true);
+				trava.notifyAll();
+			}
+		}
+	}
+
+	public void pare() {
+		// Faz com que a simulação pare, esperando até que o passo, ou a gravação, em andamento
+		// termine (as pausas podem ser pedidas mais de uma vez, e a simulação só volta depois que
+		// retome() for chamado a mesma quantidade de vezes)
+		Object trava = getTrava();
+		boolean interrompida = false;
+
+		synchronized (trava) {
+			setPausasPedidas(getPausasPedidas() + 1);
+			trava.notifyAll();
+
+			while (!isOciosa()) {
+				try {
+					trava.wait();
+				} catch (InterruptedException ex) {
+					interrompida = true;
+				}
+			}
+		}
+
+		if (interrompida) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public void retome() {
+		Object trava = getTrava();
+
+		synchronized (trava) {
+			if (getPausasPedidas() > 0) {
+				setPausasPedidas(getPausasPedidas() - 1);
+			}
+			trava.notifyAll();
+		}
+	}
+
+	public void encerre() {
+		Object trava = getTrava();
+
+		synchronized (trava) {
+			setEncerramentoPedido(true);
+			trava.notifyAll();
+		}
+	}
+
+	public QuadroGravado troqueOsQuadros() {
+		// Executado pela thread do OpenGL, no início de cada quadro: se um novo quadro estiver
+		// pronto, ele passa a ser desenhado, e o quadro desenhado até agora é liberado para a
+		// simulação
+		Object trava = getTrava();
+
+		synchronized (trava) {
+			QuadroGravado quadroPronto = getQuadroPronto();
+
+			if (quadroPronto != null) {
+				setQuadroLivre(getQuadroEmDesenho());
+				setQuadroEmDesenho(quadroPronto);
+				setQuadroPronto(null);
+				trava.notifyAll();
+			}
+
+			return getQuadroEmDesenho();
+		}
+	}
+
+	public void descarteOsQuadros() {
+		// Deve ser chamado com a simulação parada, sempre que os recursos do cenário tiverem sido
+		// recriados ou destruídos, já que os quadros gravados fazem referência a eles
+		Object trava = getTrava();
+
+		synchronized (trava) {
+			QuadroGravado quadroPronto = getQuadroPronto();
+
+			if (quadroPronto != null) {
+				quadroPronto.limpe();
+				setQuadroLivre(quadroPronto);
+				setQuadroPronto(null);
+				trava.notifyAll();
+			}
+
+			getQuadroEmDesenho().limpe();
+		}
+	}
+}
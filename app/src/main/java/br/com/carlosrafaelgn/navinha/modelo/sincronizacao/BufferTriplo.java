@@ -0,0 +1,118 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.sincronizacao;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Controla os índices de três cópias de um mesmo dado, compartilhado entre uma thread que escreve
+// e uma thread que lê, sem que nenhuma das duas precise esperar pela outra: a escrita sempre
+// acontece na cópia de escrita, a leitura sempre acontece na cópia de leitura, e a cópia do meio
+// é trocada atomicamente por cada uma delas, em publique() e em atualizeALeitura()
+// Quem utiliza essa classe guarda os dados em vetores de 3 posições, e utiliza os índices
+// retornados por getIndiceDaEscrita() e por getIndiceDaLeitura()
+public final class BufferTriplo {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	// O índice da cópia do meio ocupa os 2 bits mais baixos, e o bit seguinte indica se a cópia
+	// do meio foi publicada depois da última atualização da leitura
+	private static final int MASCARA_DO_INDICE = 3;
+	private static final int BIT_PUBLICADO = 4;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private final AtomicInteger meio;
+	private int indiceDaEscrita, indiceDaLeitura;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public BufferTriplo() {
+		this.meio = new AtomicInteger(1);
+
+		setIndiceDaEscrita(0);
+		setIndiceDaLeitura(2);
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos acessores e modificadores
+	//----------------------------------------------------------------------------------------------
+
+	private AtomicInteger getMeio() {
+		return meio;
+	}
+
+	// Deve ser utilizado apenas pela thread que escreve
+	public int getIndiceDaEscrita() {
+		return indiceDaEscrita;
+	}
+
+	private void setIndiceDaEscrita(int indiceDaEscrita) {
+		this.indiceDaEscrita = indiceDaEscrita;
+	}
+
+	// Deve ser utilizado apenas pela thread que lê
+	public int getIndiceDaLeitura() {
+		return indiceDaLeitura;
+	}
+
+	private void setIndiceDaLeitura(int indiceDaLeitura) {
+		this.indiceDaLeitura = indiceDaLeitura;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	public void publique() {
+		// A cópia recém escrita passa a ser a cópia do meio, e a antiga cópia do meio passa a ser
+		// a cópia de escrita (getAndSet() garante que tudo o que foi escrito antes seja visto
+		// pela thread que lê, depois de atualizeALeitura())
+		setIndiceDaEscrita(getMeio().getAndSet(getIndiceDaEscrita() | BIT_PUBLICADO) & MASCARA_DO_INDICE);
+	}
+
+	public boolean atualizeALeitura() {
+		// Se nada foi publicado desde a última vez, a cópia de leitura continua sendo a mais nova
+		if ((getMeio().get() & BIT_PUBLICADO) == 0) {
+			return false;
+		}
+
+		setIndiceDaLeitura(getMeio().getAndSet(getIndiceDaLeitura()) & MASCARA_DO_INDICE);
+
+		return true;
+	}
+}
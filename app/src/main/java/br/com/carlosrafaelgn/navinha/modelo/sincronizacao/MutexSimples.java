@@ -32,41 +32,65 @@
 //
 package br.com.carlosrafaelgn.navinha.modelo.sincronizacao;
 
-// Uma implementação simples do algoritmo de Peterson
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+// Um mutex simples para exatamente duas threads (a thread 0 e a thread 1), onde a thread que não
+// consegue entrar fica estacionada (LockSupport.park()), sem gastar CPU, até que a outra thread
+// saia e a acorde (LockSupport.unpark())
 public final class MutexSimples {
 	//----------------------------------------------------------------------------------------------
 	// Campos privados
 	//----------------------------------------------------------------------------------------------
 
-	private volatile boolean entrada0Desejada, entrada1Desejada;
-	private volatile int vez;
+	private final AtomicBoolean ocupado;
+	private volatile Thread threadEsperando0, threadEsperando1;
+
+	//----------------------------------------------------------------------------------------------
+	// Construtores
+	//----------------------------------------------------------------------------------------------
+
+	public MutexSimples() {
+		this.ocupado = new AtomicBoolean(false);
+	}
 
 	//----------------------------------------------------------------------------------------------
 	// Métodos acessores e modificadores
 	//----------------------------------------------------------------------------------------------
 
-	private boolean isEntrada0Desejada() {
-		return entrada0Desejada;
+	private AtomicBoolean getOcupado() {
+		return ocupado;
 	}
 
-	private void setEntrada0Desejada(boolean entrada0Desejada) {
-		this.entrada0Desejada = entrada0Desejada;
+	private Thread getThreadEsperando0() {
+		return threadEsperando0;
 	}
 
-	private boolean isEntrada1Desejada() {
-		return entrada1Desejada;
+	private void setThreadEsperando0(Thread threadEsperando0) {
+		this.threadEsperando0 = threadEsperando0;
 	}
 
-	private void setEntrada1Desejada(boolean entrada1Desejada) {
-		this.entrada1Desejada = entrada1Desejada;
+	private Thread getThreadEsperando1() {
+		return threadEsperando1;
 	}
 
-	private int getVez() {
-		return vez;
+	private void setThreadEsperando1(Thread threadEsperando1) {
+		this.threadEsperando1 = threadEsperando1;
 	}
 
-	private void setVez(int vez) {
-		this.vez = vez;
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private boolean tenteEntrar() {
+		return getOcupado().compareAndSet(false, true);
+	}
+
+	private void espere() {
+		// park() pode retornar sem motivo algum, por isso quem chama sempre tenta entrar de novo
+		// (e se unpark() tiver sido chamado antes de park(), park() retorna imediatamente, então
+		// não existe o risco de a thread dormir para sempre)
+		LockSupport.park(this);
 	}
 
 	//----------------------------------------------------------------------------------------------
@@ -74,26 +98,46 @@ public final class MutexSimples {
 	//----------------------------------------------------------------------------------------------
 
 	public void entre0() {
-		setEntrada0Desejada(true);
-		setVez(1);
-		while (isEntrada1Desejada() && getVez() == 1) {
-			Thread.yield();
+		if (tenteEntrar()) {
+			return;
+		}
+
+		// A thread se registra antes de tentar de novo, para que a outra thread, ao sair, saiba
+		// que precisa acordá-la
+		setThreadEsperando0(Thread.currentThread());
+		while (!tenteEntrar()) {
+			espere();
 		}
+		setThreadEsperando0(null);
 	}
 
 	public void saia0() {
-		setEntrada0Desejada(false);
+		getOcupado().set(false);
+
+		Thread threadEsperando1 = getThreadEsperando1();
+		if (threadEsperando1 != null) {
+			LockSupport.unpark(threadEsperando1);
+		}
 	}
 
 	public void entre1() {
-		setEntrada1Desejada(true);
-		setVez(0);
-		while (isEntrada0Desejada() && getVez() == 0) {
-			Thread.yield();
+		if (tenteEntrar()) {
+			return;
 		}
+
+		setThreadEsperando1(Thread.currentThread());
+		while (!tenteEntrar()) {
+			espere();
+		}
+		setThreadEsperando1(null);
 	}
 
 	public void saia1() {
-		setEntrada1Desejada(false);
+		getOcupado().set(false);
+
+		Thread threadEsperando0 = getThreadEsperando0();
+		if (threadEsperando0 != null) {
+			LockSupport.unpark(threadEsperando0);
+		}
 	}
 }
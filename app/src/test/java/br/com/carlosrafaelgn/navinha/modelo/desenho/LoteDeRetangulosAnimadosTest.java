@@ -0,0 +1,396 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.desenho;
+
+import android.opengl.GLES20;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// Confere, sem um aparelho, o que os lotes de retângulos animados enviam ao OpenGL: os dados do
+// buffer de vértices e o uniform do tempo
+public class LoteDeRetangulosAnimadosTest {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final int ID_DO_SHADER_DE_FRAGMENTO = 1000;
+	private static final int ID_DA_TEXTURA = 2000;
+
+	//----------------------------------------------------------------------------------------------
+	// Interfaces e classes internas
+	//----------------------------------------------------------------------------------------------
+
+	// Apenas grava o conteúdo de cada buffer e o último valor de cada uniform
+	private static final class OpenGLGravado implements OpenGL {
+		//------------------------------------------------------------------------------------------
+		// Campos privados
+		//------------------------------------------------------------------------------------------
+
+		private final HashMap<Integer, float[]> dadosDosBuffers = new HashMap<Integer, float[]>();
+		private final HashMap<String, Integer> localizacoesDosUniforms = new HashMap<String, Integer>();
+		private final HashMap<Integer, Float> valoresDosUniforms = new HashMap<Integer, Float>();
+		private int proximoId = 1, bufferAtual, texturaAtual, enviosParciais;
+
+		//------------------------------------------------------------------------------------------
+		// Métodos privados e protegidos
+		//------------------------------------------------------------------------------------------
+
+		private int crieId() {
+			return proximoId++;
+		}
+
+		//------------------------------------------------------------------------------------------
+		// Métodos públicos
+		//------------------------------------------------------------------------------------------
+
+		public float[] dadosDoBuffer(int idDoBuffer) {
+			return dadosDosBuffers.get(idDoBuffer);
+		}
+
+		public float uniform(String nome) {
+			return valoresDosUniforms.get(localizacoesDosUniforms.get(nome));
+		}
+
+		public int getTexturaAtual() {
+			return texturaAtual;
+		}
+
+		// Quantas vezes glBufferSubData() foi chamado
+		public int getEnviosParciais() {
+			return enviosParciais;
+		}
+
+		@Override
+		public void glActiveTexture(int texture) {
+		}
+
+		@Override
+		public void glAttachShader(int program, int shader) {
+		}
+
+		@Override
+		public void glBindAttribLocation(int program, int index, String name) {
+		}
+
+		@Override
+		public void glBindBuffer(int target, int buffer) {
+			if (target == GLES20.GL_ARRAY_BUFFER) {
+				bufferAtual = buffer;
+			}
+		}
+
+		@Override
+		public void glBindTexture(int target, int texture) {
+			texturaAtual = texture;
+		}
+
+		@Override
+		public void glBlendFunc(int sfactor, int dfactor) {
+		}
+
+		@Override
+		public void glBufferData(int target, int size, Buffer data, int usage) {
+			if (target != GLES20.GL_ARRAY_BUFFER) {
+				return;
+			}
+			float[] dados = new float[size / 4];
+			FloatBuffer origem = (FloatBuffer)data;
+			origem.get(dados, 0, dados.length);
+			origem.position(0);
+			dadosDosBuffers.put(bufferAtual, dados);
+		}
+
+		@Override
+		public void glBufferSubData(int target, int offset, int size, Buffer data) {
+			if (target != GLES20.GL_ARRAY_BUFFER) {
+				return;
+			}
+			FloatBuffer origem = (FloatBuffer)data;
+			int posicao = origem.position();
+			origem.get(dadosDosBuffers.get(bufferAtual), offset / 4, size / 4);
+			origem.position(posicao);
+			enviosParciais++;
+		}
+
+		@Override
+		public void glClear(int mask) {
+		}
+
+		@Override
+		public void glClearColor(float red, float green, float blue, float alpha) {
+		}
+
+		@Override
+		public void glCompileShader(int shader) {
+		}
+
+		@Override
+		public int glCreateProgram() {
+			return crieId();
+		}
+
+		@Override
+		public int glCreateShader(int type) {
+			return crieId();
+		}
+
+		@Override
+		public void glDeleteBuffers(int n, int[] buffers, int offset) {
+			for (int i = 0; i < n; i++) {
+				dadosDosBuffers.remove(buffers[offset + i]);
+			}
+		}
+
+		@Override
+		public void glDeleteProgram(int program) {
+		}
+
+		@Override
+		public void glDeleteShader(int shader) {
+		}
+
+		@Override
+		public void glDeleteTextures(int n, int[] textures, int offset) {
+		}
+
+		@Override
+		public void glDisable(int cap) {
+		}
+
+		@Override
+		public void glDisableVertexAttribArray(int index) {
+		}
+
+		@Override
+		public void glDrawElements(int mode, int count, int type, int offset) {
+		}
+
+		@Override
+		public void glEnable(int cap) {
+		}
+
+		@Override
+		public void glEnableVertexAttribArray(int index) {
+		}
+
+		@Override
+		public void glFlush() {
+		}
+
+		@Override
+		public void glGenBuffers(int n, int[] buffers, int offset) {
+			for (int i = 0; i < n; i++) {
+				buffers[offset + i] = crieId();
+			}
+		}
+
+		@Override
+		public void glGenTextures(int n, int[] textures, int offset) {
+			for (int i = 0; i < n; i++) {
+				textures[offset + i] = crieId();
+			}
+		}
+
+		@Override
+		public int glGetError() {
+			return GLES20.GL_NO_ERROR;
+		}
+
+		@Override
+		public void glGetIntegerv(int pname, int[] params, int offset) {
+			params[offset] = 4096;
+		}
+
+		@Override
+		public void glGetShaderiv(int shader, int pname, int[] params, int offset) {
+			// Todos os shaders compilam
+			params[offset] = 1;
+		}
+
+		@Override
+		public int glGetUniformLocation(int program, String name) {
+			Integer localizacao = localizacoesDosUniforms.get(name);
+			if (localizacao == null) {
+				localizacao = crieId();
+				localizacoesDosUniforms.put(name, localizacao);
+			}
+			return localizacao;
+		}
+
+		@Override
+		public void glLinkProgram(int program) {
+		}
+
+		@Override
+		public void glShaderSource(int shader, String string) {
+		}
+
+		@Override
+		public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, Buffer pixels) {
+		}
+
+		@Override
+		public void glTexParameteri(int target, int pname, int param) {
+		}
+
+		@Override
+		public void glUniform1f(int location, float x) {
+			valoresDosUniforms.put(location, x);
+		}
+
+		@Override
+		public void glUniform1i(int location, int x) {
+		}
+
+		@Override
+		public void glUseProgram(int program) {
+		}
+
+		@Override
+		public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, int offset) {
+		}
+
+		@Override
+		public void glViewport(int x, int y, int width, int height) {
+		}
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private OpenGL openGLAnterior;
+	private OpenGLGravado openGL;
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private static void altereRetangulo(LoteDeRetangulosAnimados lote, int indice, float xAncora, float fase) {
+		lote.altereRetangulo(indice, xAncora, 20.0f, -1.0f, -2.0f, 3.0f, 4.0f, 5.0f, 6.0f, fase, 0.25f, 0.5f, 0.75f, 1.0f);
+	}
+
+	private static float[] retangulo(float[] dados, int indice) {
+		float[] retangulo = new float[LoteDeRetangulosAnimados.FLOATS_POR_RETANGULO];
+		System.arraycopy(dados, LoteDeRetangulosAnimados.FLOATS_POR_RETANGULO * indice, retangulo, 0, retangulo.length);
+		return retangulo;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	@Before
+	public void prepare() {
+		Tela tela = Tela.getTela();
+		openGLAnterior = tela.getOpenGL();
+		openGL = new OpenGLGravado();
+		tela.setOpenGL(openGL);
+		tela.crieOProgramaAnimado(ID_DO_SHADER_DE_FRAGMENTO, new int[1]);
+	}
+
+	@After
+	public void restaure() {
+		Tela.getTela().setOpenGL(openGLAnterior);
+	}
+
+	@Test
+	public void carregueEnviaTodosOsRetangulos() {
+		LoteDeRetangulosAnimados lote = new LoteDeRetangulosAnimados(2);
+		altereRetangulo(lote, 1, 10.0f, 0.5f);
+
+		lote.carregue();
+
+		assertTrue(lote.isCarregado());
+		assertFalse(lote.isAlterado());
+		assertArrayEquals(lote.getDados(), openGL.dadosDoBuffer(lote.getIdDoBuffer()), 0.0f);
+
+		// Ordem dos vértices: 0 (esquerda, cima), 1 (esquerda, baixo), 2 (direita, cima) e
+		// 3 (direita, baixo), cada um com âncora, canto, velocidade, fase e textura
+		float[] retangulo = retangulo(openGL.dadosDoBuffer(lote.getIdDoBuffer()), 1);
+		assertArrayEquals(new float[] {
+			10.0f, 20.0f, -1.0f, -2.0f, 5.0f, 6.0f, 0.5f, 0.25f, 0.5f,
+			10.0f, 20.0f, -1.0f, 4.0f, 5.0f, 6.0f, 0.5f, 0.25f, 1.0f,
+			10.0f, 20.0f, 3.0f, -2.0f, 5.0f, 6.0f, 0.5f, 0.75f, 0.5f,
+			10.0f, 20.0f, 3.0f, 4.0f, 5.0f, 6.0f, 0.5f, 0.75f, 1.0f
+		}, retangulo, 0.0f);
+	}
+
+	@Test
+	public void desenheEnviaAsAlteracoesGravadasEOTempo() {
+		Tela tela = Tela.getTela();
+		LoteDeRetangulosAnimados lote = new LoteDeRetangulosAnimados(4);
+		lote.carregue();
+		Imagem imagem = new Imagem(ID_DA_TEXTURA, 16.0f, 16.0f);
+
+		altereRetangulo(lote, 2, 30.0f, 1.0f);
+		float[] retanguloGravado = retangulo(lote.getDados(), 2);
+
+		QuadroGravado quadro = new QuadroGravado();
+		tela.inicieAGravacao(quadro);
+		tela.desenhe(imagem, lote, 0, 4, 1.25f, 0.75f, 0.0f, 0.0f);
+		tela.termineAGravacao();
+
+		// A simulação continua alterando o lote enquanto o quadro ainda não foi desenhado
+		assertFalse(lote.isAlterado());
+		altereRetangulo(lote, 2, 40.0f, 2.0f);
+
+		int enviosAntesDoDesenho = openGL.getEnviosParciais();
+		tela.desenhe(quadro);
+
+		// O quadro envia a cópia feita durante a gravação, e não o estado atual do lote
+		assertEquals(enviosAntesDoDesenho + 1, openGL.getEnviosParciais());
+		assertArrayEquals(retanguloGravado, retangulo(openGL.dadosDoBuffer(lote.getIdDoBuffer()), 2), 0.0f);
+		assertTrue(lote.isAlterado());
+
+		assertEquals(1.25f, openGL.uniform("tempo"), 0.0f);
+		assertEquals(0.75f, openGL.uniform("duracao"), 0.0f);
+		assertEquals(ID_DA_TEXTURA, openGL.getTexturaAtual());
+
+		// Desenhar o mesmo quadro novamente não envia as alterações de novo
+		int enviosDepoisDoDesenho = openGL.getEnviosParciais();
+		tela.desenhe(quadro);
+		assertEquals(enviosDepoisDoDesenho, openGL.getEnviosParciais());
+	}
+}
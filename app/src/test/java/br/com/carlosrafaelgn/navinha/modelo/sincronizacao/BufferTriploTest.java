@@ -0,0 +1,116 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.sincronizacao;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// Uma thread escreve e publica valores sempre crescentes, enquanto outra thread lê: a leitura
+// nunca pode ver uma cópia pela metade, nem voltar no tempo, e o último valor publicado sempre
+// precisa chegar até ela
+public class BufferTriploTest {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final int PUBLICACOES = 200000;
+	private static final int VALORES_POR_COPIA = 16;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private volatile Throwable erroDaEscrita;
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	@Test(timeout = 60000)
+	public void leituraRecebeTodasAsPublicacoesEmOrdem() throws InterruptedException {
+		final BufferTriplo bufferTriplo = new BufferTriplo();
+		final int[][] copias = new int[3][VALORES_POR_COPIA];
+
+		Thread escrita = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					for (int valor = 1; valor <= PUBLICACOES; valor++) {
+						int[] copia = copias[bufferTriplo.getIndiceDaEscrita()];
+						for (int i = 0; i < VALORES_POR_COPIA; i++) {
+							copia[i] = valor;
+						}
+						bufferTriplo.publique();
+					}
+				} catch (Throwable ex) {
+					erroDaEscrita = ex;
+				}
+			}
+		}, "Escrita");
+		escrita.start();
+
+		int ultimoValorLido = 0, atualizacoes = 0;
+		while (ultimoValorLido < PUBLICACOES) {
+			if (!bufferTriplo.atualizeALeitura()) {
+				if (!escrita.isAlive() && erroDaEscrita != null) {
+					break;
+				}
+				Thread.yield();
+				continue;
+			}
+			atualizacoes++;
+
+			int[] copia = copias[bufferTriplo.getIndiceDaLeitura()];
+			int valor = copia[0];
+			for (int i = 1; i < VALORES_POR_COPIA; i++) {
+				assertEquals("Cópia lida pela metade", valor, copia[i]);
+			}
+			assertTrue("A leitura voltou no tempo (" + valor + " depois de " + ultimoValorLido + ")", valor > ultimoValorLido);
+			ultimoValorLido = valor;
+		}
+
+		escrita.join();
+
+		if (erroDaEscrita != null) {
+			throw new AssertionError(erroDaEscrita);
+		}
+
+		// Depois que a última publicação foi lida, não há mais nada novo
+		assertEquals(PUBLICACOES, ultimoValorLido);
+		assertTrue(atualizacoes > 0);
+		assertFalse(bufferTriplo.atualizeALeitura());
+	}
+}
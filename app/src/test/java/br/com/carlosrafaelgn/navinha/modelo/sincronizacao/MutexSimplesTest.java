@@ -0,0 +1,130 @@
+//
+// Navinha is distributed under the FreeBSD License
+//
+// Copyright (c) 2016, Carlos Rafael Gimenes das Neves
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+// ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+// ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+// (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+// LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+// ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+// SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+//
+// The views and conclusions contained in the software and documentation are those
+// of the authors and should not be interpreted as representing official policies,
+// either expressed or implied, of the FreeBSD Project.
+//
+// https://github.com/carlosrafaelgn/Navinha
+//
+package br.com.carlosrafaelgn.navinha.modelo.sincronizacao;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+
+// As duas threads incrementam o mesmo contador (sem volatile, e sem nenhuma outra proteção além do
+// próprio mutex) muitas vezes: nenhum incremento pode ser perdido, nenhuma das threads pode ver a
+// outra dentro do mutex, e nenhuma das threads pode ficar esperando para sempre
+public class MutexSimplesTest {
+	//----------------------------------------------------------------------------------------------
+	// Constantes
+	//----------------------------------------------------------------------------------------------
+
+	private static final int INCREMENTOS_POR_THREAD = 500000;
+
+	//----------------------------------------------------------------------------------------------
+	// Campos privados
+	//----------------------------------------------------------------------------------------------
+
+	private int contador, threadsDentro, invasoes;
+	private volatile Throwable erroDaThread1;
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos privados e protegidos
+	//----------------------------------------------------------------------------------------------
+
+	private void incrementeDentroDoMutex() {
+		if (++threadsDentro != 1) {
+			invasoes++;
+		}
+
+		// A leitura e a escrita são separadas (e, de vez em quando, a thread cede o processador
+		// no meio delas) para que a outra thread tenha a chance de atrapalhar, caso consiga entrar
+		int valor = contador;
+		if ((valor & 63) == 0) {
+			Thread.yield();
+		}
+		contador = valor + 1;
+
+		threadsDentro--;
+	}
+
+	//----------------------------------------------------------------------------------------------
+	// Métodos públicos
+	//----------------------------------------------------------------------------------------------
+
+	@Test(timeout = 60000)
+	public void nenhumIncrementoEPerdido() throws InterruptedException {
+		final MutexSimples mutex = new MutexSimples();
+		final CountDownLatch largada = new CountDownLatch(2);
+
+		Thread thread1 = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					largada.countDown();
+					largada.await();
+					for (int i = 0; i < INCREMENTOS_POR_THREAD; i++) {
+						mutex.entre1();
+						try {
+							incrementeDentroDoMutex();
+						} finally {
+							mutex.saia1();
+						}
+					}
+				} catch (Throwable ex) {
+					erroDaThread1 = ex;
+				}
+			}
+		}, "Thread 1");
+		thread1.start();
+
+		// As duas threads começam juntas, para que disputem o mutex desde o início
+		largada.countDown();
+		largada.await();
+		for (int i = 0; i < INCREMENTOS_POR_THREAD; i++) {
+			mutex.entre0();
+			try {
+				incrementeDentroDoMutex();
+			} finally {
+				mutex.saia0();
+			}
+		}
+
+		thread1.join();
+
+		if (erroDaThread1 != null) {
+			throw new AssertionError(erroDaThread1);
+		}
+
+		// join() garante que tudo o que a thread 1 fez seja visto aqui
+		assertEquals(0, invasoes);
+		assertEquals(2 * INCREMENTOS_POR_THREAD, contador);
+	}
+}